@@ -3,7 +3,6 @@ package com.compliancesys.config;
 import java.io.IOException;         // Importa para lidar com exceções de I/O.
 import java.io.InputStream;         // Importa para ler o arquivo de propriedades.
 import java.sql.Connection;         // Importa para a interface Connection do JDBC.
-import java.sql.DriverManager;      // Importa para gerenciar drivers JDBC.
 import java.sql.ResultSet;          // Importa para a interface ResultSet do JDBC.
 import java.sql.SQLException;       // Importa para lidar com exceções SQL.
 import java.sql.Statement;          // Importa para a interface Statement do JDBC.
@@ -11,15 +10,25 @@ import java.util.Properties;        // Importa para trabalhar com arquivos de pr
 import java.util.logging.Level;     // Importa para níveis de log.
 import java.util.logging.Logger;    // Importa para logging.
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
 /**
  * Classe de configuração do banco de dados para o sistema ComplianceSys.
- * Gerencia o carregamento das propriedades de conexão e o estabelecimento de conexões.
+ * Gerencia o carregamento das propriedades de conexão e o pool de conexões (HikariCP).
+ * O pool é criado sob demanda na primeira chamada a {@link #getConnection()} e
+ * deve ser encerrado com {@link #shutdown()} quando a aplicação for finalizada.
  */
 public class DatabaseConfig {
 
     private static final Logger LOGGER = Logger.getLogger(DatabaseConfig.class.getName()); // Logger para a classe.
     private static final Properties properties = new Properties(); // Objeto Properties para armazenar as configurações.
     private static final String PROPERTIES_FILE = "database.properties"; // Nome do arquivo de propriedades.
+    private static final String POOL_NAME = "compliancesys-pool"; // Nome do pool exibido em logs e no JMX.
+
+    private static final PoolMetrics poolMetrics = new PoolMetrics(); // Métricas de aquisição de conexões.
+    private static volatile HikariDataSource dataSource; // Pool de conexões, inicializado sob demanda.
 
     // Bloco estático para carregar as propriedades do banco de dados uma vez.
     static {
@@ -38,20 +47,170 @@ public class DatabaseConfig {
     }
 
     /**
-     * Retorna uma nova conexão com o banco de dados.
-     * Este método agora é estático para ser acessado diretamente pela classe.
+     * Retorna uma conexão do pool.
+     * Ao chamar {@code close()} na conexão retornada ela é devolvida ao pool, e não encerrada.
+     * Se houver uma {@link UnitOfWork} ativa na thread, retorna a conexão compartilhada por ela.
      * @return Uma conexão com o banco de dados.
+     * @throws SQLException Se ocorrer um erro de conexão ou o tempo de espera do pool expirar.
+     */
+    public static Connection getConnection() throws SQLException {
+        Connection shared = UnitOfWork.currentConnection();
+        return shared != null ? shared : openPooledConnection();
+    }
+
+    /**
+     * Obtém uma conexão diretamente do pool, ignorando a unidade de trabalho corrente.
+     * @return Uma conexão do pool.
      * @throws SQLException Se ocorrer um erro de conexão.
      */
-    public static Connection getConnection() throws SQLException { // CORRIGIDO: Método agora é estático
-        String url = properties.getProperty("db.url");
-        String user = properties.getProperty("db.user");
-        String password = properties.getProperty("db.password");
-
-        LOGGER.log(Level.FINE, "Tentando conectar ao banco de dados: {0}", url);
-        Connection connection = DriverManager.getConnection(url, user, password);
-        LOGGER.log(Level.FINE, "Conexão com o banco de dados estabelecida com sucesso.");
-        return connection;
+    static Connection openPooledConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Retorna o DataSource do pool, criando-o na primeira chamada.
+     * @return O HikariDataSource configurado a partir de database.properties.
+     */
+    private static HikariDataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConfig.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = new HikariDataSource(buildHikariConfig());
+                    dataSource = ds;
+                    LOGGER.log(Level.INFO, "Pool de conexões {0} iniciado (máximo de {1} conexões).",
+                            new Object[]{POOL_NAME, ds.getMaximumPoolSize()});
+                }
+            }
+        }
+        return ds;
+    }
+
+    /**
+     * Monta a configuração do HikariCP a partir das propriedades carregadas.
+     * @return A configuração do pool.
+     */
+    private static HikariConfig buildHikariConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setJdbcUrl(getProperty("db.url"));
+        // Aceita tanto db.username (arquivo de propriedades) quanto db.user (nome usado anteriormente).
+        String user = getProperty("db.username");
+        config.setUsername(user != null ? user : getProperty("db.user"));
+        config.setPassword(getProperty("db.password"));
+        String driver = getProperty("db.driver");
+        if (driver != null && !driver.isEmpty()) {
+            config.setDriverClassName(driver);
+        }
+        config.setMaximumPoolSize(getIntProperty("db.hikari.maxPoolSize", 10));
+        config.setMinimumIdle(getIntProperty("db.hikari.minIdle", 5));
+        config.setConnectionTimeout(getLongProperty("db.hikari.connectionTimeout", 30000L));
+        config.setIdleTimeout(getLongProperty("db.hikari.idleTimeout", 600000L));
+        config.setMaxLifetime(getLongProperty("db.hikari.maxLifetime", 1800000L));
+        config.setLeakDetectionThreshold(getLongProperty("db.hikari.leakDetectionThreshold", 0L));
+        config.setRegisterMbeans(true); // Publica as estatísticas do pool também via JMX.
+        config.setMetricsTrackerFactory(poolMetrics);
+        return config;
+    }
+
+    /**
+     * Retorna uma propriedade de configuração. Propriedades de sistema (-Ddb.url=...) têm
+     * precedência sobre o arquivo database.properties.
+     * @param key A chave da propriedade.
+     * @return O valor da propriedade, ou null se não estiver definida.
+     */
+    public static String getProperty(String key) {
+        String value = System.getProperty(key);
+        return value != null ? value : properties.getProperty(key);
+    }
+
+    /**
+     * Retorna uma propriedade numérica de configuração.
+     * @param key A chave da propriedade.
+     * @param defaultValue O valor padrão caso a propriedade esteja ausente ou inválida.
+     * @return O valor da propriedade como int.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        return (int) getLongProperty(key, defaultValue);
+    }
+
+    /**
+     * Retorna uma propriedade numérica de configuração.
+     * @param key A chave da propriedade.
+     * @param defaultValue O valor padrão caso a propriedade esteja ausente ou inválida.
+     * @return O valor da propriedade como long.
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "Valor inválido para a propriedade {0}: {1}. Usando o padrão {2}.",
+                    new Object[]{key, value, defaultValue});
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Retorna uma propriedade decimal de configuração.
+     * @param key A chave da propriedade.
+     * @param defaultValue O valor padrão caso a propriedade esteja ausente ou inválida.
+     * @return O valor da propriedade como double.
+     */
+    public static double getDoubleProperty(String key, double defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "Valor inválido para a propriedade {0}: {1}. Usando o padrão {2}.",
+                    new Object[]{key, value, defaultValue});
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Retorna o tamanho máximo configurado para o pool de conexões.
+     * Útil para dimensionar executores que fazem acesso paralelo ao banco.
+     * @return O número máximo de conexões do pool.
+     */
+    public static int getMaximumPoolSize() {
+        return getIntProperty("db.hikari.maxPoolSize", 10);
+    }
+
+    /**
+     * Retorna um retrato das estatísticas atuais do pool de conexões.
+     * Se o pool ainda não foi iniciado, os contadores de conexões são zero.
+     * @return As estatísticas do pool.
+     */
+    public static PoolStatistics getPoolStatistics() {
+        HikariDataSource ds = dataSource;
+        HikariPoolMXBean pool = ds != null ? ds.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return poolMetrics.snapshot(0, 0, 0, 0);
+        }
+        return poolMetrics.snapshot(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Encerra o pool de conexões, fechando todas as conexões abertas.
+     * Chamado no desligamento da aplicação web (ver {@link DatabaseLifecycleListener}).
+     */
+    public static void shutdown() {
+        synchronized (DatabaseConfig.class) {
+            if (dataSource != null) {
+                LOGGER.log(Level.INFO, "Encerrando o pool de conexões. Estatísticas finais: {0}", getPoolStatistics());
+                dataSource.close();
+                dataSource = null;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.compliancesys.config;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Enumeration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.service.JourneyRecomputeService;
+import com.compliancesys.service.ViolationAlertService;
+
+/**
+ * Listener do ciclo de vida da aplicação web.
+ * Garante que o pool de conexões seja encerrado e que os drivers JDBC carregados
+ * pela aplicação sejam desregistrados quando o Tomcat descarrega o contexto,
+ * evitando vazamento de conexões e de classloader em redeploys.
+ * Na inicialização, carrega em segundo plano os filtros de chaves naturais dos DAOs de referência.
+ * No encerramento, para também as threads dos serviços publicados no contexto pelos servlets (alertas preventivos e
+ * recálculo de jornadas), antes de fechar o pool de conexões que eles usam.
+ */
+@WebListener
+public class DatabaseLifecycleListener implements ServletContextListener {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseLifecycleListener.class.getName());
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        LOGGER.log(Level.INFO, "Aplicação iniciada. O pool de conexões será criado no primeiro acesso ao banco.");
+        Thread warmUp = new Thread(DAOFactory::warmUp, "cache-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        Object alertService = sce.getServletContext().getAttribute(ViolationAlertService.class.getName());
+        if (alertService instanceof ViolationAlertService) {
+            ((ViolationAlertService) alertService).shutdown();
+        }
+        Object recomputeService = sce.getServletContext().getAttribute(JourneyRecomputeService.class.getName());
+        if (recomputeService instanceof JourneyRecomputeService) {
+            ((JourneyRecomputeService) recomputeService).shutdown();
+        }
+        DatabaseConfig.shutdown();
+
+        ClassLoader webappClassLoader = Thread.currentThread().getContextClassLoader();
+        Enumeration<Driver> drivers = DriverManager.getDrivers();
+        while (drivers.hasMoreElements()) {
+            Driver driver = drivers.nextElement();
+            if (driver.getClass().getClassLoader() == webappClassLoader) {
+                try {
+                    DriverManager.deregisterDriver(driver);
+                    LOGGER.log(Level.INFO, "Driver JDBC desregistrado: {0}", driver.getClass().getName());
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Erro ao desregistrar o driver JDBC " + driver.getClass().getName(), e);
+                }
+            }
+        }
+    }
+}
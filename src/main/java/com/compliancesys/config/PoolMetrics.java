@@ -0,0 +1,91 @@
+package com.compliancesys.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Coleta métricas do pool de conexões através do ponto de extensão do HikariCP.
+ * Mantém um histograma do tempo de aquisição de conexões (em milissegundos),
+ * além de contadores de timeouts e de conexões criadas.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    /**
+     * Limites superiores (inclusivos, em ms) das faixas do histograma de aquisição.
+     * A última faixa acumula todas as aquisições acima do maior limite.
+     */
+    static final long[] BUCKET_LIMITS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private final AtomicLongArray acquireBuckets = new AtomicLongArray(BUCKET_LIMITS_MILLIS.length + 1);
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireTotalNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                recordAcquire(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Registra o tempo gasto para obter uma conexão do pool.
+     * @param elapsedNanos O tempo de aquisição em nanossegundos.
+     */
+    void recordAcquire(long elapsedNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = BUCKET_LIMITS_MILLIS.length;
+        for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+            if (millis <= BUCKET_LIMITS_MILLIS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        acquireBuckets.incrementAndGet(bucket);
+        acquireCount.increment();
+        acquireTotalNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Gera um retrato imutável das métricas, combinado com o estado atual do pool.
+     * @param active Conexões em uso.
+     * @param idle Conexões ociosas.
+     * @param total Total de conexões abertas.
+     * @param waiting Threads aguardando uma conexão.
+     * @return As estatísticas do pool.
+     */
+    PoolStatistics snapshot(int active, int idle, int total, int waiting) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+            histogram.put("<=" + BUCKET_LIMITS_MILLIS[i] + "ms", acquireBuckets.get(i));
+        }
+        histogram.put(">" + BUCKET_LIMITS_MILLIS[BUCKET_LIMITS_MILLIS.length - 1] + "ms",
+                acquireBuckets.get(BUCKET_LIMITS_MILLIS.length));
+
+        long count = acquireCount.sum();
+        double averageMillis = count == 0 ? 0.0 : acquireTotalNanos.sum() / (double) count / 1_000_000.0;
+        return new PoolStatistics(active, idle, total, waiting, count, averageMillis,
+                timeouts.sum(), connectionsCreated.sum(), histogram);
+    }
+}
@@ -0,0 +1,85 @@
+package com.compliancesys.config;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Retrato imutável das estatísticas do pool de conexões em um instante.
+ * Serializável via Gson para exposição em endpoints de monitoramento.
+ */
+public class PoolStatistics {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int totalConnections;
+    private final int threadsAwaitingConnection;
+    private final long acquireCount;
+    private final double averageAcquireMillis;
+    private final long connectionTimeouts;
+    private final long connectionsCreated;
+    private final Map<String, Long> acquireHistogram;
+
+    public PoolStatistics(int activeConnections, int idleConnections, int totalConnections, int threadsAwaitingConnection,
+                          long acquireCount, double averageAcquireMillis, long connectionTimeouts, long connectionsCreated,
+                          Map<String, Long> acquireHistogram) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.totalConnections = totalConnections;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+        this.acquireCount = acquireCount;
+        this.averageAcquireMillis = averageAcquireMillis;
+        this.connectionTimeouts = connectionTimeouts;
+        this.connectionsCreated = connectionsCreated;
+        this.acquireHistogram = Collections.unmodifiableMap(acquireHistogram);
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public double getAverageAcquireMillis() {
+        return averageAcquireMillis;
+    }
+
+    public long getConnectionTimeouts() {
+        return connectionTimeouts;
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    public Map<String, Long> getAcquireHistogram() {
+        return acquireHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStatistics{" +
+                "activeConnections=" + activeConnections +
+                ", idleConnections=" + idleConnections +
+                ", totalConnections=" + totalConnections +
+                ", threadsAwaitingConnection=" + threadsAwaitingConnection +
+                ", acquireCount=" + acquireCount +
+                ", averageAcquireMillis=" + String.format("%.3f", averageAcquireMillis) +
+                ", connectionTimeouts=" + connectionTimeouts +
+                ", connectionsCreated=" + connectionsCreated +
+                ", acquireHistogram=" + acquireHistogram +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+package com.compliancesys.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Unidade de trabalho associada à thread corrente.
+ * Todas as chamadas a {@link DatabaseConfig#getConnection()} feitas dentro de
+ * {@link #execute(Work)} compartilham a mesma conexão e a mesma transação, que é
+ * confirmada ao final do bloco ou desfeita se ele lançar qualquer exceção.
+ *
+ * A conexão só é obtida do pool quando o primeiro DAO a solicita, de modo que um
+ * bloco que não acessa o banco não consome conexão. Chamadas aninhadas a
+ * {@code execute} participam da unidade de trabalho já aberta.
+ * Ações registradas com {@link #afterCommit(Runnable)} só são executadas depois da confirmação.
+ */
+public final class UnitOfWork {
+
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Bloco de código executado dentro de uma unidade de trabalho.
+     * @param <T> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Executa o bloco em uma única conexão e transação.
+     * @param work O bloco a ser executado.
+     * @param <T> O tipo do resultado.
+     * @return O resultado do bloco.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados ou na confirmação da transação.
+     */
+    public static <T> T execute(Work<T> work) throws SQLException {
+        if (CURRENT.get() != null) {
+            return work.execute(); // Participa da unidade de trabalho já aberta nesta thread.
+        }
+
+        Context context = new Context();
+        CURRENT.set(context);
+        try {
+            T result = work.execute();
+            context.commit();
+            context.runAfterCommit();
+            return result;
+        } catch (Throwable t) {
+            context.rollback();
+            throw t;
+        } finally {
+            CURRENT.remove();
+            context.close();
+        }
+    }
+
+    /**
+     * Indica se há uma unidade de trabalho aberta na thread corrente.
+     * @return true se houver uma unidade de trabalho ativa.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Registra uma ação a ser executada quando a unidade de trabalho corrente for confirmada; se ela for
+     * desfeita, a ação é descartada. Sem unidade de trabalho ativa, a ação é executada imediatamente,
+     * pois cada comando já foi confirmado pelo autocommit.
+     * @param action A ação, por exemplo a atualização de um cache com o que acabou de ser gravado.
+     */
+    public static void afterCommit(Runnable action) {
+        Context context = CURRENT.get();
+        if (context != null) {
+            context.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Retorna a conexão da unidade de trabalho corrente, obtendo-a do pool no primeiro acesso.
+     * @return A conexão compartilhada, ou null se não houver unidade de trabalho ativa.
+     * @throws SQLException Se não for possível obter a conexão.
+     */
+    static Connection currentConnection() throws SQLException {
+        Context context = CURRENT.get();
+        return context != null ? context.connection() : null;
+    }
+
+    /**
+     * Estado de uma unidade de trabalho: a conexão física e o proxy entregue aos DAOs.
+     */
+    private static final class Context {
+        private Connection physical;
+        private Connection shared;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        Connection connection() throws SQLException {
+            if (physical == null) {
+                physical = DatabaseConfig.openPooledConnection();
+                physical.setAutoCommit(false);
+                shared = (Connection) Proxy.newProxyInstance(
+                        UnitOfWork.class.getClassLoader(),
+                        new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                // O ciclo de vida da conexão e da transação pertence à unidade de trabalho;
+                                // os try-with-resources dos DAOs não devem devolvê-la ao pool nem confirmar nada.
+                                case "close":
+                                case "commit":
+                                case "rollback":
+                                case "setAutoCommit":
+                                    return null;
+                                default:
+                                    try {
+                                        return method.invoke(physical, args);
+                                    } catch (InvocationTargetException e) {
+                                        throw e.getCause();
+                                    }
+                            }
+                        });
+            }
+            return shared;
+        }
+
+        void commit() throws SQLException {
+            if (physical != null) {
+                physical.commit();
+            }
+        }
+
+        // A transação já foi confirmada: uma falha em uma ação não deve ser propagada como erro da gravação.
+        void runAfterCommit() {
+            for (Runnable action : afterCommit) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Erro em ação executada após a confirmação da transação.", e);
+                }
+            }
+        }
+
+        void rollback() {
+            if (physical != null) {
+                try {
+                    physical.rollback();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.SEVERE, "Erro ao desfazer a transação da unidade de trabalho.", e);
+                }
+            }
+        }
+
+        void close() {
+            if (physical != null) {
+                try {
+                    physical.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Erro ao restaurar o autocommit da conexão.", e);
+                }
+                DatabaseConfig.closeResources(physical);
+                physical = null;
+                shared = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.util.GsonUtil;
+import com.compliancesys.util.impl.GsonUtilImpl;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Servlet de monitoramento dos caches de dados de referência.
+ * Responde a GET /system/caches com tamanho, acertos, faltas, descartes e expirações de cada índice.
+ */
+@WebServlet("/system/caches")
+public class CacheStatusServlet extends HttpServlet {
+
+    private GsonUtil gsonSerializer;
+
+    @Override
+    public void init() throws ServletException {
+        this.gsonSerializer = new GsonUtilImpl();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        out.print(gsonSerializer.serialize(DAOFactory.getCacheStatistics()));
+        out.flush();
+    }
+}
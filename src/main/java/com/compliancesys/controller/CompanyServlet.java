@@ -1,10 +1,15 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.Company;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.service.CompanyService;
 import com.compliancesys.service.impl.CompanyServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -29,7 +34,8 @@ public class CompanyServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.companyService = new CompanyServiceImpl(); // Você precisará criar CompanyServiceImpl
+        // DAO de empresas compartilhado, com cache de leitura por ID e CNPJ.
+        this.companyService = new CompanyServiceImpl(DAOFactory.getCompanyDAO(), new ValidatorImpl());
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
     }
 
@@ -43,15 +49,20 @@ public class CompanyServlet extends HttpServlet {
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // GET /companies - Retorna todas as empresas
-                List<Company> companies = companyService.getAllCompanies();
-                out.print(gsonSerializer.serialize(companies));
+                // GET /companies?limit=&after= - Retorna uma página de empresas (paginação por cursor)
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<Company> page = companyService.getCompaniesPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
             } else {
                 // GET /companies/{id} - Retorna uma empresa específica
                 int companyId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
                 Optional<Company> company = companyService.getCompanyById(companyId);
                 if (company.isPresent()) {
-                    out.print(gsonSerializer.serialize(company.get()));
+                    // Servido do cache de leitura: a versão vem da própria entidade.
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.COMPANY, companyId, company.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(company.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Empresa não encontrada.")));
@@ -60,6 +71,9 @@ public class CompanyServlet extends HttpServlet {
         } catch (NumberFormatException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("ID inválido no caminho da URL.")));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
         } catch (SQLException e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print(gsonSerializer.serialize(new ErrorResponse("Erro de banco de dados: " + e.getMessage())));
@@ -1,10 +1,22 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.dao.impl.EntityVersionDAOImpl;
+import com.compliancesys.dao.impl.TimeRecordDAOImpl;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.exception.DataAccessException;
 import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.ComplianceReport;
+import com.compliancesys.model.FleetAuditResult;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.service.ComplianceService;
 import com.compliancesys.service.impl.ComplianceServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
+import com.compliancesys.util.ProgressListener;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -17,6 +29,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Servlet para gerenciar operações de auditoria e relatórios de conformidade.
@@ -26,13 +39,17 @@ import java.util.Optional;
 public class ComplianceServlet extends HttpServlet {
 
     private ComplianceService complianceService;
+    private EntityVersionDAO versionDAO;
     private GsonUtil gsonSerializer;
 
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.complianceService = new ComplianceServiceImpl(); // Você precisará criar ComplianceServiceImpl
+        // DAOs compartilhados: as consultas de relatório passam pelo cache de auditorias, invalidado pelas gravações.
+        this.complianceService = new ComplianceServiceImpl(DAOFactory.getComplianceAuditDAO(), DAOFactory.getJourneyDAO(),
+                new TimeRecordDAOImpl(), new ValidatorImpl());
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
+        this.versionDAO = new EntityVersionDAOImpl();
     }
 
     @Override
@@ -45,51 +62,47 @@ public class ComplianceServlet extends HttpServlet {
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // GET /compliance - Retorna todas as auditorias de conformidade
-                List<ComplianceAudit> audits = complianceService.getAllComplianceAudits();
-                out.print(gsonSerializer.serialize(audits));
+                // GET /compliance?limit=&after= - Retorna uma página de auditorias de conformidade (paginação por cursor)
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<ComplianceAudit> page = complianceService.getComplianceAuditsPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
+            } else if (pathInfo.equals("/export")) {
+                // GET /compliance/export?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD - Exporta todas as auditorias de conformidade do período em streaming
+                exportComplianceAudits(request, out);
             } else if (pathInfo.startsWith("/journey/")) {
                 // GET /compliance/journey/{journeyId} - Retorna auditorias para uma jornada específica
                 int journeyId = Integer.parseInt(pathInfo.substring("/journey/".length()));
                 List<ComplianceAudit> audits = complianceService.getComplianceAuditsByJourneyId(journeyId);
                 out.print(gsonSerializer.serialize(audits));
             } else if (pathInfo.startsWith("/report/driver/")) {
-                // GET /compliance/report/driver/{driverId}?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD
+                // GET /compliance/report/driver/{driverId}?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD[&groupBy=day|company][&includeAudits=true]
                 int driverId = Integer.parseInt(pathInfo.substring("/report/driver/".length()));
-                String startDateParam = request.getParameter("startDate");
-                String endDateParam = request.getParameter("endDate");
-
-                if (startDateParam == null || endDateParam == null || startDateParam.isEmpty() || endDateParam.isEmpty()) {
-                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                    out.print(gsonSerializer.serialize(new ErrorResponse("Parâmetros startDate e endDate são obrigatórios para o relatório de motorista.")));
-                    return;
-                }
-
-                LocalDate startDate = LocalDate.parse(startDateParam);
-                LocalDate endDate = LocalDate.parse(endDateParam);
-                List<ComplianceAudit> report = complianceService.generateDriverComplianceReport(driverId, startDate, endDate);
+                LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+                LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+                ComplianceReport report = complianceService.generateDriverComplianceReport(driverId, startDate, endDate,
+                        RequestParameters.getReportGrouping(request, RequestParameters.GROUP_BY),
+                        RequestParameters.getBoolean(request, RequestParameters.INCLUDE_AUDITS));
                 out.print(gsonSerializer.serialize(report));
             } else if (pathInfo.startsWith("/report/overall")) {
-                // GET /compliance/report/overall?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD
-                String startDateParam = request.getParameter("startDate");
-                String endDateParam = request.getParameter("endDate");
-
-                if (startDateParam == null || endDateParam == null || startDateParam.isEmpty() || endDateParam.isEmpty()) {
-                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                    out.print(gsonSerializer.serialize(new ErrorResponse("Parâmetros startDate e endDate são obrigatórios para o relatório geral.")));
-                    return;
-                }
-
-                LocalDate startDate = LocalDate.parse(startDateParam);
-                LocalDate endDate = LocalDate.parse(endDateParam);
-                List<ComplianceAudit> report = complianceService.generateOverallComplianceReport(startDate, endDate);
+                // GET /compliance/report/overall?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD[&groupBy=day|company][&includeAudits=true]
+                LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+                LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+                ComplianceReport report = complianceService.generateOverallComplianceSummary(startDate, endDate,
+                        RequestParameters.getReportGrouping(request, RequestParameters.GROUP_BY),
+                        RequestParameters.getBoolean(request, RequestParameters.INCLUDE_AUDITS));
                 out.print(gsonSerializer.serialize(report));
             } else {
                 // GET /compliance/{auditId} - Retorna uma auditoria específica
                 int auditId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
+                if (ConditionalGet.respondIfNotModified(request, response, VersionedEntity.COMPLIANCE_AUDIT, auditId, versionDAO)) {
+                    return; // 304 sem carregar o registro: o cliente já tem a versão atual.
+                }
                 Optional<ComplianceAudit> audit = complianceService.getComplianceAuditById(auditId);
                 if (audit.isPresent()) {
-                    out.print(gsonSerializer.serialize(audit.get()));
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.COMPLIANCE_AUDIT, auditId, audit.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(audit.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Auditoria de conformidade não encontrada.")));
@@ -101,6 +114,9 @@ public class ComplianceServlet extends HttpServlet {
         } catch (DateTimeParseException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("Formato de data inválido. Use YYYY-MM-DD.")));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
         } catch (SQLException e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print(gsonSerializer.serialize(new ErrorResponse("Erro de banco de dados: " + e.getMessage())));
@@ -118,6 +134,20 @@ public class ComplianceServlet extends HttpServlet {
         PrintWriter out = response.getWriter();
 
         String pathInfo = request.getPathInfo();
+        if ("/audit/fleet".equals(pathInfo)) {
+            // POST /compliance/audit/fleet?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD - Reaudita todas as jornadas da frota no período
+            try {
+                LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+                LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+                FleetAuditResult result = complianceService.performFleetAudit(startDate, endDate, ProgressListener.NONE);
+                out.print(gsonSerializer.serialize(result));
+            } catch (BusinessException e) {
+                response.setStatus(ErrorStatus.of(e));
+                out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
+            }
+            out.flush();
+            return;
+        }
         if (pathInfo == null || !pathInfo.equals("/audit")) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("Requisição POST inválida. Use /compliance/audit para realizar uma auditoria.")));
@@ -152,6 +182,21 @@ public class ComplianceServlet extends HttpServlet {
         out.flush();
     }
 
+    /**
+     * Escreve as auditorias de conformidade do período como um array JSON, linha a linha, à medida que são lidas do banco.
+     * Erros de parâmetros são lançados antes de qualquer escrita; depois que o array começou a ser
+     * enviado o status não pode mais ser alterado, então uma falha apenas interrompe a resposta.
+     */
+    private void exportComplianceAudits(HttpServletRequest request, PrintWriter out) {
+        LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+        LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+        try (Stream<ComplianceAudit> audits = complianceService.streamComplianceAuditsByPeriod(startDate, endDate)) {
+            gsonSerializer.writeJsonArray(audits.iterator(), out);
+        } catch (DataAccessException | IOException e) {
+            log("Exportação de auditorias de conformidade interrompida: " + e.getMessage(), e);
+        }
+    }
+
     // Classe auxiliar para padronizar respostas de erro
     private static class ErrorResponse {
         private String message;
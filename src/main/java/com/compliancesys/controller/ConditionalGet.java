@@ -0,0 +1,108 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.model.enums.VersionedEntity;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilitário para GETs condicionais das entidades: gera ETag e Last-Modified a partir de updated_at e responde
+ * 304 (Not Modified) quando o cliente já tem a versão atual, sem serializar a entidade.
+ * If-None-Match tem precedência sobre If-Modified-Since, como define a RFC 7232.
+ */
+final class ConditionalGet {
+
+    static final String ETAG = "ETag";
+    static final String LAST_MODIFIED = "Last-Modified";
+    static final String IF_NONE_MATCH = "If-None-Match";
+    static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Responde 304 consultando apenas a data de atualização do registro, sem carregá-lo.
+     * Requisições sem cabeçalhos condicionais não geram consulta.
+     * @param request A requisição HTTP.
+     * @param response A resposta HTTP.
+     * @param entity O tipo da entidade.
+     * @param id O ID do registro.
+     * @param versions O DAO de versões.
+     * @return true se a resposta 304 foi enviada e o corpo não deve ser escrito.
+     * @throws SQLException Se ocorrer um erro ao consultar a versão.
+     */
+    static boolean respondIfNotModified(HttpServletRequest request, HttpServletResponse response,
+                                        VersionedEntity entity, int id, EntityVersionDAO versions) throws SQLException {
+        if (!isConditional(request)) {
+            return false;
+        }
+        Optional<LocalDateTime> updatedAt = versions.findUpdatedAt(entity, id);
+        return updatedAt.isPresent() && respondIfNotModified(request, response, entity, id, updatedAt.get());
+    }
+
+    /**
+     * Grava ETag e Last-Modified da entidade já carregada e responde 304 se o cliente tem a versão atual.
+     * @param updatedAt A data da última atualização da entidade; se null, nenhum cabeçalho é gravado.
+     * @return true se a resposta 304 foi enviada e o corpo não deve ser escrito.
+     */
+    static boolean respondIfNotModified(HttpServletRequest request, HttpServletResponse response,
+                                        VersionedEntity entity, int id, LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return false;
+        }
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        String etag = etag(entity, id, instant);
+        response.setHeader(ETAG, etag);
+        response.setDateHeader(LAST_MODIFIED, instant.toEpochMilli());
+        response.setHeader("Cache-Control", "no-cache"); // O cliente pode guardar, mas deve revalidar.
+        if (isNotModified(request, etag, instant)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null || request.getHeader(IF_MODIFIED_SINCE) != null;
+    }
+
+    // ETag fraca: a representação é equivalente, não necessariamente idêntica byte a byte.
+    static String etag(VersionedEntity entity, int id, Instant updatedAt) {
+        long micros = TimeUnit.SECONDS.toMicros(updatedAt.getEpochSecond()) + updatedAt.getNano() / 1_000;
+        return "W/\"" + entity.name().toLowerCase(Locale.ROOT) + "-" + id + "-" + Long.toString(micros, 36) + "\"";
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String etag, Instant updatedAt) {
+        String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String opaque = opaqueTag(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false; // Data em formato inválido: a condição é ignorada.
+        }
+        // Datas HTTP têm resolução de segundos.
+        return ifModifiedSince >= 0 && updatedAt.getEpochSecond() <= ifModifiedSince / 1_000;
+    }
+
+    // Comparação fraca: ignora o prefixo W/.
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
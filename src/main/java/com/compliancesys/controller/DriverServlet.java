@@ -1,10 +1,15 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.Driver;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.service.DriverService;
 import com.compliancesys.service.impl.DriverServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -29,7 +34,9 @@ public class DriverServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.driverService = new DriverServiceImpl(); // Você precisará criar DriverServiceImpl
+        // DAO de motoristas compartilhado: buscas por ID, CPF e CNH são atendidas pelo seu cache, e o filtro de CPFs evita
+        // a consulta de unicidade no cadastro de um CPF novo.
+        this.driverService = new DriverServiceImpl(DAOFactory.getDriverDAO(), new ValidatorImpl());
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
     }
 
@@ -41,10 +48,15 @@ public class DriverServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo(); // /drivers/{id}
         if (pathInfo == null || pathInfo.equals("/")) {
-            // GET /drivers - Retorna todos os motoristas
+            // GET /drivers?limit=&after= - Retorna uma página de motoristas (paginação por cursor)
             try {
-                List<Driver> drivers = driverService.getAllDrivers();
-                out.print(gsonSerializer.serialize(drivers));
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<Driver> page = driverService.getDriversPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
+            } catch (BusinessException e) {
+                response.setStatus(ErrorStatus.of(e));
+                out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
             } catch (SQLException e) {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 out.print(gsonSerializer.serialize(new ErrorResponse("Erro ao buscar motoristas: " + e.getMessage())));
@@ -55,7 +67,10 @@ public class DriverServlet extends HttpServlet {
                 int driverId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
                 Optional<Driver> driver = driverService.getDriverById(driverId);
                 if (driver.isPresent()) {
-                    out.print(gsonSerializer.serialize(driver.get()));
+                    // Servido do cache de leitura: a versão vem da própria entidade.
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.DRIVER, driverId, driver.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(driver.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Motorista não encontrado.")));
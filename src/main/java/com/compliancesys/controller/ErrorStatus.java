@@ -0,0 +1,29 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.exception.BusinessException;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLException;
+
+/**
+ * Utilitário que define o status HTTP de uma {@link BusinessException}.
+ * Os serviços também usam BusinessException para encapsular falhas de banco ("Erro interno..."):
+ * essas são falhas do servidor (500), e não da requisição (400).
+ */
+final class ErrorStatus {
+
+    private ErrorStatus() {
+    }
+
+    /**
+     * @param e A exceção lançada pelo serviço.
+     * @return 500 se a exceção tem uma {@link SQLException} na cadeia de causas; 400 caso contrário.
+     */
+    static int of(BusinessException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                return HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            }
+        }
+        return HttpServletResponse.SC_BAD_REQUEST;
+    }
+}
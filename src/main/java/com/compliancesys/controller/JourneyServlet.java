@@ -1,10 +1,20 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.dao.impl.EntityVersionDAOImpl;
+import com.compliancesys.dao.impl.TimeRecordDAOImpl;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.exception.DataAccessException;
+import com.compliancesys.model.ActivityWindow;
 import com.compliancesys.model.Journey;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.service.JourneyService;
 import com.compliancesys.service.impl.JourneyServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -14,8 +24,11 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Servlet para gerenciar operações CRUD de jornadas (Journey).
@@ -26,13 +39,18 @@ import java.util.Optional;
 public class JourneyServlet extends HttpServlet {
 
     private JourneyService journeyService;
+    private EntityVersionDAO versionDAO;
     private GsonUtil gsonSerializer;
 
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.journeyService = new JourneyServiceImpl(); // Você precisará criar JourneyServiceImpl
+        // DAO de jornadas compartilhado: as consultas de status do dia são atendidas pelo seu cache.
+        // TimeUtil ainda não tem implementação e não é usado no cálculo da jornada.
+        this.journeyService = new JourneyServiceImpl(DAOFactory.getJourneyDAO(), new TimeRecordDAOImpl(),
+                new ValidatorImpl(), null);
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
+        this.versionDAO = new EntityVersionDAOImpl();
     }
 
     @Override
@@ -44,14 +62,50 @@ public class JourneyServlet extends HttpServlet {
         String pathInfo = request.getPathInfo(); // /journeys/{id} ou /journeys/driver/{driverId}?date=YYYY-MM-DD
 
         if (pathInfo == null || pathInfo.equals("/")) {
-            // GET /journeys - Retorna todas as jornadas
+            // GET /journeys?limit=&after= - Retorna uma página de jornadas (paginação por cursor)
+            // GET /journeys?driverIds=1,2,3&date=YYYY-MM-DD - Jornadas de vários motoristas na data, agrupadas por motorista
             try {
-                List<Journey> journeys = journeyService.getAllJourneys();
-                out.print(gsonSerializer.serialize(journeys));
+                int[] driverIds = RequestParameters.getIntList(request, RequestParameters.DRIVER_IDS);
+                if (driverIds != null) {
+                    LocalDate journeyDate = RequestParameters.getRequiredDate(request, RequestParameters.DATE);
+                    Map<Integer, List<Journey>> journeysByDriver = journeyService.getJourneysByDriverIdsAndDate(driverIds, journeyDate);
+                    out.print(gsonSerializer.serialize(journeysByDriver));
+                } else {
+                    int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                    int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                    Page<Journey> page = journeyService.getJourneysPage(afterId, limit);
+                    out.print(gsonSerializer.serialize(page));
+                }
+            } catch (BusinessException e) {
+                response.setStatus(ErrorStatus.of(e));
+                out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
             } catch (SQLException e) {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 out.print(gsonSerializer.serialize(new ErrorResponse("Erro ao buscar jornadas: " + e.getMessage())));
             }
+        } else if (pathInfo.equals("/export")) {
+            // GET /journeys/export?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD - Exporta todas as jornadas do período em streaming
+            try {
+                exportJourneys(request, out);
+            } catch (BusinessException e) {
+                response.setStatus(ErrorStatus.of(e));
+                out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
+            }
+        } else if (pathInfo.startsWith("/driver/") && pathInfo.endsWith("/window")) {
+            // GET /journeys/driver/{driverId}/window?from=YYYY-MM-DDTHH:MM&to=YYYY-MM-DDTHH:MM - Tempo por atividade na janela
+            try {
+                int driverId = Integer.parseInt(pathInfo.substring("/driver/".length(), pathInfo.length() - "/window".length()));
+                LocalDateTime from = RequestParameters.getRequiredDateTime(request, RequestParameters.FROM);
+                LocalDateTime to = RequestParameters.getRequiredDateTime(request, RequestParameters.TO);
+                ActivityWindow window = journeyService.getActivityWindow(driverId, from, to);
+                out.print(gsonSerializer.serialize(window));
+            } catch (NumberFormatException e) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                out.print(gsonSerializer.serialize(new ErrorResponse("ID de motorista inválido.")));
+            } catch (BusinessException e) {
+                response.setStatus(ErrorStatus.of(e));
+                out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
+            }
         } else if (pathInfo.startsWith("/driver/")) {
             // GET /journeys/driver/{driverId}?date=YYYY-MM-DD
             try {
@@ -62,6 +116,11 @@ public class JourneyServlet extends HttpServlet {
                 if (dateParam != null && !dateParam.isEmpty()) {
                     LocalDate journeyDate = LocalDate.parse(dateParam);
                     Optional<Journey> journey = journeyService.getJourneyByDriverIdAndDate(driverId, journeyDate);
+                    // Consulta de status do aplicativo móvel: a jornada do dia vem do cache e costuma não ter mudado.
+                    if (journey.isPresent() && ConditionalGet.respondIfNotModified(request, response,
+                            VersionedEntity.JOURNEY, journey.get().getId(), journey.get().getUpdatedAt())) {
+                        return;
+                    }
                     journeys = journey.map(List::of).orElse(List.of()); // Retorna lista com 1 item ou vazia
                 } else {
                     journeys = journeyService.getJourneysByDriverId(driverId);
@@ -81,9 +140,14 @@ public class JourneyServlet extends HttpServlet {
             // GET /journeys/{id} - Retorna uma jornada específica
             try {
                 int journeyId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
+                if (ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, journeyId, versionDAO)) {
+                    return; // 304 sem carregar o registro: o cliente já tem a versão atual.
+                }
                 Optional<Journey> journey = journeyService.getJourneyById(journeyId);
                 if (journey.isPresent()) {
-                    out.print(gsonSerializer.serialize(journey.get()));
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, journeyId, journey.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(journey.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Jornada não encontrada.")));
@@ -198,6 +262,21 @@ public class JourneyServlet extends HttpServlet {
         out.flush();
     }
 
+    /**
+     * Escreve as jornadas do período como um array JSON, linha a linha, à medida que são lidas do banco.
+     * Erros de parâmetros são lançados antes de qualquer escrita; depois que o array começou a ser
+     * enviado o status não pode mais ser alterado, então uma falha apenas interrompe a resposta.
+     */
+    private void exportJourneys(HttpServletRequest request, PrintWriter out) {
+        LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+        LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+        try (Stream<Journey> journeys = journeyService.streamJourneysByPeriod(startDate, endDate)) {
+            gsonSerializer.writeJsonArray(journeys.iterator(), out);
+        } catch (DataAccessException | IOException e) {
+            log("Exportação de jornadas interrompida: " + e.getMessage(), e);
+        }
+    }
+
     // Classe auxiliar para padronizar respostas de erro
     private static class ErrorResponse {
         private String message;
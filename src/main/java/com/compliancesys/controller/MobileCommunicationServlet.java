@@ -1,6 +1,11 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.dao.impl.EntityVersionDAOImpl;
+import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.service.MobileCommunicationService;
 import com.compliancesys.service.impl.MobileCommunicationServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
@@ -24,6 +29,7 @@ import java.util.Optional;
 public class MobileCommunicationServlet extends HttpServlet {
 
     private MobileCommunicationService mobileCommunicationService;
+    private EntityVersionDAO versionDAO;
     private GsonUtil gsonSerializer;
 
     @Override
@@ -31,6 +37,7 @@ public class MobileCommunicationServlet extends HttpServlet {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
         this.mobileCommunicationService = new MobileCommunicationServiceImpl(); // Você precisará criar MobileCommunicationServiceImpl
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
+        this.versionDAO = new EntityVersionDAOImpl();
     }
 
     @Override
@@ -43,9 +50,11 @@ public class MobileCommunicationServlet extends HttpServlet {
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // GET /mobilecommunications - Retorna todas as comunicações
-                List<MobileCommunication> communications = mobileCommunicationService.getAllMobileCommunications();
-                out.print(gsonSerializer.serialize(communications));
+                // GET /mobilecommunications?limit=&after= - Retorna uma página de comunicações (paginação por cursor)
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<MobileCommunication> page = mobileCommunicationService.getMobileCommunicationsPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
             } else if (pathInfo.startsWith("/record/")) {
                 // GET /mobilecommunications/record/{recordId} - Retorna comunicações para um TimeRecord específico
                 int recordId = Integer.parseInt(pathInfo.substring("/record/".length()));
@@ -54,9 +63,14 @@ public class MobileCommunicationServlet extends HttpServlet {
             } else {
                 // GET /mobilecommunications/{id} - Retorna uma comunicação específica
                 int commId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
+                if (ConditionalGet.respondIfNotModified(request, response, VersionedEntity.MOBILE_COMMUNICATION, commId, versionDAO)) {
+                    return; // 304 sem carregar o registro: o cliente já tem a versão atual.
+                }
                 Optional<MobileCommunication> communication = mobileCommunicationService.getMobileCommunicationById(commId);
                 if (communication.isPresent()) {
-                    out.print(gsonSerializer.serialize(communication.get()));
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.MOBILE_COMMUNICATION, commId, communication.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(communication.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Comunicação móvel não encontrada.")));
@@ -65,6 +79,9 @@ public class MobileCommunicationServlet extends HttpServlet {
         } catch (NumberFormatException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("ID inválido no caminho da URL.")));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
         } catch (SQLException e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print(gsonSerializer.serialize(new ErrorResponse("Erro de banco de dados: " + e.getMessage())));
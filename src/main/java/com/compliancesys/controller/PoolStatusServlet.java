@@ -0,0 +1,37 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.util.GsonUtil;
+import com.compliancesys.util.impl.GsonUtilImpl;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Servlet de monitoramento do pool de conexões.
+ * Responde a GET /system/pool com conexões ativas, ociosas, threads em espera
+ * e o histograma de tempo de aquisição de conexões.
+ */
+@WebServlet("/system/pool")
+public class PoolStatusServlet extends HttpServlet {
+
+    private GsonUtil gsonSerializer;
+
+    @Override
+    public void init() throws ServletException {
+        this.gsonSerializer = new GsonUtilImpl();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        out.print(gsonSerializer.serialize(DatabaseConfig.getPoolStatistics()));
+        out.flush();
+    }
+}
@@ -0,0 +1,140 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.enums.ReportGrouping;
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Utilitário para leitura de parâmetros de query string comuns aos servlets.
+ */
+final class RequestParameters {
+
+    static final String LIMIT = "limit";
+    static final String AFTER = "after";
+    static final String START_DATE = "startDate";
+    static final String END_DATE = "endDate";
+    static final String DATE = "date";
+    static final String DRIVER_IDS = "driverIds";
+    static final String GROUP_BY = "groupBy";
+    static final String INCLUDE_AUDITS = "includeAudits";
+    static final String FROM = "from";
+    static final String TO = "to";
+
+    private RequestParameters() {
+    }
+
+    /**
+     * Lê um parâmetro inteiro da requisição.
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @param defaultValue O valor usado quando o parâmetro está ausente ou vazio.
+     * @return O valor do parâmetro.
+     * @throws BusinessException Se o parâmetro não for um número inteiro.
+     */
+    static int getInt(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Parâmetro " + name + " inválido: " + value);
+        }
+    }
+
+    /**
+     * Lê um parâmetro de data obrigatório no formato YYYY-MM-DD.
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @return A data informada.
+     * @throws BusinessException Se o parâmetro estiver ausente ou em formato inválido.
+     */
+    static LocalDate getRequiredDate(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new BusinessException("Parâmetro " + name + " é obrigatório.");
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Parâmetro " + name + " inválido. Use YYYY-MM-DD.");
+        }
+    }
+
+    /**
+     * Lê um parâmetro de data e hora obrigatório no formato YYYY-MM-DDTHH:MM[:SS].
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @return A data e hora informadas.
+     * @throws BusinessException Se o parâmetro estiver ausente ou em formato inválido.
+     */
+    static LocalDateTime getRequiredDateTime(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new BusinessException("Parâmetro " + name + " é obrigatório.");
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Parâmetro " + name + " inválido. Use YYYY-MM-DDTHH:MM.");
+        }
+    }
+
+    /**
+     * Lê um parâmetro com uma lista de inteiros separados por vírgula (ex.: driverIds=1,2,3).
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @return Os valores informados, ou null se o parâmetro estiver ausente ou vazio.
+     * @throws BusinessException Se algum valor não for um número inteiro.
+     */
+    static int[] getIntList(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                values[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new BusinessException("Parâmetro " + name + " inválido: " + value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Lê um parâmetro booleano (true/false).
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @return true somente se o parâmetro for "true" (sem diferenciar maiúsculas).
+     */
+    static boolean getBoolean(HttpServletRequest request, String name) {
+        return Boolean.parseBoolean(request.getParameter(name));
+    }
+
+    /**
+     * Lê o agrupamento de um relatório (none, day ou company).
+     * @param request A requisição HTTP.
+     * @param name O nome do parâmetro.
+     * @return O agrupamento informado, ou {@link ReportGrouping#NONE} se o parâmetro estiver ausente.
+     * @throws BusinessException Se o valor não for um agrupamento conhecido.
+     */
+    static ReportGrouping getReportGrouping(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return ReportGrouping.NONE;
+        }
+        try {
+            return ReportGrouping.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Parâmetro " + name + " inválido: " + value + ". Use none, day ou company.");
+        }
+    }
+}
@@ -1,10 +1,36 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.dao.impl.EntityVersionDAOImpl;
+import com.compliancesys.dao.impl.TimeRecordDAOImpl;
+import com.compliancesys.dao.impl.ViolationAlertDAOImpl;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.exception.DataAccessException;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.model.TimeRecord;
+import com.compliancesys.service.JourneyEngine;
+import com.compliancesys.service.JourneyRecomputeService;
 import com.compliancesys.service.TimeRecordService;
+import com.compliancesys.service.ViolationAlertService;
+import com.compliancesys.service.alerts.AlertSink;
+import com.compliancesys.service.alerts.DatabaseAlertSink;
+import com.compliancesys.service.alerts.HttpCallbackAlertSink;
+import com.compliancesys.service.alerts.LoggingAlertSink;
+import com.compliancesys.service.impl.ComplianceServiceImpl;
+import com.compliancesys.service.impl.JourneyEngineImpl;
+import com.compliancesys.service.impl.JourneyRecomputeServiceImpl;
+import com.compliancesys.service.impl.JourneyServiceImpl;
 import com.compliancesys.service.impl.TimeRecordServiceImpl; // Assumindo uma implementação
+import com.compliancesys.service.impl.ViolationAlertServiceImpl;
 import com.compliancesys.util.GsonUtil;
+import com.compliancesys.util.Validator;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -15,8 +41,12 @@ import java.io.PrintWriter;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException; // Import adicionado para tratamento de exceção
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servlet para gerenciar operações CRUD de registros de ponto (TimeRecord).
@@ -26,13 +56,44 @@ import java.util.Optional;
 public class TimeRecordServlet extends HttpServlet {
 
     private TimeRecordService timeRecordService;
+    private EntityVersionDAO versionDAO;
     private GsonUtil gsonSerializer;
 
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.timeRecordService = new TimeRecordServiceImpl(); // Substituído por implementação real
+        // O motor de jornada usa o DAO de jornadas compartilhado, cujo cache atende às consultas de status.
+        // Os alertas preventivos e o recálculo de jornadas mantêm estado e threads próprias: as instâncias únicas
+        // são publicadas no contexto para serem encerradas pelo DatabaseLifecycleListener.
         this.gsonSerializer = new GsonUtilImpl(); // Substituído por implementação real
+        TimeRecordDAO timeRecordDAO = new TimeRecordDAOImpl();
+        JourneyDAO journeyDAO = DAOFactory.getJourneyDAO();
+        Validator validator = new ValidatorImpl();
+        JourneyEngine journeyEngine = new JourneyEngineImpl(journeyDAO, timeRecordDAO);
+        ViolationAlertService alertService = new ViolationAlertServiceImpl(createAlertSinks());
+        getServletContext().setAttribute(ViolationAlertService.class.getName(), alertService);
+        JourneyRecomputeService recomputeService = new JourneyRecomputeServiceImpl(timeRecordDAO, journeyDAO,
+                new JourneyServiceImpl(journeyDAO, timeRecordDAO, validator, null),
+                new ComplianceServiceImpl(DAOFactory.getComplianceAuditDAO(), journeyDAO, validator), journeyEngine);
+        getServletContext().setAttribute(JourneyRecomputeService.class.getName(), recomputeService);
+        this.timeRecordService = new TimeRecordServiceImpl(timeRecordDAO, validator, journeyEngine, alertService,
+                recomputeService);
+        this.versionDAO = new EntityVersionDAOImpl();
+    }
+
+    /**
+     * Destinos dos alertas preventivos: o log, a tabela violation_alerts e, se alerts.callbackUrl estiver
+     * configurado, o callback HTTP.
+     */
+    private List<AlertSink> createAlertSinks() {
+        List<AlertSink> sinks = new ArrayList<>();
+        sinks.add(new LoggingAlertSink());
+        sinks.add(new DatabaseAlertSink(new ViolationAlertDAOImpl()));
+        String callbackUrl = DatabaseConfig.getProperty("alerts.callbackUrl");
+        if (callbackUrl != null && !callbackUrl.trim().isEmpty()) {
+            sinks.add(new HttpCallbackAlertSink(callbackUrl, gsonSerializer));
+        }
+        return sinks;
     }
 
     @Override
@@ -41,13 +102,18 @@ public class TimeRecordServlet extends HttpServlet {
         response.setCharacterEncoding("UTF-8");
         PrintWriter out = response.getWriter();
 
-        String pathInfo = request.getPathInfo(); // /timerecords/{id} ou /timerecords/driver/{driverId}?date=YYYY-MM-DD
+        String pathInfo = request.getPathInfo(); // /timerecords/{id}, /timerecords/driver/{driverId}?date=YYYY-MM-DD ou /timerecords/vehicle/{vehicleId}?date=YYYY-MM-DD
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // GET /timerecords - Retorna todos os registros de ponto
-                List<TimeRecord> timeRecords = timeRecordService.getAllTimeRecords();
-                out.print(gsonSerializer.serialize(timeRecords));
+                // GET /timerecords?limit=&after= - Retorna uma página de registros de ponto (paginação por cursor)
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<TimeRecord> page = timeRecordService.getTimeRecordsPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
+            } else if (pathInfo.equals("/export")) {
+                // GET /timerecords/export?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD - Exporta todos os registros de ponto do período em streaming
+                exportTimeRecords(request, out);
             } else if (pathInfo.startsWith("/driver/")) {
                 // GET /timerecords/driver/{driverId}?date=YYYY-MM-DD
                 int driverId = Integer.parseInt(pathInfo.substring("/driver/".length()));
@@ -61,12 +127,22 @@ public class TimeRecordServlet extends HttpServlet {
                     records = timeRecordService.getTimeRecordsByDriverId(driverId);
                 }
                 out.print(gsonSerializer.serialize(records));
+            } else if (pathInfo.startsWith("/vehicle/")) {
+                // GET /timerecords/vehicle/{vehicleId}?date=YYYY-MM-DD
+                int vehicleId = Integer.parseInt(pathInfo.substring("/vehicle/".length()));
+                LocalDate date = RequestParameters.getRequiredDate(request, "date");
+                out.print(gsonSerializer.serialize(timeRecordService.getTimeRecordsByVehicleIdAndDate(vehicleId, date)));
             } else {
                 // GET /timerecords/{id} - Retorna um registro de ponto específico
                 int recordId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
+                if (ConditionalGet.respondIfNotModified(request, response, VersionedEntity.TIME_RECORD, recordId, versionDAO)) {
+                    return; // 304 sem carregar o registro: o cliente já tem a versão atual.
+                }
                 Optional<TimeRecord> timeRecord = timeRecordService.getTimeRecordById(recordId);
                 if (timeRecord.isPresent()) {
-                    out.print(gsonSerializer.serialize(timeRecord.get()));
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.TIME_RECORD, recordId, timeRecord.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(timeRecord.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Registro de ponto não encontrado.")));
@@ -78,6 +154,9 @@ public class TimeRecordServlet extends HttpServlet {
         } catch (DateTimeParseException e) { // Adicionado tratamento para erro de parsing de data
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("Formato de data inválido. Use YYYY-MM-DD.")));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
         } catch (SQLException e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print(gsonSerializer.serialize(new ErrorResponse("Erro de banco de dados: " + e.getMessage())));
@@ -94,6 +173,13 @@ public class TimeRecordServlet extends HttpServlet {
         response.setCharacterEncoding("UTF-8");
         PrintWriter out = response.getWriter();
 
+        if ("/batch".equals(request.getPathInfo())) {
+            // POST /timerecords/batch - Cria vários registros de ponto enviados como array JSON
+            createTimeRecordsBatch(request, response, out);
+            out.flush();
+            return;
+        }
+
         try {
             TimeRecord timeRecord = gsonSerializer.deserialize(request.getReader().readLine(), TimeRecord.class);
             int newRecordId = timeRecordService.registerTimeRecord(timeRecord);
@@ -187,6 +273,46 @@ public class TimeRecordServlet extends HttpServlet {
         out.flush();
     }
 
+    /**
+     * Trata POST /timerecords/batch. O corpo é um array JSON de registros de ponto;
+     * a resposta traz os registros criados com os IDs gerados, na mesma ordem.
+     */
+    private void createTimeRecordsBatch(HttpServletRequest request, HttpServletResponse response, PrintWriter out) throws IOException {
+        try {
+            String body = request.getReader().lines().collect(Collectors.joining());
+            TimeRecord[] timeRecords = gsonSerializer.deserialize(body, TimeRecord[].class);
+            if (timeRecords == null) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                out.print(gsonSerializer.serialize(new ErrorResponse("Corpo da requisição deve ser um array de registros de ponto.")));
+                return;
+            }
+            List<TimeRecord> created = timeRecordService.createTimeRecords(new ArrayList<>(Arrays.asList(timeRecords)));
+            response.setStatus(HttpServletResponse.SC_CREATED);
+            out.print(gsonSerializer.serialize(created));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.print(gsonSerializer.serialize(new ErrorResponse("Dados de registros de ponto inválidos: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * Escreve os registros de ponto do período como um array JSON, linha a linha, à medida que são lidos do banco.
+     * Erros de parâmetros são lançados antes de qualquer escrita; depois que o array começou a ser
+     * enviado o status não pode mais ser alterado, então uma falha apenas interrompe a resposta.
+     */
+    private void exportTimeRecords(HttpServletRequest request, PrintWriter out) {
+        LocalDate startDate = RequestParameters.getRequiredDate(request, RequestParameters.START_DATE);
+        LocalDate endDate = RequestParameters.getRequiredDate(request, RequestParameters.END_DATE);
+        try (Stream<TimeRecord> records = timeRecordService.streamTimeRecordsByPeriod(startDate, endDate)) {
+            gsonSerializer.writeJsonArray(records.iterator(), out);
+        } catch (DataAccessException | IOException e) {
+            log("Exportação de registros de ponto interrompida: " + e.getMessage(), e);
+        }
+    }
+
     // Classe auxiliar para padronizar respostas de erro
     private static class ErrorResponse {
         private String message;
@@ -1,10 +1,15 @@
 package com.compliancesys.controller;
 
+import com.compliancesys.dao.DAOFactory;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.VersionedEntity;
 import com.compliancesys.model.Vehicle;
 import com.compliancesys.service.VehicleService;
 import com.compliancesys.service.impl.VehicleServiceImpl; // Assumindo uma implementação
 import com.compliancesys.util.GsonUtil;
 import com.compliancesys.util.impl.GsonUtilImpl; // Assumindo uma implementação
+import com.compliancesys.util.impl.ValidatorImpl;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -29,7 +34,8 @@ public class VehicleServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         // Instanciando diretamente para o exemplo. Em um projeto real, use injeção de dependência.
-        this.vehicleService = new VehicleServiceImpl(); // Você precisará criar VehicleServiceImpl
+        // DAO de veículos compartilhado: cache por ID e placa, e filtro de placas na verificação de unicidade.
+        this.vehicleService = new VehicleServiceImpl(DAOFactory.getVehicleDAO(), new ValidatorImpl());
         this.gsonSerializer = new GsonUtilImpl(); // Você precisará criar GsonUtilImpl
     }
 
@@ -43,15 +49,20 @@ public class VehicleServlet extends HttpServlet {
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // GET /vehicles - Retorna todos os veículos
-                List<Vehicle> vehicles = vehicleService.getAllVehicles();
-                out.print(gsonSerializer.serialize(vehicles));
+                // GET /vehicles?limit=&after= - Retorna uma página de veículos (paginação por cursor)
+                int limit = RequestParameters.getInt(request, RequestParameters.LIMIT, Page.DEFAULT_LIMIT);
+                int afterId = RequestParameters.getInt(request, RequestParameters.AFTER, 0);
+                Page<Vehicle> page = vehicleService.getVehiclesPage(afterId, limit);
+                out.print(gsonSerializer.serialize(page));
             } else {
                 // GET /vehicles/{id} - Retorna um veículo específico
                 int vehicleId = Integer.parseInt(pathInfo.substring(1)); // Remove a barra inicial
                 Optional<Vehicle> vehicle = vehicleService.getVehicleById(vehicleId);
                 if (vehicle.isPresent()) {
-                    out.print(gsonSerializer.serialize(vehicle.get()));
+                    // Servido do cache de leitura: a versão vem da própria entidade.
+                    if (!ConditionalGet.respondIfNotModified(request, response, VersionedEntity.VEHICLE, vehicleId, vehicle.get().getUpdatedAt())) {
+                        out.print(gsonSerializer.serialize(vehicle.get()));
+                    }
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     out.print(gsonSerializer.serialize(new ErrorResponse("Veículo não encontrado.")));
@@ -60,6 +71,9 @@ public class VehicleServlet extends HttpServlet {
         } catch (NumberFormatException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             out.print(gsonSerializer.serialize(new ErrorResponse("ID inválido no caminho da URL.")));
+        } catch (BusinessException e) {
+            response.setStatus(ErrorStatus.of(e));
+            out.print(gsonSerializer.serialize(new ErrorResponse(e.getMessage())));
         } catch (SQLException e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.print(gsonSerializer.serialize(new ErrorResponse("Erro de banco de dados: " + e.getMessage())));
@@ -0,0 +1,34 @@
+package com.compliancesys.dao;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.util.ProgressListener;
+
+/**
+ * Interface para cargas em massa (backfills históricos e importações noturnas de telemetria).
+ * As linhas são consumidas do iterador e enviadas ao banco à medida que são lidas,
+ * sem manter a entrada inteira em memória.
+ */
+public interface BulkLoadDAO {
+
+    /**
+     * Carrega registros de ponto em massa na tabela time_records.
+     * @param timeRecords Os registros a serem carregados, consumidos uma única vez.
+     * @param listener Listener notificado com a quantidade de linhas enviadas e a taxa de linhas por segundo.
+     * @return A quantidade de linhas inseridas.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados. Nesse caso nenhuma linha é inserida.
+     */
+    long copyTimeRecords(Iterator<TimeRecord> timeRecords, ProgressListener listener) throws SQLException;
+
+    /**
+     * Carrega comunicações móveis em massa na tabela mobile_communications.
+     * @param communications As comunicações a serem carregadas, consumidas uma única vez.
+     * @param listener Listener notificado com a quantidade de linhas enviadas e a taxa de linhas por segundo.
+     * @return A quantidade de linhas inseridas.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados. Nesse caso nenhuma linha é inserida.
+     */
+    long copyMobileCommunications(Iterator<MobileCommunication> communications, ProgressListener listener) throws SQLException;
+}
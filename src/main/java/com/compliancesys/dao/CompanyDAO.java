@@ -43,6 +43,15 @@ public interface CompanyDAO {
      */
     List<Company> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de empresas em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Company> findPage(int afterId, int limit) throws SQLException;
+
     /**
      * Atualiza uma empresa existente no banco de dados.
      * @param company O objeto Company com os dados atualizados.
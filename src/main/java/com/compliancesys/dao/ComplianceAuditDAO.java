@@ -4,8 +4,11 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.ComplianceStatusCount;
+import com.compliancesys.model.enums.ReportGrouping;
 
 /**
  * Interface para o Data Access Object (DAO) de ComplianceAudit.
@@ -21,6 +24,16 @@ public interface ComplianceAuditDAO {
      */
     int create(ComplianceAudit audit) throws SQLException;
 
+    /**
+     * Cria várias auditorias de conformidade usando batches JDBC (propriedade db.batch.size),
+     * em uma única transação: se algum lote falhar, nenhuma auditoria é persistida.
+     * Os IDs gerados não são retornados.
+     * @param audits As auditorias a serem criadas.
+     * @return A quantidade de auditorias inseridas.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    int createBatch(List<ComplianceAudit> audits) throws SQLException;
+
     /**
      * Busca uma auditoria de conformidade pelo seu ID.
      * @param id O ID da auditoria.
@@ -36,6 +49,27 @@ public interface ComplianceAuditDAO {
      */
     List<ComplianceAudit> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de auditorias de conformidade em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<ComplianceAudit> findPage(int afterId, int limit) throws SQLException;
+
+    /**
+     * Lê as auditorias de conformidade de um período em streaming, através de um cursor no servidor.
+     * As linhas são buscadas do banco em blocos (propriedade db.stream.fetchSize) à medida que o
+     * Stream é consumido, e a conexão fica aberta até o Stream ser fechado.
+     * Deve ser usado em try-with-resources.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Um Stream de ComplianceAudits ordenado por audit_date.
+     * @throws SQLException Se ocorrer um erro ao abrir a consulta.
+     */
+    Stream<ComplianceAudit> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException;
+
     /**
      * Busca auditorias de conformidade por ID de jornada.
      * @param journeyId O ID da jornada.
@@ -47,13 +81,33 @@ public interface ComplianceAuditDAO {
     /**
      * Busca auditorias de conformidade por ID de motorista e período de datas.
      * @param driverId O ID do motorista.
-     * @param startDate Data inicial do período.
-     * @param endDate Data final do período.
+     * @param startDate Data inicial do período (inclusiva).
+     * @param endDate Data final do período (inclusiva).
      * @return Uma lista de auditorias do motorista no período especificado.
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
      */
     List<ComplianceAudit> findByDriverIdAndDate(int driverId, LocalDate startDate, LocalDate endDate) throws SQLException;
 
+    /**
+     * Busca as auditorias de conformidade de todos os motoristas em um período de datas.
+     * @param startDate Data inicial do período (inclusiva).
+     * @param endDate Data final do período (inclusiva).
+     * @return Uma lista de auditorias do período, ordenada por audit_date.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<ComplianceAudit> findByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException;
+
+    /**
+     * Conta as auditorias de um período por status (GROUP BY no banco), sem carregar as auditorias.
+     * @param driverId O ID do motorista, ou null para considerar todos os motoristas.
+     * @param startDate Data inicial do período (inclusiva).
+     * @param endDate Data final do período (inclusiva).
+     * @param grouping Agrupamento adicional: nenhum, por dia de audit_date ou por empresa do veículo da jornada.
+     * @return As contagens por grupo e status, ordenadas por grupo.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<ComplianceStatusCount> countByStatus(Integer driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping) throws SQLException;
+
     /**
      * Atualiza uma auditoria de conformidade existente no banco de dados.
      * @param audit O objeto ComplianceAudit com os dados atualizados.
@@ -0,0 +1,145 @@
+package com.compliancesys.dao;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.cache.CachingCompanyDAO;
+import com.compliancesys.dao.cache.CachingComplianceAuditDAO;
+import com.compliancesys.dao.cache.CachingDriverDAO;
+import com.compliancesys.dao.cache.CachingJourneyDAO;
+import com.compliancesys.dao.cache.CachingVehicleDAO;
+import com.compliancesys.dao.impl.CompanyDAOImpl;
+import com.compliancesys.dao.impl.ComplianceAuditDAOImpl;
+import com.compliancesys.dao.impl.DriverDAOImpl;
+import com.compliancesys.dao.impl.JourneyDAOImpl;
+import com.compliancesys.dao.impl.VehicleDAOImpl;
+import com.compliancesys.util.CacheStatistics;
+
+/**
+ * Instâncias compartilhadas dos DAOs de dados de referência (motoristas, veículos e empresas), já com o cache
+ * de leitura. O cache só é eficaz se todos os serviços usarem as mesmas instâncias, obtidas aqui.
+ * Capacidade e tempo de vida vêm de cache.entity.capacity e cache.entity.ttlSeconds; os filtros de Bloom usados
+ * nas verificações de unicidade de CPF e placa são dimensionados por cache.bloom.expectedKeys e
+ * cache.bloom.falsePositiveRate e carregados por {@link #warmUp()} na inicialização da aplicação.
+ * O DAO de jornadas mantém em cache as jornadas do dia corrente ({@link CachingJourneyDAO}), e o de auditorias,
+ * os resultados das consultas de relatório ({@link CachingComplianceAuditDAO}; cache.report.*).
+ */
+public final class DAOFactory {
+
+    private static final Logger LOGGER = Logger.getLogger(DAOFactory.class.getName());
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+    private static final long DEFAULT_EXPECTED_KEYS = 1_000_000;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    private static final int DEFAULT_REPORT_CAPACITY = 1_000;
+    private static final long DEFAULT_REPORT_CLOSED_TTL_SECONDS = 86_400;
+    private static final long DEFAULT_REPORT_OPEN_TTL_SECONDS = 60;
+
+    private static CachingDriverDAO driverDAO;
+    private static CachingVehicleDAO vehicleDAO;
+    private static CachingCompanyDAO companyDAO;
+    private static CachingJourneyDAO journeyDAO;
+    private static CachingComplianceAuditDAO complianceAuditDAO;
+
+    private DAOFactory() {
+    }
+
+    public static synchronized DriverDAO getDriverDAO() {
+        if (driverDAO == null) {
+            driverDAO = new CachingDriverDAO(new DriverDAOImpl(), capacity(), ttl(), expectedKeys(), falsePositiveRate());
+        }
+        return driverDAO;
+    }
+
+    public static synchronized VehicleDAO getVehicleDAO() {
+        if (vehicleDAO == null) {
+            vehicleDAO = new CachingVehicleDAO(new VehicleDAOImpl(), capacity(), ttl(), expectedKeys(), falsePositiveRate());
+        }
+        return vehicleDAO;
+    }
+
+    public static synchronized CompanyDAO getCompanyDAO() {
+        if (companyDAO == null) {
+            companyDAO = new CachingCompanyDAO(new CompanyDAOImpl(), capacity(), ttl());
+        }
+        return companyDAO;
+    }
+
+    public static synchronized JourneyDAO getJourneyDAO() {
+        if (journeyDAO == null) {
+            // Excluir a jornada remove as suas auditorias, e mudar o motorista ou a data muda a quem elas pertencem:
+            // em ambos os casos os relatórios em cache deixam de valer.
+            journeyDAO = new CachingJourneyDAO(new JourneyDAOImpl(),
+                    () -> ((CachingComplianceAuditDAO) getComplianceAuditDAO()).invalidateAll());
+        }
+        return journeyDAO;
+    }
+
+    public static synchronized ComplianceAuditDAO getComplianceAuditDAO() {
+        if (complianceAuditDAO == null) {
+            complianceAuditDAO = new CachingComplianceAuditDAO(new ComplianceAuditDAOImpl(),
+                    DatabaseConfig.getIntProperty("cache.report.capacity", DEFAULT_REPORT_CAPACITY),
+                    Duration.ofSeconds(DatabaseConfig.getLongProperty("cache.report.closedTtlSeconds", DEFAULT_REPORT_CLOSED_TTL_SECONDS)),
+                    Duration.ofSeconds(DatabaseConfig.getLongProperty("cache.report.openTtlSeconds", DEFAULT_REPORT_OPEN_TTL_SECONDS)));
+        }
+        return complianceAuditDAO;
+    }
+
+    /**
+     * Carrega os filtros de Bloom de CPFs de motoristas e placas de veículos com as chaves gravadas no banco.
+     * Uma falha é apenas registrada: sem os filtros, as buscas continuam consultando o banco.
+     */
+    public static void warmUp() {
+        try {
+            ((CachingDriverDAO) getDriverDAO()).warmUp();
+            ((CachingVehicleDAO) getVehicleDAO()).warmUp();
+            LOGGER.log(Level.INFO, "Filtros de chaves naturais de motoristas e veículos carregados.");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Falha ao carregar os filtros de chaves naturais; as buscas consultarão o banco: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna os contadores dos caches já criados, por nome (ex.: "drivers.cpf").
+     */
+    public static synchronized Map<String, CacheStatistics> getCacheStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        if (driverDAO != null) {
+            driverDAO.getCacheStatistics().forEach((key, value) -> statistics.put("drivers." + key, value));
+        }
+        if (vehicleDAO != null) {
+            vehicleDAO.getCacheStatistics().forEach((key, value) -> statistics.put("vehicles." + key, value));
+        }
+        if (companyDAO != null) {
+            companyDAO.getCacheStatistics().forEach((key, value) -> statistics.put("companies." + key, value));
+        }
+        if (journeyDAO != null) {
+            statistics.put("journeys.today", journeyDAO.getCacheStatistics());
+        }
+        if (complianceAuditDAO != null) {
+            complianceAuditDAO.getCacheStatistics().forEach((key, value) -> statistics.put("reports." + key, value));
+        }
+        return statistics;
+    }
+
+    private static int capacity() {
+        return DatabaseConfig.getIntProperty("cache.entity.capacity", DEFAULT_CAPACITY);
+    }
+
+    private static long expectedKeys() {
+        return DatabaseConfig.getLongProperty("cache.bloom.expectedKeys", DEFAULT_EXPECTED_KEYS);
+    }
+
+    private static double falsePositiveRate() {
+        return DatabaseConfig.getDoubleProperty("cache.bloom.falsePositiveRate", DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    private static Duration ttl() {
+        return Duration.ofSeconds(DatabaseConfig.getLongProperty("cache.entity.ttlSeconds", DEFAULT_TTL_SECONDS));
+    }
+}
@@ -44,6 +44,21 @@ public interface DriverDAO {
      */
     Optional<Driver> findByLicenseNumber(String licenseNumber) throws SQLException;
 
+    /**
+     * Verifica se existe um motorista com o CPF informado, sem carregá-lo.
+     * @param cpf O CPF a verificar.
+     * @return true se algum motorista tem o CPF.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    boolean existsByCpf(String cpf) throws SQLException;
+
+    /**
+     * Busca os CPFs de todos os motoristas, sem carregar os demais dados.
+     * @return Uma lista com os CPFs cadastrados.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<String> findAllCpfs() throws SQLException;
+
     /**
      * Busca todos os motoristas.
      * @return Uma lista de todos os motoristas.
@@ -51,6 +66,15 @@ public interface DriverDAO {
      */
     List<Driver> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de motoristas em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Driver> findPage(int afterId, int limit) throws SQLException;
+
     /**
      * Atualiza um motorista existente no banco de dados.
      * @param driver O objeto Driver com os dados atualizados.
@@ -0,0 +1,22 @@
+package com.compliancesys.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import com.compliancesys.model.enums.VersionedEntity;
+
+/**
+ * Interface para o Data Access Object (DAO) de versões de entidades.
+ * Lê apenas a coluna updated_at, para responder a requisições condicionais sem carregar o registro inteiro.
+ */
+public interface EntityVersionDAO {
+    /**
+     * Busca a data da última atualização de um registro.
+     * @param entity O tipo da entidade.
+     * @param id O ID do registro.
+     * @return Um Optional com a data da última atualização, ou vazio se o registro não existe ou não tem a data.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Optional<LocalDateTime> findUpdatedAt(VersionedEntity entity, int id) throws SQLException;
+}
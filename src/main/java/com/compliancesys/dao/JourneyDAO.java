@@ -3,7 +3,9 @@ package com.compliancesys.dao;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.compliancesys.model.Journey;
 
@@ -35,6 +37,27 @@ public interface JourneyDAO {
      */
     List<Journey> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de jornadas em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Journey> findPage(int afterId, int limit) throws SQLException;
+
+    /**
+     * Lê as jornadas de um período em streaming, através de um cursor no servidor.
+     * As linhas são buscadas do banco em blocos (propriedade db.stream.fetchSize) à medida que o
+     * Stream é consumido, e a conexão fica aberta até o Stream ser fechado.
+     * Deve ser usado em try-with-resources.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Um Stream de Journeys ordenado por journey_date.
+     * @throws SQLException Se ocorrer um erro ao abrir a consulta.
+     */
+    Stream<Journey> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException;
+
     /**
      * Busca jornadas por ID de motorista.
      * @param driverId O ID do motorista.
@@ -52,6 +75,38 @@ public interface JourneyDAO {
      */
     Optional<Journey> findByDriverIdAndDate(int driverId, LocalDate journeyDate) throws SQLException;
 
+    /**
+     * Insere a jornada ou, se já existir uma jornada do mesmo motorista na mesma data, atualiza-a,
+     * em um único comando (INSERT ... ON CONFLICT (driver_id, journey_date) DO UPDATE ... RETURNING).
+     * Chamadas concorrentes para o mesmo motorista e data não geram erro de chave duplicada.
+     * Em caso de conflito, created_at da jornada existente é mantido;
+     * os demais campos são substituídos pelos da jornada informada.
+     * @param journey A jornada calculada.
+     * @return A jornada como ficou gravada no banco, com o ID e as datas de criação/atualização.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Journey upsert(Journey journey) throws SQLException;
+
+    /**
+     * Busca em uma única consulta as jornadas de vários motoristas em um período, agrupadas por motorista.
+     * @param driverIds Os IDs dos motoristas.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Um mapa de ID do motorista para suas jornadas ordenadas por data, na ordem dos IDs informados;
+     *         motoristas sem jornadas no período aparecem com lista vazia.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Map<Integer, List<Journey>> findByDriverIdsAndDateRange(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException;
+
+    /**
+     * Busca os IDs dos motoristas que têm jornadas em um período, em ordem crescente.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Os IDs distintos dos motoristas.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Integer> findDriverIdsByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException;
+
     /**
      * Atualiza uma jornada existente no banco de dados.
      * @param journey O objeto Journey com os dados atualizados.
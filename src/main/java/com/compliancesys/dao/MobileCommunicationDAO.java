@@ -35,6 +35,15 @@ public interface MobileCommunicationDAO {
      */
     List<MobileCommunication> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de registros de comunicação móvel em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<MobileCommunication> findPage(int afterId, int limit) throws SQLException;
+
     /**
      * Busca registros de comunicação móvel associados a um ID de registro de ponto.
      * @param recordId ID do registro de ponto.
@@ -2,8 +2,11 @@ package com.compliancesys.dao;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.compliancesys.model.TimeRecord;
 
@@ -20,6 +23,16 @@ public interface TimeRecordDAO {
      */
     int create(TimeRecord timeRecord) throws SQLException;
 
+    /**
+     * Cria vários registros de ponto usando batches JDBC.
+     * Os registros são enviados em lotes de tamanho configurável (propriedade db.batch.size)
+     * e gravados em uma única transação: se algum lote falhar, nenhum registro é persistido.
+     * @param timeRecords A lista de TimeRecords a serem criados.
+     * @return Os IDs gerados, na mesma ordem da lista recebida.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Integer> createBatch(List<TimeRecord> timeRecords) throws SQLException;
+
     /**
      * Busca um registro de ponto pelo seu ID.
      * @param id O ID do registro de ponto.
@@ -35,6 +48,27 @@ public interface TimeRecordDAO {
      */
     List<TimeRecord> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de registros de ponto em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<TimeRecord> findPage(int afterId, int limit) throws SQLException;
+
+    /**
+     * Lê as registros de ponto de um período em streaming, através de um cursor no servidor.
+     * As linhas são buscadas do banco em blocos (propriedade db.stream.fetchSize) à medida que o
+     * Stream é consumido, e a conexão fica aberta até o Stream ser fechado.
+     * Deve ser usado em try-with-resources.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Um Stream de TimeRecords ordenado por record_time.
+     * @throws SQLException Se ocorrer um erro ao abrir a consulta.
+     */
+    Stream<TimeRecord> streamByPeriod(LocalDate startDate, LocalDate endDate) throws SQLException;
+
     /**
      * Busca registros de ponto por ID de motorista.
      * @param driverId O ID do motorista.
@@ -52,6 +86,49 @@ public interface TimeRecordDAO {
      */
     List<TimeRecord> findByDriverIdAndDate(int driverId, LocalDate date) throws SQLException;
 
+    /**
+     * Busca registros de ponto de um motorista em um intervalo semiaberto [from, to), ordenados por horário.
+     * A consulta compara record_time diretamente com os limites, usando o índice (driver_id, record_time).
+     * @param driverId O ID do motorista.
+     * @param from O início do intervalo (inclusivo).
+     * @param to O fim do intervalo (exclusivo).
+     * @return Uma lista de TimeRecords do motorista no intervalo.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<TimeRecord> findByDriverIdAndTimeRange(int driverId, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    /**
+     * Busca o registro de ponto mais recente de um motorista (maior record_time).
+     * A consulta lê uma única entrada do índice (driver_id, record_time), percorrido em ordem decrescente.
+     * @param driverId O ID do motorista.
+     * @return Um Optional contendo o último TimeRecord do motorista, ou um Optional vazio se não houver registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Optional<TimeRecord> findLastByDriverId(int driverId) throws SQLException;
+
+    /**
+     * Busca registros de ponto de um veículo em um intervalo semiaberto [from, to), ordenados por horário.
+     * A consulta usa o índice (vehicle_id, record_time).
+     * @param vehicleId O ID do veículo.
+     * @param from O início do intervalo (inclusivo).
+     * @param to O fim do intervalo (exclusivo).
+     * @return Uma lista de TimeRecords do veículo no intervalo.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<TimeRecord> findByVehicleIdAndTimeRange(int vehicleId, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    /**
+     * Busca em uma única consulta os registros de ponto de vários motoristas em um período, agrupados por motorista.
+     * O período é consultado como intervalo semiaberto [início de startDate, início do dia seguinte a endDate).
+     * @param driverIds Os IDs dos motoristas.
+     * @param startDate A data inicial do período (inclusiva).
+     * @param endDate A data final do período (inclusiva).
+     * @return Um mapa de ID do motorista para seus registros ordenados por horário, na ordem dos IDs informados;
+     *         motoristas sem registros no período aparecem com lista vazia.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Map<Integer, List<TimeRecord>> findByDriverIdsAndDateRange(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException;
+
     /**
      * Atualiza um registro de ponto existente no banco de dados.
      * @param timeRecord O objeto TimeRecord com os dados atualizados.
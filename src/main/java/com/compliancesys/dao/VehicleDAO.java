@@ -36,6 +36,21 @@ public interface VehicleDAO {
      */
     Optional<Vehicle> findByPlate(String plate) throws SQLException;
 
+    /**
+     * Verifica se existe um veículo com a placa informada, sem carregá-lo.
+     * @param plate A placa a verificar.
+     * @return true se algum veículo tem a placa.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    boolean existsByPlate(String plate) throws SQLException;
+
+    /**
+     * Busca as placas de todos os veículos, sem carregar os demais dados.
+     * @return Uma lista com as placas cadastradas.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<String> findAllPlates() throws SQLException;
+
     /**
      * Busca todos os veículos.
      * @return Uma lista de todos os veículos.
@@ -43,6 +58,15 @@ public interface VehicleDAO {
      */
     List<Vehicle> findAll() throws SQLException;
 
+    /**
+     * Busca uma página de veículos em ordem crescente de ID (paginação por cursor).
+     * @param afterId Retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Uma lista com até {@code limit} registros.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<Vehicle> findPage(int afterId, int limit) throws SQLException;
+
     /**
      * Atualiza um veículo existente no banco de dados.
      * @param vehicle O objeto Vehicle com os dados atualizados.
@@ -0,0 +1,30 @@
+package com.compliancesys.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.compliancesys.model.ViolationAlert;
+
+/**
+ * Interface para o Data Access Object (DAO) de ViolationAlert.
+ * Define a gravação e a consulta dos alertas preventivos de violação.
+ */
+public interface ViolationAlertDAO {
+
+    /**
+     * Grava um alerta disparado.
+     * @param alert O alerta a ser gravado.
+     * @return O ID gerado para o alerta.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    int create(ViolationAlert alert) throws SQLException;
+
+    /**
+     * Busca os alertas mais recentes de um motorista.
+     * @param driverId O ID do motorista.
+     * @param limit Quantidade máxima de alertas retornados.
+     * @return Os alertas do motorista, do mais recente para o mais antigo.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    List<ViolationAlert> findRecentByDriverId(int driverId, int limit) throws SQLException;
+}
@@ -0,0 +1,78 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.compliancesys.dao.CompanyDAO;
+import com.compliancesys.model.Company;
+import com.compliancesys.util.CacheStatistics;
+
+/**
+ * {@link CompanyDAO} com cache de leitura por ID e CNPJ na frente de outro DAO.
+ * Atualizações e exclusões invalidam a entrada da empresa; listagens e paginação vão direto ao banco.
+ */
+public class CachingCompanyDAO implements CompanyDAO {
+
+    static final String CNPJ = "cnpj";
+
+    private final CompanyDAO delegate;
+    private final EntityCache<Company> cache;
+
+    public CachingCompanyDAO(CompanyDAO delegate, int capacity, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<Company>(capacity, ttl, Company::getId)
+                .withKey(CNPJ, Company::getCnpj);
+    }
+
+    @Override
+    public int create(Company company) throws SQLException {
+        cache.recordKeys(company);
+        return delegate.create(company);
+    }
+
+    @Override
+    public Optional<Company> findById(int id) throws SQLException {
+        return cache.findById(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Company> findByCnpj(String cnpj) throws SQLException {
+        return cache.findByKey(CNPJ, cnpj, () -> delegate.findByCnpj(cnpj));
+    }
+
+    @Override
+    public List<Company> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Company> findPage(int afterId, int limit) throws SQLException {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public boolean update(Company company) throws SQLException {
+        cache.recordKeys(company);
+        try {
+            return delegate.update(company);
+        } finally {
+            cache.invalidate(company.getId());
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+}
@@ -0,0 +1,251 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.compliancesys.config.UnitOfWork;
+import com.compliancesys.dao.ComplianceAuditDAO;
+import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.ComplianceStatusCount;
+import com.compliancesys.model.enums.ReportGrouping;
+import com.compliancesys.util.CacheStatistics;
+import com.compliancesys.util.LruCache;
+
+/**
+ * {@link ComplianceAuditDAO} com cache das consultas de relatório (contagens por status e auditorias de um
+ * período, por motorista ou da frota), na frente de outro DAO. A chave é o tipo da consulta, o motorista,
+ * o período e o agrupamento.
+ *
+ * Períodos encerrados (anteriores a hoje) ficam em cache por muito tempo; períodos que incluem hoje expiram
+ * em pouco tempo. Toda auditoria criada, alterada ou excluída por este DAO remove, após a confirmação da
+ * transação, as entradas cujo período contém a data da auditoria (antes e depois da alteração). Uma consulta
+ * em andamento durante uma invalidação não é guardada. {@link #invalidateAll()} cobre as auditorias removidas
+ * em cascata com a jornada e as que passam a outro motorista ou data quando a jornada é alterada.
+ *
+ * O cache guarda cópias dos resultados e devolve cópias a cada acerto: alterar uma auditoria ou contagem
+ * devolvida não altera o cache.
+ */
+public class CachingComplianceAuditDAO implements ComplianceAuditDAO {
+
+    private enum Query { COUNT_BY_STATUS, BY_DRIVER, BY_DATE_RANGE }
+
+    private final ComplianceAuditDAO delegate;
+    private final LruCache<ReportKey, List<?>> closedRanges;
+    private final LruCache<ReportKey, List<?>> openRanges;
+    private final Supplier<LocalDate> today;
+    private final AtomicLong version = new AtomicLong(); // Incrementado a cada invalidação.
+
+    public CachingComplianceAuditDAO(ComplianceAuditDAO delegate, int capacity, Duration closedTtl, Duration openTtl) {
+        this(delegate, new LruCache<>(capacity, closedTtl), new LruCache<>(capacity, openTtl), LocalDate::now);
+    }
+
+    CachingComplianceAuditDAO(ComplianceAuditDAO delegate, LruCache<ReportKey, List<?>> closedRanges,
+                              LruCache<ReportKey, List<?>> openRanges, Supplier<LocalDate> today) {
+        this.delegate = delegate;
+        this.closedRanges = closedRanges;
+        this.openRanges = openRanges;
+        this.today = today;
+    }
+
+    @Override
+    public int create(ComplianceAudit audit) throws SQLException {
+        int id = delegate.create(audit);
+        invalidateAfterCommit(audit);
+        return id;
+    }
+
+    @Override
+    public int createBatch(List<ComplianceAudit> audits) throws SQLException {
+        int inserted = delegate.createBatch(audits);
+        Set<LocalDate> dates = new TreeSet<>();
+        for (ComplianceAudit audit : audits) {
+            if (audit.getAuditDate() != null) {
+                dates.add(audit.getAuditDate().toLocalDate());
+            }
+        }
+        UnitOfWork.afterCommit(() -> dates.forEach(this::invalidate));
+        return inserted;
+    }
+
+    @Override
+    public Optional<ComplianceAudit> findById(int id) throws SQLException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<ComplianceAudit> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<ComplianceAudit> findPage(int afterId, int limit) throws SQLException {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<ComplianceAudit> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return delegate.streamByDateRange(startDate, endDate);
+    }
+
+    @Override
+    public List<ComplianceAudit> findByJourneyId(int journeyId) throws SQLException {
+        return delegate.findByJourneyId(journeyId);
+    }
+
+    @Override
+    public List<ComplianceAudit> findByDriverIdAndDate(int driverId, LocalDate startDate, LocalDate endDate) throws SQLException {
+        return cached(new ReportKey(Query.BY_DRIVER, driverId, startDate, endDate, null),
+                () -> delegate.findByDriverIdAndDate(driverId, startDate, endDate), CachingComplianceAuditDAO::copy);
+    }
+
+    @Override
+    public List<ComplianceAudit> findByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return cached(new ReportKey(Query.BY_DATE_RANGE, null, startDate, endDate, null),
+                () -> delegate.findByDateRange(startDate, endDate), CachingComplianceAuditDAO::copy);
+    }
+
+    @Override
+    public List<ComplianceStatusCount> countByStatus(Integer driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping) throws SQLException {
+        return cached(new ReportKey(Query.COUNT_BY_STATUS, driverId, startDate, endDate, grouping),
+                () -> delegate.countByStatus(driverId, startDate, endDate, grouping), CachingComplianceAuditDAO::copy);
+    }
+
+    @Override
+    public boolean update(ComplianceAudit audit) throws SQLException {
+        Optional<ComplianceAudit> before = delegate.findById(audit.getId()); // A data da auditoria pode mudar.
+        boolean updated = delegate.update(audit);
+        before.ifPresent(this::invalidateAfterCommit);
+        invalidateAfterCommit(audit);
+        return updated;
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        Optional<ComplianceAudit> before = delegate.findById(id);
+        boolean deleted = delegate.delete(id);
+        before.ifPresent(this::invalidateAfterCommit);
+        return deleted;
+    }
+
+    /**
+     * Remove todas as entradas, por exemplo quando auditorias são removidas em cascata com uma jornada ou
+     * passam a outro motorista ou data com a alteração da jornada.
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        closedRanges.clear();
+        openRanges.clear();
+    }
+
+    /**
+     * Retorna os contadores dos caches de períodos encerrados ("closed") e abertos ("open").
+     */
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put("closed", closedRanges.getStatistics());
+        statistics.put("open", openRanges.getStatistics());
+        return statistics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cached(ReportKey key, EntityCache.Loader<List<T>> loader, UnaryOperator<T> copier) throws SQLException {
+        if (UnitOfWork.isActive()) {
+            return loader.load(); // Pode enxergar auditorias ainda não confirmadas: não passa pelo cache.
+        }
+        LruCache<ReportKey, List<?>> cache = key.endDate.isBefore(today.get()) ? closedRanges : openRanges;
+        List<T> cachedResult = (List<T>) cache.get(key);
+        if (cachedResult != null) {
+            return copyOf(cachedResult, copier); // Cópia: o chamador pode alterar a lista e os itens.
+        }
+        long versionBefore = version.get();
+        List<T> loaded = loader.load();
+        if (version.get() == versionBefore) {
+            cache.put(key, copyOf(loaded, copier));
+            if (version.get() != versionBefore) {
+                cache.remove(key); // Uma invalidação ocorreu durante a gravação no cache.
+            }
+        }
+        return loaded;
+    }
+
+    private static <T> List<T> copyOf(List<T> items, UnaryOperator<T> copier) {
+        List<T> copy = new ArrayList<>(items.size());
+        for (T item : items) {
+            copy.add(copier.apply(item));
+        }
+        return copy;
+    }
+
+    private static ComplianceAudit copy(ComplianceAudit audit) {
+        return new ComplianceAudit(audit.getId(), audit.getJourneyId(), audit.getAuditDate(), audit.getComplianceStatus(),
+                audit.getAuditorName(), audit.getNotes(), audit.getCreatedAt(), audit.getUpdatedAt());
+    }
+
+    private static ComplianceStatusCount copy(ComplianceStatusCount count) {
+        return new ComplianceStatusCount(count.getGroupKey(), count.getStatus(), count.getCount());
+    }
+
+    private void invalidateAfterCommit(ComplianceAudit audit) {
+        if (audit.getAuditDate() == null) {
+            return;
+        }
+        LocalDate date = audit.getAuditDate().toLocalDate();
+        UnitOfWork.afterCommit(() -> invalidate(date));
+    }
+
+    private void invalidate(LocalDate date) {
+        version.incrementAndGet();
+        closedRanges.removeIf(key -> key.covers(date));
+        openRanges.removeIf(key -> key.covers(date));
+    }
+
+    /**
+     * Chave de uma consulta de relatório: tipo, motorista (null para a frota), período e agrupamento.
+     */
+    static final class ReportKey {
+        private final Query query;
+        private final Integer driverId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final ReportGrouping grouping;
+
+        private ReportKey(Query query, Integer driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping) {
+            this.query = query;
+            this.driverId = driverId;
+            this.startDate = Objects.requireNonNull(startDate, "A data inicial não pode ser nula.");
+            this.endDate = Objects.requireNonNull(endDate, "A data final não pode ser nula.");
+            this.grouping = grouping;
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReportKey that = (ReportKey) o;
+            return query == that.query && Objects.equals(driverId, that.driverId)
+                    && startDate.equals(that.startDate) && endDate.equals(that.endDate) && grouping == that.grouping;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, driverId, startDate, endDate, grouping);
+        }
+    }
+}
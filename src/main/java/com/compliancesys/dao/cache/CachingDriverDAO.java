@@ -0,0 +1,122 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.compliancesys.dao.DriverDAO;
+import com.compliancesys.model.Driver;
+import com.compliancesys.util.CacheStatistics;
+
+/**
+ * {@link DriverDAO} com cache de leitura por ID, CPF e número da CNH na frente de outro DAO.
+ * Atualizações e exclusões invalidam a entrada do motorista; listagens e paginação vão direto ao banco.
+ * Uma leitura concorrente com uma atualização ainda não confirmada pode guardar a versão anterior,
+ * que expira pelo tempo de vida do cache.
+ * Com filtro de Bloom, a verificação de unicidade ({@link #existsByCpf}) de CPFs que certamente não existem
+ * dispensa a consulta ao banco; as buscas por CPF sempre consultam o cache ou o banco.
+ */
+public class CachingDriverDAO implements DriverDAO {
+
+    static final String CPF = "cpf";
+    static final String LICENSE_NUMBER = "licenseNumber";
+
+    private final DriverDAO delegate;
+    private final EntityCache<Driver> cache;
+
+    public CachingDriverDAO(DriverDAO delegate, int capacity, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<Driver>(capacity, ttl, Driver::getId)
+                .withKey(CPF, Driver::getCpf)
+                .withKey(LICENSE_NUMBER, Driver::getLicenseNumber);
+    }
+
+    /**
+     * Construtor com filtro de Bloom no CPF; o filtro passa a ser usado após {@link #warmUp()}.
+     * @param expectedKeys A quantidade de registros esperada.
+     * @param falsePositiveRate A taxa de falsos positivos do filtro.
+     */
+    public CachingDriverDAO(DriverDAO delegate, int capacity, Duration ttl, long expectedKeys, double falsePositiveRate) {
+        this(delegate, capacity, ttl);
+        cache.withFilter(CPF, expectedKeys, falsePositiveRate);
+    }
+
+    @Override
+    public int create(Driver driver) throws SQLException {
+        cache.recordKeys(driver);
+        return delegate.create(driver);
+    }
+
+    @Override
+    public Optional<Driver> findById(int id) throws SQLException {
+        return cache.findById(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Driver> findByCpf(String cpf) throws SQLException {
+        return cache.findByKey(CPF, cpf, () -> delegate.findByCpf(cpf));
+    }
+
+    // O filtro dispensa a consulta apenas quando garante que a chave não existe.
+    @Override
+    public boolean existsByCpf(String cpf) throws SQLException {
+        return cache.mightExist(CPF, cpf) && delegate.existsByCpf(cpf);
+    }
+
+    @Override
+    public List<String> findAllCpfs() throws SQLException {
+        return delegate.findAllCpfs();
+    }
+
+    @Override
+    public Optional<Driver> findByLicenseNumber(String licenseNumber) throws SQLException {
+        return cache.findByKey(LICENSE_NUMBER, licenseNumber, () -> delegate.findByLicenseNumber(licenseNumber));
+    }
+
+    @Override
+    public List<Driver> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Driver> findPage(int afterId, int limit) throws SQLException {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public boolean update(Driver driver) throws SQLException {
+        cache.recordKeys(driver);
+        try {
+            return delegate.update(driver);
+        } finally {
+            cache.invalidate(driver.getId());
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Carrega o filtro de Bloom com os CPFs gravados, sem carregar os registros.
+     */
+    public void warmUp() throws SQLException {
+        cache.warmUp(Collections.singletonMap(CPF, delegate.findAllCpfs()));
+    }
+
+    public long getSkippedQueries() {
+        return cache.getSkippedQueries();
+    }
+
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+}
@@ -0,0 +1,230 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.compliancesys.config.UnitOfWork;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.model.DriverDay;
+import com.compliancesys.model.Journey;
+import com.compliancesys.util.CacheStatistics;
+
+/**
+ * {@link JourneyDAO} com cache das jornadas do dia corrente na frente de outro DAO, por motorista e data.
+ * Atende às consultas de {@link #findByDriverIdAndDate} feitas a cada recálculo e a cada consulta de status do
+ * aplicativo móvel, que quase sempre são do dia de hoje. Jornadas de outros dias vão direto ao banco.
+ *
+ * O cache é atualizado pelas gravações (create, update, upsert) depois que a transação é confirmada
+ * ({@link UnitOfWork#afterCommit(Runnable)}); até lá a entrada do motorista é removida, e um rollback não deixa
+ * dados não confirmados no cache. A ausência de jornada também fica em cache. Dentro de uma unidade de trabalho
+ * as leituras vão ao banco, para que a transação enxergue as próprias gravações. Na virada do dia as entradas
+ * do dia anterior são descartadas. Um índice do ID da jornada para a sua chave permite invalidar a entrada
+ * em atualizações e exclusões por ID sem percorrer o cache.
+ *
+ * Excluir uma jornada remove em cascata as suas auditorias, e alterar o motorista ou a data da jornada muda
+ * o motorista e o dia a que elas pertencem nos relatórios; a ação {@code onAuditsChanged} permite invalidar
+ * os caches que dependem delas.
+ */
+public class CachingJourneyDAO implements JourneyDAO {
+
+    private final JourneyDAO delegate;
+    private final Supplier<LocalDate> today;
+    private final Runnable onAuditsChanged;
+    private final Map<DriverDay, Optional<Journey>> journeys = new ConcurrentHashMap<>();
+    // Gravado antes da entrada em journeys: toda jornada em cache está no índice. Entradas antigas só causam faltas.
+    private final Map<Integer, DriverDay> keysById = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private volatile LocalDate currentDay;
+
+    public CachingJourneyDAO(JourneyDAO delegate) {
+        this(delegate, LocalDate::now, () -> { });
+    }
+
+    /**
+     * @param onAuditsChanged Executada após a confirmação de cada exclusão de jornada e de cada alteração do
+     *                        motorista ou da data de uma jornada.
+     */
+    public CachingJourneyDAO(JourneyDAO delegate, Runnable onAuditsChanged) {
+        this(delegate, LocalDate::now, onAuditsChanged);
+    }
+
+    /**
+     * @param today Fornece a data corrente; substituível em testes.
+     * @param onAuditsChanged Executada após a confirmação de cada exclusão de jornada e de cada alteração do
+     *                        motorista ou da data de uma jornada.
+     */
+    public CachingJourneyDAO(JourneyDAO delegate, Supplier<LocalDate> today, Runnable onAuditsChanged) {
+        this.delegate = delegate;
+        this.today = today;
+        this.onAuditsChanged = onAuditsChanged;
+        this.currentDay = today.get();
+    }
+
+    @Override
+    public int create(Journey journey) throws SQLException {
+        evict(journey);
+        int id = delegate.create(journey);
+        // O ID é atribuído à jornada pelo chamador, normalmente antes da confirmação.
+        UnitOfWork.afterCommit(() -> {
+            if (journey.getId() == id) {
+                store(journey);
+            } else {
+                evict(journey);
+            }
+        });
+        return id;
+    }
+
+    @Override
+    public Optional<Journey> findById(int id) throws SQLException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Journey> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Journey> findPage(int afterId, int limit) throws SQLException {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Journey> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return delegate.streamByDateRange(startDate, endDate);
+    }
+
+    @Override
+    public List<Journey> findByDriverId(int driverId) throws SQLException {
+        return delegate.findByDriverId(driverId);
+    }
+
+    @Override
+    public Optional<Journey> findByDriverIdAndDate(int driverId, LocalDate journeyDate) throws SQLException {
+        if (!journeyDate.equals(currentDay()) || UnitOfWork.isActive()) {
+            return delegate.findByDriverIdAndDate(driverId, journeyDate);
+        }
+        DriverDay key = new DriverDay(driverId, journeyDate);
+        Optional<Journey> cached = journeys.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        Optional<Journey> loaded = delegate.findByDriverIdAndDate(driverId, journeyDate);
+        loaded.ifPresent(journey -> keysById.put(journey.getId(), key));
+        // Uma gravação confirmada durante a leitura prevalece sobre o valor lido.
+        journeys.putIfAbsent(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public Journey upsert(Journey journey) throws SQLException {
+        evict(journey);
+        Journey saved = delegate.upsert(journey);
+        UnitOfWork.afterCommit(() -> store(saved));
+        return saved;
+    }
+
+    @Override
+    public Map<Integer, List<Journey>> findByDriverIdsAndDateRange(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException {
+        return delegate.findByDriverIdsAndDateRange(driverIds, startDate, endDate);
+    }
+
+    @Override
+    public List<Integer> findDriverIdsByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return delegate.findDriverIdsByDateRange(startDate, endDate);
+    }
+
+    @Override
+    public boolean update(Journey journey) throws SQLException {
+        evictById(journey.getId());
+        evict(journey);
+        Optional<Journey> before = delegate.findById(journey.getId());
+        boolean updated = delegate.update(journey);
+        boolean moved = updated && before.isPresent() && (before.get().getDriverId() != journey.getDriverId()
+                || !Objects.equals(before.get().getJourneyDate(), journey.getJourneyDate()));
+        UnitOfWork.afterCommit(() -> {
+            evictById(journey.getId()); // A data da jornada pode ter mudado.
+            if (updated) {
+                store(journey);
+            } else {
+                evict(journey);
+            }
+            if (moved) {
+                onAuditsChanged.run();
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        evictById(id);
+        boolean deleted = delegate.delete(id);
+        UnitOfWork.afterCommit(() -> {
+            evictById(id);
+            if (deleted) {
+                onAuditsChanged.run();
+            }
+        });
+        return deleted;
+    }
+
+    /**
+     * Retorna os contadores do cache. Não há limite de entradas: o cache guarda no máximo uma jornada por
+     * motorista; expirações são as entradas descartadas na virada do dia.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(journeys.size(), 0, hits.get(), misses.get(), 0, expirations.get());
+    }
+
+    private void store(Journey journey) {
+        if (journey.getJourneyDate() != null && journey.getJourneyDate().equals(currentDay())) {
+            DriverDay key = new DriverDay(journey.getDriverId(), journey.getJourneyDate());
+            keysById.put(journey.getId(), key);
+            journeys.put(key, Optional.of(journey));
+        }
+    }
+
+    private void evict(Journey journey) {
+        if (journey.getJourneyDate() != null) {
+            journeys.remove(new DriverDay(journey.getDriverId(), journey.getJourneyDate()));
+        }
+    }
+
+    private void evictById(int id) {
+        DriverDay key = keysById.remove(id);
+        if (key != null) {
+            journeys.remove(key);
+        }
+    }
+
+    // Descarta as entradas do dia anterior na primeira consulta após a virada do dia.
+    private LocalDate currentDay() {
+        LocalDate now = today.get();
+        if (!now.equals(currentDay)) {
+            synchronized (this) {
+                if (!now.equals(currentDay)) {
+                    int before = journeys.size();
+                    journeys.keySet().removeIf(key -> !key.getDate().equals(now));
+                    keysById.values().removeIf(key -> !key.getDate().equals(now));
+                    expirations.addAndGet(Math.max(0, before - journeys.size()));
+                    currentDay = now;
+                }
+            }
+        }
+        return now;
+    }
+}
@@ -0,0 +1,113 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.compliancesys.dao.VehicleDAO;
+import com.compliancesys.model.Vehicle;
+import com.compliancesys.util.CacheStatistics;
+
+/**
+ * {@link VehicleDAO} com cache de leitura por ID e placa na frente de outro DAO.
+ * Atualizações e exclusões invalidam a entrada do veículo; listagens e paginação vão direto ao banco.
+ * Com filtro de Bloom, a verificação de unicidade ({@link #existsByPlate}) de placas que certamente não existem
+ * dispensa a consulta ao banco; as buscas por placa sempre consultam o cache ou o banco.
+ */
+public class CachingVehicleDAO implements VehicleDAO {
+
+    static final String PLATE = "plate";
+
+    private final VehicleDAO delegate;
+    private final EntityCache<Vehicle> cache;
+
+    public CachingVehicleDAO(VehicleDAO delegate, int capacity, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<Vehicle>(capacity, ttl, Vehicle::getId)
+                .withKey(PLATE, Vehicle::getPlate);
+    }
+
+    /**
+     * Construtor com filtro de Bloom na placa; o filtro passa a ser usado após {@link #warmUp()}.
+     * @param expectedKeys A quantidade de registros esperada.
+     * @param falsePositiveRate A taxa de falsos positivos do filtro.
+     */
+    public CachingVehicleDAO(VehicleDAO delegate, int capacity, Duration ttl, long expectedKeys, double falsePositiveRate) {
+        this(delegate, capacity, ttl);
+        cache.withFilter(PLATE, expectedKeys, falsePositiveRate);
+    }
+
+    @Override
+    public int create(Vehicle vehicle) throws SQLException {
+        cache.recordKeys(vehicle);
+        return delegate.create(vehicle);
+    }
+
+    @Override
+    public Optional<Vehicle> findById(int id) throws SQLException {
+        return cache.findById(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Vehicle> findByPlate(String plate) throws SQLException {
+        return cache.findByKey(PLATE, plate, () -> delegate.findByPlate(plate));
+    }
+
+    // O filtro dispensa a consulta apenas quando garante que a chave não existe.
+    @Override
+    public boolean existsByPlate(String plate) throws SQLException {
+        return cache.mightExist(PLATE, plate) && delegate.existsByPlate(plate);
+    }
+
+    @Override
+    public List<String> findAllPlates() throws SQLException {
+        return delegate.findAllPlates();
+    }
+
+    @Override
+    public List<Vehicle> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Vehicle> findPage(int afterId, int limit) throws SQLException {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public boolean update(Vehicle vehicle) throws SQLException {
+        cache.recordKeys(vehicle);
+        try {
+            return delegate.update(vehicle);
+        } finally {
+            cache.invalidate(vehicle.getId());
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Carrega o filtro de Bloom com as placas gravadas, sem carregar os registros.
+     */
+    public void warmUp() throws SQLException {
+        cache.warmUp(Collections.singletonMap(PLATE, delegate.findAllPlates()));
+    }
+
+    public long getSkippedQueries() {
+        return cache.getSkippedQueries();
+    }
+
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+}
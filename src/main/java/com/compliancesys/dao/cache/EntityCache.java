@@ -0,0 +1,227 @@
+package com.compliancesys.dao.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import com.compliancesys.util.BloomFilter;
+import com.compliancesys.util.CacheStatistics;
+import com.compliancesys.util.LruCache;
+
+/**
+ * Cache de leitura (read-through) de uma entidade, indexado pelo ID e por chaves naturais (ex.: CPF, placa).
+ * As entidades ficam em um único {@link LruCache} por ID; cada chave natural aponta para o ID. Uma busca por
+ * chave natural só é atendida pelo cache se a entidade ainda estiver nele e ainda tiver aquela chave, de modo
+ * que uma chave alterada nunca devolve a entidade antiga. As faltas são lidas do banco e armazenadas.
+ *
+ * Opcionalmente, uma chave natural tem um {@link BloomFilter} com todas as chaves existentes no banco,
+ * carregado por {@link #warmUp(Map)} e atualizado a cada gravação. O filtro é consultado apenas por
+ * {@link #mightExist}, nas verificações de unicidade do cadastro: uma chave que ele garante ausente dispensa
+ * a consulta. As buscas por chave ({@link #findByKey}) não usam o filtro, pois um registro gravado por outro
+ * nó ou diretamente no banco depois da carga não está nele. As chaves são incluídas no filtro antes da
+ * gravação; a restrição de unicidade do banco continua sendo a garantia final.
+ *
+ * As entidades devolvidas são as instâncias do cache: quem as altera deve gravá-las pelo DAO, que invalida a entrada.
+ *
+ * @param <T> O tipo da entidade.
+ */
+public class EntityCache<T> {
+
+    /**
+     * Leitura do banco executada em uma falta do cache.
+     * @param <R> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface Loader<R> {
+        R load() throws SQLException;
+    }
+
+    private final LruCache<Integer, T> byId;
+    private final ToIntFunction<T> idOf;
+    private final Map<String, LruCache<String, Integer>> keyIndexes = new LinkedHashMap<>();
+    private final Map<String, Function<T, String>> keyExtractors = new LinkedHashMap<>();
+    private final Map<String, BloomFilter> filters = new LinkedHashMap<>();
+    private final int capacity;
+    private final Duration ttl;
+    private volatile boolean warmed; // Os filtros só são confiáveis depois de carregados com as chaves do banco.
+    private final AtomicLong skippedQueries = new AtomicLong();
+
+    /**
+     * @param capacity A quantidade máxima de entidades em cache.
+     * @param ttl O tempo de vida de cada entidade em cache.
+     * @param idOf Extrai o ID da entidade.
+     */
+    public EntityCache(int capacity, Duration ttl, ToIntFunction<T> idOf) {
+        this.byId = new LruCache<>(capacity, ttl);
+        this.idOf = idOf;
+        this.capacity = capacity;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Registra uma chave natural. Deve ser chamado antes de o cache ser usado.
+     * @param name O nome da chave (ex.: "cpf").
+     * @param extractor Extrai a chave da entidade; valores nulos não são indexados.
+     * @return Este cache, para encadear as chamadas.
+     */
+    public EntityCache<T> withKey(String name, Function<T, String> extractor) {
+        keyIndexes.put(name, new LruCache<>(capacity, ttl));
+        keyExtractors.put(name, extractor);
+        return this;
+    }
+
+    /**
+     * Cria um filtro de Bloom para uma chave natural registrada. Deve ser chamado depois de {@link #withKey}.
+     * @param name O nome da chave.
+     * @param expectedKeys A quantidade de chaves esperada no filtro.
+     * @param falsePositiveRate A taxa de falsos positivos desejada.
+     * @return Este cache, para encadear as chamadas.
+     */
+    public EntityCache<T> withFilter(String name, long expectedKeys, double falsePositiveRate) {
+        index(name);
+        filters.put(name, new BloomFilter(expectedKeys, falsePositiveRate));
+        return this;
+    }
+
+    /**
+     * Carrega os filtros com as chaves existentes no banco. As gravações feitas durante a carga também são
+     * incluídas (por {@link #recordKeys}), e os filtros passam a ser usados ao final.
+     * @param existingKeys As chaves gravadas, por nome da chave natural.
+     */
+    public void warmUp(Map<String, ? extends Iterable<String>> existingKeys) {
+        if (filters.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, ? extends Iterable<String>> entry : existingKeys.entrySet()) {
+            BloomFilter filter = filters.get(entry.getKey());
+            if (filter == null) {
+                throw new IllegalArgumentException("Chave natural sem filtro no cache: " + entry.getKey());
+            }
+            for (String key : entry.getValue()) {
+                if (key != null) {
+                    filter.put(key);
+                }
+            }
+        }
+        warmed = true;
+    }
+
+    /**
+     * Inclui nos filtros as chaves naturais da entidade; chamado antes de inserir ou atualizar.
+     */
+    public void recordKeys(T entity) {
+        for (Map.Entry<String, BloomFilter> entry : filters.entrySet()) {
+            String key = keyExtractors.get(entry.getKey()).apply(entity);
+            if (key != null) {
+                entry.getValue().put(key);
+            }
+        }
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    /**
+     * Retorna quantas verificações de existência foram respondidas pelo filtro, sem consultar o banco.
+     */
+    public long getSkippedQueries() {
+        return skippedQueries.get();
+    }
+
+    public Optional<T> findById(int id, Loader<Optional<T>> loader) throws SQLException {
+        T cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return store(loader.load());
+    }
+
+    /**
+     * Informa se alguma entidade gravada pode ter a chave. Usado apenas nas verificações de unicidade, em que
+     * a restrição do banco protege contra um registro que o filtro ainda não conhece.
+     * @param name O nome da chave natural.
+     * @param key O valor da chave.
+     * @return false se o filtro garante que a chave não existe; true caso contrário, inclusive sem filtro
+     *         ou antes da carga.
+     */
+    public boolean mightExist(String name, String key) {
+        BloomFilter filter = filters.get(name);
+        if (key == null || !warmed || filter == null || filter.mightContain(key)) {
+            return true;
+        }
+        skippedQueries.incrementAndGet();
+        return false;
+    }
+
+    public Optional<T> findByKey(String name, String key, Loader<Optional<T>> loader) throws SQLException {
+        if (key == null) {
+            return loader.load();
+        }
+        Integer id = index(name).get(key);
+        if (id != null) {
+            T cached = byId.get(id);
+            if (cached != null && key.equals(keyExtractors.get(name).apply(cached))) {
+                return Optional.of(cached);
+            }
+        }
+        return store(loader.load());
+    }
+
+    private Optional<T> store(Optional<T> loaded) {
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Armazena a entidade e a indexa por todas as chaves naturais.
+     */
+    public void put(T entity) {
+        int id = idOf.applyAsInt(entity);
+        byId.put(id, entity);
+        for (Map.Entry<String, Function<T, String>> entry : keyExtractors.entrySet()) {
+            String key = entry.getValue().apply(entity);
+            if (key != null) {
+                keyIndexes.get(entry.getKey()).put(key, id);
+            }
+        }
+    }
+
+    /**
+     * Remove a entidade do cache (após atualização ou exclusão). As chaves naturais que ainda apontarem para o
+     * ID deixam de ser atendidas pelo cache, pois a entidade não está mais nele.
+     */
+    public void invalidate(int id) {
+        byId.remove(id);
+    }
+
+    public void clear() {
+        byId.clear();
+        keyIndexes.values().forEach(LruCache::clear);
+    }
+
+    /**
+     * Retorna os contadores do índice por ID ("id") e de cada chave natural.
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put("id", byId.getStatistics());
+        for (Map.Entry<String, LruCache<String, Integer>> entry : keyIndexes.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().getStatistics());
+        }
+        return statistics;
+    }
+
+    private LruCache<String, Integer> index(String name) {
+        LruCache<String, Integer> index = keyIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Chave natural não registrada no cache: " + name);
+        }
+        return index;
+    }
+}
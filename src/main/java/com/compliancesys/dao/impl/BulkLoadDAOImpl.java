@@ -0,0 +1,187 @@
+package com.compliancesys.dao.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.BulkLoadDAO;
+import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.util.ProgressListener;
+
+/**
+ * Implementação de {@link BulkLoadDAO} usando o COPY FROM STDIN do PostgreSQL (CopyManager).
+ * As linhas são formatadas no formato texto do COPY e enviadas em blocos de tamanho fixo,
+ * de modo que o consumo de memória independe do tamanho da carga.
+ * As colunas são as mesmas usadas pelos DAOs de inserção (TimeRecordDAOImpl e MobileCommunicationDAOImpl).
+ */
+public class BulkLoadDAOImpl implements BulkLoadDAO {
+
+    private static final Logger LOGGER = Logger.getLogger(BulkLoadDAOImpl.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024; // Quantidade de caracteres acumulados antes de cada envio ao servidor.
+    private static final long DEFAULT_PROGRESS_INTERVAL = 10000L;
+
+    private final long progressInterval;
+
+    /**
+     * Construtor padrão. O intervalo de notificação de progresso é lido da propriedade db.copy.progressInterval.
+     */
+    public BulkLoadDAOImpl() {
+        this(DatabaseConfig.getLongProperty("db.copy.progressInterval", DEFAULT_PROGRESS_INTERVAL));
+    }
+
+    /**
+     * Construtor com intervalo de progresso explícito.
+     * @param progressInterval A cada quantas linhas o listener de progresso é notificado.
+     */
+    public BulkLoadDAOImpl(long progressInterval) {
+        if (progressInterval <= 0) {
+            throw new IllegalArgumentException("O intervalo de progresso deve ser positivo.");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    @Override
+    public long copyTimeRecords(Iterator<TimeRecord> timeRecords, ProgressListener listener) throws SQLException {
+        return copy(TimeRecordDAOImpl.TABLE_NAME, TimeRecordDAOImpl.INSERT_COLUMNS, timeRecords,
+                BulkLoadDAOImpl::appendTimeRecord, listener);
+    }
+
+    @Override
+    public long copyMobileCommunications(Iterator<MobileCommunication> communications, ProgressListener listener) throws SQLException {
+        return copy(MobileCommunicationDAOImpl.TABLE_NAME, MobileCommunicationDAOImpl.INSERT_COLUMNS, communications,
+                BulkLoadDAOImpl::appendMobileCommunication, listener);
+    }
+
+    /**
+     * Formata uma linha no formato texto do COPY a partir de um objeto do modelo.
+     * @param <T> O tipo do objeto.
+     */
+    @FunctionalInterface
+    interface RowFormatter<T> {
+        void append(StringBuilder buffer, T row, LocalDateTime now);
+    }
+
+    private <T> long copy(String table, String columns, Iterator<T> rows, RowFormatter<T> formatter,
+                          ProgressListener listener) throws SQLException {
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN";
+        ProgressListener progress = listener != null ? listener : ProgressListener.NONE;
+        LocalDateTime now = LocalDateTime.now(); // created_at/updated_at padrão para linhas sem data de criação.
+        long startNanos = System.nanoTime();
+        long sent = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            CopyIn copyIn = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+                while (rows.hasNext()) {
+                    formatter.append(buffer, rows.next(), now);
+                    sent++;
+                    if (buffer.length() >= BUFFER_SIZE) {
+                        flush(copyIn, buffer);
+                    }
+                    if (sent % progressInterval == 0) {
+                        progress.onProgress(sent, -1, rate(sent, startNanos));
+                    }
+                }
+                flush(copyIn, buffer);
+                long inserted = copyIn.endCopy();
+                double rowsPerSecond = rate(inserted, startNanos);
+                progress.onProgress(inserted, inserted, rowsPerSecond);
+                LOGGER.log(Level.INFO, "Carga em massa em {0}: {1} linhas ({2} linhas/s).",
+                        new Object[]{table, inserted, Math.round(rowsPerSecond)});
+                return inserted;
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy(); // Falha no meio da carga: o servidor descarta todas as linhas enviadas.
+                    LOGGER.log(Level.WARNING, "Carga em massa em {0} cancelada após {1} linhas.", new Object[]{table, sent});
+                }
+            }
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    private static double rate(long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? rows / seconds : rows;
+    }
+
+    static void appendTimeRecord(StringBuilder buffer, TimeRecord record, LocalDateTime now) {
+        appendField(buffer, record.getDriverId());
+        appendField(buffer, record.getVehicleId());
+        appendField(buffer, record.getRecordTime());
+        appendField(buffer, record.getEventType() != null ? record.getEventType().name() : null);
+        appendField(buffer, record.getLocation());
+        appendField(buffer, record.getCreatedAt() != null ? record.getCreatedAt() : now);
+        appendLastField(buffer, record.getUpdatedAt() != null ? record.getUpdatedAt() : now);
+    }
+
+    static void appendMobileCommunication(StringBuilder buffer, MobileCommunication communication, LocalDateTime now) {
+        appendField(buffer, communication.getDriverId());
+        appendField(buffer, communication.getRecordId());
+        appendField(buffer, communication.getTimestamp());
+        appendField(buffer, communication.getLatitude());
+        appendField(buffer, communication.getLongitude());
+        appendField(buffer, communication.getSendTimestamp());
+        appendField(buffer, communication.isSendSuccess() ? "t" : "f");
+        appendField(buffer, communication.getErrorMessage());
+        appendField(buffer, communication.getCreatedAt() != null ? communication.getCreatedAt() : now);
+        appendLastField(buffer, communication.getUpdatedAt() != null ? communication.getUpdatedAt() : now);
+    }
+
+    private static void appendField(StringBuilder buffer, Object value) {
+        appendValue(buffer, value);
+        buffer.append('\t');
+    }
+
+    private static void appendLastField(StringBuilder buffer, Object value) {
+        appendValue(buffer, value);
+        buffer.append('\n');
+    }
+
+    /**
+     * Escreve um valor no formato texto do COPY: null vira \N e barra invertida,
+     * tabulação e quebras de linha são escapadas.
+     */
+    private static void appendValue(StringBuilder buffer, Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+}
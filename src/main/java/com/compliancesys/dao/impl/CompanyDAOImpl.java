@@ -93,6 +93,23 @@ public class CompanyDAOImpl implements CompanyDAO {
         return companies;
     }
 
+    @Override
+    public List<Company> findPage(int afterId, int limit) throws SQLException {
+        List<Company> companies = new ArrayList<>();
+        String sql = "SELECT id, name, cnpj, email, phone, address, created_at, updated_at FROM companies WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    companies.add(mapResultSetToCompany(rs));
+                }
+            }
+        }
+        return companies;
+    }
+
     @Override
     public boolean update(Company company) throws SQLException {
         String sql = "UPDATE companies SET name = ?, cnpj = ?, email = ?, phone = ?, address = ?, updated_at = ? WHERE id = ?";
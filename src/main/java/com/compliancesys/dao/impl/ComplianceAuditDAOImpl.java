@@ -10,16 +10,42 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.config.UnitOfWork;
 import com.compliancesys.dao.ComplianceAuditDAO;
 import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.ComplianceStatusCount;
 import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.ReportGrouping;
 
 public class ComplianceAuditDAOImpl implements ComplianceAuditDAO {
 
     private static final Logger LOGGER = Logger.getLogger(ComplianceAuditDAOImpl.class.getName());
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final int batchSize;
+
+    /**
+     * Construtor padrão. O tamanho do lote de inserções é lido da propriedade db.batch.size.
+     */
+    public ComplianceAuditDAOImpl() {
+        this(DatabaseConfig.getIntProperty("db.batch.size", DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Construtor com tamanho de lote explícito.
+     * @param batchSize Quantidade máxima de auditorias enviadas ao banco em cada executeBatch.
+     */
+    public ComplianceAuditDAOImpl(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo.");
+        }
+        this.batchSize = batchSize;
+    }
 
     @Override
     public int create(ComplianceAudit audit) throws SQLException {
@@ -51,6 +77,43 @@ public class ComplianceAuditDAOImpl implements ComplianceAuditDAO {
         }
     }
 
+    @Override
+    public int createBatch(List<ComplianceAudit> audits) throws SQLException {
+        if (audits.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO compliance_audits (journey_id, audit_date, compliance_status, auditor_name, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        // Todos os lotes usam a mesma conexão e transação: ou a lista inteira é gravada, ou nada é.
+        return UnitOfWork.execute(() -> {
+            int inserted = 0;
+            try (Connection conn = DatabaseConfig.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                int pending = 0;
+                for (ComplianceAudit audit : audits) {
+                    stmt.setInt(1, audit.getJourneyId());
+                    stmt.setObject(2, audit.getAuditDate());
+                    stmt.setString(3, audit.getComplianceStatus().name());
+                    stmt.setString(4, audit.getAuditorName());
+                    stmt.setString(5, audit.getNotes());
+                    stmt.setObject(6, audit.getCreatedAt());
+                    stmt.setObject(7, audit.getUpdatedAt());
+                    stmt.addBatch();
+
+                    if (++pending == batchSize) {
+                        inserted += stmt.executeBatch().length;
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    inserted += stmt.executeBatch().length;
+                }
+            }
+            LOGGER.log(Level.FINE, "{0} auditorias de conformidade inseridas em lotes de até {1}.", new Object[]{inserted, batchSize});
+            return inserted;
+        });
+    }
+
     @Override
     public Optional<ComplianceAudit> findById(int id) throws SQLException {
         String sql = "SELECT id, journey_id, audit_date, compliance_status, auditor_name, notes, created_at, updated_at FROM compliance_audits WHERE id = ?";
@@ -80,6 +143,32 @@ public class ComplianceAuditDAOImpl implements ComplianceAuditDAO {
         return audits;
     }
 
+    @Override
+    public List<ComplianceAudit> findPage(int afterId, int limit) throws SQLException {
+        List<ComplianceAudit> audits = new ArrayList<>();
+        String sql = "SELECT id, journey_id, audit_date, compliance_status, auditor_name, notes, created_at, updated_at FROM compliance_audits WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    audits.add(mapResultSetToComplianceAudit(rs));
+                }
+            }
+        }
+        return audits;
+    }
+
+    @Override
+    public Stream<ComplianceAudit> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = "SELECT id, journey_id, audit_date, compliance_status, auditor_name, notes, created_at, updated_at FROM compliance_audits WHERE audit_date >= ? AND audit_date < ? ORDER BY audit_date, id";
+        return ResultSetStreams.stream(sql, stmt -> {
+            stmt.setObject(1, startDate.atStartOfDay());
+            stmt.setObject(2, endDate.plusDays(1).atStartOfDay()); // Intervalo semiaberto: inclui o dia final inteiro.
+        }, this::mapResultSetToComplianceAudit);
+    }
+
     @Override
     public List<ComplianceAudit> findByJourneyId(int journeyId) throws SQLException {
         List<ComplianceAudit> audits = new ArrayList<>();
@@ -101,12 +190,12 @@ public class ComplianceAuditDAOImpl implements ComplianceAuditDAO {
         List<ComplianceAudit> audits = new ArrayList<>();
         String sql = "SELECT ca.id, ca.journey_id, ca.audit_date, ca.compliance_status, ca.auditor_name, ca.notes, ca.created_at, ca.updated_at " +
                      "FROM compliance_audits ca JOIN journeys j ON ca.journey_id = j.id " +
-                     "WHERE j.driver_id = ? AND ca.audit_date BETWEEN ? AND ?";
+                     "WHERE j.driver_id = ? AND ca.audit_date >= ? AND ca.audit_date < ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, driverId);
-            stmt.setObject(2, startDate);
-            stmt.setObject(3, endDate);
+            stmt.setObject(2, startDate.atStartOfDay());
+            stmt.setObject(3, endDate.plusDays(1).atStartOfDay()); // Intervalo semiaberto: inclui o dia final inteiro.
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     audits.add(mapResultSetToComplianceAudit(rs));
@@ -144,6 +233,66 @@ public class ComplianceAuditDAOImpl implements ComplianceAuditDAO {
         }
     }
 
+    @Override
+    public List<ComplianceAudit> findByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<ComplianceAudit> audits = new ArrayList<>();
+        String sql = "SELECT id, journey_id, audit_date, compliance_status, auditor_name, notes, created_at, updated_at FROM compliance_audits WHERE audit_date >= ? AND audit_date < ? ORDER BY audit_date, id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, startDate.atStartOfDay());
+            stmt.setObject(2, endDate.plusDays(1).atStartOfDay());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    audits.add(mapResultSetToComplianceAudit(rs));
+                }
+            }
+        }
+        return audits;
+    }
+
+    @Override
+    public List<ComplianceStatusCount> countByStatus(Integer driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping) throws SQLException {
+        String groupKey;
+        String joins = "";
+        switch (grouping != null ? grouping : ReportGrouping.NONE) {
+            case DAY:
+                groupKey = "to_char(ca.audit_date, 'YYYY-MM-DD')";
+                break;
+            case COMPANY:
+                // A empresa da auditoria é a do veículo da jornada auditada.
+                groupKey = "CAST(v.company_id AS varchar)";
+                joins = " LEFT JOIN vehicles v ON v.id = j.vehicle_id";
+                break;
+            default:
+                groupKey = "CAST(NULL AS varchar)";
+        }
+        boolean needsJourney = driverId != null || !joins.isEmpty();
+        String sql = "SELECT " + groupKey + " AS group_key, ca.compliance_status, COUNT(*) AS total FROM compliance_audits ca"
+                + (needsJourney ? " JOIN journeys j ON ca.journey_id = j.id" : "") + joins
+                + " WHERE ca.audit_date >= ? AND ca.audit_date < ?"
+                + (driverId != null ? " AND j.driver_id = ?" : "")
+                + " GROUP BY 1, ca.compliance_status ORDER BY 1, ca.compliance_status";
+
+        List<ComplianceStatusCount> counts = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, startDate.atStartOfDay());
+            stmt.setObject(2, endDate.plusDays(1).atStartOfDay());
+            if (driverId != null) {
+                stmt.setInt(3, driverId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.add(new ComplianceStatusCount(
+                            rs.getString("group_key"),
+                            ComplianceStatus.valueOf(rs.getString("compliance_status")),
+                            rs.getLong("total")));
+                }
+            }
+        }
+        return counts;
+    }
+
     private ComplianceAudit mapResultSetToComplianceAudit(ResultSet rs) throws SQLException {
         return new ComplianceAudit(
                 rs.getInt("id"),
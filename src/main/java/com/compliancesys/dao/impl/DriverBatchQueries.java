@@ -0,0 +1,50 @@
+package com.compliancesys.dao.impl;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apoio às buscas de vários motoristas em uma única consulta ({@code driver_id = ANY(?)}).
+ * O array de IDs é enviado como um único parâmetro, de modo que o SQL e o plano preparado
+ * não dependem da quantidade de motoristas.
+ */
+final class DriverBatchQueries {
+
+    private DriverBatchQueries() {
+    }
+
+    /**
+     * Cria o parâmetro integer[] com os IDs dos motoristas.
+     * @param conn A conexão que executará a consulta.
+     * @param driverIds Os IDs dos motoristas.
+     * @return O array SQL; deve ser liberado com {@link Array#free()} após a consulta.
+     * @throws SQLException Se ocorrer um erro ao criar o array.
+     */
+    static Array driverIdArray(Connection conn, int[] driverIds) throws SQLException {
+        Integer[] boxed = new Integer[driverIds.length];
+        for (int i = 0; i < driverIds.length; i++) {
+            boxed[i] = driverIds[i];
+        }
+        return conn.createArrayOf("integer", boxed);
+    }
+
+    /**
+     * Cria o mapa de resultados com uma lista vazia para cada motorista solicitado,
+     * na ordem em que foram informados. Motoristas sem registros aparecem com lista vazia.
+     * @param driverIds Os IDs dos motoristas.
+     * @param <T> O tipo dos itens agrupados.
+     * @return O mapa de ID do motorista para a lista de itens.
+     */
+    static <T> Map<Integer, List<T>> emptyGroups(int[] driverIds) {
+        Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (int driverId : driverIds) {
+            groups.putIfAbsent(driverId, new ArrayList<>());
+        }
+        return groups;
+    }
+}
@@ -80,6 +80,32 @@ public class DriverDAOImpl implements DriverDAO {
         return Optional.empty();
     }
 
+    @Override
+    public boolean existsByCpf(String cpf) throws SQLException {
+        String sql = "SELECT 1 FROM drivers WHERE cpf = ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, cpf);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public List<String> findAllCpfs() throws SQLException {
+        List<String> cpfs = new ArrayList<>();
+        String sql = "SELECT cpf FROM drivers";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                cpfs.add(rs.getString("cpf"));
+            }
+        }
+        return cpfs;
+    }
+
     @Override
     public List<Driver> findAll() throws SQLException {
         List<Driver> drivers = new ArrayList<>();
@@ -94,6 +120,23 @@ public class DriverDAOImpl implements DriverDAO {
         return drivers;
     }
 
+    @Override
+    public List<Driver> findPage(int afterId, int limit) throws SQLException {
+        List<Driver> drivers = new ArrayList<>();
+        String sql = "SELECT id, company_id, name, cpf, license_number, birth_date, created_at, updated_at FROM drivers WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    drivers.add(mapResultSetToDriver(rs));
+                }
+            }
+        }
+        return drivers;
+    }
+
     @Override
     public boolean update(Driver driver) throws SQLException {
         String sql = "UPDATE drivers SET company_id = ?, name = ?, cpf = ?, license_number = ?, birth_date = ?, updated_at = ? WHERE id = ?";
@@ -0,0 +1,48 @@
+package com.compliancesys.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.model.enums.VersionedEntity;
+
+/**
+ * Implementação de {@link EntityVersionDAO} que lê apenas a coluna updated_at do registro, por ID,
+ * para responder às requisições GET condicionais sem carregar a entidade.
+ */
+public class EntityVersionDAOImpl implements EntityVersionDAO {
+
+    // Consultas fixas por entidade: o nome da tabela nunca vem da requisição.
+    private static final Map<VersionedEntity, String> QUERIES = new EnumMap<>(VersionedEntity.class);
+
+    static {
+        QUERIES.put(VersionedEntity.COMPANY, "SELECT updated_at FROM companies WHERE id = ?");
+        QUERIES.put(VersionedEntity.DRIVER, "SELECT updated_at FROM drivers WHERE id = ?");
+        QUERIES.put(VersionedEntity.VEHICLE, "SELECT updated_at FROM vehicles WHERE id = ?");
+        QUERIES.put(VersionedEntity.TIME_RECORD, "SELECT updated_at FROM time_records WHERE id = ?");
+        QUERIES.put(VersionedEntity.JOURNEY, "SELECT updated_at FROM journeys WHERE id = ?");
+        QUERIES.put(VersionedEntity.COMPLIANCE_AUDIT, "SELECT updated_at FROM compliance_audits WHERE id = ?");
+        QUERIES.put(VersionedEntity.MOBILE_COMMUNICATION, "SELECT updated_at FROM mobile_communications WHERE id = ?");
+    }
+
+    @Override
+    public Optional<LocalDateTime> findUpdatedAt(VersionedEntity entity, int id) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERIES.get(entity))) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.ofNullable(rs.getObject("updated_at", LocalDateTime.class));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.compliancesys.dao.impl;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,7 +11,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.util.logging.Logger;
 
 import com.compliancesys.config.DatabaseConfig;
@@ -59,6 +62,39 @@ public class JourneyDAOImpl implements JourneyDAO {
         }
     }
 
+    @Override
+    public Journey upsert(Journey journey) throws SQLException {
+        // O índice único idx_journey_driver_date é o alvo do ON CONFLICT; a jornada gravada volta no RETURNING.
+        String sql = "INSERT INTO journeys (driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                + " ON CONFLICT (driver_id, journey_date) DO UPDATE SET vehicle_id = EXCLUDED.vehicle_id, start_time = EXCLUDED.start_time, end_time = EXCLUDED.end_time, start_location = EXCLUDED.start_location, end_location = EXCLUDED.end_location, total_driving_time = EXCLUDED.total_driving_time, total_rest_time = EXCLUDED.total_rest_time, total_break_time = EXCLUDED.total_break_time, status = EXCLUDED.status, daily_limit_exceeded = EXCLUDED.daily_limit_exceeded, updated_at = EXCLUDED.updated_at"
+                + " RETURNING id, driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, journey.getDriverId());
+            stmt.setInt(2, journey.getVehicleId());
+            stmt.setObject(3, journey.getJourneyDate());
+            stmt.setObject(4, journey.getStartTime());
+            stmt.setObject(5, journey.getEndTime());
+            stmt.setString(6, journey.getStartLocation());
+            stmt.setString(7, journey.getEndLocation());
+            stmt.setObject(8, journey.getTotalDrivingTime());
+            stmt.setObject(9, journey.getTotalRestTime());
+            stmt.setObject(10, journey.getTotalBreakTime());
+            stmt.setString(11, journey.getStatus().name());
+            stmt.setBoolean(12, journey.isDailyLimitExceeded());
+            stmt.setObject(13, journey.getCreatedAt());
+            stmt.setObject(14, journey.getUpdatedAt());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToJourney(rs);
+                }
+                throw new SQLException("Falha ao gravar jornada, nenhuma linha retornada.");
+            }
+        }
+    }
+
     @Override
     public Optional<Journey> findById(int id) throws SQLException {
         String sql = "SELECT id, driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at FROM journeys WHERE id = ?";
@@ -88,6 +124,32 @@ public class JourneyDAOImpl implements JourneyDAO {
         return journeys;
     }
 
+    @Override
+    public List<Journey> findPage(int afterId, int limit) throws SQLException {
+        List<Journey> journeys = new ArrayList<>();
+        String sql = "SELECT id, driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at FROM journeys WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    journeys.add(mapResultSetToJourney(rs));
+                }
+            }
+        }
+        return journeys;
+    }
+
+    @Override
+    public Stream<Journey> streamByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = "SELECT id, driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at FROM journeys WHERE journey_date >= ? AND journey_date < ? ORDER BY journey_date, id";
+        return ResultSetStreams.stream(sql, stmt -> {
+            stmt.setObject(1, startDate);
+            stmt.setObject(2, endDate.plusDays(1)); // Intervalo semiaberto: inclui o dia final.
+        }, this::mapResultSetToJourney);
+    }
+
     @Override
     public List<Journey> findByDriverId(int driverId) throws SQLException {
         List<Journey> journeys = new ArrayList<>();
@@ -120,6 +182,50 @@ public class JourneyDAOImpl implements JourneyDAO {
         return Optional.empty();
     }
 
+    @Override
+    public Map<Integer, List<Journey>> findByDriverIdsAndDateRange(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException {
+        Map<Integer, List<Journey>> journeysByDriver = DriverBatchQueries.emptyGroups(driverIds);
+        if (driverIds.length == 0) {
+            return journeysByDriver;
+        }
+        String sql = "SELECT id, driver_id, vehicle_id, journey_date, start_time, end_time, start_location, end_location, total_driving_time, total_rest_time, total_break_time, status, daily_limit_exceeded, created_at, updated_at FROM journeys WHERE driver_id = ANY(?) AND journey_date >= ? AND journey_date < ? ORDER BY driver_id, journey_date, id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Array ids = DriverBatchQueries.driverIdArray(conn, driverIds);
+            try {
+                stmt.setArray(1, ids);
+                stmt.setObject(2, startDate);
+                stmt.setObject(3, endDate.plusDays(1)); // Intervalo semiaberto: inclui o dia final inteiro.
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Journey journey = mapResultSetToJourney(rs);
+                        journeysByDriver.get(journey.getDriverId()).add(journey);
+                    }
+                }
+            } finally {
+                ids.free();
+            }
+        }
+        return journeysByDriver;
+    }
+
+    @Override
+    public List<Integer> findDriverIdsByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<Integer> driverIds = new ArrayList<>();
+        String sql = "SELECT DISTINCT driver_id FROM journeys WHERE journey_date >= ? AND journey_date < ? ORDER BY driver_id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, startDate);
+            stmt.setObject(2, endDate.plusDays(1)); // Intervalo semiaberto: inclui o dia final inteiro.
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    driverIds.add(rs.getInt(1));
+                }
+            }
+        }
+        return driverIds;
+    }
+
     @Override
     public boolean update(Journey journey) throws SQLException {
         String sql = "UPDATE journeys SET driver_id = ?, vehicle_id = ?, journey_date = ?, start_time = ?, end_time = ?, start_location = ?, end_location = ?, total_driving_time = ?, total_rest_time = ?, total_break_time = ?, status = ?, daily_limit_exceeded = ?, updated_at = ? WHERE id = ?";
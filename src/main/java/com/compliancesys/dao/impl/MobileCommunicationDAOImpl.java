@@ -19,9 +19,14 @@ public class MobileCommunicationDAOImpl implements MobileCommunicationDAO {
 
     private static final Logger LOGGER = Logger.getLogger(MobileCommunicationDAOImpl.class.getName());
 
+    // Tabela e colunas gravadas pelo DAO; compartilhadas com a carga em massa (BulkLoadDAOImpl).
+    static final String TABLE_NAME = "mobile_communications";
+    static final String INSERT_COLUMNS = "driver_id, record_id, timestamp, latitude, longitude, send_timestamp, send_success, error_message, created_at, updated_at";
+    static final String SELECT_COLUMNS = "id, " + INSERT_COLUMNS;
+
     @Override
     public int create(MobileCommunication communication) throws SQLException {
-        String sql = "INSERT INTO mobile_communications (driver_id, record_id, timestamp, latitude, longitude, send_timestamp, send_success, error_message, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO " + TABLE_NAME + " (" + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -54,7 +59,7 @@ public class MobileCommunicationDAOImpl implements MobileCommunicationDAO {
 
     @Override
     public Optional<MobileCommunication> findById(int id) throws SQLException {
-        String sql = "SELECT id, driver_id, record_id, timestamp, latitude, longitude, send_timestamp, send_success, error_message, created_at, updated_at FROM mobile_communications WHERE id = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE id = ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
@@ -70,7 +75,7 @@ public class MobileCommunicationDAOImpl implements MobileCommunicationDAO {
     @Override
     public List<MobileCommunication> findAll() throws SQLException {
         List<MobileCommunication> communications = new ArrayList<>();
-        String sql = "SELECT id, driver_id, record_id, timestamp, latitude, longitude, send_timestamp, send_success, error_message, created_at, updated_at FROM mobile_communications";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME;
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -81,10 +86,27 @@ public class MobileCommunicationDAOImpl implements MobileCommunicationDAO {
         return communications;
     }
 
+    @Override
+    public List<MobileCommunication> findPage(int afterId, int limit) throws SQLException {
+        List<MobileCommunication> communications = new ArrayList<>();
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    communications.add(mapResultSetToMobileCommunication(rs));
+                }
+            }
+        }
+        return communications;
+    }
+
     @Override
     public List<MobileCommunication> findByDriverId(int driverId) throws SQLException {
         List<MobileCommunication> communications = new ArrayList<>();
-        String sql = "SELECT id, driver_id, record_id, timestamp, latitude, longitude, send_timestamp, send_success, error_message, created_at, updated_at FROM mobile_communications WHERE driver_id = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE driver_id = ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, driverId);
@@ -0,0 +1,131 @@
+package com.compliancesys.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.exception.DataAccessException;
+
+/**
+ * Converte consultas em {@link Stream}s lidos através de um cursor no servidor.
+ * O PostgreSQL só usa cursor (em vez de carregar o resultado inteiro na memória do driver)
+ * quando a conexão está fora do modo autocommit e o fetchSize é positivo; as linhas são então
+ * buscadas em blocos de fetchSize à medida que o Stream é consumido.
+ *
+ * O Stream mantém a conexão aberta até ser fechado, portanto deve ser sempre usado em
+ * try-with-resources. Ao final, a conexão é devolvida ao pool.
+ */
+final class ResultSetStreams {
+
+    private static final Logger LOGGER = Logger.getLogger(ResultSetStreams.class.getName());
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private ResultSetStreams() {
+    }
+
+    /**
+     * Converte a linha corrente de um ResultSet em um objeto do modelo.
+     * @param <T> O tipo do objeto.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Define os parâmetros da consulta.
+     */
+    @FunctionalInterface
+    interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Executa a consulta e retorna as linhas como um Stream preguiçoso.
+     * @param sql A consulta.
+     * @param binder Define os parâmetros da consulta.
+     * @param mapper Converte cada linha.
+     * @param <T> O tipo dos objetos do Stream.
+     * @return Um Stream que deve ser fechado após o uso.
+     * @throws SQLException Se ocorrer um erro ao abrir a conexão ou executar a consulta.
+     */
+    static <T> Stream<T> stream(String sql, StatementBinder binder, RowMapper<T> mapper) throws SQLException {
+        Connection conn = DatabaseConfig.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        boolean restoreAutoCommit = false;
+        try {
+            if (conn.getAutoCommit()) {
+                conn.setAutoCommit(false); // Necessário para o driver usar um cursor no servidor.
+                restoreAutoCommit = true;
+            }
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(DatabaseConfig.getIntProperty("db.stream.fetchSize", DEFAULT_FETCH_SIZE));
+            binder.bind(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            release(conn, stmt, rs, restoreAutoCommit);
+            throw e;
+        }
+
+        final PreparedStatement statement = stmt;
+        final ResultSet resultSet = rs;
+        final boolean restore = restoreAutoCommit;
+        Iterator<T> iterator = new Iterator<T>() {
+            private boolean fetched;
+            private boolean hasRow;
+
+            @Override
+            public boolean hasNext() {
+                if (!fetched) {
+                    try {
+                        hasRow = resultSet.next();
+                    } catch (SQLException e) {
+                        throw new DataAccessException("Erro ao ler o próximo registro do cursor.", e);
+                    }
+                    fetched = true;
+                }
+                return hasRow;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                fetched = false;
+                try {
+                    return mapper.map(resultSet);
+                } catch (SQLException e) {
+                    throw new DataAccessException("Erro ao converter registro do cursor.", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> release(conn, statement, resultSet, restore));
+    }
+
+    private static void release(Connection conn, PreparedStatement stmt, ResultSet rs, boolean restoreAutoCommit) {
+        DatabaseConfig.closeResources(null, stmt, rs);
+        if (restoreAutoCommit) {
+            try {
+                conn.rollback(); // Apenas leitura: encerra a transação aberta para o cursor.
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Erro ao encerrar a transação do cursor.", e);
+            }
+        }
+        DatabaseConfig.closeResources(conn);
+    }
+}
@@ -1,5 +1,6 @@
 package com.compliancesys.dao.impl;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -9,10 +10,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.config.UnitOfWork;
 import com.compliancesys.dao.TimeRecordDAO;
 import com.compliancesys.model.TimeRecord;
 import com.compliancesys.model.enums.EventType;
@@ -21,9 +26,47 @@ public class TimeRecordDAOImpl implements TimeRecordDAO {
 
     private static final Logger LOGGER = Logger.getLogger(TimeRecordDAOImpl.class.getName());
 
+    // Tabela e colunas gravadas pelo DAO; compartilhadas com a carga em massa (BulkLoadDAOImpl).
+    static final String TABLE_NAME = "time_records";
+    static final String INSERT_COLUMNS = "driver_id, vehicle_id, record_time, event_type, location, created_at, updated_at";
+    static final String SELECT_COLUMNS = "id, " + INSERT_COLUMNS;
+
+    // Buscas por período: limites semiabertos comparados diretamente com record_time, sem funções sobre a coluna,
+    // para que o planejador use os índices (driver_id, record_time) e (vehicle_id, record_time).
+    static final String FIND_BY_DRIVER_AND_TIME_RANGE_SQL = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME
+            + " WHERE driver_id = ? AND record_time >= ? AND record_time < ? ORDER BY record_time, id";
+    static final String FIND_BY_VEHICLE_AND_TIME_RANGE_SQL = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME
+            + " WHERE vehicle_id = ? AND record_time >= ? AND record_time < ? ORDER BY record_time, id";
+    static final String FIND_LAST_BY_DRIVER_SQL = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME
+            + " WHERE driver_id = ? ORDER BY record_time DESC, id DESC LIMIT 1";
+    static final String FIND_BY_DRIVERS_AND_TIME_RANGE_SQL = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME
+            + " WHERE driver_id = ANY(?) AND record_time >= ? AND record_time < ? ORDER BY driver_id, record_time, id";
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final int batchSize;
+
+    /**
+     * Construtor padrão. O tamanho do lote de inserções é lido da propriedade db.batch.size.
+     */
+    public TimeRecordDAOImpl() {
+        this(DatabaseConfig.getIntProperty("db.batch.size", DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Construtor com tamanho de lote explícito.
+     * @param batchSize Quantidade máxima de registros enviados ao banco em cada executeBatch.
+     */
+    public TimeRecordDAOImpl(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo.");
+        }
+        this.batchSize = batchSize;
+    }
+
     @Override
     public int create(TimeRecord timeRecord) throws SQLException { // CORRIGIDO: Retorna int
-        String sql = "INSERT INTO time_records (driver_id, vehicle_id, record_time, event_type, location, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO " + TABLE_NAME + " (" + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -51,9 +94,63 @@ public class TimeRecordDAOImpl implements TimeRecordDAO {
         }
     }
 
+    @Override
+    public List<Integer> createBatch(List<TimeRecord> timeRecords) throws SQLException {
+        List<Integer> ids = new ArrayList<>(timeRecords.size());
+        if (timeRecords.isEmpty()) {
+            return ids;
+        }
+        String sql = "INSERT INTO " + TABLE_NAME + " (" + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+        // Todos os lotes usam a mesma conexão e transação: ou a lista inteira é gravada, ou nada é.
+        return UnitOfWork.execute(() -> {
+            try (Connection conn = DatabaseConfig.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                int pending = 0;
+                for (TimeRecord timeRecord : timeRecords) {
+                    stmt.setInt(1, timeRecord.getDriverId());
+                    stmt.setInt(2, timeRecord.getVehicleId());
+                    stmt.setObject(3, timeRecord.getRecordTime());
+                    stmt.setString(4, timeRecord.getEventType().name());
+                    stmt.setString(5, timeRecord.getLocation());
+                    stmt.setObject(6, timeRecord.getCreatedAt());
+                    stmt.setObject(7, timeRecord.getUpdatedAt());
+                    stmt.addBatch();
+
+                    if (++pending == batchSize) {
+                        executeBatchCollectingKeys(stmt, pending, ids);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    executeBatchCollectingKeys(stmt, pending, ids);
+                }
+            }
+            LOGGER.log(Level.INFO, "{0} registros de ponto inseridos em lotes de até {1}.", new Object[]{ids.size(), batchSize});
+            return ids;
+        });
+    }
+
+    /**
+     * Executa o lote pendente e acrescenta os IDs gerados, na ordem de inserção.
+     */
+    private void executeBatchCollectingKeys(PreparedStatement stmt, int expected, List<Integer> ids) throws SQLException {
+        stmt.executeBatch();
+        int obtained = 0;
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                ids.add(generatedKeys.getInt(1));
+                obtained++;
+            }
+        }
+        if (obtained != expected) {
+            throw new SQLException("Falha ao criar registros de ponto em lote: esperados " + expected + " IDs, obtidos " + obtained + ".");
+        }
+    }
+
     @Override
     public Optional<TimeRecord> findById(int id) throws SQLException {
-        String sql = "SELECT id, driver_id, vehicle_id, record_time, event_type, location, created_at, updated_at FROM time_records WHERE id = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE id = ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
@@ -69,7 +166,7 @@ public class TimeRecordDAOImpl implements TimeRecordDAO {
     @Override
     public List<TimeRecord> findAll() throws SQLException {
         List<TimeRecord> timeRecords = new ArrayList<>();
-        String sql = "SELECT id, driver_id, vehicle_id, record_time, event_type, location, created_at, updated_at FROM time_records";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME;
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -81,13 +178,94 @@ public class TimeRecordDAOImpl implements TimeRecordDAO {
     }
 
     @Override
-    public List<TimeRecord> findByDriverIdAndDate(int driverId, LocalDate date) throws SQLException {
+    public List<TimeRecord> findPage(int afterId, int limit) throws SQLException {
         List<TimeRecord> timeRecords = new ArrayList<>();
-        String sql = "SELECT id, driver_id, vehicle_id, record_time, event_type, location, created_at, updated_at FROM time_records WHERE driver_id = ? AND DATE(record_time) = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE id > ? ORDER BY id LIMIT ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    timeRecords.add(mapResultSetToTimeRecord(rs));
+                }
+            }
+        }
+        return timeRecords;
+    }
+
+    @Override
+    public Stream<TimeRecord> streamByPeriod(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM " + TABLE_NAME + " WHERE record_time >= ? AND record_time < ? ORDER BY record_time, id";
+        return ResultSetStreams.stream(sql, stmt -> {
+            stmt.setObject(1, startDate.atStartOfDay());
+            stmt.setObject(2, endDate.plusDays(1).atStartOfDay()); // Intervalo semiaberto: inclui o dia final inteiro.
+        }, this::mapResultSetToTimeRecord);
+    }
+
+    @Override
+    public List<TimeRecord> findByDriverIdAndDate(int driverId, LocalDate date) throws SQLException {
+        // Dia inteiro como intervalo semiaberto, para que a busca use o índice (driver_id, record_time).
+        return findByDriverIdAndTimeRange(driverId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    public List<TimeRecord> findByDriverIdAndTimeRange(int driverId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        return findByTimeRange(FIND_BY_DRIVER_AND_TIME_RANGE_SQL, driverId, from, to);
+    }
+
+    @Override
+    public Optional<TimeRecord> findLastByDriverId(int driverId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_LAST_BY_DRIVER_SQL)) {
             stmt.setInt(1, driverId);
-            stmt.setObject(2, date); // LocalDate
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToTimeRecord(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<TimeRecord> findByVehicleIdAndTimeRange(int vehicleId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        return findByTimeRange(FIND_BY_VEHICLE_AND_TIME_RANGE_SQL, vehicleId, from, to);
+    }
+
+    @Override
+    public Map<Integer, List<TimeRecord>> findByDriverIdsAndDateRange(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException {
+        Map<Integer, List<TimeRecord>> recordsByDriver = DriverBatchQueries.emptyGroups(driverIds);
+        if (driverIds.length == 0) {
+            return recordsByDriver;
+        }
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_DRIVERS_AND_TIME_RANGE_SQL)) {
+            Array ids = DriverBatchQueries.driverIdArray(conn, driverIds);
+            try {
+                stmt.setArray(1, ids);
+                stmt.setObject(2, startDate.atStartOfDay());
+                stmt.setObject(3, endDate.plusDays(1).atStartOfDay());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        TimeRecord record = mapResultSetToTimeRecord(rs);
+                        recordsByDriver.get(record.getDriverId()).add(record);
+                    }
+                }
+            } finally {
+                ids.free();
+            }
+        }
+        return recordsByDriver;
+    }
+
+    private List<TimeRecord> findByTimeRange(String sql, int ownerId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<TimeRecord> timeRecords = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, ownerId);
+            stmt.setObject(2, from);
+            stmt.setObject(3, to);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     timeRecords.add(mapResultSetToTimeRecord(rs));
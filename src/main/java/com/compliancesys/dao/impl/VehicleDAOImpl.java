@@ -79,6 +79,32 @@ public class VehicleDAOImpl implements VehicleDAO {
         return Optional.empty();
     }
 
+    @Override
+    public boolean existsByPlate(String plate) throws SQLException {
+        String sql = "SELECT 1 FROM vehicles WHERE plate = ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, plate);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public List<String> findAllPlates() throws SQLException {
+        List<String> plates = new ArrayList<>();
+        String sql = "SELECT plate FROM vehicles";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plates.add(rs.getString("plate"));
+            }
+        }
+        return plates;
+    }
+
     @Override
     public List<Vehicle> findAll() throws SQLException {
         List<Vehicle> vehicles = new ArrayList<>();
@@ -93,6 +119,23 @@ public class VehicleDAOImpl implements VehicleDAO {
         return vehicles;
     }
 
+    @Override
+    public List<Vehicle> findPage(int afterId, int limit) throws SQLException {
+        List<Vehicle> vehicles = new ArrayList<>();
+        String sql = "SELECT id, company_id, plate, manufacturer, model, year, created_at, updated_at FROM vehicles WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    vehicles.add(mapResultSetToVehicle(rs));
+                }
+            }
+        }
+        return vehicles;
+    }
+
     @Override
     public boolean update(Vehicle vehicle) throws SQLException {
         String sql = "UPDATE vehicles SET company_id = ?, plate = ?, manufacturer = ?, model = ?, year = ?, updated_at = ? WHERE id = ?";
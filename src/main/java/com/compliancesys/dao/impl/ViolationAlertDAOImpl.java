@@ -0,0 +1,79 @@
+package com.compliancesys.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.ViolationAlertDAO;
+import com.compliancesys.model.ViolationAlert;
+import com.compliancesys.model.enums.ViolationType;
+
+public class ViolationAlertDAOImpl implements ViolationAlertDAO {
+
+    private static final String SELECT_COLUMNS = "id, driver_id, violation_type, expected_at, remaining_seconds, message, created_at";
+
+    @Override
+    public int create(ViolationAlert alert) throws SQLException {
+        String sql = "INSERT INTO violation_alerts (driver_id, violation_type, expected_at, remaining_seconds, message, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, alert.getDriverId());
+            stmt.setString(2, alert.getViolationType().name());
+            stmt.setObject(3, alert.getExpectedAt());
+            stmt.setLong(4, alert.getRemaining().getSeconds());
+            stmt.setString(5, alert.getMessage());
+            stmt.setObject(6, alert.getCreatedAt());
+
+            int affectedRows = stmt.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("Falha ao criar alerta de violação, nenhuma linha afetada.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    return generatedKeys.getInt(1);
+                } else {
+                    throw new SQLException("Falha ao criar alerta de violação, nenhum ID obtido.");
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<ViolationAlert> findRecentByDriverId(int driverId, int limit) throws SQLException {
+        List<ViolationAlert> alerts = new ArrayList<>();
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM violation_alerts WHERE driver_id = ? ORDER BY created_at DESC, id DESC LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, driverId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    alerts.add(mapResultSetToViolationAlert(rs));
+                }
+            }
+        }
+        return alerts;
+    }
+
+    private ViolationAlert mapResultSetToViolationAlert(ResultSet rs) throws SQLException {
+        return new ViolationAlert(
+                rs.getInt("id"),
+                rs.getInt("driver_id"),
+                ViolationType.valueOf(rs.getString("violation_type")),
+                rs.getObject("expected_at", LocalDateTime.class),
+                Duration.ofSeconds(rs.getLong("remaining_seconds")),
+                rs.getString("message"),
+                rs.getObject("created_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.compliancesys.exception;
+
+import java.sql.SQLException;
+
+/**
+ * Exceção não verificada que encapsula uma {@link SQLException} ocorrida durante a
+ * leitura de um resultado em streaming, onde a interface {@link java.util.Iterator}
+ * não permite lançar exceções verificadas.
+ */
+public class DataAccessException extends RuntimeException {
+
+    /**
+     * Construtor para DataAccessException.
+     * @param message A mensagem detalhada da exceção.
+     * @param cause A SQLException original.
+     */
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,98 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.compliancesys.model.enums.ActivityType;
+
+/**
+ * Resumo das atividades de um motorista em uma janela de tempo arbitrária (ex.: de 14:00 a 02:00):
+ * o tempo total e a maior sequência contínua de cada atividade. Resposta de GET /journeys/driver/{id}/window.
+ */
+public class ActivityWindow {
+    private int driverId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Map<ActivityType, Duration> totals;
+    private Map<ActivityType, Duration> longestContinuous;
+
+    public ActivityWindow() {
+    }
+
+    public ActivityWindow(int driverId, LocalDateTime from, LocalDateTime to, Map<ActivityType, Duration> totals,
+                          Map<ActivityType, Duration> longestContinuous) {
+        this.driverId = driverId;
+        this.from = from;
+        this.to = to;
+        this.totals = totals;
+        this.longestContinuous = longestContinuous;
+    }
+
+    /**
+     * Monta o resumo de todo o intervalo de um índice de atividades.
+     * @param index O índice do motorista.
+     * @return O resumo com as atividades que aparecem no intervalo.
+     */
+    public static ActivityWindow of(DriverActivityIndex index) {
+        Map<ActivityType, Duration> totals = new EnumMap<>(ActivityType.class);
+        Map<ActivityType, Duration> longest = new EnumMap<>(ActivityType.class);
+        for (ActivityType activity : index.getActivities()) {
+            totals.put(activity, index.getTime(activity));
+            longest.put(activity, index.getLongestContinuous(activity));
+        }
+        return new ActivityWindow(index.getDriverId(), index.getFrom(), index.getTo(), totals, longest);
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public void setDriverId(int driverId) {
+        this.driverId = driverId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public Map<ActivityType, Duration> getTotals() {
+        return totals;
+    }
+
+    public void setTotals(Map<ActivityType, Duration> totals) {
+        this.totals = totals;
+    }
+
+    public Map<ActivityType, Duration> getLongestContinuous() {
+        return longestContinuous;
+    }
+
+    public void setLongestContinuous(Map<ActivityType, Duration> longestContinuous) {
+        this.longestContinuous = longestContinuous;
+    }
+
+    @Override
+    public String toString() {
+        return "ActivityWindow{" +
+                "driverId=" + driverId +
+                ", from=" + from +
+                ", to=" + to +
+                ", totals=" + totals +
+                ", longestContinuous=" + longestContinuous +
+                '}';
+    }
+}
@@ -2,10 +2,15 @@ package com.compliancesys.model;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import com.compliancesys.model.enums.ComplianceStatus;
+
 /**
- * Representa um relatório de conformidade para um motorista em um período específico.
+ * Representa um relatório de conformidade para um motorista (ou para todos, com driverId 0) em um período específico.
+ * As contagens vêm de agregações no banco; a lista de auditorias só é preenchida quando solicitada.
+ * Relatórios agrupados (por dia ou empresa) trazem um sub-relatório por grupo em {@link #getGroups()}.
  */
 public class ComplianceReport {
     private int driverId;
@@ -14,7 +19,10 @@ public class ComplianceReport {
     private int totalAudits;
     private int compliantCount;
     private int nonCompliantCount;
-    private List<ComplianceAudit> audits;
+    private List<ComplianceAudit> audits; // null quando o detalhe não foi solicitado.
+    private Map<ComplianceStatus, Long> statusCounts; // Quantidade de auditorias por status.
+    private String groupKey; // Data (YYYY-MM-DD) ou ID da empresa nos sub-relatórios de um relatório agrupado.
+    private List<ComplianceReport> groups; // Sub-relatórios por grupo; null quando o relatório não é agrupado.
 
     public ComplianceReport() {
     }
@@ -85,6 +93,30 @@ public class ComplianceReport {
         this.audits = audits;
     }
 
+    public Map<ComplianceStatus, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<ComplianceStatus, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public List<ComplianceReport> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<ComplianceReport> groups) {
+        this.groups = groups;
+    }
+
     public double getComplianceRate() {
         if (totalAudits == 0) {
             return 0.0;
@@ -102,6 +134,8 @@ public class ComplianceReport {
                 ", compliantCount=" + compliantCount +
                 ", nonCompliantCount=" + nonCompliantCount +
                 ", complianceRate=" + String.format("%.2f%%", getComplianceRate()) +
+                (groupKey != null ? ", groupKey='" + groupKey + '\'' : "") +
+                (groups != null ? ", groups=" + groups.size() : "") +
                 '}';
     }
 
@@ -0,0 +1,72 @@
+package com.compliancesys.model;
+
+import java.util.Objects;
+
+import com.compliancesys.model.enums.ComplianceStatus;
+
+/**
+ * Linha de um agregado de auditorias de conformidade: quantidade de auditorias com um status
+ * dentro de um grupo (dia ou empresa) do relatório.
+ */
+public class ComplianceStatusCount {
+    private String groupKey; // Data (YYYY-MM-DD) ou ID da empresa; null quando o relatório não é agrupado.
+    private ComplianceStatus status;
+    private long count;
+
+    public ComplianceStatusCount() {
+    }
+
+    public ComplianceStatusCount(String groupKey, ComplianceStatus status, long count) {
+        this.groupKey = groupKey;
+        this.status = status;
+        this.count = count;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public ComplianceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ComplianceStatus status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return "ComplianceStatusCount{" +
+                "groupKey='" + groupKey + '\'' +
+                ", status=" + status +
+                ", count=" + count +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ComplianceStatusCount that = (ComplianceStatusCount) o;
+        return count == that.count &&
+                Objects.equals(groupKey, that.groupKey) &&
+                status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupKey, status, count);
+    }
+}
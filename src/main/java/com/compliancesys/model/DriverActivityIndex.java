@@ -0,0 +1,202 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.util.MinuteSegmentTree;
+
+/**
+ * Índice das atividades de um motorista em um intervalo, em baldes de um minuto: uma {@link MinuteSegmentTree}
+ * por atividade. Depois de construído a partir dos registros de ponto, responde em O(log n) quanto tempo o
+ * motorista passou em uma atividade em qualquer subintervalo (ex.: direção entre 14:00 e 02:00) e qual foi a
+ * maior sequência contínua da atividade nele (ex.: o maior descanso da semana).
+ *
+ * Os totais são exatos quando o subintervalo começa e termina em minutos cheios; os limites da consulta são
+ * arredondados para o minuto. As sequências contínuas contam apenas minutos inteiramente na atividade.
+ * Imutável depois de construído.
+ */
+public final class DriverActivityIndex {
+
+    /** Maior intervalo indexado (um mês): limita a memória de cada índice. */
+    public static final Duration MAX_SPAN = Duration.ofDays(31);
+
+    private static final int SECONDS_PER_MINUTE = MinuteSegmentTree.SECONDS_PER_MINUTE;
+
+    private final int driverId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final int minutes;
+    private final Map<ActivityType, MinuteSegmentTree> trees;
+
+    private DriverActivityIndex(int driverId, LocalDateTime from, LocalDateTime to, Map<ActivityType, MinuteSegmentTree> trees) {
+        this.driverId = driverId;
+        this.from = from;
+        this.to = to;
+        this.minutes = (int) ChronoUnit.MINUTES.between(from, to);
+        this.trees = trees;
+    }
+
+    /**
+     * Constrói o índice. Cada intervalo entre dois registros conta para a atividade iniciada pelo primeiro;
+     * o tempo antes do primeiro registro não é atribuído a nenhuma atividade, e a atividade do último registro
+     * se estende até {@code until} (normalmente o instante atual), limitado ao fim do índice.
+     * @param driverId O ID do motorista.
+     * @param from O início do intervalo, arredondado para baixo ao minuto.
+     * @param to O fim do intervalo (exclusivo), arredondado para cima ao minuto.
+     * @param records Os registros do motorista no intervalo e o último anterior a ele, em qualquer ordem.
+     * @param until Até quando a atividade do último registro é considerada em curso.
+     * @return O índice construído.
+     * @throws IllegalArgumentException Se o intervalo for vazio ou maior que {@link #MAX_SPAN}.
+     */
+    public static DriverActivityIndex build(int driverId, LocalDateTime from, LocalDateTime to, List<TimeRecord> records,
+                                            LocalDateTime until) {
+        LocalDateTime start = floorToMinute(from);
+        LocalDateTime end = ceilToMinute(to);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("O início do intervalo deve ser anterior ao fim.");
+        }
+        if (Duration.between(start, end).compareTo(MAX_SPAN) > 0) {
+            throw new IllegalArgumentException("O intervalo indexado deve ter no máximo " + MAX_SPAN.toDays() + " dias.");
+        }
+        int minutes = (int) ChronoUnit.MINUTES.between(start, end);
+        long base = start.toEpochSecond(ZoneOffset.UTC);
+        long limit = base + (long) minutes * SECONDS_PER_MINUTE;
+        long open = Math.min(limit, until.toEpochSecond(ZoneOffset.UTC));
+
+        List<TimeRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(TimeRecord::getRecordTime));
+        Map<ActivityType, int[]> buckets = new EnumMap<>(ActivityType.class);
+        for (int i = 0; i < sorted.size(); i++) {
+            TimeRecord record = sorted.get(i);
+            if (record.getDriverId() != driverId) {
+                continue;
+            }
+            long begin = record.getRecordTime().toEpochSecond(ZoneOffset.UTC);
+            long finish = i + 1 < sorted.size() ? sorted.get(i + 1).getRecordTime().toEpochSecond(ZoneOffset.UTC) : open;
+            begin = Math.max(begin, base);
+            finish = Math.min(finish, limit);
+            if (begin >= finish) {
+                continue;
+            }
+            int[] seconds = buckets.computeIfAbsent(ActivityType.startedBy(record.getEventType()), a -> new int[minutes]);
+            fill(seconds, begin - base, finish - base);
+        }
+
+        Map<ActivityType, MinuteSegmentTree> trees = new EnumMap<>(ActivityType.class);
+        for (Map.Entry<ActivityType, int[]> entry : buckets.entrySet()) {
+            trees.put(entry.getKey(), new MinuteSegmentTree(entry.getValue()));
+        }
+        return new DriverActivityIndex(driverId, start, end, trees);
+    }
+
+    /**
+     * Retorna a duração do intervalo efetivamente indexado por {@link #build}, depois de arredondar os limites
+     * ao minuto; é esta duração que não pode ultrapassar {@link #MAX_SPAN}.
+     * @param from O início do intervalo.
+     * @param to O fim do intervalo (exclusivo).
+     * @return A duração entre os limites arredondados.
+     */
+    public static Duration indexedSpan(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(floorToMinute(from), ceilToMinute(to));
+    }
+
+    private static LocalDateTime floorToMinute(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private static LocalDateTime ceilToMinute(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.isBefore(time) ? minute.plusMinutes(1) : minute;
+    }
+
+    // Distribui os segundos [begin, end) (relativos ao início do índice) pelos baldes de um minuto.
+    private static void fill(int[] seconds, long begin, long end) {
+        long t = begin;
+        while (t < end) {
+            int minute = (int) (t / SECONDS_PER_MINUTE);
+            long minuteEnd = (long) (minute + 1) * SECONDS_PER_MINUTE;
+            long chunk = Math.min(end, minuteEnd) - t;
+            seconds[minute] += (int) chunk;
+            t += chunk;
+        }
+    }
+
+    /**
+     * Retorna o tempo gasto na atividade no subintervalo [from, to), limitado ao intervalo do índice.
+     */
+    public Duration getTime(ActivityType activity, LocalDateTime from, LocalDateTime to) {
+        MinuteSegmentTree tree = trees.get(activity);
+        if (tree == null) {
+            return Duration.ZERO;
+        }
+        int lo = indexOf(from);
+        int hi = indexOf(to);
+        return lo >= hi ? Duration.ZERO : Duration.ofSeconds(tree.sum(lo, hi));
+    }
+
+    /**
+     * Retorna a maior sequência contínua da atividade no subintervalo [from, to), com precisão de um minuto.
+     */
+    public Duration getLongestContinuous(ActivityType activity, LocalDateTime from, LocalDateTime to) {
+        MinuteSegmentTree tree = trees.get(activity);
+        if (tree == null) {
+            return Duration.ZERO;
+        }
+        int lo = indexOf(from);
+        int hi = indexOf(to);
+        return lo >= hi ? Duration.ZERO : Duration.ofMinutes(tree.longestRun(lo, hi));
+    }
+
+    public Duration getTime(ActivityType activity) {
+        return getTime(activity, from, to);
+    }
+
+    public Duration getLongestContinuous(ActivityType activity) {
+        return getLongestContinuous(activity, from, to);
+    }
+
+    // Minuto do índice correspondente ao instante, limitado a [0, minutes].
+    private int indexOf(LocalDateTime time) {
+        long minute = ChronoUnit.MINUTES.between(from, time.truncatedTo(ChronoUnit.MINUTES));
+        return (int) Math.max(0, Math.min(minutes, minute));
+    }
+
+    /**
+     * Retorna as atividades que aparecem no intervalo.
+     */
+    public Set<ActivityType> getActivities() {
+        return Collections.unmodifiableSet(trees.keySet());
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "DriverActivityIndex{" +
+                "driverId=" + driverId +
+                ", from=" + from +
+                ", to=" + to +
+                ", activities=" + trees.keySet() +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.compliancesys.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Identifica a jornada de um motorista em um dia. Imutável: usado como chave nas filas de recálculo.
+ */
+public final class DriverDay {
+    private final int driverId;
+    private final LocalDate date;
+
+    public DriverDay(int driverId, LocalDate date) {
+        this.driverId = driverId;
+        this.date = Objects.requireNonNull(date, "A data não pode ser nula.");
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public String toString() {
+        return "DriverDay{" +
+                "driverId=" + driverId +
+                ", date=" + date +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DriverDay that = (DriverDay) o;
+        return driverId == that.driverId &&
+                date.equals(that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(driverId, date);
+    }
+}
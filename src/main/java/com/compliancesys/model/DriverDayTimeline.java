@@ -0,0 +1,297 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.EventType;
+
+/**
+ * Linha do tempo compacta dos eventos de um motorista em um dia: instantes em segundos de época ({@code long[]})
+ * e tipos de evento pelo ordinal ({@code byte[]}), em arrays paralelos.
+ * A ordenação é feita sobre os arrays primitivos e os totais (direção, descanso, pausas e maior direção contínua)
+ * são calculados em uma passagem, sem alocar objetos por evento. Os totais seguem as mesmas regras de
+ * {@link DriverJourneyState}.
+ *
+ * A instância pode ser reaproveitada para vários dias com {@link #reset(int, LocalDate)}.
+ * Não é thread-safe.
+ */
+public final class DriverDayTimeline {
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private int driverId;
+    private LocalDate journeyDate;
+    private long dayStart;
+
+    private long[] times;
+    private byte[] events;
+    private int size;
+    private boolean sorted = true;
+
+    private boolean computed;
+    private long drivingSeconds;
+    private long restSeconds;
+    private long breakSeconds; // Pausas e refeições.
+    private long longestContinuousDrivingSeconds;
+
+    public DriverDayTimeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DriverDayTimeline(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade inicial da linha do tempo deve ser positiva.");
+        }
+        this.times = new long[initialCapacity];
+        this.events = new byte[initialCapacity];
+    }
+
+    public DriverDayTimeline(int driverId, LocalDate journeyDate) {
+        this();
+        reset(driverId, journeyDate);
+    }
+
+    /**
+     * Esvazia a linha do tempo para receber os eventos de outro motorista ou dia, mantendo os arrays alocados.
+     * @param driverId O ID do motorista.
+     * @param journeyDate A data da jornada.
+     */
+    public void reset(int driverId, LocalDate journeyDate) {
+        this.driverId = driverId;
+        this.journeyDate = journeyDate;
+        this.dayStart = journeyDate.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.size = 0;
+        this.sorted = true;
+        this.computed = false;
+    }
+
+    /**
+     * Adiciona um registro de ponto, se ele for do motorista e do dia da linha do tempo.
+     * @param record O registro de ponto.
+     * @return true se o registro foi adicionado; false se é de outro motorista ou de outro dia.
+     */
+    public boolean add(TimeRecord record) {
+        if (record.getDriverId() != driverId || record.getRecordTime() == null || record.getEventType() == null) {
+            return false;
+        }
+        long time = record.getRecordTime().toEpochSecond(ZoneOffset.UTC);
+        if (time < dayStart || time >= dayStart + SECONDS_PER_DAY) {
+            return false;
+        }
+        append(record.getEventType(), time);
+        return true;
+    }
+
+    /**
+     * Adiciona um evento.
+     * @param eventType O tipo do evento.
+     * @param epochSecond O instante do evento em segundos de época (UTC, como em {@link #getTime(int)}).
+     * @throws IllegalArgumentException Se o instante não pertence ao dia da linha do tempo.
+     */
+    public void add(EventType eventType, long epochSecond) {
+        if (epochSecond < dayStart || epochSecond >= dayStart + SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Evento fora do dia " + journeyDate + ": " + LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+        }
+        append(eventType, epochSecond);
+    }
+
+    private void append(EventType eventType, long epochSecond) {
+        if (size == times.length) {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            events = Arrays.copyOf(events, capacity);
+        }
+        if (size > 0 && epochSecond < times[size - 1]) {
+            sorted = false;
+        }
+        times[size] = epochSecond;
+        events[size] = (byte) eventType.ordinal();
+        size++;
+        computed = false;
+    }
+
+    /**
+     * Ordena os eventos por horário, preservando a ordem de inserção em horários iguais.
+     * Eventos já ordenados (o caso comum, vindos do banco) não custam nada além da verificação feita na inserção.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        if (size <= INSERTION_SORT_THRESHOLD) {
+            insertionSort();
+        } else {
+            packedSort();
+        }
+        sorted = true;
+        computed = false;
+    }
+
+    private void insertionSort() {
+        for (int i = 1; i < size; i++) {
+            long time = times[i];
+            byte event = events[i];
+            int j = i - 1;
+            while (j >= 0 && times[j] > time) {
+                times[j + 1] = times[j];
+                events[j + 1] = events[j];
+                j--;
+            }
+            times[j + 1] = time;
+            events[j + 1] = event;
+        }
+    }
+
+    /**
+     * Ordena chaves {@code (segundos desde o início do dia) << 32 | posição}: a posição desempata horários iguais,
+     * mantendo a ordenação estável com {@link Arrays#sort(long[])}.
+     */
+    private void packedSort() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (times[i] - dayStart) << 32 | i;
+        }
+        Arrays.sort(keys);
+        byte[] sortedEvents = new byte[events.length];
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            times[i] = dayStart + (keys[i] >>> 32);
+            sortedEvents[i] = events[from];
+        }
+        events = sortedEvents;
+    }
+
+    /**
+     * Calcula os totais em uma passagem; cada intervalo entre dois eventos conta para a atividade iniciada pelo primeiro.
+     */
+    private void computeTotals() {
+        if (computed) {
+            return;
+        }
+        sort();
+        drivingSeconds = 0;
+        restSeconds = 0;
+        breakSeconds = 0;
+        longestContinuousDrivingSeconds = 0;
+        long continuousDriving = 0;
+        long pause = 0; // Pausa acumulada desde o início do trecho, como em DriverJourneyState.
+        for (int i = 1; i < size; i++) {
+            long seconds = times[i] - times[i - 1];
+            switch (ActivityType.startedBy(EVENT_TYPES[events[i - 1]])) {
+                case DRIVING:
+                    drivingSeconds += seconds;
+                    continuousDriving += seconds;
+                    if (continuousDriving > longestContinuousDrivingSeconds) {
+                        longestContinuousDrivingSeconds = continuousDriving;
+                    }
+                    continue;
+                case REST:
+                    restSeconds += seconds;
+                    break;
+                case BREAK:
+                case MEAL:
+                    breakSeconds += seconds;
+                    break;
+                case OFF_DUTY:
+                    break;
+                default:
+                    continue; // Trabalho sem direção e espera não interrompem a direção contínua.
+            }
+            if (continuousDriving > 0) {
+                pause += seconds;
+                if (pause >= DriverJourneyState.MIN_DRIVING_INTERRUPTION_SECONDS) {
+                    continuousDriving = 0;
+                    pause = 0;
+                }
+            }
+        }
+        computed = true;
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public LocalDate getJourneyDate() {
+        return journeyDate;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna o instante do evento na posição informada, em segundos de época (UTC). Ordene antes com {@link #sort()}.
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+        return times[index];
+    }
+
+    public EventType getEventType(int index) {
+        checkIndex(index);
+        return EVENT_TYPES[events[index]];
+    }
+
+    public long getDrivingSeconds() {
+        computeTotals();
+        return drivingSeconds;
+    }
+
+    public long getRestSeconds() {
+        computeTotals();
+        return restSeconds;
+    }
+
+    public long getBreakSeconds() {
+        computeTotals();
+        return breakSeconds;
+    }
+
+    public long getLongestContinuousDrivingSeconds() {
+        computeTotals();
+        return longestContinuousDrivingSeconds;
+    }
+
+    public Duration getDrivingTime() {
+        return Duration.ofSeconds(getDrivingSeconds());
+    }
+
+    public Duration getRestTime() {
+        return Duration.ofSeconds(getRestSeconds());
+    }
+
+    public Duration getBreakTime() {
+        return Duration.ofSeconds(getBreakSeconds());
+    }
+
+    public Duration getLongestContinuousDrivingTime() {
+        return Duration.ofSeconds(getLongestContinuousDrivingSeconds());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posição " + index + " fora da linha do tempo com " + size + " eventos.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DriverDayTimeline{" +
+                "driverId=" + driverId +
+                ", journeyDate=" + journeyDate +
+                ", events=" + size +
+                '}';
+    }
+}
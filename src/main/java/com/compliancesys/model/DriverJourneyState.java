@@ -0,0 +1,249 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+
+/**
+ * Estado acumulado da jornada de um motorista em um dia, atualizado a cada registro de ponto.
+ * Cada chamada a {@link #apply(TimeRecord)} custa O(1): o intervalo desde o último evento é somado
+ * ao total da atividade em curso, sem reler os registros anteriores do dia.
+ *
+ * Não é thread-safe; quem mantém o estado deve serializar as atualizações de um mesmo motorista.
+ */
+public class DriverJourneyState {
+
+    /**
+     * Pausa mínima para zerar o contador de direção contínua, como em {@code ContinuousDrivingRule}:
+     * pausas, refeições, descanso e fim de jornada somam, mesmo fracionados, a partir do início do trecho de direção.
+     */
+    public static final long MIN_DRIVING_INTERRUPTION_SECONDS = Duration.ofMinutes(30).getSeconds();
+
+    private final int driverId;
+    private final LocalDate journeyDate;
+    private int vehicleId;
+
+    private LocalDateTime firstEventTime;
+    private String firstLocation;
+    private LocalDateTime lastEventTime;
+    private String lastLocation;
+    private EventType lastEventType;
+    private ActivityType currentActivity;
+    private int eventCount;
+
+    private long drivingSeconds;
+    private long restSeconds;
+    private long breakSeconds; // Pausas e refeições.
+    private long continuousDrivingSeconds;
+    private long pauseSeconds; // Pausa acumulada desde o início do trecho de direção contínua.
+
+    // Controle de persistência: o que já foi gravado na tabela journeys.
+    private int journeyId;
+    private ComplianceStatus persistedStatus;
+    private boolean persistedLimitExceeded;
+    private long unpersistedSeconds;
+    private boolean unpersistedChanges;
+
+    public DriverJourneyState(int driverId, LocalDate journeyDate) {
+        this.driverId = driverId;
+        this.journeyDate = journeyDate;
+    }
+
+    /**
+     * Verifica se o registro pode ser aplicado incrementalmente: mesmo motorista, mesmo dia
+     * e horário não anterior ao último evento aplicado.
+     * @param record O registro de ponto.
+     * @return true se o registro pode ser aplicado com {@link #apply(TimeRecord)}.
+     */
+    public boolean accepts(TimeRecord record) {
+        return record.getDriverId() == driverId
+                && journeyDate.equals(record.getRecordTime().toLocalDate())
+                && (lastEventTime == null || !record.getRecordTime().isBefore(lastEventTime));
+    }
+
+    /**
+     * Aplica um novo registro de ponto ao estado.
+     * @param record O registro de ponto, que deve ser aceito por {@link #accepts(TimeRecord)}.
+     * @throws IllegalArgumentException Se o registro for de outro motorista, de outro dia ou anterior ao último evento.
+     */
+    public void apply(TimeRecord record) {
+        if (!accepts(record)) {
+            throw new IllegalArgumentException("Registro de ponto fora de ordem ou de outra jornada: " + record);
+        }
+        LocalDateTime time = record.getRecordTime();
+        if (lastEventTime == null) {
+            firstEventTime = time;
+            firstLocation = record.getLocation();
+            vehicleId = record.getVehicleId();
+        } else {
+            accumulate(time.toEpochSecond(ZoneOffset.UTC) - lastEventTime.toEpochSecond(ZoneOffset.UTC));
+        }
+        lastEventTime = time;
+        lastLocation = record.getLocation();
+        lastEventType = record.getEventType();
+        currentActivity = ActivityType.startedBy(record.getEventType());
+        eventCount++;
+        unpersistedChanges = true;
+    }
+
+    private void accumulate(long seconds) {
+        switch (currentActivity) {
+            case DRIVING:
+                drivingSeconds += seconds;
+                continuousDrivingSeconds += seconds;
+                break;
+            case REST:
+                restSeconds += seconds;
+                interrupt(seconds);
+                break;
+            case BREAK:
+            case MEAL:
+                breakSeconds += seconds;
+                interrupt(seconds);
+                break;
+            case OFF_DUTY:
+                interrupt(seconds);
+                break;
+            default:
+                break; // Trabalho sem direção e espera não interrompem a direção contínua.
+        }
+        unpersistedSeconds += seconds;
+    }
+
+    private void interrupt(long seconds) {
+        if (continuousDrivingSeconds == 0) {
+            return; // Sem trecho de direção aberto, não há o que interromper.
+        }
+        pauseSeconds += seconds;
+        if (pauseSeconds >= MIN_DRIVING_INTERRUPTION_SECONDS) {
+            continuousDrivingSeconds = 0;
+            pauseSeconds = 0;
+        }
+    }
+
+    /**
+     * Monta a jornada correspondente ao estado atual. O status e o indicador de limite
+     * diário excedido devem ser definidos por quem avalia as regras de conformidade.
+     * @return Uma nova instância de Journey com os totais acumulados.
+     */
+    public Journey toJourney() {
+        return new Journey(journeyId, driverId, vehicleId, journeyDate, firstEventTime, lastEventTime,
+                firstLocation, lastLocation, getDrivingTime(), getRestTime(), getBreakTime(),
+                ComplianceStatus.PENDING, false);
+    }
+
+    /**
+     * Registra que a jornada foi gravada no banco com o status informado.
+     * @param journeyId O ID da jornada gravada.
+     * @param status O status gravado.
+     * @param limitExceeded O indicador de limite diário gravado.
+     */
+    public void markPersisted(int journeyId, ComplianceStatus status, boolean limitExceeded) {
+        this.journeyId = journeyId;
+        this.persistedStatus = status;
+        this.persistedLimitExceeded = limitExceeded;
+        this.unpersistedSeconds = 0;
+        this.unpersistedChanges = false;
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public LocalDate getJourneyDate() {
+        return journeyDate;
+    }
+
+    public int getVehicleId() {
+        return vehicleId;
+    }
+
+    public LocalDateTime getFirstEventTime() {
+        return firstEventTime;
+    }
+
+    public LocalDateTime getLastEventTime() {
+        return lastEventTime;
+    }
+
+    public EventType getLastEventType() {
+        return lastEventType;
+    }
+
+    public ActivityType getCurrentActivity() {
+        return currentActivity;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public Duration getDrivingTime() {
+        return Duration.ofSeconds(drivingSeconds);
+    }
+
+    public Duration getRestTime() {
+        return Duration.ofSeconds(restSeconds);
+    }
+
+    public Duration getBreakTime() {
+        return Duration.ofSeconds(breakSeconds);
+    }
+
+    public Duration getContinuousDrivingTime() {
+        return Duration.ofSeconds(continuousDrivingSeconds);
+    }
+
+    public int getJourneyId() {
+        return journeyId;
+    }
+
+    public ComplianceStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    public boolean isPersistedLimitExceeded() {
+        return persistedLimitExceeded;
+    }
+
+    public boolean isPersisted() {
+        return persistedStatus != null;
+    }
+
+    /**
+     * Indica se algum registro foi aplicado desde a última gravação.
+     * @return true se o estado tem alterações ainda não gravadas.
+     */
+    public boolean hasUnpersistedChanges() {
+        return unpersistedChanges;
+    }
+
+    /**
+     * Retorna quanto tempo de jornada foi acumulado desde a última gravação.
+     * @return O tempo ainda não refletido na tabela journeys.
+     */
+    public Duration getUnpersistedTime() {
+        return Duration.ofSeconds(unpersistedSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return "DriverJourneyState{" +
+                "driverId=" + driverId +
+                ", journeyDate=" + journeyDate +
+                ", lastEventType=" + lastEventType +
+                ", lastEventTime=" + lastEventTime +
+                ", currentActivity=" + currentActivity +
+                ", events=" + eventCount +
+                ", driving=" + getDrivingTime() +
+                ", rest=" + getRestTime() +
+                ", break=" + getBreakTime() +
+                ", continuousDriving=" + getContinuousDrivingTime() +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.compliancesys.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado de uma auditoria da frota em um período: quantos motoristas e jornadas foram auditados,
+ * quantas auditorias foram gravadas e quais motoristas não puderam ser auditados.
+ */
+public class FleetAuditResult {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int driverCount;
+    private int journeyCount;
+    private int auditsCreated;
+    private int nonCompliantCount;
+    private List<Integer> failedDriverIds; // Motoristas cujo lote falhou; nenhuma auditoria deles foi gravada.
+    private long elapsedMillis;
+
+    public FleetAuditResult() {
+    }
+
+    public FleetAuditResult(LocalDate startDate, LocalDate endDate, int driverCount, int journeyCount, int auditsCreated,
+                            int nonCompliantCount, List<Integer> failedDriverIds, long elapsedMillis) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.driverCount = driverCount;
+        this.journeyCount = journeyCount;
+        this.auditsCreated = auditsCreated;
+        this.nonCompliantCount = nonCompliantCount;
+        this.failedDriverIds = failedDriverIds;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getDriverCount() {
+        return driverCount;
+    }
+
+    public void setDriverCount(int driverCount) {
+        this.driverCount = driverCount;
+    }
+
+    public int getJourneyCount() {
+        return journeyCount;
+    }
+
+    public void setJourneyCount(int journeyCount) {
+        this.journeyCount = journeyCount;
+    }
+
+    public int getAuditsCreated() {
+        return auditsCreated;
+    }
+
+    public void setAuditsCreated(int auditsCreated) {
+        this.auditsCreated = auditsCreated;
+    }
+
+    public int getNonCompliantCount() {
+        return nonCompliantCount;
+    }
+
+    public void setNonCompliantCount(int nonCompliantCount) {
+        this.nonCompliantCount = nonCompliantCount;
+    }
+
+    public List<Integer> getFailedDriverIds() {
+        return failedDriverIds;
+    }
+
+    public void setFailedDriverIds(List<Integer> failedDriverIds) {
+        this.failedDriverIds = failedDriverIds;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetAuditResult{" +
+                "startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", driverCount=" + driverCount +
+                ", journeyCount=" + journeyCount +
+                ", auditsCreated=" + auditsCreated +
+                ", nonCompliantCount=" + nonCompliantCount +
+                ", failedDriverIds=" + failedDriverIds +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -3,6 +3,7 @@ package com.compliancesys.model;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import com.compliancesys.model.enums.ComplianceStatus;
@@ -27,6 +28,7 @@ public class Journey {
     private boolean dailyLimitExceeded;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<RuleViolation> violations; // Resultado da avaliação das regras; não é gravado na tabela.
 
     public Journey() {
     }
@@ -186,6 +188,14 @@ public class Journey {
         this.updatedAt = updatedAt;
     }
 
+    public List<RuleViolation> getViolations() {
+        return violations;
+    }
+
+    public void setViolations(List<RuleViolation> violations) {
+        this.violations = violations;
+    }
+
     @Override
     public String toString() {
         return "Journey{" +
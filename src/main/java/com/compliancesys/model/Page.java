@@ -0,0 +1,91 @@
+package com.compliancesys.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Representa uma página de resultados de uma listagem paginada por cursor (keyset).
+ * O cursor é o ID do último item da página; a próxima página é obtida com {@code after=nextCursor}.
+ * @param <T> O tipo dos itens da página.
+ */
+public class Page<T> {
+
+    public static final int DEFAULT_LIMIT = 100; // Tamanho de página usado quando o cliente não informa limit.
+    public static final int MAX_LIMIT = 1000;    // Maior tamanho de página aceito.
+
+    private List<T> items;
+    private Integer nextCursor; // null quando não há mais páginas.
+
+    public Page() {
+    }
+
+    public Page(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Monta uma página a partir de uma consulta que buscou até {@code limit + 1} itens.
+     * O item excedente apenas indica que existe uma próxima página e não é retornado.
+     * @param fetched Os itens buscados, em ordem crescente de ID.
+     * @param limit O tamanho da página solicitado.
+     * @param idExtractor Função que retorna o ID (cursor) de um item.
+     * @param <T> O tipo dos itens.
+     * @return A página com no máximo {@code limit} itens.
+     */
+    public static <T> Page<T> of(List<T> fetched, int limit, ToIntFunction<T> idExtractor) {
+        if (fetched.size() <= limit) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new Page<>(items, idExtractor.applyAsInt(items.get(limit - 1)));
+    }
+
+    /**
+     * Retorna uma página vazia, sem próxima página.
+     * @param <T> O tipo dos itens.
+     * @return Uma página vazia.
+     */
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), null);
+    }
+
+    /**
+     * Verifica se os parâmetros de paginação estão dentro dos limites aceitos.
+     * @param afterId O cursor (ID após o qual a página começa).
+     * @param limit O tamanho da página.
+     * @return true se afterId não for negativo e limit estiver entre 1 e {@link #MAX_LIMIT}.
+     */
+    public static boolean isValidRequest(int afterId, int limit) {
+        return afterId >= 0 && limit > 0 && limit <= MAX_LIMIT;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
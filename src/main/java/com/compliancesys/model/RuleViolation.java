@@ -0,0 +1,98 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Representa uma violação de regra da Lei 13.103/2015 encontrada na jornada de um motorista.
+ * Informa o período em que a violação ocorreu, o valor medido e o limite da regra.
+ */
+public class RuleViolation {
+    private ViolationType type;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Duration measured;
+    private Duration limit;
+
+    public RuleViolation() {
+    }
+
+    public RuleViolation(ViolationType type, LocalDateTime startTime, LocalDateTime endTime, Duration measured, Duration limit) {
+        this.type = type;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.measured = measured;
+        this.limit = limit;
+    }
+
+    public ViolationType getType() {
+        return type;
+    }
+
+    public void setType(ViolationType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Duration getMeasured() {
+        return measured;
+    }
+
+    public void setMeasured(Duration measured) {
+        this.measured = measured;
+    }
+
+    public Duration getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Duration limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleViolation{" +
+                "type=" + type +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", measured=" + measured +
+                ", limit=" + limit +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RuleViolation that = (RuleViolation) o;
+        return type == that.type &&
+                Objects.equals(startTime, that.startTime) &&
+                Objects.equals(endTime, that.endTime) &&
+                Objects.equals(measured, that.measured) &&
+                Objects.equals(limit, that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, startTime, endTime, measured, limit);
+    }
+}
@@ -0,0 +1,128 @@
+package com.compliancesys.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Representa um alerta preventivo: a violação que o motorista cometerá se mantiver a atividade atual.
+ * Corresponde à tabela 'violation_alerts' no banco de dados.
+ */
+public class ViolationAlert {
+    private int id;
+    private int driverId;
+    private ViolationType violationType;
+    private LocalDateTime expectedAt; // Horário (no relógio dos registros de ponto) em que o limite será atingido.
+    private Duration remaining; // Tempo que faltava para o limite quando o alerta foi disparado.
+    private String message;
+    private LocalDateTime createdAt;
+
+    public ViolationAlert() {
+    }
+
+    public ViolationAlert(int id, int driverId, ViolationType violationType, LocalDateTime expectedAt, Duration remaining,
+                          String message, LocalDateTime createdAt) {
+        this.id = id;
+        this.driverId = driverId;
+        this.violationType = violationType;
+        this.expectedAt = expectedAt;
+        this.remaining = remaining;
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+
+    // Construtor para inserção (sem ID)
+    public ViolationAlert(int driverId, ViolationType violationType, LocalDateTime expectedAt, Duration remaining,
+                          String message, LocalDateTime createdAt) {
+        this(0, driverId, violationType, expectedAt, remaining, message, createdAt);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public void setDriverId(int driverId) {
+        this.driverId = driverId;
+    }
+
+    public ViolationType getViolationType() {
+        return violationType;
+    }
+
+    public void setViolationType(ViolationType violationType) {
+        this.violationType = violationType;
+    }
+
+    public LocalDateTime getExpectedAt() {
+        return expectedAt;
+    }
+
+    public void setExpectedAt(LocalDateTime expectedAt) {
+        this.expectedAt = expectedAt;
+    }
+
+    public Duration getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(Duration remaining) {
+        this.remaining = remaining;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ViolationAlert{" +
+                "id=" + id +
+                ", driverId=" + driverId +
+                ", violationType=" + violationType +
+                ", expectedAt=" + expectedAt +
+                ", remaining=" + remaining +
+                ", message='" + message + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ViolationAlert that = (ViolationAlert) o;
+        return id == that.id &&
+                driverId == that.driverId &&
+                violationType == that.violationType &&
+                Objects.equals(expectedAt, that.expectedAt) &&
+                Objects.equals(remaining, that.remaining) &&
+                Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, driverId, violationType, expectedAt, remaining, message);
+    }
+}
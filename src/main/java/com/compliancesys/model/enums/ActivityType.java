@@ -0,0 +1,52 @@
+package com.compliancesys.model.enums;
+
+/**
+ * Enumeração para a atividade exercida pelo motorista entre dois registros de ponto.
+ * Cada tipo de evento determina a atividade que começa no instante do registro.
+ */
+public enum ActivityType {
+    WORK("Trabalho sem direção"),
+    DRIVING("Direção"),
+    REST("Descanso"),
+    BREAK("Pausa"),
+    MEAL("Refeição"),
+    WAITING("Tempo de espera"), // Aguardando carga, descarga ou fiscalização: não conta como jornada.
+    OFF_DUTY("Fora de jornada");
+
+    private final String description;
+
+    ActivityType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Retorna a atividade iniciada por um tipo de evento.
+     * @param eventType O tipo do evento registrado.
+     * @return A atividade exercida a partir do evento.
+     */
+    public static ActivityType startedBy(EventType eventType) {
+        switch (eventType) {
+            case START_DRIVING:
+            case RESUME_DRIVING:
+                return DRIVING;
+            case START_REST:
+            case END_DRIVING:
+                return REST;
+            case START_BREAK:
+                return BREAK;
+            case START_MEAL:
+                return MEAL;
+            case START_WAITING:
+                return WAITING;
+            case OUT:
+            case END_JOURNEY:
+                return OFF_DUTY;
+            default:
+                return WORK; // IN, START_JOURNEY, END_BREAK, END_MEAL, END_WAITING: o motorista volta ao trabalho sem dirigir.
+        }
+    }
+}
@@ -16,7 +16,9 @@ public enum EventType {
     START_DRIVING("Início de Direção"),
     RESUME_DRIVING("Retomada de Direção"),
     END_DRIVING("Fim de Direção"),
-    START_REST("Início de Descanso");
+    START_REST("Início de Descanso"),
+    START_WAITING("Início de Espera"),
+    END_WAITING("Fim de Espera");
 
     private final String description;
 
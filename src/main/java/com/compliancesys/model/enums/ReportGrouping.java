@@ -0,0 +1,20 @@
+package com.compliancesys.model.enums;
+
+/**
+ * Enumeração para o agrupamento opcional dos relatórios de conformidade.
+ */
+public enum ReportGrouping {
+    NONE("Sem agrupamento"),
+    DAY("Por dia"),
+    COMPANY("Por empresa");
+
+    private final String description;
+
+    ReportGrouping(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,15 @@
+package com.compliancesys.model.enums;
+
+/**
+ * Enumeração das entidades cuja versão (updated_at) pode ser consultada sem carregar o registro,
+ * usada nas requisições GET condicionais.
+ */
+public enum VersionedEntity {
+    COMPANY,
+    DRIVER,
+    VEHICLE,
+    TIME_RECORD,
+    JOURNEY,
+    COMPLIANCE_AUDIT,
+    MOBILE_COMMUNICATION
+}
@@ -0,0 +1,33 @@
+package com.compliancesys.model.enums;
+
+/**
+ * Enumeração para as regras da Lei 13.103/2015 verificadas na jornada do motorista.
+ */
+public enum ViolationType {
+    CONTINUOUS_DRIVING("Direção ininterrupta acima do permitido sem pausa de 30 minutos", false),
+    DAILY_DRIVING("Tempo de direção diário acima do limite", true),
+    DAILY_REST("Descanso diário abaixo de 11 horas (ou fracionamento 8h + 3h)", false),
+    INTERJOURNEY_REST("Intervalo entre jornadas abaixo de 11 horas (ou 8h ininterruptas + restante em 16 horas)", false),
+    MEAL_BREAK("Intervalo para refeição abaixo de 1 hora", false),
+    OVERTIME("Horas extras acima do permitido", true);
+
+    private final String description;
+    private final boolean dailyLimit;
+
+    ViolationType(String description, boolean dailyLimit) {
+        this.description = description;
+        this.dailyLimit = dailyLimit;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Indica se a violação corresponde a um limite diário de jornada excedido (Journey.dailyLimitExceeded).
+     * @return true para os limites de tempo de direção e de horas extras.
+     */
+    public boolean isDailyLimit() {
+        return dailyLimit;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.Company;
+import com.compliancesys.model.Page;
 
 /**
  * Interface para o serviço de gerenciamento de empresas.
@@ -48,6 +49,16 @@ public interface CompanyService {
      */
     List<Company> getAllCompanies() throws BusinessException, SQLException;
 
+    /**
+     * Busca uma página de empresas em ordem crescente de ID (paginação por cursor).
+     * @param afterId O cursor: retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit O tamanho da página, entre 1 e {@link Page#MAX_LIMIT}.
+     * @return A página de empresas e o cursor da próxima página.
+     * @throws BusinessException Se os parâmetros de paginação forem inválidos.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Page<Company> getCompaniesPage(int afterId, int limit) throws BusinessException, SQLException;
+
     /**
      * Atualiza os dados de uma empresa existente.
      * @param company O objeto Company com os dados atualizados.
@@ -3,9 +3,14 @@ package com.compliancesys.service;
 import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.ComplianceAudit;
 import com.compliancesys.model.ComplianceReport; // Importar se for usar
+import com.compliancesys.model.FleetAuditResult;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.enums.ReportGrouping;
+import com.compliancesys.util.ProgressListener;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ComplianceService {
     // Cria um novo registro de auditoria de conformidade
@@ -17,6 +22,12 @@ public interface ComplianceService {
     // Busca todos os registros de auditoria
     List<ComplianceAudit> getAllComplianceAudits() throws BusinessException;
 
+    // Busca uma página de auditorias de conformidade a partir do cursor afterId (paginação por keyset)
+    Page<ComplianceAudit> getComplianceAuditsPage(int afterId, int limit) throws BusinessException;
+
+    // Exporta auditorias de conformidade de um período em streaming; o Stream mantém a conexão aberta e deve ser fechado
+    Stream<ComplianceAudit> streamComplianceAuditsByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException;
+
     // Busca registros de auditoria por ID da jornada
     List<ComplianceAudit> getComplianceAuditsByJourneyId(int journeyId) throws BusinessException; // NOVO MÉTODO
 
@@ -29,9 +40,18 @@ public interface ComplianceService {
     // Realiza uma auditoria de conformidade para uma jornada específica
     ComplianceAudit performComplianceAudit(int journeyId) throws BusinessException;
 
-    // Gera um relatório de conformidade para um motorista em um período
+    // Reaudita todas as jornadas da frota em um período, em paralelo por motorista, gravando as auditorias em lotes
+    FleetAuditResult performFleetAudit(LocalDate startDate, LocalDate endDate, ProgressListener listener) throws BusinessException;
+
+    // Gera um relatório de conformidade para um motorista em um período (apenas contagens, sem a lista de auditorias)
     ComplianceReport generateDriverComplianceReport(int driverId, LocalDate startDate, LocalDate endDate) throws BusinessException;
 
-    // Gera um relatório de conformidade geral para um período
-    List<ComplianceAudit> generateOverallComplianceReport(LocalDate startDate, LocalDate endDate) throws BusinessException; // Assinatura ajustada para retornar List<ComplianceAudit>
+    // Gera um relatório de conformidade para um motorista, com agrupamento opcional e, se solicitado, a lista de auditorias
+    ComplianceReport generateDriverComplianceReport(int driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping, boolean includeAudits) throws BusinessException;
+
+    // Gera um relatório de conformidade geral (todos os motoristas), com agrupamento opcional e, se solicitado, a lista de auditorias
+    ComplianceReport generateOverallComplianceSummary(LocalDate startDate, LocalDate endDate, ReportGrouping grouping, boolean includeAudits) throws BusinessException;
+
+    // Retorna as auditorias de conformidade de todos os motoristas em um período
+    List<ComplianceAudit> generateOverallComplianceReport(LocalDate startDate, LocalDate endDate) throws BusinessException;
 }
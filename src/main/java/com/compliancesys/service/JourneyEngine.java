@@ -0,0 +1,32 @@
+package com.compliancesys.service;
+
+import java.util.Optional;
+
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.DriverJourneyState;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+
+/**
+ * Cálculo incremental da jornada diária de cada motorista.
+ * Mantém em memória o estado acumulado do dia ({@link DriverJourneyState}) e o atualiza a cada
+ * novo registro de ponto, sem reler os registros anteriores. A jornada só é gravada quando o
+ * estado muda de forma relevante (primeiro evento do dia, mudança de status, fim de jornada ou
+ * acúmulo do intervalo configurado).
+ *
+ * O estado é compartilhado entre requisições: deve haver uma única instância por aplicação.
+ */
+public interface JourneyEngine {
+
+    // Aplica um novo registro de ponto ao estado do motorista e retorna a jornada atual (gravada ou não)
+    Journey onTimeRecord(TimeRecord timeRecord) throws BusinessException;
+
+    // Retorna o estado em memória do motorista, se houver
+    Optional<DriverJourneyState> getState(int driverId);
+
+    // Grava a jornada do motorista se houver alterações ainda não gravadas
+    Optional<Journey> flush(int driverId) throws BusinessException;
+
+    // Descarta o estado em memória do motorista; o próximo registro recarrega o dia do banco
+    void reset(int driverId);
+}
@@ -0,0 +1,34 @@
+package com.compliancesys.service;
+
+import java.time.LocalDateTime;
+
+import com.compliancesys.model.DriverDay;
+import com.compliancesys.model.TimeRecord;
+
+/**
+ * Recálculo e reauditoria de jornadas em segundo plano, para registros de ponto que chegam fora de ordem.
+ * A marca d'água (watermark) de um motorista é o horário do último registro conhecido; um registro anterior
+ * a ela chega atrasado e altera jornadas já calculadas. Só os dias afetados são refeitos: o dia do registro
+ * e os dias seguintes cujas janelas de 24 horas o incluem, até o dia da marca d'água.
+ *
+ * Pedidos repetidos para o mesmo motorista e dia, enquanto o primeiro ainda aguarda na fila, são agrupados
+ * em um único recálculo. Alterações e exclusões de registros passam ainda por um debounce, para que uma
+ * correção em massa gere um recálculo por dia, e não um por registro.
+ */
+public interface JourneyRecomputeService {
+
+    // Agenda o recálculo dos dias afetados por um registro anterior à marca d'água do motorista
+    void onLateTimeRecord(TimeRecord timeRecord, LocalDateTime watermark);
+
+    // Agenda o recálculo do dia após um período sem novas alterações nele (registros alterados ou excluídos)
+    void scheduleDebounced(DriverDay driverDay);
+
+    // Agenda o recálculo e a reauditoria da jornada; retorna false se o dia já estava na fila
+    boolean schedule(DriverDay driverDay);
+
+    // Quantidade de dias aguardando recálculo, na fila ou no debounce
+    int getPendingCount();
+
+    // Encerra as threads de recálculo e de debounce
+    void shutdown();
+}
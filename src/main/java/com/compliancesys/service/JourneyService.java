@@ -1,26 +1,47 @@
 package com.compliancesys.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.ActivityWindow;
+import com.compliancesys.model.DriverActivityIndex;
 import com.compliancesys.model.Journey;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.TimeRecord;
 
 public interface JourneyService {
     Journey createJourney(Journey journey) throws BusinessException;
     Optional<Journey> getJourneyById(int id) throws BusinessException;
     List<Journey> getAllJourneys() throws BusinessException;
+
+    // Busca uma página de jornadas a partir do cursor afterId (paginação por keyset)
+    Page<Journey> getJourneysPage(int afterId, int limit) throws BusinessException;
+
+    // Exporta jornadas de um período em streaming; o Stream mantém a conexão aberta e deve ser fechado
+    Stream<Journey> streamJourneysByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException;
     Journey updateJourney(Journey journey) throws BusinessException;
     boolean deleteJourney(int id) throws BusinessException;
 
     // NOVO MÉTODO: Busca uma jornada específica por motorista e data
     Optional<Journey> getJourneyByDriverIdAndDate(int driverId, LocalDate journeyDate) throws BusinessException;
 
+    // Busca em uma única consulta as jornadas de vários motoristas em uma data, agrupadas por motorista
+    Map<Integer, List<Journey>> getJourneysByDriverIdsAndDate(int[] driverIds, LocalDate journeyDate) throws BusinessException;
+
     // NOVO MÉTODO: Busca todas as jornadas de um motorista
     List<Journey> getJourneysByDriverId(int driverId) throws BusinessException;
 
-    // Calcula e audita uma jornada com base nos registros de ponto
+    // Calcula e audita uma jornada com base nos registros de ponto; descanso e direção diários consideram as 24 horas anteriores ao dia
     Journey calculateAndAuditJourney(int driverId, List<TimeRecord> timeRecords) throws BusinessException;
+
+    // Constrói o índice de atividades do motorista em um intervalo (até 31 dias), para consultas de tempo em subintervalos
+    DriverActivityIndex getActivityIndex(int driverId, LocalDateTime from, LocalDateTime to) throws BusinessException;
+
+    // Resume o tempo total e a maior sequência contínua de cada atividade do motorista em uma janela arbitrária
+    ActivityWindow getActivityWindow(int driverId, LocalDateTime from, LocalDateTime to) throws BusinessException;
 }
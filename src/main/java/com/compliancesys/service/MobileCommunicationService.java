@@ -1,6 +1,8 @@
 package com.compliancesys.service;
 
+import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.Page;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +45,15 @@ public interface MobileCommunicationService {
      */
     List<MobileCommunication> getAllMobileCommunications() throws SQLException;
 
+    /**
+     * Busca uma página de comunicações móveis em ordem crescente de ID (paginação por cursor).
+     * @param afterId O cursor: retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit O tamanho da página, entre 1 e {@link Page#MAX_LIMIT}.
+     * @return A página de comunicações móveis e o cursor da próxima página.
+     * @throws BusinessException Se os parâmetros de paginação forem inválidos.
+     */
+    Page<MobileCommunication> getMobileCommunicationsPage(int afterId, int limit) throws BusinessException;
+
     /**
      * Atualiza as informações de uma comunicação móvel existente.
      * @param communication Objeto MobileCommunication com os dados atualizados.
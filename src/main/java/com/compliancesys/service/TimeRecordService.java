@@ -2,15 +2,27 @@ package com.compliancesys.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.TimeRecord;
 
 public interface TimeRecordService {
     TimeRecord createTimeRecord(TimeRecord timeRecord) throws BusinessException;
+
+    // Cria vários registros de ponto de uma vez (ex.: eventos acumulados enquanto o veículo estava offline)
+    List<TimeRecord> createTimeRecords(List<TimeRecord> timeRecords) throws BusinessException;
     Optional<TimeRecord> getTimeRecordById(int id) throws BusinessException;
     List<TimeRecord> getAllTimeRecords() throws BusinessException;
+
+    // Busca uma página de registros de ponto a partir do cursor afterId (paginação por keyset)
+    Page<TimeRecord> getTimeRecordsPage(int afterId, int limit) throws BusinessException;
+
+    // Exporta registros de ponto de um período em streaming; o Stream mantém a conexão aberta e deve ser fechado
+    Stream<TimeRecord> streamTimeRecordsByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException;
     TimeRecord updateTimeRecord(TimeRecord timeRecord) throws BusinessException;
     boolean deleteTimeRecord(int id) throws BusinessException;
 
@@ -19,4 +31,10 @@ public interface TimeRecordService {
 
     // Busca registros de ponto de um motorista em uma data específica
     List<TimeRecord> getTimeRecordsByDriverIdAndDate(int driverId, LocalDate date) throws BusinessException;
+
+    // Busca em uma única consulta os registros de ponto de vários motoristas em uma data, agrupados por motorista
+    Map<Integer, List<TimeRecord>> getTimeRecordsByDriverIdsAndDate(int[] driverIds, LocalDate date) throws BusinessException;
+
+    // Busca registros de ponto de um veículo em uma data específica
+    List<TimeRecord> getTimeRecordsByVehicleIdAndDate(int vehicleId, LocalDate date) throws BusinessException;
 }
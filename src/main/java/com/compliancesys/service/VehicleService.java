@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.Vehicle;
 
 /**
@@ -48,6 +49,16 @@ public interface VehicleService {
      */
     List<Vehicle> getAllVehicles() throws BusinessException, SQLException;
 
+    /**
+     * Busca uma página de veículos em ordem crescente de ID (paginação por cursor).
+     * @param afterId O cursor: retorna apenas registros com ID maior que este valor (0 para a primeira página).
+     * @param limit O tamanho da página, entre 1 e {@link Page#MAX_LIMIT}.
+     * @return A página de veículos e o cursor da próxima página.
+     * @throws BusinessException Se os parâmetros de paginação forem inválidos.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    Page<Vehicle> getVehiclesPage(int afterId, int limit) throws BusinessException, SQLException;
+
     /**
      * Atualiza os dados de um veículo existente.
      * @param vehicle O objeto Vehicle com os dados atualizados.
@@ -0,0 +1,27 @@
+package com.compliancesys.service;
+
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.TimeRecord;
+
+/**
+ * Alertas preventivos de violação: avisa motoristas e despacho antes de um limite da Lei 13.103/2015
+ * ser atingido (ex.: "a direção contínua atingirá 5h30 em 15 minutos").
+ * Cada START_DRIVING/RESUME_DRIVING agenda os prazos do motorista; os demais eventos (pausas,
+ * descanso, fim de jornada) os cancelam até a próxima retomada da direção.
+ *
+ * Os prazos ficam em memória: deve haver uma única instância por aplicação.
+ */
+public interface ViolationAlertService {
+
+    // Atualiza os tempos do motorista com o registro e agenda ou cancela os alertas
+    void onTimeRecord(TimeRecord timeRecord) throws BusinessException;
+
+    // Cancela os alertas do motorista e descarta os tempos acumulados (registros alterados ou excluídos)
+    void cancelAlerts(int driverId);
+
+    // Quantidade de alertas agendados e ainda não disparados
+    int getActiveAlertCount();
+
+    // Encerra a thread que dispara os alertas
+    void shutdown();
+}
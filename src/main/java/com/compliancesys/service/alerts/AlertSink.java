@@ -0,0 +1,17 @@
+package com.compliancesys.service.alerts;
+
+import com.compliancesys.model.ViolationAlert;
+
+/**
+ * Destino dos alertas preventivos de violação (log, banco, callback HTTP...).
+ * É chamado na thread que avança a roda de temporizadores: implementações devem ser rápidas
+ * e não devem lançar exceções; falhas devem ser registradas no log pela própria implementação.
+ */
+public interface AlertSink {
+
+    /**
+     * Entrega um alerta disparado.
+     * @param alert O alerta.
+     */
+    void send(ViolationAlert alert);
+}
@@ -0,0 +1,32 @@
+package com.compliancesys.service.alerts;
+
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.dao.ViolationAlertDAO;
+import com.compliancesys.model.ViolationAlert;
+
+/**
+ * Grava cada alerta na tabela violation_alerts. Uma falha de gravação é registrada no log e não
+ * impede a entrega do alerta aos demais destinos.
+ */
+public class DatabaseAlertSink implements AlertSink {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseAlertSink.class.getName());
+
+    private final ViolationAlertDAO violationAlertDAO;
+
+    public DatabaseAlertSink(ViolationAlertDAO violationAlertDAO) {
+        this.violationAlertDAO = violationAlertDAO;
+    }
+
+    @Override
+    public void send(ViolationAlert alert) {
+        try {
+            alert.setId(violationAlertDAO.create(alert));
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao gravar alerta preventivo do motorista " + alert.getDriverId() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.compliancesys.service.alerts;
+
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.model.ViolationAlert;
+import com.compliancesys.util.GsonUtil;
+
+/**
+ * Substituto do envio de alertas por callback HTTP (webhook) para sistemas de despacho.
+ * Monta o corpo JSON que seria enviado por POST ao endereço configurado e o entrega a um transporte;
+ * o transporte padrão apenas registra a requisição no log, sem acesso à rede.
+ */
+public class HttpCallbackAlertSink implements AlertSink {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpCallbackAlertSink.class.getName());
+
+    private final String callbackUrl;
+    private final GsonUtil gsonUtil;
+    private final BiConsumer<String, String> transport;
+
+    public HttpCallbackAlertSink(String callbackUrl, GsonUtil gsonUtil) {
+        this(callbackUrl, gsonUtil, (url, body) -> LOGGER.log(Level.INFO, "POST {0} {1}", new Object[]{url, body}));
+    }
+
+    /**
+     * @param callbackUrl O endereço do callback.
+     * @param gsonUtil Serializador do corpo da requisição.
+     * @param transport Recebe o endereço e o corpo JSON de cada requisição.
+     */
+    public HttpCallbackAlertSink(String callbackUrl, GsonUtil gsonUtil, BiConsumer<String, String> transport) {
+        if (callbackUrl == null || callbackUrl.trim().isEmpty()) {
+            throw new IllegalArgumentException("O endereço do callback de alertas é obrigatório.");
+        }
+        this.callbackUrl = callbackUrl;
+        this.gsonUtil = gsonUtil;
+        this.transport = transport;
+    }
+
+    @Override
+    public void send(ViolationAlert alert) {
+        try {
+            transport.accept(callbackUrl, gsonUtil.serialize(alert));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Falha ao enviar alerta preventivo para " + callbackUrl + ": " + e.getMessage(), e);
+        }
+    }
+}
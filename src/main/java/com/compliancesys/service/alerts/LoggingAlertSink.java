@@ -0,0 +1,19 @@
+package com.compliancesys.service.alerts;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.model.ViolationAlert;
+
+/**
+ * Registra cada alerta no log da aplicação com nível WARNING.
+ */
+public class LoggingAlertSink implements AlertSink {
+
+    private static final Logger LOGGER = Logger.getLogger(LoggingAlertSink.class.getName());
+
+    @Override
+    public void send(ViolationAlert alert) {
+        LOGGER.log(Level.WARNING, "Alerta preventivo para o motorista {0}: {1}", new Object[]{alert.getDriverId(), alert.getMessage()});
+    }
+}
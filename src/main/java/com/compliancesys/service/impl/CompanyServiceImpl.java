@@ -1,257 +1,174 @@
 package com.compliancesys.service.impl;
 
-import com.compliancesys.dao.ComplianceAuditDAO;
-import com.compliancesys.dao.JourneyDAO;
-import com.compliancesys.exception.BusinessException;
-import com.compliancesys.model.ComplianceAudit;
-import com.compliancesys.model.ComplianceReport;
-import com.compliancesys.model.Journey;
-import com.compliancesys.model.enums.ComplianceStatus;
-import com.compliancesys.service.ComplianceService;
-import com.compliancesys.util.Validator;
-
 import java.sql.SQLException;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class ComplianceServiceImpl implements ComplianceService {
+import com.compliancesys.dao.CompanyDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Company;
+import com.compliancesys.model.Page;
+import com.compliancesys.service.CompanyService;
+import com.compliancesys.util.Validator;
+
+public class CompanyServiceImpl implements CompanyService {
 
-    private static final Logger LOGGER = Logger.getLogger(ComplianceServiceImpl.class.getName());
-    private final ComplianceAuditDAO complianceAuditDAO;
-    private final JourneyDAO journeyDAO;
+    private static final Logger LOGGER = Logger.getLogger(CompanyServiceImpl.class.getName());
+    private final CompanyDAO companyDAO;
     private final Validator validator;
 
-    public ComplianceServiceImpl(ComplianceAuditDAO complianceAuditDAO, JourneyDAO journeyDAO, Validator validator) {
-        this.complianceAuditDAO = complianceAuditDAO;
-        this.journeyDAO = journeyDAO;
+    public CompanyServiceImpl(CompanyDAO companyDAO, Validator validator) {
+        this.companyDAO = companyDAO;
         this.validator = validator;
     }
 
     @Override
-    public ComplianceAudit createComplianceAudit(ComplianceAudit audit) throws BusinessException {
-        if (audit == null) {
-            throw new BusinessException("Auditoria de conformidade não pode ser nula.");
-        }
-        if (audit.getJourneyId() <= 0) {
-            throw new BusinessException("ID da jornada inválido para auditoria.");
-        }
-        if (audit.getAuditDate() == null) {
-            throw new BusinessException("Data da auditoria não pode ser nula.");
-        }
-        if (audit.getComplianceStatus() == null) {
-            throw new BusinessException("Status de conformidade não pode ser nulo.");
-        }
-        if (!validator.isValidName(audit.getAuditorName())) {
-            throw new BusinessException("Nome do auditor inválido.");
-        }
-        if (audit.getNotes() != null && audit.getNotes().length() > 500) {
-            throw new BusinessException("Notas da auditoria excedem o limite de 500 caracteres.");
-        }
+    public Company registerCompany(Company company) throws BusinessException, SQLException {
+        validateCompany(company);
 
         try {
-            audit.setCreatedAt(LocalDateTime.now());
-            audit.setUpdatedAt(LocalDateTime.now());
-            int id = complianceAuditDAO.create(audit);
-            audit.setId(id);
-            LOGGER.log(Level.INFO, "Auditoria de conformidade criada com sucesso: ID {0}", id);
-            return audit;
+            // Verifica se já existe uma empresa com o mesmo CNPJ
+            if (companyDAO.findByCnpj(company.getCnpj()).isPresent()) {
+                throw new BusinessException("Já existe uma empresa cadastrada com este CNPJ.");
+            }
+
+            company.setCreatedAt(LocalDateTime.now());
+            company.setUpdatedAt(LocalDateTime.now());
+            int id = companyDAO.create(company);
+            company.setId(id);
+            LOGGER.log(Level.INFO, "Empresa registrada com sucesso: ID {0}", id);
+            return company;
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao criar auditoria de conformidade: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao criar auditoria de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao registrar empresa: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao registrar empresa. Tente novamente mais tarde.", e);
         }
     }
 
     @Override
-    public Optional<ComplianceAudit> getComplianceAuditById(int id) throws BusinessException {
-        if (id <= 0) {
-            throw new BusinessException("ID da auditoria inválido.");
+    public Optional<Company> getCompanyById(int companyId) throws BusinessException, SQLException {
+        if (companyId <= 0) {
+            throw new BusinessException("ID da empresa inválido.");
         }
         try {
-            return complianceAuditDAO.findById(id);
+            return companyDAO.findById(companyId);
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar auditoria de conformidade por ID: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao buscar auditoria de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar empresa por ID: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar empresa. Tente novamente mais tarde.", e);
         }
     }
 
     @Override
-    public List<ComplianceAudit> getAllComplianceAudits() throws BusinessException {
+    public Optional<Company> getCompanyByCnpj(String cnpj) throws BusinessException, SQLException {
+        if (!validator.isValidCnpj(cnpj)) {
+            throw new BusinessException("CNPJ inválido para busca.");
+        }
         try {
-            return complianceAuditDAO.findAll();
+            return companyDAO.findByCnpj(cnpj);
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar todas as auditorias de conformidade: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao buscar auditorias de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar empresa por CNPJ: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar empresa. Tente novamente mais tarde.", e);
         }
     }
 
     @Override
-    public List<ComplianceAudit> getComplianceAuditsByJourneyId(int journeyId) throws BusinessException {
-        if (journeyId <= 0) {
-            throw new BusinessException("ID da jornada inválido.");
-        }
+    public List<Company> getAllCompanies() throws BusinessException, SQLException {
         try {
-            return complianceAuditDAO.findByJourneyId(journeyId);
+            return companyDAO.findAll();
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar auditorias de conformidade por ID da jornada: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao buscar auditorias de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar todas as empresas: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar empresas. Tente novamente mais tarde.", e);
         }
     }
 
     @Override
-    public ComplianceAudit updateComplianceAudit(ComplianceAudit audit) throws BusinessException {
-        if (audit == null || audit.getId() <= 0) {
-            throw new BusinessException("Auditoria de conformidade ou ID inválido para atualização.");
-        }
-        if (audit.getJourneyId() <= 0) {
-            throw new BusinessException("ID da jornada inválido para auditoria.");
-        }
-        if (audit.getAuditDate() == null) {
-            throw new BusinessException("Data da auditoria não pode ser nula.");
+    public Page<Company> getCompaniesPage(int afterId, int limit) throws BusinessException, SQLException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
         }
-        if (audit.getComplianceStatus() == null) {
-            throw new BusinessException("Status de conformidade não pode ser nulo.");
-        }
-        if (!validator.isValidName(audit.getAuditorName())) {
-            throw new BusinessException("Nome do auditor inválido.");
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<Company> fetched = companyDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, Company::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de empresas: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar as empresas. Tente novamente mais tarde.", e);
         }
-        if (audit.getNotes() != null && audit.getNotes().length() > 500) {
-            throw new BusinessException("Notas da auditoria excedem o limite de 500 caracteres.");
+    }
+
+    @Override
+    public Company updateCompany(Company company) throws BusinessException, SQLException {
+        if (company == null || company.getId() <= 0) {
+            throw new BusinessException("Empresa ou ID inválido para atualização.");
         }
+        validateCompany(company);
 
         try {
-            Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(audit.getId());
-            if (existingAudit.isEmpty()) {
-                throw new BusinessException("Auditoria de conformidade com ID " + audit.getId() + " não encontrada.");
+            Optional<Company> existingCompany = companyDAO.findById(company.getId());
+            if (existingCompany.isEmpty()) {
+                throw new BusinessException("Empresa com ID " + company.getId() + " não encontrada para atualização.");
             }
 
-            audit.setUpdatedAt(LocalDateTime.now());
-            // Mantém a data de criação original
-            audit.setCreatedAt(existingAudit.get().getCreatedAt());
+            // Verifica se o CNPJ foi alterado e se o novo CNPJ já existe para outra empresa
+            if (!existingCompany.get().getCnpj().equals(company.getCnpj())) {
+                if (companyDAO.findByCnpj(company.getCnpj()).isPresent()) {
+                    throw new BusinessException("Já existe outra empresa cadastrada com o CNPJ informado.");
+                }
+            }
+
+            company.setUpdatedAt(LocalDateTime.now());
+            company.setCreatedAt(existingCompany.get().getCreatedAt()); // Mantém a data de criação original
 
-            boolean updated = complianceAuditDAO.update(audit);
+            boolean updated = companyDAO.update(company);
             if (updated) {
-                LOGGER.log(Level.INFO, "Auditoria de conformidade atualizada com sucesso: ID {0}", audit.getId());
-                return audit;
+                LOGGER.log(Level.INFO, "Empresa atualizada com sucesso: ID {0}", company.getId());
+                return company;
             } else {
-                throw new BusinessException("Falha ao atualizar auditoria de conformidade. Nenhuma linha afetada.");
+                throw new BusinessException("Falha ao atualizar empresa. Nenhuma linha afetada.");
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar auditoria de conformidade: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao atualizar auditoria de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar empresa: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao atualizar empresa. Tente novamente mais tarde.", e);
         }
     }
 
     @Override
-    public boolean deleteComplianceAudit(int id) throws BusinessException {
-        if (id <= 0) {
-            throw new BusinessException("O ID da auditoria de conformidade deve ser um valor positivo para exclusão.");
+    public boolean deleteCompany(int companyId) throws BusinessException, SQLException {
+        if (companyId <= 0) {
+            throw new BusinessException("ID da empresa inválido para exclusão.");
         }
         try {
-            Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(id);
-            if (existingAudit.isEmpty()) {
-                throw new BusinessException("Auditoria de conformidade com ID " + id + " não encontrada para exclusão.");
+            Optional<Company> existingCompany = companyDAO.findById(companyId);
+            if (existingCompany.isEmpty()) {
+                throw new BusinessException("Empresa com ID " + companyId + " não encontrada para exclusão.");
             }
-
-            boolean deleted = complianceAuditDAO.delete(id);
+            boolean deleted = companyDAO.delete(companyId);
             if (deleted) {
-                LOGGER.log(Level.INFO, "Auditoria de conformidade com ID {0} deletada com sucesso.", id);
+                LOGGER.log(Level.INFO, "Empresa com ID {0} deletada com sucesso.", companyId);
             } else {
-                LOGGER.log(Level.WARNING, "Falha ao deletar auditoria de conformidade com ID {0}.", id);
+                LOGGER.log(Level.WARNING, "Falha ao deletar empresa com ID {0}.", companyId);
             }
             return deleted;
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao deletar auditoria de conformidade: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao deletar auditoria de conformidade. Tente novamente mais tarde.", e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao deletar empresa: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao deletar empresa. Tente novamente mais tarde.", e);
         }
     }
 
-    @Override
-    public ComplianceAudit performComplianceAudit(int journeyId) throws BusinessException {
-        if (journeyId <= 0) {
-            throw new BusinessException("ID da jornada inválido para realizar auditoria.");
-        }
-        try {
-            Optional<Journey> optionalJourney = journeyDAO.findById(journeyId);
-            if (optionalJourney.isEmpty()) {
-                throw new BusinessException("Jornada com ID " + journeyId + " não encontrada para auditoria.");
-            }
-            Journey journey = optionalJourney.get(); // Desempacota o Optional
-
-            // Lógica de auditoria (simplificada para exemplo)
-            // Aqui você implementaria as regras da Lei do Caminhoneiro
-            // Por exemplo, verificar totalDrivingTime, totalRestTime, etc.
-            ComplianceStatus status = journey.getComplianceStatus() != null ? journey.getComplianceStatus() : ComplianceStatus.PENDING;
-
-            // Cria um novo registro de auditoria
-            ComplianceAudit newAudit = new ComplianceAudit();
-            newAudit.setJourneyId(journeyId);
-            newAudit.setAuditDate(LocalDateTime.now());
-            newAudit.setComplianceStatus(status);
-            newAudit.setAuditorName("Sistema Automático"); // Ou um nome de usuário logado
-            newAudit.setNotes("Auditoria automática da jornada " + journeyId + ". Status: " + status.name());
-
-            return createComplianceAudit(newAudit);
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao realizar auditoria de conformidade para jornada {0}: {1}", new Object[]{journeyId, e.getMessage()});
-            throw new BusinessException("Erro interno ao realizar auditoria de conformidade. Tente novamente mais tarde.", e);
-        }
-    }
-
-    @Override
-    public ComplianceReport generateDriverComplianceReport(int driverId, LocalDate startDate, LocalDate endDate) throws BusinessException {
-        if (driverId <= 0) {
-            throw new BusinessException("ID do motorista inválido.");
+    private void validateCompany(Company company) throws BusinessException {
+        if (company == null) {
+            throw new BusinessException("Empresa não pode ser nula.");
         }
-        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
-            throw new BusinessException("Período de datas inválido para o relatório.");
+        if (!validator.isValidName(company.getName())) {
+            throw new BusinessException("Nome da empresa inválido.");
         }
-
-        try {
-            List<ComplianceAudit> audits = complianceAuditDAO.findByDriverIdAndDate(driverId, startDate, endDate);
-            // Aqui você processaria a lista de auditorias para gerar um relatório mais detalhado
-            // Por enquanto, apenas retorna um relatório básico
-            int totalAudits = audits.size();
-            long compliantCount = audits.stream().filter(a -> a.getComplianceStatus() == ComplianceStatus.COMPLIANT).count();
-            long nonCompliantCount = audits.stream().filter(a -> a.getComplianceStatus() == ComplianceStatus.NON_COMPLIANT).count();
-
-            return new ComplianceReport(driverId, startDate, endDate, totalAudits, (int) compliantCount, (int) nonCompliantCount, audits);
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao gerar relatório de conformidade para motorista {0}: {1}", new Object[]{driverId, e.getMessage()});
-            throw new BusinessException("Erro interno ao gerar relatório de conformidade. Tente novamente mais tarde.", e);
+        if (!validator.isValidCnpj(company.getCnpj())) {
+            throw new BusinessException("CNPJ da empresa inválido.");
         }
-    }
-
-    @Override
-    public List<ComplianceAudit> generateOverallComplianceReport(LocalDate startDate, LocalDate endDate) throws BusinessException {
-        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
-            throw new BusinessException("Período de datas inválido para o relatório geral.");
-        }
-        try {
-            // Para um relatório geral, podemos buscar todas as auditorias e filtrar por data
-            // Ou, se houver um método DAO mais otimizado, usá-lo.
-            // Por simplicidade, vamos buscar todas e filtrar aqui, ou usar findByDriverIdAndDate com um driverId fictício se o DAO suportar.
-            // No entanto, o DAO foi ajustado para findByDriverIdAndDate, então para um "overall" talvez seja melhor um novo método no DAO
-            // ou buscar todos e filtrar. Por enquanto, vamos retornar todas as auditorias dentro do período.
-            // Uma implementação mais robusta poderia agregar dados de múltiplas jornadas/motoristas.
-
-            // Para este método, vamos retornar todas as auditorias dentro do período,
-            // assumindo que o DAO tem um método para isso ou que findAll() é filtrado posteriormente.
-            // Como não temos um findByDateRange no DAO, vamos usar findAll e filtrar.
-            // Idealmente, o DAO teria um método findByDateRange para eficiência.
-            List<ComplianceAudit> allAudits = complianceAuditDAO.findAll();
-            return allAudits.stream()
-                    .filter(audit -> !audit.getAuditDate().toLocalDate().isBefore(startDate) && !audit.getAuditDate().toLocalDate().isAfter(endDate))
-                    .collect(java.util.stream.Collectors.toList());
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao gerar relatório de conformidade geral: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao gerar relatório de conformidade geral. Tente novamente mais tarde.", e);
+        if (company.getEmail() != null && !company.getEmail().isEmpty() && !validator.isValidEmail(company.getEmail())) {
+            throw new BusinessException("E-mail da empresa inválido.");
         }
     }
 }
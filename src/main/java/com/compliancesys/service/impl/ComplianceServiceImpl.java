@@ -1,20 +1,49 @@
 package com.compliancesys.service.impl;
 
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.config.UnitOfWork;
 import com.compliancesys.dao.ComplianceAuditDAO;
 import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
 import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.ComplianceAudit;
 import com.compliancesys.model.ComplianceReport;
+import com.compliancesys.model.ComplianceStatusCount;
+import com.compliancesys.model.DriverDayTimeline;
+import com.compliancesys.model.FleetAuditResult;
 import com.compliancesys.model.Journey;
+import com.compliancesys.model.Page;
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.TimeRecord;
 import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.ReportGrouping;
 import com.compliancesys.service.ComplianceService;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import com.compliancesys.service.rules.SlidingWindowEvaluator;
+import com.compliancesys.util.ProgressListener;
 import com.compliancesys.util.Validator;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,11 +54,38 @@ public class ComplianceServiceImpl implements ComplianceService {
     private final ComplianceAuditDAO complianceAuditDAO;
     private final JourneyDAO journeyDAO; // Adicionado para buscar jornadas
     private final Validator validator;
+    private final TimeRecordDAO timeRecordDAO; // Necessário apenas para a auditoria da frota.
+    private final Supplier<JourneyRuleEngine> ruleEngineFactory;
+    private final int fleetAuditThreads;
+
+    private static final int DRIVERS_PER_FLEET_AUDIT_TASK = 50; // Motoristas lidos e gravados juntos por tarefa.
+    private static final String AUTOMATIC_AUDITOR = "Sistema Automático";
 
     public ComplianceServiceImpl(ComplianceAuditDAO complianceAuditDAO, JourneyDAO journeyDAO, Validator validator) {
+        this(complianceAuditDAO, journeyDAO, null, validator, JourneyRuleEngine::lei13103Intraday, 1);
+    }
+
+    /**
+     * Construtor com suporte à auditoria da frota. A quantidade de threads é lida da propriedade
+     * compliance.fleetAudit.threads; por padrão, o tamanho do pool de conexões menos 2, deixando
+     * conexões livres para as requisições HTTP durante a auditoria.
+     */
+    public ComplianceServiceImpl(ComplianceAuditDAO complianceAuditDAO, JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO, Validator validator) {
+        this(complianceAuditDAO, journeyDAO, timeRecordDAO, validator, JourneyRuleEngine::lei13103Intraday,
+                DatabaseConfig.getIntProperty("compliance.fleetAudit.threads", Math.max(1, DatabaseConfig.getMaximumPoolSize() - 2)));
+    }
+
+    public ComplianceServiceImpl(ComplianceAuditDAO complianceAuditDAO, JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO, Validator validator,
+                                 Supplier<JourneyRuleEngine> ruleEngineFactory, int fleetAuditThreads) {
+        if (fleetAuditThreads <= 0) {
+            throw new IllegalArgumentException("A quantidade de threads da auditoria da frota deve ser positiva.");
+        }
         this.complianceAuditDAO = complianceAuditDAO;
         this.journeyDAO = journeyDAO;
         this.validator = validator;
+        this.timeRecordDAO = timeRecordDAO;
+        this.ruleEngineFactory = ruleEngineFactory;
+        this.fleetAuditThreads = fleetAuditThreads;
     }
 
     @Override
@@ -87,6 +143,34 @@ public class ComplianceServiceImpl implements ComplianceService {
         }
     }
 
+    @Override
+    public Page<ComplianceAudit> getComplianceAuditsPage(int afterId, int limit) throws BusinessException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<ComplianceAudit> fetched = complianceAuditDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, ComplianceAudit::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de auditorias de conformidade: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar as auditorias de conformidade. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public Stream<ComplianceAudit> streamComplianceAuditsByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("Período inválido: a data inicial deve ser anterior ou igual à data final.");
+        }
+        try {
+            return complianceAuditDAO.streamByDateRange(startDate, endDate);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao exportar auditorias de conformidade: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao exportar as auditorias de conformidade. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<ComplianceAudit> getComplianceAuditsByJourneyId(int journeyId) throws BusinessException {
         if (journeyId <= 0) {
@@ -119,21 +203,23 @@ public class ComplianceServiceImpl implements ComplianceService {
         }
 
         try {
-            Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(audit.getId());
-            if (existingAudit.isEmpty()) {
-                throw new BusinessException("Auditoria de conformidade com ID " + audit.getId() + " não encontrada para atualização.");
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(audit.getId());
+                if (existingAudit.isEmpty()) {
+                    throw new BusinessException("Auditoria de conformidade com ID " + audit.getId() + " não encontrada para atualização.");
+                }
 
-            audit.setCreatedAt(existingAudit.get().getCreatedAt()); // Mantém a data de criação original
-            audit.setUpdatedAt(LocalDateTime.now());
+                audit.setCreatedAt(existingAudit.get().getCreatedAt()); // Mantém a data de criação original
+                audit.setUpdatedAt(LocalDateTime.now());
 
-            boolean updated = complianceAuditDAO.update(audit);
-            if (updated) {
-                LOGGER.log(Level.INFO, "Auditoria de conformidade atualizada com sucesso: ID {0}", audit.getId());
-                return audit;
-            } else {
-                throw new BusinessException("Falha ao atualizar a auditoria de conformidade. Nenhuma linha afetada.");
-            }
+                boolean updated = complianceAuditDAO.update(audit);
+                if (updated) {
+                    LOGGER.log(Level.INFO, "Auditoria de conformidade atualizada com sucesso: ID {0}", audit.getId());
+                    return audit;
+                } else {
+                    throw new BusinessException("Falha ao atualizar a auditoria de conformidade. Nenhuma linha afetada.");
+                }
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar auditoria de conformidade: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao atualizar a auditoria de conformidade. Tente novamente mais tarde.", e);
@@ -146,18 +232,20 @@ public class ComplianceServiceImpl implements ComplianceService {
             throw new BusinessException("O ID da auditoria de conformidade deve ser um valor positivo para exclusão.");
         }
         try {
-            Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(id);
-            if (existingAudit.isEmpty()) {
-                throw new BusinessException("Auditoria de conformidade com ID " + id + " não encontrada para exclusão.");
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<ComplianceAudit> existingAudit = complianceAuditDAO.findById(id);
+                if (existingAudit.isEmpty()) {
+                    throw new BusinessException("Auditoria de conformidade com ID " + id + " não encontrada para exclusão.");
+                }
 
-            boolean deleted = complianceAuditDAO.delete(id);
-            if (deleted) {
-                LOGGER.log(Level.INFO, "Auditoria de conformidade com ID {0} deletada com sucesso.", id);
-            } else {
-                LOGGER.log(Level.WARNING, "Falha ao deletar auditoria de conformidade com ID {0}.", id);
-            }
-            return deleted;
+                boolean deleted = complianceAuditDAO.delete(id);
+                if (deleted) {
+                    LOGGER.log(Level.INFO, "Auditoria de conformidade com ID {0} deletada com sucesso.", id);
+                } else {
+                    LOGGER.log(Level.WARNING, "Falha ao deletar auditoria de conformidade com ID {0}.", id);
+                }
+                return deleted;
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao deletar auditoria de conformidade: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao deletar a auditoria de conformidade. Tente novamente mais tarde.", e);
@@ -171,50 +259,223 @@ public class ComplianceServiceImpl implements ComplianceService {
         }
 
         try {
-            Optional<Journey> optionalJourney = journeyDAO.findById(journeyId);
-            if (optionalJourney.isEmpty()) {
-                throw new BusinessException("Jornada com ID " + journeyId + " não encontrada para auditoria.");
-            }
-            Journey journey = optionalJourney.get(); // Desempacota o Optional
-
-            // Lógica de auditoria de conformidade (exemplo simplificado)
-            // Aqui você implementaria as regras da Lei do Caminhoneiro
-            // para verificar se a jornada está em conformidade.
-
-            ComplianceStatus status = journey.getComplianceStatus() != null ? journey.getComplianceStatus() : ComplianceStatus.PENDING; // CORRIGIDO
-            String notes = "Auditoria realizada em " + LocalDateTime.now() + ". Status inicial: " + status.name();
-
-            // Exemplo: Se a jornada excedeu o limite diário, o status pode ser NON_COMPLIANT
-            if (journey.isDailyLimitExceeded()) {
-                status = ComplianceStatus.NON_COMPLIANT;
-                notes += " - Limite diário excedido.";
-            } else if (status == ComplianceStatus.PENDING) {
-                // Se não excedeu e ainda está PENDING, pode ser COMPLIANT
-                status = ComplianceStatus.COMPLIANT;
-                notes += " - Conforme as regras básicas.";
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<Journey> optionalJourney = journeyDAO.findById(journeyId);
+                if (optionalJourney.isEmpty()) {
+                    throw new BusinessException("Jornada com ID " + journeyId + " não encontrada para auditoria.");
+                }
+                Journey journey = optionalJourney.get(); // Desempacota o Optional
 
-            // Cria ou atualiza o registro de auditoria
-            ComplianceAudit audit = new ComplianceAudit(
-                    0, // ID será gerado
-                    journeyId,
-                    LocalDateTime.now(),
-                    status,
-                    "Sistema Automático", // Auditor
-                    notes,
-                    null, null // createdAt e updatedAt serão definidos no DAO
-            );
+                // Lógica de auditoria de conformidade (exemplo simplificado)
+                // Aqui você implementaria as regras da Lei do Caminhoneiro
+                // para verificar se a jornada está em conformidade.
 
-            return createComplianceAudit(audit);
+                ComplianceStatus status = journey.getComplianceStatus() != null ? journey.getComplianceStatus() : ComplianceStatus.PENDING; // CORRIGIDO
+                String notes = "Auditoria realizada em " + LocalDateTime.now() + ". Status inicial: " + status.name();
 
+                // Exemplo: Se a jornada excedeu o limite diário, o status pode ser NON_COMPLIANT
+                if (journey.isDailyLimitExceeded()) {
+                    status = ComplianceStatus.NON_COMPLIANT;
+                    notes += " - Limite diário excedido.";
+                } else if (status == ComplianceStatus.PENDING) {
+                    // Se não excedeu e ainda está PENDING, pode ser COMPLIANT
+                    status = ComplianceStatus.COMPLIANT;
+                    notes += " - Conforme as regras básicas.";
+                }
+
+                // Cria ou atualiza o registro de auditoria
+                ComplianceAudit audit = new ComplianceAudit(
+                        0, // ID será gerado
+                        journeyId,
+                        LocalDateTime.now(),
+                        status,
+                        "Sistema Automático", // Auditor
+                        notes,
+                        null, null // createdAt e updatedAt serão definidos no DAO
+                );
+
+                return createComplianceAudit(audit);
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao realizar auditoria de conformidade para jornada ID " + journeyId + ": " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao realizar a auditoria de conformidade. Tente novamente mais tarde.", e);
         }
     }
 
+    @Override
+    public FleetAuditResult performFleetAudit(LocalDate startDate, LocalDate endDate, ProgressListener listener) throws BusinessException {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("Período inválido: a data inicial deve ser anterior ou igual à data final.");
+        }
+        if (timeRecordDAO == null) {
+            throw new BusinessException("Auditoria da frota indisponível: serviço criado sem acesso aos registros de ponto.");
+        }
+        ProgressListener progress = listener != null ? listener : ProgressListener.NONE;
+        long startNanos = System.nanoTime();
+
+        List<Integer> driverIds;
+        try {
+            driverIds = journeyDAO.findDriverIdsByDateRange(startDate, endDate);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar motoristas para a auditoria da frota: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao realizar a auditoria da frota. Tente novamente mais tarde.", e);
+        }
+        List<int[]> partitions = partition(driverIds, DRIVERS_PER_FLEET_AUDIT_TASK);
+        int threads = Math.max(1, Math.min(fleetAuditThreads, partitions.size()));
+        LOGGER.log(Level.INFO, "Auditoria da frota de {0} a {1}: {2} motoristas em {3} tarefas e {4} threads.",
+                new Object[]{startDate, endDate, driverIds.size(), partitions.size(), threads});
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fleet-audit-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int journeys = 0;
+        int audits = 0;
+        int nonCompliant = 0;
+        int processedDrivers = 0;
+        List<Integer> failedDriverIds = new ArrayList<>();
+        try {
+            // Cada tarefa usa no máximo uma conexão por vez; com threads <= conexões do pool, nenhuma fica esperando o pool.
+            CompletionService<int[]> completion = new ExecutorCompletionService<>(executor);
+            Map<Future<int[]>, int[]> partitionByTask = new HashMap<>();
+            for (int[] partition : partitions) {
+                partitionByTask.put(completion.submit(() -> auditDrivers(partition, startDate, endDate)), partition);
+            }
+            for (int i = 0; i < partitions.size(); i++) {
+                Future<int[]> done = completion.take();
+                int[] partition = partitionByTask.get(done);
+                try {
+                    int[] counts = done.get();
+                    journeys += counts[0];
+                    audits += counts[1];
+                    nonCompliant += counts[2];
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.SEVERE, "Falha na auditoria da frota para os motoristas " + Arrays.toString(partition)
+                            + ": " + e.getCause().getMessage(), e.getCause());
+                    for (int driverId : partition) {
+                        failedDriverIds.add(driverId);
+                    }
+                }
+                processedDrivers += partition.length;
+                progress.onProgress(processedDrivers, driverIds.size(), rate(processedDrivers, startNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Auditoria da frota interrompida.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        LOGGER.log(Level.INFO, "Auditoria da frota concluída em {0} ms: {1} jornadas, {2} auditorias gravadas, {3} não conformes, {4} motoristas com falha.",
+                new Object[]{elapsedMillis, journeys, audits, nonCompliant, failedDriverIds.size()});
+        return new FleetAuditResult(startDate, endDate, driverIds.size(), journeys, audits, nonCompliant, failedDriverIds, elapsedMillis);
+    }
+
+    /**
+     * Audita as jornadas de um grupo de motoristas: duas consultas (jornadas e registros de ponto),
+     * uma passagem pelas regras por jornada e uma gravação em lote das auditorias.
+     * O descanso e a direção diários e a interjornada são verificados em janelas de 24 horas, como no
+     * JourneyEngine; os registros do dia anterior ao período alimentam as janelas do primeiro dia.
+     * @return {jornadas auditadas, auditorias gravadas, auditorias não conformes}.
+     */
+    private int[] auditDrivers(int[] driverIds, LocalDate startDate, LocalDate endDate) throws SQLException {
+        Map<Integer, List<Journey>> journeysByDriver = journeyDAO.findByDriverIdsAndDateRange(driverIds, startDate, endDate);
+        Map<Integer, List<TimeRecord>> recordsByDriver = timeRecordDAO.findByDriverIdsAndDateRange(driverIds, startDate.minusDays(1), endDate);
+        JourneyRuleEngine rules = ruleEngineFactory.get(); // Uma instância por tarefa: o motor não é thread-safe.
+        DriverDayTimeline timeline = new DriverDayTimeline(); // Reaproveitada em todas as jornadas da tarefa.
+        LocalDateTime now = LocalDateTime.now();
+        List<ComplianceAudit> audits = new ArrayList<>();
+        int nonCompliant = 0;
+
+        for (Map.Entry<Integer, List<Journey>> entry : journeysByDriver.entrySet()) {
+            // Jornadas ordenadas por data e registros ordenados por horário: um único cursor percorre os registros.
+            List<TimeRecord> records = recordsByDriver.getOrDefault(entry.getKey(), Collections.emptyList());
+            SlidingWindowEvaluator window = new SlidingWindowEvaluator(); // Percorre todos os registros do motorista, em ordem.
+            int next = 0;
+            for (Journey journey : entry.getValue()) {
+                LocalDateTime dayStart = journey.getJourneyDate().atStartOfDay();
+                long dayStartSecond = JourneyRuleEngine.toEpochSecond(dayStart);
+                while (next < records.size() && JourneyRuleEngine.toEpochSecond(records.get(next).getRecordTime()) < dayStartSecond) {
+                    window.onEvent(records.get(next++)); // Registros de dias sem jornada auditada só alimentam a janela.
+                }
+                timeline.reset(entry.getKey(), journey.getJourneyDate());
+                while (next < records.size() && timeline.add(records.get(next))) {
+                    window.onEvent(records.get(next++));
+                }
+                rules.reset();
+                for (int i = 0; i < timeline.size(); i++) {
+                    rules.onEvent(timeline.getEventType(i), timeline.getTime(i));
+                }
+                List<RuleViolation> violations = null;
+                if (!timeline.isEmpty()) {
+                    violations = rules.getViolations();
+                    violations.addAll(window.getViolations(dayStart, dayStart.plusDays(1)));
+                }
+                ComplianceAudit audit = fleetAudit(journey, violations, now);
+                if (audit.getComplianceStatus() == ComplianceStatus.NON_COMPLIANT) {
+                    nonCompliant++;
+                }
+                audits.add(audit);
+            }
+        }
+        int inserted = complianceAuditDAO.createBatch(audits);
+        return new int[]{audits.size(), inserted, nonCompliant};
+    }
+
+    /**
+     * Monta a auditoria de uma jornada a partir das violações encontradas.
+     * @param violations As violações, ou null se a jornada não tem registros de ponto no período.
+     */
+    private static ComplianceAudit fleetAudit(Journey journey, List<RuleViolation> violations, LocalDateTime now) {
+        ComplianceStatus status;
+        StringBuilder notes = new StringBuilder("Auditoria da frota: ");
+        if (violations == null) {
+            status = ComplianceStatus.PENDING;
+            notes.append("jornada sem registros de ponto.");
+        } else if (violations.isEmpty()) {
+            status = ComplianceStatus.COMPLIANT;
+            notes.append("conforme a Lei 13.103/2015.");
+        } else {
+            status = ComplianceStatus.NON_COMPLIANT;
+            for (int i = 0; i < violations.size(); i++) {
+                RuleViolation violation = violations.get(i);
+                notes.append(i == 0 ? "" : "; ").append(violation.getType().getDescription())
+                        .append(" (medido ").append(violation.getMeasured())
+                        .append(", limite ").append(violation.getLimit()).append(')');
+            }
+            notes.append('.');
+        }
+        return new ComplianceAudit(0, journey.getId(), now, status, AUTOMATIC_AUDITOR, notes.toString(), now, now);
+    }
+
+    private static List<int[]> partition(List<Integer> ids, int size) {
+        List<int[]> partitions = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            int to = Math.min(from + size, ids.size());
+            int[] partition = new int[to - from];
+            for (int i = from; i < to; i++) {
+                partition[i - from] = ids.get(i);
+            }
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    private static double rate(long items, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? items / seconds : items;
+    }
+
     @Override
     public ComplianceReport generateDriverComplianceReport(int driverId, LocalDate startDate, LocalDate endDate) throws BusinessException {
+        return generateDriverComplianceReport(driverId, startDate, endDate, ReportGrouping.NONE, false);
+    }
+
+    @Override
+    public ComplianceReport generateDriverComplianceReport(int driverId, LocalDate startDate, LocalDate endDate, ReportGrouping grouping, boolean includeAudits) throws BusinessException {
         if (driverId <= 0) {
             throw new BusinessException("O ID do motorista deve ser um valor positivo.");
         }
@@ -223,21 +484,38 @@ public class ComplianceServiceImpl implements ComplianceService {
         }
 
         try {
-            List<ComplianceAudit> audits = complianceAuditDAO.findByDriverIdAndDate(driverId, startDate, endDate); // CORRIGIDO
-            // Aqui você processaria a lista de auditorias para gerar um relatório mais detalhado
-            // Por enquanto, vamos retornar um relatório simples
-            int compliantCount = (int) audits.stream().filter(a -> a.getComplianceStatus() == ComplianceStatus.COMPLIANT).count();
-            int nonCompliantCount = (int) audits.stream().filter(a -> a.getComplianceStatus() == ComplianceStatus.NON_COMPLIANT).count();
-            int pendingCount = (int) audits.stream().filter(a -> a.getComplianceStatus() == ComplianceStatus.PENDING).count();
-
-            return new ComplianceReport(driverId, startDate, endDate, compliantCount, nonCompliantCount, pendingCount, audits);
-
+            // As contagens são agregadas no banco; as auditorias só são carregadas se o chamador pedir o detalhe.
+            List<ComplianceStatusCount> counts = complianceAuditDAO.countByStatus(driverId, startDate, endDate, grouping);
+            ComplianceReport report = buildReport(driverId, startDate, endDate, counts, grouping);
+            if (includeAudits) {
+                report.setAudits(complianceAuditDAO.findByDriverIdAndDate(driverId, startDate, endDate));
+            }
+            return report;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao gerar relatório de conformidade para motorista ID " + driverId + ": " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao gerar o relatório de conformidade. Tente novamente mais tarde.", e);
         }
     }
 
+    @Override
+    public ComplianceReport generateOverallComplianceSummary(LocalDate startDate, LocalDate endDate, ReportGrouping grouping, boolean includeAudits) throws BusinessException {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("As datas de início e fim do relatório são inválidas.");
+        }
+
+        try {
+            List<ComplianceStatusCount> counts = complianceAuditDAO.countByStatus(null, startDate, endDate, grouping);
+            ComplianceReport report = buildReport(0, startDate, endDate, counts, grouping);
+            if (includeAudits) {
+                report.setAudits(complianceAuditDAO.findByDateRange(startDate, endDate));
+            }
+            return report;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao gerar relatório de conformidade geral: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao gerar o relatório de conformidade geral. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<ComplianceAudit> generateOverallComplianceReport(LocalDate startDate, LocalDate endDate) throws BusinessException {
         if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
@@ -245,18 +523,48 @@ public class ComplianceServiceImpl implements ComplianceService {
         }
 
         try {
-            // Para um relatório geral, podemos buscar todas as auditorias e filtrar por data
-            // Ou, se houver um método no DAO para isso, usá-lo.
-            // Por simplicidade, vamos buscar todas e filtrar aqui.
-            // Idealmente, o DAO teria um método findByDateRange()
-            List<ComplianceAudit> allAudits = complianceAuditDAO.findAll();
-            return allAudits.stream()
-                    .filter(audit -> !audit.getAuditDate().toLocalDate().isBefore(startDate) &&
-                                     !audit.getAuditDate().toLocalDate().isAfter(endDate))
-                    .toList();
+            return complianceAuditDAO.findByDateRange(startDate, endDate);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao gerar relatório de conformidade geral: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao gerar o relatório de conformidade geral. Tente novamente mais tarde.", e);
         }
     }
+
+    /**
+     * Monta o relatório a partir das contagens agregadas pelo DAO.
+     * Com agrupamento, cada grupo vira um sub-relatório e o relatório principal traz o total do período.
+     */
+    private static ComplianceReport buildReport(int driverId, LocalDate startDate, LocalDate endDate,
+                                                List<ComplianceStatusCount> counts, ReportGrouping grouping) {
+        ComplianceReport report = summarize(driverId, startDate, endDate, counts);
+        if (grouping != null && grouping != ReportGrouping.NONE) {
+            Map<String, List<ComplianceStatusCount>> byGroup = new LinkedHashMap<>(); // Mantém a ordem do ORDER BY do DAO.
+            for (ComplianceStatusCount count : counts) {
+                byGroup.computeIfAbsent(count.getGroupKey(), k -> new ArrayList<>()).add(count);
+            }
+            List<ComplianceReport> groups = new ArrayList<>(byGroup.size());
+            for (Map.Entry<String, List<ComplianceStatusCount>> entry : byGroup.entrySet()) {
+                ComplianceReport group = summarize(driverId, startDate, endDate, entry.getValue());
+                group.setGroupKey(entry.getKey());
+                groups.add(group);
+            }
+            report.setGroups(groups);
+        }
+        return report;
+    }
+
+    private static ComplianceReport summarize(int driverId, LocalDate startDate, LocalDate endDate, List<ComplianceStatusCount> counts) {
+        Map<ComplianceStatus, Long> statusCounts = new EnumMap<>(ComplianceStatus.class);
+        long total = 0;
+        for (ComplianceStatusCount count : counts) {
+            statusCounts.merge(count.getStatus(), count.getCount(), Long::sum);
+            total += count.getCount();
+        }
+        ComplianceReport report = new ComplianceReport(driverId, startDate, endDate, (int) total,
+                statusCounts.getOrDefault(ComplianceStatus.COMPLIANT, 0L).intValue(),
+                statusCounts.getOrDefault(ComplianceStatus.NON_COMPLIANT, 0L).intValue(),
+                null);
+        report.setStatusCounts(statusCounts);
+        return report;
+    }
 }
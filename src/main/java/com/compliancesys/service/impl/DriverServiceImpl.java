@@ -10,12 +10,14 @@ import java.util.logging.Logger;
 import com.compliancesys.dao.DriverDAO;
 import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.Driver;
+import com.compliancesys.model.Page;
 import com.compliancesys.service.DriverService;
 import com.compliancesys.util.Validator;
 
 public class DriverServiceImpl implements DriverService {
 
     private static final Logger LOGGER = Logger.getLogger(DriverServiceImpl.class.getName());
+    private static final String UNIQUE_VIOLATION = "23505"; // SQLState de violação de restrição de unicidade.
     private final DriverDAO driverDAO;
     private final Validator validator; // Injeta o Validator
 
@@ -50,7 +52,7 @@ public class DriverServiceImpl implements DriverService {
 
         try {
             // Verifica se já existe um motorista com o mesmo CPF
-            if (driverDAO.findByCpf(driver.getCpf()).isPresent()) {
+            if (driverDAO.existsByCpf(driver.getCpf())) {
                 throw new BusinessException("Já existe um motorista cadastrado com este CPF.");
             }
 
@@ -61,6 +63,9 @@ public class DriverServiceImpl implements DriverService {
             LOGGER.log(Level.INFO, "Motorista registrado com sucesso: ID {0}", id);
             return driver;
         } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw duplicateDriver(e, "Já existe um motorista cadastrado com este CPF.");
+            }
             LOGGER.log(Level.SEVERE, "Erro de SQL ao registrar motorista: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao registrar motorista. Tente novamente mais tarde.", e);
         }
@@ -102,6 +107,21 @@ public class DriverServiceImpl implements DriverService {
         }
     }
 
+    @Override
+    public Page<Driver> getDriversPage(int afterId, int limit) throws BusinessException, SQLException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<Driver> fetched = driverDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, Driver::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de motoristas: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar os motoristas. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public Driver updateDriver(Driver driver) throws BusinessException, SQLException {
         if (driver == null || driver.getId() <= 0) {
@@ -134,7 +154,7 @@ public class DriverServiceImpl implements DriverService {
 
             // Verifica se o CPF foi alterado e se o novo CPF já existe para outro motorista
             if (!existingDriver.get().getCpf().equals(driver.getCpf())) {
-                if (driverDAO.findByCpf(driver.getCpf()).isPresent()) {
+                if (driverDAO.existsByCpf(driver.getCpf())) {
                     throw new BusinessException("Já existe outro motorista cadastrado com o CPF informado.");
                 }
             }
@@ -150,6 +170,9 @@ public class DriverServiceImpl implements DriverService {
                 throw new BusinessException("Falha ao atualizar motorista. Nenhuma linha afetada.");
             }
         } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw duplicateDriver(e, "Já existe outro motorista cadastrado com o CPF informado.");
+            }
             LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar motorista: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao atualizar motorista. Tente novamente mais tarde.", e);
         }
@@ -177,4 +200,18 @@ public class DriverServiceImpl implements DriverService {
             throw new BusinessException("Erro interno ao deletar motorista. Tente novamente mais tarde.", e);
         }
     }
+
+    /**
+     * Traduz a violação de unicidade do banco na mesma mensagem da verificação prévia. A violação ocorre quando o
+     * filtro de CPFs não conhecia o motorista (gravado por outro nó ou por carga em lote) ou quando a CNH já existe.
+     * @param e A exceção com SQLState 23505.
+     * @param cpfMessage A mensagem para CPF duplicado.
+     */
+    private static BusinessException duplicateDriver(SQLException e, String cpfMessage) {
+        LOGGER.log(Level.INFO, "Cadastro de motorista recusado pela restrição de unicidade: {0}", e.getMessage());
+        if (e.getMessage() != null && e.getMessage().contains("license_number")) {
+            return new BusinessException("Já existe um motorista cadastrado com este número de licença.", e);
+        }
+        return new BusinessException(cpfMessage, e);
+    }
 }
@@ -0,0 +1,265 @@
+package com.compliancesys.service.impl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.DriverJourneyState;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.service.JourneyEngine;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import com.compliancesys.service.rules.SlidingWindowEvaluator;
+
+/**
+ * Implementação de {@link JourneyEngine} com um estado por motorista em memória.
+ * Atualizações de um mesmo motorista são serializadas; motoristas diferentes são processados em paralelo.
+ * O dia só é relido do banco na primeira vez que o motorista aparece (ou após {@link #reset(int)})
+ * e quando chega um registro anterior ao último evento aplicado.
+ *
+ * O descanso e a direção diários e a interjornada são verificados por um {@link SlidingWindowEvaluator} por motorista,
+ * que sobrevive à virada do dia: as janelas de 24 horas que cruzam a meia-noite não exigem reler o dia anterior.
+ * As últimas 48 horas só são lidas do banco nas mesmas situações em que o dia é relido.
+ */
+public class JourneyEngineImpl implements JourneyEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(JourneyEngineImpl.class.getName());
+    private static final long DEFAULT_PERSIST_INTERVAL_SECONDS = 15 * 60L;
+
+    private final JourneyDAO journeyDAO;
+    private final TimeRecordDAO timeRecordDAO;
+    private final Supplier<JourneyRuleEngine> ruleEngineFactory;
+    private final long persistIntervalSeconds;
+    private final ConcurrentMap<Integer, DriverJourneyState> states = new ConcurrentHashMap<>();
+    // Motor de regras de cada motorista, alimentado junto com o estado (mesmo dia e mesmos eventos).
+    private final ConcurrentMap<Integer, JourneyRuleEngine> ruleEngines = new ConcurrentHashMap<>();
+    // Janelas de 24 horas de cada motorista; não são descartadas na virada do dia.
+    private final ConcurrentMap<Integer, SlidingWindowEvaluator> windows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor padrão. O intervalo de gravação é lido da propriedade journey.engine.persistIntervalSeconds.
+     * As regras da jornada não incluem o descanso e a direção diários, verificados pelas janelas de 24 horas.
+     */
+    public JourneyEngineImpl(JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO) {
+        this(journeyDAO, timeRecordDAO, JourneyRuleEngine::lei13103Intraday,
+                DatabaseConfig.getLongProperty("journey.engine.persistIntervalSeconds", DEFAULT_PERSIST_INTERVAL_SECONDS));
+    }
+
+    /**
+     * Construtor com regras e intervalo de gravação explícitos.
+     * @param ruleEngineFactory Cria o motor de regras de cada motorista.
+     * @param persistIntervalSeconds Tempo de jornada acumulado sem gravação a partir do qual a jornada é gravada
+     *                               mesmo sem mudança de status.
+     */
+    public JourneyEngineImpl(JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO, Supplier<JourneyRuleEngine> ruleEngineFactory,
+                             long persistIntervalSeconds) {
+        if (persistIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("O intervalo de gravação da jornada deve ser positivo.");
+        }
+        this.journeyDAO = journeyDAO;
+        this.timeRecordDAO = timeRecordDAO;
+        this.ruleEngineFactory = ruleEngineFactory;
+        this.persistIntervalSeconds = persistIntervalSeconds;
+    }
+
+    @Override
+    public Journey onTimeRecord(TimeRecord timeRecord) throws BusinessException {
+        if (timeRecord == null || timeRecord.getDriverId() <= 0) {
+            throw new BusinessException("Registro de ponto ou ID do motorista inválido.");
+        }
+        if (timeRecord.getRecordTime() == null || timeRecord.getEventType() == null) {
+            throw new BusinessException("Data/hora e tipo de evento do registro são obrigatórios.");
+        }
+        int driverId = timeRecord.getDriverId();
+        LocalDate journeyDate = timeRecord.getRecordTime().toLocalDate();
+
+        synchronized (lockFor(driverId)) {
+            try {
+                DriverJourneyState current = states.get(driverId);
+                if (current != null && journeyDate.isAfter(current.getJourneyDate())) {
+                    persistIfPending(current, ruleEngines.get(driverId)); // Virada de dia: fecha a jornada anterior.
+                    discardDay(driverId);
+                    current = null;
+                }
+                SlidingWindowEvaluator window = advanceWindow(driverId, timeRecord);
+                DriverJourneyState state;
+                JourneyRuleEngine rules;
+                if (current != null && current.accepts(timeRecord)) {
+                    state = current;
+                    rules = ruleEngines.get(driverId);
+                    state.apply(timeRecord); // Caminho comum: O(1), sem acesso ao banco.
+                    rules.onEvent(timeRecord);
+                } else {
+                    // Primeiro registro do motorista, registro fora de ordem ou de um dia anterior: relê o dia.
+                    List<TimeRecord> records = loadDay(driverId, journeyDate, timeRecord);
+                    state = new DriverJourneyState(driverId, journeyDate);
+                    rules = ruleEngineFactory.get();
+                    for (TimeRecord record : records) {
+                        state.apply(record);
+                        rules.onEvent(record);
+                    }
+                    if (current == null || current.getJourneyDate().equals(journeyDate)) {
+                        // Registros atrasados de dias anteriores não substituem o dia corrente.
+                        states.put(driverId, state);
+                        ruleEngines.put(driverId, rules);
+                    }
+                }
+
+                Journey journey = evaluate(state, rules, window);
+                if (shouldPersist(state, journey)) {
+                    journey = persist(state, journey);
+                }
+                return journey;
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar a jornada do motorista " + driverId + ": " + e.getMessage(), e);
+                discard(driverId); // O estado pode estar parcialmente aplicado; será relido no próximo registro.
+                throw new BusinessException("Erro interno ao atualizar a jornada. Tente novamente mais tarde.", e);
+            }
+        }
+    }
+
+    @Override
+    public Optional<DriverJourneyState> getState(int driverId) {
+        return Optional.ofNullable(states.get(driverId));
+    }
+
+    @Override
+    public Optional<Journey> flush(int driverId) throws BusinessException {
+        synchronized (lockFor(driverId)) {
+            DriverJourneyState state = states.get(driverId);
+            if (state == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(persistIfPending(state, ruleEngines.get(driverId)));
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Erro de SQL ao gravar a jornada do motorista " + driverId + ": " + e.getMessage(), e);
+                throw new BusinessException("Erro interno ao gravar a jornada. Tente novamente mais tarde.", e);
+            }
+        }
+    }
+
+    @Override
+    public void reset(int driverId) {
+        synchronized (lockFor(driverId)) {
+            discard(driverId);
+        }
+    }
+
+    private void discard(int driverId) {
+        discardDay(driverId);
+        windows.remove(driverId);
+    }
+
+    private void discardDay(int driverId) {
+        states.remove(driverId);
+        ruleEngines.remove(driverId);
+    }
+
+    private Object lockFor(int driverId) {
+        return locks.computeIfAbsent(driverId, id -> new Object());
+    }
+
+    /**
+     * Lê os registros gravados do dia, incluindo o registro recebido caso ele ainda não esteja no banco.
+     * O estado reconstruído a partir deles é sempre gravado em seguida (o upsert substitui a jornada do dia).
+     */
+    private List<TimeRecord> loadDay(int driverId, LocalDate journeyDate, TimeRecord timeRecord) throws SQLException {
+        List<TimeRecord> records = new ArrayList<>(timeRecordDAO.findByDriverIdAndDate(driverId, journeyDate));
+        boolean stored = timeRecord.getId() > 0 && records.stream().anyMatch(r -> r.getId() == timeRecord.getId());
+        if (!stored) {
+            records.add(timeRecord);
+        }
+        records.sort(Comparator.comparing(TimeRecord::getRecordTime));
+        LOGGER.log(Level.FINE, "Estado da jornada do motorista {0} em {1} reconstruído a partir de {2} registros.",
+                new Object[]{driverId, journeyDate, records.size()});
+        return records;
+    }
+
+    /**
+     * Aplica o registro à janela de 24 horas do motorista. No primeiro registro do motorista, ou se o registro
+     * for anterior ao último evento da janela, a janela é reconstruída com as últimas 48 horas gravadas; as
+     * violações encontradas na reconstrução ficam na janela e são atribuídas às jornadas dos respectivos dias.
+     */
+    private SlidingWindowEvaluator advanceWindow(int driverId, TimeRecord timeRecord) throws SQLException {
+        SlidingWindowEvaluator window = windows.get(driverId);
+        if (window != null && window.accepts(JourneyRuleEngine.toEpochSecond(timeRecord.getRecordTime()))) {
+            window.onEvent(timeRecord);
+            return window;
+        }
+        LocalDateTime upTo = timeRecord.getRecordTime();
+        if (window != null) {
+            LocalDateTime last = JourneyRuleEngine.toDateTime(window.getLastEventTime());
+            upTo = last.isAfter(upTo) ? last : upTo;
+        }
+        List<TimeRecord> records = new ArrayList<>(timeRecordDAO.findByDriverIdAndTimeRange(driverId,
+                upTo.minus(SlidingWindowEvaluator.HORIZON), upTo.plusSeconds(1)));
+        boolean stored = timeRecord.getId() > 0 && records.stream().anyMatch(r -> r.getId() == timeRecord.getId());
+        if (!stored) {
+            records.add(timeRecord);
+        }
+        records.sort(Comparator.comparing(TimeRecord::getRecordTime));
+        SlidingWindowEvaluator rebuilt = new SlidingWindowEvaluator();
+        for (TimeRecord record : records) {
+            rebuilt.onEvent(record);
+        }
+        windows.put(driverId, rebuilt);
+        LOGGER.log(Level.FINE, "Janela de 24 horas do motorista {0} reconstruída a partir de {1} registros.",
+                new Object[]{driverId, records.size()});
+        return rebuilt;
+    }
+
+    private Journey evaluate(DriverJourneyState state, JourneyRuleEngine rules, SlidingWindowEvaluator window) {
+        Journey journey = state.toJourney();
+        if (window == null) {
+            rules.applyTo(journey);
+        } else {
+            LocalDateTime dayStart = state.getJourneyDate().atStartOfDay();
+            rules.applyTo(journey, window.getViolations(dayStart, dayStart.plusDays(1)));
+        }
+        return journey;
+    }
+
+    private boolean shouldPersist(DriverJourneyState state, Journey journey) {
+        return !state.isPersisted()
+                || journey.getStatus() != state.getPersistedStatus()
+                || journey.isDailyLimitExceeded() != state.isPersistedLimitExceeded()
+                || (state.getCurrentActivity() == ActivityType.OFF_DUTY && state.hasUnpersistedChanges())
+                || state.getUnpersistedTime().getSeconds() >= persistIntervalSeconds;
+    }
+
+    private Journey persistIfPending(DriverJourneyState state, JourneyRuleEngine rules) throws SQLException {
+        Journey journey = evaluate(state, rules, windows.get(state.getDriverId()));
+        if (!state.isPersisted() || state.hasUnpersistedChanges()) {
+            journey = persist(state, journey);
+        }
+        return journey;
+    }
+
+    private Journey persist(DriverJourneyState state, Journey journey) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        journey.setCreatedAt(now);
+        journey.setUpdatedAt(now);
+        Journey saved = journeyDAO.upsert(journey);
+        saved.setViolations(journey.getViolations());
+        state.markPersisted(saved.getId(), saved.getStatus(), saved.isDailyLimitExceeded());
+        LOGGER.log(Level.FINE, "Jornada do motorista {0} em {1} gravada (ID {2}).",
+                new Object[]{state.getDriverId(), state.getJourneyDate(), saved.getId()});
+        return saved;
+    }
+}
@@ -0,0 +1,260 @@
+package com.compliancesys.service.impl;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.DriverDay;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.service.ComplianceService;
+import com.compliancesys.service.JourneyEngine;
+import com.compliancesys.service.JourneyRecomputeService;
+import com.compliancesys.service.JourneyService;
+import com.compliancesys.service.rules.SlidingWindowEvaluator;
+import com.compliancesys.util.HashedTimerWheel;
+
+/**
+ * Implementação de {@link JourneyRecomputeService}. Os dias a recalcular ficam em um conjunto de pendentes:
+ * um dia só entra na fila do executor se ainda não estiver nela, e sai do conjunto quando o recálculo começa,
+ * de modo que um registro atrasado que chegue durante o recálculo agenda um novo.
+ *
+ * Cada recálculo relê os registros do dia, grava a jornada com {@link JourneyService#calculateAndAuditJourney}
+ * e registra uma nova auditoria com {@link ComplianceService#performComplianceAudit(int)}. O cálculo avalia as
+ * mesmas janelas de 24 horas do motor de jornada, incluindo os registros do dia anterior: o recálculo dos dias
+ * seguintes a um registro atrasado enxerga esse registro e não substitui as violações das janelas pelas do
+ * dia civil. O estado em memória do motor de jornada, se houver, é descartado para ser relido no próximo
+ * registro. Um dia que ficou sem registros tem a jornada excluída (as auditorias são removidas em cascata).
+ *
+ * As alterações e exclusões de registros passam por um debounce: cada dia alterado espera um período sem
+ * novas alterações antes de entrar na fila, controlado por uma {@link HashedTimerWheel} que uma thread daemon
+ * avança a cada tick. Uma correção em massa de um mesmo dia gera um único recálculo.
+ */
+public class JourneyRecomputeServiceImpl implements JourneyRecomputeService {
+
+    private static final Logger LOGGER = Logger.getLogger(JourneyRecomputeServiceImpl.class.getName());
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 2000;
+    private static final long DEFAULT_TICK_MILLIS = 250;
+    private static final int TICKS_PER_WHEEL = 64;
+
+    private final TimeRecordDAO timeRecordDAO;
+    private final JourneyDAO journeyDAO;
+    private final JourneyService journeyService;
+    private final ComplianceService complianceService;
+    private final JourneyEngine journeyEngine; // Opcional.
+    private final Executor executor;
+    private final ExecutorService ownExecutor; // Executor criado por esta instância, encerrado em shutdown().
+    private final Set<DriverDay> pending = ConcurrentHashMap.newKeySet();
+
+    private final long debounceMillis;
+    private final LongSupplier clock;
+    private final HashedTimerWheel<DriverDay> debounceWheel;
+    private final ConcurrentMap<DriverDay, Long> lastChanges = new ConcurrentHashMap<>(); // Última alteração de cada dia em debounce.
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Construtor padrão: os recálculos rodam em ordem de chegada em uma única thread daemon, e o debounce
+     * (journey.recompute.debounceMillis) é controlado por outra thread daemon, iniciada imediatamente.
+     */
+    public JourneyRecomputeServiceImpl(TimeRecordDAO timeRecordDAO, JourneyDAO journeyDAO, JourneyService journeyService,
+                                       ComplianceService complianceService, JourneyEngine journeyEngine) {
+        this(timeRecordDAO, journeyDAO, journeyService, complianceService, journeyEngine, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "journey-recompute");
+            thread.setDaemon(true);
+            return thread;
+        }), Duration.ofMillis(DatabaseConfig.getLongProperty("journey.recompute.debounceMillis", DEFAULT_DEBOUNCE_MILLIS)),
+                DEFAULT_TICK_MILLIS, System::currentTimeMillis);
+        start();
+    }
+
+    /**
+     * Construtor com parâmetros explícitos; o debounce só avança com {@link #tick()} ou após {@link #start()}.
+     * @param executor Executor dos recálculos; um {@link ExecutorService} informado aqui é encerrado em {@link #shutdown()}.
+     * @param debounce Período sem alterações que um dia espera antes de ser recalculado.
+     * @param tickMillis Precisão do debounce em milissegundos.
+     * @param clock Relógio do servidor em milissegundos.
+     */
+    public JourneyRecomputeServiceImpl(TimeRecordDAO timeRecordDAO, JourneyDAO journeyDAO, JourneyService journeyService,
+                                       ComplianceService complianceService, JourneyEngine journeyEngine, Executor executor,
+                                       Duration debounce, long tickMillis, LongSupplier clock) {
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("O período de debounce não pode ser negativo.");
+        }
+        this.timeRecordDAO = timeRecordDAO;
+        this.journeyDAO = journeyDAO;
+        this.journeyService = journeyService;
+        this.complianceService = complianceService;
+        this.journeyEngine = journeyEngine;
+        this.executor = executor;
+        this.ownExecutor = executor instanceof ExecutorService ? (ExecutorService) executor : null;
+        this.debounceMillis = debounce.toMillis();
+        this.clock = clock;
+        this.debounceWheel = new HashedTimerWheel<>(tickMillis, TICKS_PER_WHEEL, clock.getAsLong());
+    }
+
+    /**
+     * Inicia a thread daemon que avança o debounce a cada tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journey-recompute-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = debounceWheel.getTickMillis();
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) { // Uma falha não pode interromper os próximos ticks.
+                LOGGER.log(Level.SEVERE, "Erro ao liberar recálculos de jornada: " + e.getMessage(), e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Avança o debounce até o instante atual e coloca na fila os dias sem alterações há pelo menos o período configurado.
+     * @return A quantidade de prazos de debounce vencidos.
+     */
+    public int tick() {
+        return debounceWheel.advanceTo(clock.getAsLong(), this::debounceExpired);
+    }
+
+    @Override
+    public void onLateTimeRecord(TimeRecord timeRecord, LocalDateTime watermark) {
+        int driverId = timeRecord.getDriverId();
+        LocalDate first = timeRecord.getRecordTime().toLocalDate();
+        // As janelas de 24 horas que contêm o registro terminam até 24 horas depois dele.
+        LocalDate last = timeRecord.getRecordTime().plus(SlidingWindowEvaluator.WINDOW).toLocalDate();
+        if (watermark != null && watermark.toLocalDate().isBefore(last)) {
+            last = watermark.toLocalDate(); // Dias posteriores à marca d'água ainda não têm registros.
+        }
+        LOGGER.log(Level.INFO, "Registro de ponto atrasado do motorista {0} em {1} (marca d''água: {2}); recalculando de {3} a {4}.",
+                new Object[]{driverId, timeRecord.getRecordTime(), watermark, first, last});
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            schedule(new DriverDay(driverId, date));
+        }
+    }
+
+    @Override
+    public void scheduleDebounced(DriverDay driverDay) {
+        long now = clock.getAsLong();
+        // Só a primeira alteração agenda um prazo; as seguintes apenas adiam o recálculo ao atualizar o horário.
+        if (lastChanges.put(driverDay, now) == null) {
+            debounceWheel.schedule(driverDay, now + debounceMillis);
+        }
+    }
+
+    private void debounceExpired(DriverDay driverDay) {
+        Long lastChange = lastChanges.get(driverDay);
+        if (lastChange == null) {
+            return;
+        }
+        long quietUntil = lastChange + debounceMillis;
+        if (quietUntil > clock.getAsLong()) {
+            debounceWheel.schedule(driverDay, quietUntil); // Houve alterações durante a espera.
+        } else if (lastChanges.remove(driverDay, lastChange)) {
+            schedule(driverDay);
+        } else {
+            debounceExpired(driverDay); // Alterado entre a leitura e a remoção: reavalia com o novo horário.
+        }
+    }
+
+    @Override
+    public boolean schedule(DriverDay driverDay) {
+        if (!pending.add(driverDay)) {
+            LOGGER.log(Level.FINE, "Recálculo de {0} já está na fila.", driverDay);
+            return false;
+        }
+        try {
+            executor.execute(() -> run(driverDay));
+            return true;
+        } catch (RuntimeException e) {
+            pending.remove(driverDay);
+            LOGGER.log(Level.WARNING, "Não foi possível agendar o recálculo de " + driverDay + ": " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void run(DriverDay driverDay) {
+        pending.remove(driverDay); // Registros que chegarem a partir daqui agendam um novo recálculo.
+        try {
+            recompute(driverDay);
+        } catch (BusinessException e) {
+            LOGGER.log(Level.WARNING, "Falha ao recalcular a jornada de " + driverDay + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Erro inesperado ao recalcular a jornada de " + driverDay + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void recompute(DriverDay driverDay) throws BusinessException {
+        int driverId = driverDay.getDriverId();
+        List<TimeRecord> records;
+        try {
+            records = timeRecordDAO.findByDriverIdAndDate(driverId, driverDay.getDate());
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar os registros de " + driverDay + ": " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao recalcular a jornada. Tente novamente mais tarde.", e);
+        }
+        if (journeyEngine != null) {
+            journeyEngine.reset(driverId);
+        }
+        if (records.isEmpty()) {
+            deleteJourney(driverDay);
+            return;
+        }
+        Journey journey = journeyService.calculateAndAuditJourney(driverId, records);
+        complianceService.performComplianceAudit(journey.getId());
+        LOGGER.log(Level.INFO, "Jornada de {0} recalculada e reauditada: status {1}.", new Object[]{driverDay, journey.getStatus()});
+    }
+
+    // Todos os registros do dia foram excluídos ou movidos: a jornada calculada deixa de existir.
+    private void deleteJourney(DriverDay driverDay) throws BusinessException {
+        try {
+            Optional<Journey> journey = journeyDAO.findByDriverIdAndDate(driverDay.getDriverId(), driverDay.getDate());
+            if (journey.isPresent()) {
+                journeyDAO.delete(journey.get().getId());
+                LOGGER.log(Level.INFO, "Jornada de {0} excluída: o dia não tem mais registros de ponto.", driverDay);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao excluir a jornada de " + driverDay + ": " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao recalcular a jornada. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public int getPendingCount() {
+        return pending.size() + lastChanges.size();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+        }
+    }
+}
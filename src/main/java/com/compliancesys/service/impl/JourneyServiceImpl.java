@@ -4,39 +4,57 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.compliancesys.config.UnitOfWork;
 import com.compliancesys.dao.JourneyDAO;
 import com.compliancesys.dao.TimeRecordDAO;
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.ActivityWindow;
+import com.compliancesys.model.DriverActivityIndex;
+import com.compliancesys.model.DriverDayTimeline;
 import com.compliancesys.model.Journey;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.TimeRecord;
 import com.compliancesys.model.enums.ComplianceStatus;
-import com.compliancesys.model.enums.EventType;
 import com.compliancesys.service.JourneyService;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import com.compliancesys.service.rules.SlidingWindowEvaluator;
 import com.compliancesys.util.TimeUtil;
 import com.compliancesys.util.Validator;
 
 public class JourneyServiceImpl implements JourneyService {
 
     private static final Logger LOGGER = Logger.getLogger(JourneyServiceImpl.class.getName());
+    // Registros anteriores à janela de atividades lidos para saber a atividade em curso no seu início.
+    private static final Duration ACTIVITY_LOOKBACK = Duration.ofHours(24);
     private final JourneyDAO journeyDAO;
     private final TimeRecordDAO timeRecordDAO;
     private final Validator validator;
     private final TimeUtil timeUtil;
-
-    private static final Duration MAX_DRIVING_TIME_DAILY = Duration.ofHours(10);
-    private static final Duration MIN_REST_TIME_DAILY = Duration.ofHours(11);
+    private final Supplier<JourneyRuleEngine> ruleEngineFactory; // O motor de regras não é thread-safe: um por cálculo.
 
     public JourneyServiceImpl(JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO, Validator validator, TimeUtil timeUtil) {
+        this(journeyDAO, timeRecordDAO, validator, timeUtil, JourneyRuleEngine::lei13103Intraday);
+    }
+
+    /**
+     * @param ruleEngineFactory Cria o motor com as regras da própria jornada; o descanso e a direção diários e a
+     *                          interjornada são verificados em janelas de 24 horas ({@link SlidingWindowEvaluator}).
+     */
+    public JourneyServiceImpl(JourneyDAO journeyDAO, TimeRecordDAO timeRecordDAO, Validator validator, TimeUtil timeUtil,
+                              Supplier<JourneyRuleEngine> ruleEngineFactory) {
         this.journeyDAO = journeyDAO;
         this.timeRecordDAO = timeRecordDAO;
         this.validator = validator;
         this.timeUtil = timeUtil;
+        this.ruleEngineFactory = ruleEngineFactory;
     }
 
     @Override
@@ -58,17 +76,19 @@ public class JourneyServiceImpl implements JourneyService {
         }
 
         try {
-            Optional<Journey> existingJourney = journeyDAO.findByDriverIdAndDate(journey.getDriverId(), journey.getJourneyDate());
-            if (existingJourney.isPresent()) {
-                throw new BusinessException("Já existe uma jornada registrada para o motorista " + journey.getDriverId() + " na data " + journey.getJourneyDate() + ".");
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<Journey> existingJourney = journeyDAO.findByDriverIdAndDate(journey.getDriverId(), journey.getJourneyDate());
+                if (existingJourney.isPresent()) {
+                    throw new BusinessException("Já existe uma jornada registrada para o motorista " + journey.getDriverId() + " na data " + journey.getJourneyDate() + ".");
+                }
 
-            journey.setCreatedAt(LocalDateTime.now());
-            journey.setUpdatedAt(LocalDateTime.now());
-            int id = journeyDAO.create(journey);
-            journey.setId(id);
-            LOGGER.log(Level.INFO, "Jornada criada com sucesso: ID {0}", id);
-            return journey;
+                journey.setCreatedAt(LocalDateTime.now());
+                journey.setUpdatedAt(LocalDateTime.now());
+                int id = journeyDAO.create(journey);
+                journey.setId(id);
+                LOGGER.log(Level.INFO, "Jornada criada com sucesso: ID {0}", id);
+                return journey;
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao criar jornada: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao criar jornada. Tente novamente mais tarde.", e);
@@ -98,6 +118,34 @@ public class JourneyServiceImpl implements JourneyService {
         }
     }
 
+    @Override
+    public Page<Journey> getJourneysPage(int afterId, int limit) throws BusinessException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<Journey> fetched = journeyDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, Journey::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de jornadas: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar as jornadas. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public Stream<Journey> streamJourneysByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("Período inválido: a data inicial deve ser anterior ou igual à data final.");
+        }
+        try {
+            return journeyDAO.streamByDateRange(startDate, endDate);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao exportar jornadas: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao exportar as jornadas. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public Journey updateJourney(Journey journey) throws BusinessException {
         if (journey == null || journey.getId() <= 0) {
@@ -117,21 +165,23 @@ public class JourneyServiceImpl implements JourneyService {
         }
 
         try {
-            Optional<Journey> existingJourney = journeyDAO.findById(journey.getId());
-            if (existingJourney.isEmpty()) {
-                throw new BusinessException("Jornada com ID " + journey.getId() + " não encontrada.");
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<Journey> existingJourney = journeyDAO.findById(journey.getId());
+                if (existingJourney.isEmpty()) {
+                    throw new BusinessException("Jornada com ID " + journey.getId() + " não encontrada.");
+                }
 
-            journey.setUpdatedAt(LocalDateTime.now());
-            journey.setCreatedAt(existingJourney.get().getCreatedAt());
+                journey.setUpdatedAt(LocalDateTime.now());
+                journey.setCreatedAt(existingJourney.get().getCreatedAt());
 
-            boolean updated = journeyDAO.update(journey);
-            if (updated) {
-                LOGGER.log(Level.INFO, "Jornada atualizada com sucesso: ID {0}", journey.getId());
-                return journey;
-            } else {
-                throw new BusinessException("Falha ao atualizar jornada. Nenhuma linha afetada.");
-            }
+                boolean updated = journeyDAO.update(journey);
+                if (updated) {
+                    LOGGER.log(Level.INFO, "Jornada atualizada com sucesso: ID {0}", journey.getId());
+                    return journey;
+                } else {
+                    throw new BusinessException("Falha ao atualizar jornada. Nenhuma linha afetada.");
+                }
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar jornada: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao atualizar jornada. Tente novamente mais tarde.", e);
@@ -144,18 +194,20 @@ public class JourneyServiceImpl implements JourneyService {
             throw new BusinessException("O ID da jornada deve ser um valor positivo para exclusão.");
         }
         try {
-            Optional<Journey> existingJourney = journeyDAO.findById(id);
-            if (existingJourney.isEmpty()) {
-                throw new BusinessException("Jornada com ID " + id + " não encontrada para exclusão.");
-            }
+            return UnitOfWork.execute(() -> {
+                Optional<Journey> existingJourney = journeyDAO.findById(id);
+                if (existingJourney.isEmpty()) {
+                    throw new BusinessException("Jornada com ID " + id + " não encontrada para exclusão.");
+                }
 
-            boolean deleted = journeyDAO.delete(id);
-            if (deleted) {
-                LOGGER.log(Level.INFO, "Jornada com ID {0} deletada com sucesso.", id);
-            } else {
-                LOGGER.log(Level.WARNING, "Falha ao deletar jornada com ID {0}.", id);
-            }
-            return deleted;
+                boolean deleted = journeyDAO.delete(id);
+                if (deleted) {
+                    LOGGER.log(Level.INFO, "Jornada com ID {0} deletada com sucesso.", id);
+                } else {
+                    LOGGER.log(Level.WARNING, "Falha ao deletar jornada com ID {0}.", id);
+                }
+                return deleted;
+            });
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao deletar jornada: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao deletar jornada. Tente novamente mais tarde.", e);
@@ -178,6 +230,20 @@ public class JourneyServiceImpl implements JourneyService {
         }
     }
 
+    @Override
+    public Map<Integer, List<Journey>> getJourneysByDriverIdsAndDate(int[] driverIds, LocalDate journeyDate) throws BusinessException {
+        validator.validateDriverIds(driverIds);
+        if (journeyDate == null) {
+            throw new BusinessException("Data da jornada não pode ser nula.");
+        }
+        try {
+            return journeyDAO.findByDriverIdsAndDateRange(driverIds, journeyDate, journeyDate);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar jornadas de vários motoristas por data: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar jornadas. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<Journey> getJourneysByDriverId(int driverId) throws BusinessException {
         if (driverId <= 0) {
@@ -200,82 +266,114 @@ public class JourneyServiceImpl implements JourneyService {
             throw new BusinessException("Nenhum registro de ponto fornecido para calcular a jornada.");
         }
 
-        timeRecords.sort(Comparator.comparing(TimeRecord::getRecordTime));
-
-        LocalDate journeyDate = timeRecords.get(0).getRecordTime().toLocalDate();
-
-        Duration totalDrivingTime = Duration.ZERO;
-        Duration totalRestTime = Duration.ZERO;
-        LocalDateTime lastEventTime = null;
-        EventType lastEventType = null;
-
+        LocalDateTime earliest = null;
         for (TimeRecord record : timeRecords) {
-            if (lastEventTime != null) {
-                Duration durationBetweenEvents = Duration.between(lastEventTime, record.getRecordTime());
-
-                if (lastEventType == EventType.START_DRIVING || lastEventType == EventType.RESUME_DRIVING) {
-                    totalDrivingTime = totalDrivingTime.plus(durationBetweenEvents);
-                } else if (lastEventType == EventType.START_REST || lastEventType == EventType.END_DRIVING) {
-                    totalRestTime = totalRestTime.plus(durationBetweenEvents);
-                }
+            if (record.getRecordTime() != null && (earliest == null || record.getRecordTime().isBefore(earliest))) {
+                earliest = record.getRecordTime();
             }
-            lastEventTime = record.getRecordTime();
-            lastEventType = record.getEventType();
+        }
+        if (earliest == null) {
+            throw new BusinessException("Nenhum registro de ponto com data/hora para calcular a jornada.");
         }
 
-        ComplianceStatus complianceStatus = ComplianceStatus.COMPLIANT;
-        boolean dailyLimitExceeded = false;
-
-        if (timeUtil.isAboveMinDuration(totalDrivingTime, MAX_DRIVING_TIME_DAILY)) {
-            complianceStatus = ComplianceStatus.NON_COMPLIANT;
-            dailyLimitExceeded = true;
+        // Linha do tempo primitiva do dia do primeiro registro: ordenação e totais sem alocação por evento.
+        // O primeiro e o último registros são encontrados na mesma passagem, sem ordenar a lista de objetos.
+        DriverDayTimeline timeline = new DriverDayTimeline(driverId, earliest.toLocalDate());
+        TimeRecord first = null;
+        TimeRecord last = null;
+        for (TimeRecord record : timeRecords) {
+            if (!timeline.add(record)) {
+                LOGGER.log(Level.WARNING, "Registro de ponto ignorado no cálculo da jornada de {0}: {1}",
+                        new Object[]{timeline.getJourneyDate(), record});
+                continue;
+            }
+            if (first == null || record.getRecordTime().isBefore(first.getRecordTime())) {
+                first = record;
+            }
+            if (last == null || !record.getRecordTime().isBefore(last.getRecordTime())) {
+                last = record;
+            }
+        }
+        if (first == null) {
+            throw new BusinessException("Nenhum registro de ponto do motorista " + driverId + " em " + timeline.getJourneyDate() + ".");
+        }
+        timeline.sort();
+        LocalDateTime dayStart = timeline.getJourneyDate().atStartOfDay();
+        SlidingWindowEvaluator window = loadPreviousWindow(driverId, dayStart);
+        JourneyRuleEngine rules = ruleEngineFactory.get();
+        for (int i = 0; i < timeline.size(); i++) {
+            rules.onEvent(timeline.getEventType(i), timeline.getTime(i));
+            window.onEvent(timeline.getEventType(i), timeline.getTime(i));
+        }
+        Journey journey = new Journey(driverId, first.getVehicleId(), timeline.getJourneyDate(), first.getRecordTime(), last.getRecordTime(),
+                first.getLocation(), last.getLocation(), timeline.getDrivingTime(), timeline.getRestTime(), timeline.getBreakTime(),
+                ComplianceStatus.PENDING, false);
+        // Mesma avaliação do JourneyEngine: as janelas que terminam no dia podem começar no dia anterior.
+        rules.applyTo(journey, window.getViolations(dayStart, dayStart.plusDays(1)));
+        if (!validator.isValidLocation(journey.getStartLocation())) {
+            throw new BusinessException("Local de início da jornada inválido.");
+        }
+        if (!validator.isValidLocation(journey.getEndLocation())) {
+            throw new BusinessException("Local de fim da jornada inválido.");
         }
-        if (!timeUtil.isAboveMinDuration(totalRestTime, MIN_REST_TIME_DAILY)) {
-            complianceStatus = ComplianceStatus.NON_COMPLIANT;
+        LocalDateTime now = LocalDateTime.now();
+        journey.setCreatedAt(now);
+        journey.setUpdatedAt(now);
+
+        try {
+            // Insere ou atualiza em um único comando; concorrência no mesmo motorista e data é resolvida pelo índice único.
+            Journey saved = journeyDAO.upsert(journey);
+            saved.setViolations(journey.getViolations());
+            LOGGER.log(Level.INFO, "Jornada gravada após cálculo: ID {0}", saved.getId());
+            return saved;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao calcular jornada: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao calcular jornada. Tente novamente mais tarde.", e);
         }
+    }
 
-        Optional<Journey> existingJourneyOptional;
+    /**
+     * Cria a janela de 24 horas do motorista com os registros gravados nas 24 horas anteriores ao início do dia.
+     */
+    private SlidingWindowEvaluator loadPreviousWindow(int driverId, LocalDateTime dayStart) throws BusinessException {
+        SlidingWindowEvaluator window = new SlidingWindowEvaluator();
         try {
-            existingJourneyOptional = journeyDAO.findByDriverIdAndDate(driverId, journeyDate);
+            for (TimeRecord record : timeRecordDAO.findByDriverIdAndTimeRange(driverId, dayStart.minus(SlidingWindowEvaluator.WINDOW), dayStart)) {
+                if (record.getRecordTime() != null && record.getEventType() != null) {
+                    window.onEvent(record);
+                }
+            }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar jornada existente para cálculo: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar os registros anteriores à jornada: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao calcular jornada. Tente novamente mais tarde.", e);
         }
+        return window;
+    }
 
-        Journey journey;
-        if (existingJourneyOptional.isPresent()) {
-            journey = existingJourneyOptional.get();
-            journey.setTotalDrivingTime(totalDrivingTime);
-            journey.setTotalRestTime(totalRestTime);
-            journey.setStatus(complianceStatus);
-            journey.setDailyLimitExceeded(dailyLimitExceeded);
-            journey.setStartLocation(timeRecords.get(0).getLocation());
-            journey.setEndLocation(timeRecords.get(timeRecords.size() - 1).getLocation());
-            journey.setStartTime(timeRecords.get(0).getRecordTime());
-            journey.setEndTime(timeRecords.get(timeRecords.size() - 1).getRecordTime());
-            journey.setVehicleId(timeRecords.get(0).getVehicleId());
-            updateJourney(journey);
-            LOGGER.log(Level.INFO, "Jornada existente atualizada após cálculo: ID {0}", journey.getId());
-        } else {
-            journey = new Journey(
-                    0,
-                    driverId,
-                    timeRecords.get(0).getVehicleId(),
-                    journeyDate,
-                    timeRecords.get(0).getRecordTime(),
-                    timeRecords.get(timeRecords.size() - 1).getRecordTime(),
-                    timeRecords.get(0).getLocation(),
-                    timeRecords.get(timeRecords.size() - 1).getLocation(),
-                    totalDrivingTime,
-                    totalRestTime,
-                    Duration.ZERO,
-                    complianceStatus,
-                    dailyLimitExceeded
-            );
-            journey = createJourney(journey);
-            LOGGER.log(Level.INFO, "Nova jornada criada após cálculo: ID {0}", journey.getId());
+    @Override
+    public DriverActivityIndex getActivityIndex(int driverId, LocalDateTime from, LocalDateTime to) throws BusinessException {
+        if (driverId <= 0) {
+            throw new BusinessException("ID do motorista inválido.");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException("Janela inválida: o início deve ser anterior ao fim.");
         }
+        // Valida os limites já arredondados ao minuto, como o índice os usa.
+        if (DriverActivityIndex.indexedSpan(from, to).compareTo(DriverActivityIndex.MAX_SPAN) > 0) {
+            throw new BusinessException("A janela deve ter no máximo " + DriverActivityIndex.MAX_SPAN.toDays() + " dias.");
+        }
+        try {
+            List<TimeRecord> records = timeRecordDAO.findByDriverIdAndTimeRange(driverId,
+                    from.minus(ACTIVITY_LOOKBACK), to);
+            return DriverActivityIndex.build(driverId, from, to, records, LocalDateTime.now());
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao indexar as atividades do motorista: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao consultar as atividades do motorista. Tente novamente mais tarde.", e);
+        }
+    }
 
-        return journey;
+    @Override
+    public ActivityWindow getActivityWindow(int driverId, LocalDateTime from, LocalDateTime to) throws BusinessException {
+        return ActivityWindow.of(getActivityIndex(driverId, from, to));
     }
-}
\ No newline at end of file
+}
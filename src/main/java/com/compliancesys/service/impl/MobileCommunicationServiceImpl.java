@@ -6,6 +6,7 @@ import com.compliancesys.dao.impl.MobileCommunicationDAOImpl;
 import com.compliancesys.dao.impl.TimeRecordDAOImpl; // CORRIGIDO: Para validar a existência do registro de ponto
 import com.compliancesys.exception.BusinessException;
 import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.TimeRecord; // CORRIGIDO: Para validar a existência do registro de ponto
 import com.compliancesys.service.MobileCommunicationService;
 
@@ -110,6 +111,21 @@ public class MobileCommunicationServiceImpl implements MobileCommunicationServic
         }
     }
 
+    @Override
+    public Page<MobileCommunication> getMobileCommunicationsPage(int afterId, int limit) throws BusinessException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<MobileCommunication> fetched = mobileCommunicationDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, MobileCommunication::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de comunicações móveis: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar as comunicações móveis. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<MobileCommunication> getMobileCommunicationsByRecordId(int recordId) throws BusinessException {
         if (recordId <= 0) {
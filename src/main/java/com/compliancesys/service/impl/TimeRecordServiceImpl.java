@@ -1,34 +1,191 @@
 package com.compliancesys.service.impl;
 
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.config.UnitOfWork;
 import com.compliancesys.dao.TimeRecordDAO;
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.DriverDay;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ActivityType;
 import com.compliancesys.model.enums.EventType;
+import com.compliancesys.service.JourneyEngine;
+import com.compliancesys.service.JourneyRecomputeService;
 import com.compliancesys.service.TimeRecordService;
+import com.compliancesys.service.ViolationAlertService;
+import com.compliancesys.service.rules.EventStateMachine;
+import com.compliancesys.util.LruCache;
 import com.compliancesys.util.Validator;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class TimeRecordServiceImpl implements TimeRecordService {
 
     private static final Logger LOGGER = Logger.getLogger(TimeRecordServiceImpl.class.getName());
+    private static final int DEFAULT_LAST_STATE_CACHE_SIZE = 10_000;
+    private static final int DRIVER_LOCK_STRIPES = 64;
 
     private final TimeRecordDAO timeRecordDAO;
     private final Validator validator;
+    private final JourneyEngine journeyEngine; // Opcional: atualiza a jornada do dia a cada registro criado.
+    private final ViolationAlertService alertService; // Opcional: agenda os alertas preventivos a cada registro criado.
+    private final JourneyRecomputeService recomputeService; // Opcional: recalcula em segundo plano os dias de registros atrasados.
+    // Último registro de cada motorista, para validar a sequência de eventos sem consultar o banco a cada marcação.
+    private final LruCache<Integer, TimeRecord> lastRecords;
+    private final ReentrantLock[] driverLocks = new ReentrantLock[DRIVER_LOCK_STRIPES];
 
     public TimeRecordServiceImpl(TimeRecordDAO timeRecordDAO, Validator validator) {
+        this(timeRecordDAO, validator, null, null);
+    }
+
+    public TimeRecordServiceImpl(TimeRecordDAO timeRecordDAO, Validator validator, JourneyEngine journeyEngine) {
+        this(timeRecordDAO, validator, journeyEngine, null);
+    }
+
+    public TimeRecordServiceImpl(TimeRecordDAO timeRecordDAO, Validator validator, JourneyEngine journeyEngine,
+                                 ViolationAlertService alertService) {
+        this(timeRecordDAO, validator, journeyEngine, alertService, null);
+    }
+
+    public TimeRecordServiceImpl(TimeRecordDAO timeRecordDAO, Validator validator, JourneyEngine journeyEngine,
+                                 ViolationAlertService alertService, JourneyRecomputeService recomputeService) {
+        this(timeRecordDAO, validator, journeyEngine, alertService, recomputeService,
+                DatabaseConfig.getIntProperty("timerecord.lastStateCacheSize", DEFAULT_LAST_STATE_CACHE_SIZE));
+    }
+
+    public TimeRecordServiceImpl(TimeRecordDAO timeRecordDAO, Validator validator, JourneyEngine journeyEngine,
+                                 ViolationAlertService alertService, JourneyRecomputeService recomputeService,
+                                 int lastStateCacheSize) {
         this.timeRecordDAO = timeRecordDAO;
         this.validator = validator;
+        this.journeyEngine = journeyEngine;
+        this.alertService = alertService;
+        this.recomputeService = recomputeService;
+        this.lastRecords = new LruCache<>(lastStateCacheSize);
+        for (int i = 0; i < driverLocks.length; i++) {
+            driverLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
     public TimeRecord createTimeRecord(TimeRecord timeRecord) throws BusinessException {
+        validateNewTimeRecord(timeRecord);
+
+        try {
+            TimeRecord last;
+            // A validação e a gravação são serializadas por motorista para que duas marcações simultâneas
+            // não sejam validadas contra o mesmo estado anterior.
+            List<ReentrantLock> locks = lockDrivers(Collections.singleton(timeRecord.getDriverId()));
+            try {
+                last = findLastRecord(timeRecord.getDriverId());
+                validateTransition(last, timeRecord);
+                timeRecord.setCreatedAt(LocalDateTime.now());
+                timeRecord.setUpdatedAt(LocalDateTime.now());
+                int id = timeRecordDAO.create(timeRecord);
+                timeRecord.setId(id);
+                rememberLastRecord(last, timeRecord);
+            } finally {
+                unlock(locks);
+            }
+            LOGGER.log(Level.INFO, "Registro de ponto criado com sucesso: ID {0}", timeRecord.getId());
+            dispatch(timeRecord, last);
+            return timeRecord;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao criar registro de ponto: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao criar o registro de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public List<TimeRecord> createTimeRecords(List<TimeRecord> timeRecords) throws BusinessException {
+        if (timeRecords == null || timeRecords.isEmpty()) {
+            throw new BusinessException("A lista de registros de ponto não pode ser nula ou vazia.");
+        }
+        // Valida todos os registros antes de enviar qualquer um ao banco.
+        for (TimeRecord timeRecord : timeRecords) {
+            validateNewTimeRecord(timeRecord);
+        }
+
+        try {
+            List<TimeRecord> ordered = new ArrayList<>(timeRecords);
+            ordered.sort(Comparator.comparing(TimeRecord::getRecordTime));
+            Map<Integer, TimeRecord> previous = new HashMap<>();
+            Map<Integer, TimeRecord> lastBefore = new HashMap<>();
+            Set<Integer> driverIds = new HashSet<>();
+            for (TimeRecord timeRecord : timeRecords) {
+                driverIds.add(timeRecord.getDriverId());
+            }
+            // Como na marcação individual, a validação e a gravação são serializadas com as demais marcações
+            // dos mesmos motoristas; todos os motoristas do lote ficam bloqueados até a gravação terminar.
+            List<ReentrantLock> locks = lockDrivers(driverIds);
+            try {
+                // Valida a sequência de cada motorista em ordem cronológica, a partir do último registro conhecido.
+                for (TimeRecord timeRecord : ordered) {
+                    int driverId = timeRecord.getDriverId();
+                    if (!lastBefore.containsKey(driverId)) {
+                        TimeRecord last = findLastRecord(driverId);
+                        lastBefore.put(driverId, last);
+                        previous.put(driverId, last);
+                    }
+                    TimeRecord last = previous.get(driverId);
+                    validateTransition(last, timeRecord);
+                    if (last == null || !timeRecord.getRecordTime().isBefore(last.getRecordTime())) {
+                        previous.put(driverId, timeRecord);
+                    }
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                for (TimeRecord timeRecord : timeRecords) {
+                    timeRecord.setCreatedAt(now);
+                    timeRecord.setUpdatedAt(now);
+                }
+                List<Integer> ids = timeRecordDAO.createBatch(timeRecords);
+                for (int i = 0; i < timeRecords.size(); i++) {
+                    timeRecords.get(i).setId(ids.get(i));
+                }
+                for (Map.Entry<Integer, TimeRecord> entry : previous.entrySet()) {
+                    rememberLastRecord(lastBefore.get(entry.getKey()), entry.getValue());
+                }
+            } finally {
+                unlock(locks);
+            }
+            LOGGER.log(Level.INFO, "{0} registros de ponto criados em lote.", timeRecords.size());
+            // Aplica em ordem cronológica para manter o caminho incremental do motor de jornada e dos alertas;
+            // só os registros anteriores à marca d'água de antes do lote são tratados como atrasados.
+            for (TimeRecord timeRecord : ordered) {
+                dispatch(timeRecord, lastBefore.get(timeRecord.getDriverId()));
+            }
+            return timeRecords;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao criar registros de ponto em lote: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao criar os registros de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
+    /**
+     * Valida os campos obrigatórios de um registro de ponto a ser criado.
+     * @param timeRecord O registro a ser validado.
+     * @throws BusinessException Se algum campo for inválido.
+     */
+    private void validateNewTimeRecord(TimeRecord timeRecord) throws BusinessException {
         if (timeRecord == null) {
             throw new BusinessException("Registro de ponto não pode ser nulo.");
         }
@@ -47,17 +204,67 @@ public class TimeRecordServiceImpl implements TimeRecordService {
         if (!validator.isValidLocation(timeRecord.getLocation())) {
             throw new BusinessException("Localização inválida.");
         }
+    }
 
-        try {
-            timeRecord.setCreatedAt(LocalDateTime.now());
-            timeRecord.setUpdatedAt(LocalDateTime.now());
-            int id = timeRecordDAO.create(timeRecord);
-            timeRecord.setId(id);
-            LOGGER.log(Level.INFO, "Registro de ponto criado com sucesso: ID {0}", timeRecord.getId());
-            return timeRecord;
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erro de SQL ao criar registro de ponto: " + e.getMessage(), e);
-            throw new BusinessException("Erro interno ao criar o registro de ponto. Tente novamente mais tarde.", e);
+    /**
+     * Retorna o último registro do motorista: do cache, ou com uma única consulta indexada na primeira
+     * marcação do motorista desde que ele entrou no cache.
+     */
+    private TimeRecord findLastRecord(int driverId) throws SQLException {
+        TimeRecord last = lastRecords.get(driverId);
+        if (last == null) {
+            last = timeRecordDAO.findLastByDriverId(driverId).orElse(null);
+            lastRecords.put(driverId, last);
+        }
+        return last;
+    }
+
+    // Um registro atrasado não altera o último estado do motorista.
+    private void rememberLastRecord(TimeRecord last, TimeRecord timeRecord) {
+        if (last == null || !timeRecord.getRecordTime().isBefore(last.getRecordTime())) {
+            lastRecords.put(timeRecord.getDriverId(), timeRecord);
+        }
+    }
+
+    /**
+     * Verifica se o evento pode ocorrer após o último registro do motorista, conforme {@link EventStateMachine}.
+     * Registros anteriores ao último evento conhecido (atrasados) não são validados aqui: a sequência do dia
+     * é conferida quando a jornada é recalculada.
+     * @throws BusinessException Se a transição não é permitida.
+     */
+    private static void validateTransition(TimeRecord last, TimeRecord timeRecord) throws BusinessException {
+        if (last != null && timeRecord.getRecordTime().isBefore(last.getRecordTime())) {
+            return;
+        }
+        ActivityType state = EventStateMachine.stateAt(last, timeRecord.getRecordTime());
+        if (!EventStateMachine.isAllowed(state, timeRecord.getEventType())) {
+            String previous = state == ActivityType.OFF_DUTY ? "fora de jornada" : last.getEventType().name();
+            throw new BusinessException("Sequência de eventos inválida para o motorista " + timeRecord.getDriverId()
+                    + ": " + timeRecord.getEventType() + " após " + previous + ".");
+        }
+    }
+
+    /**
+     * Bloqueia as faixas de lock dos motoristas em ordem crescente de faixa, a mesma para lotes e marcações
+     * individuais, o que evita deadlock entre lotes simultâneos. Motoristas da mesma faixa compartilham o lock.
+     * @return Os locks obtidos, a liberar com {@link #unlock(List)}.
+     */
+    private List<ReentrantLock> lockDrivers(Collection<Integer> driverIds) {
+        SortedSet<Integer> stripes = new TreeSet<>();
+        for (int driverId : driverIds) {
+            stripes.add(Math.floorMod(driverId, driverLocks.length));
+        }
+        List<ReentrantLock> locked = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            driverLocks[stripe].lock();
+            locked.add(driverLocks[stripe]);
+        }
+        return locked;
+    }
+
+    private static void unlock(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
         }
     }
 
@@ -84,6 +291,34 @@ public class TimeRecordServiceImpl implements TimeRecordService {
         }
     }
 
+    @Override
+    public Page<TimeRecord> getTimeRecordsPage(int afterId, int limit) throws BusinessException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<TimeRecord> fetched = timeRecordDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, TimeRecord::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de registros de ponto: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar os registros de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public Stream<TimeRecord> streamTimeRecordsByPeriod(LocalDate startDate, LocalDate endDate) throws BusinessException {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("Período inválido: a data inicial deve ser anterior ou igual à data final.");
+        }
+        try {
+            return timeRecordDAO.streamByPeriod(startDate, endDate);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao exportar registros de ponto: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao exportar os registros de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<TimeRecord> getTimeRecordsByDriverIdAndDate(int driverId, LocalDate date) throws BusinessException {
         if (driverId <= 0) {
@@ -100,6 +335,36 @@ public class TimeRecordServiceImpl implements TimeRecordService {
         }
     }
 
+    @Override
+    public Map<Integer, List<TimeRecord>> getTimeRecordsByDriverIdsAndDate(int[] driverIds, LocalDate date) throws BusinessException {
+        validator.validateDriverIds(driverIds);
+        if (date == null) {
+            throw new BusinessException("Data não pode ser nula.");
+        }
+        try {
+            return timeRecordDAO.findByDriverIdsAndDateRange(driverIds, date, date);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar registros de ponto de vários motoristas por data: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar registros de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
+    @Override
+    public List<TimeRecord> getTimeRecordsByVehicleIdAndDate(int vehicleId, LocalDate date) throws BusinessException {
+        if (vehicleId <= 0) {
+            throw new BusinessException("ID do veículo inválido.");
+        }
+        if (date == null) {
+            throw new BusinessException("Data não pode ser nula.");
+        }
+        try {
+            return timeRecordDAO.findByVehicleIdAndTimeRange(vehicleId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar registros de ponto por veículo e data: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar registros de ponto. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public List<TimeRecord> getTimeRecordsByDriverId(int driverId) throws BusinessException {
         if (driverId <= 0) {
@@ -135,22 +400,26 @@ public class TimeRecordServiceImpl implements TimeRecordService {
         }
 
         try {
-            Optional<TimeRecord> existingRecord = timeRecordDAO.findById(timeRecord.getId());
-            if (existingRecord.isEmpty()) {
-                throw new BusinessException("Registro de ponto com ID " + timeRecord.getId() + " não encontrado para atualização.");
-            }
+            TimeRecord previous = UnitOfWork.execute(() -> {
+                Optional<TimeRecord> existingRecord = timeRecordDAO.findById(timeRecord.getId());
+                if (existingRecord.isEmpty()) {
+                    throw new BusinessException("Registro de ponto com ID " + timeRecord.getId() + " não encontrado para atualização.");
+                }
 
-            timeRecord.setUpdatedAt(LocalDateTime.now());
-            // Mantém a data de criação original
-            timeRecord.setCreatedAt(existingRecord.get().getCreatedAt());
+                timeRecord.setUpdatedAt(LocalDateTime.now());
+                // Mantém a data de criação original
+                timeRecord.setCreatedAt(existingRecord.get().getCreatedAt());
 
-            boolean updated = timeRecordDAO.update(timeRecord);
-            if (updated) {
-                LOGGER.log(Level.INFO, "Registro de ponto atualizado com sucesso: ID {0}", timeRecord.getId());
-                return timeRecord;
-            } else {
-                throw new BusinessException("Falha ao atualizar o registro de ponto. Nenhuma linha afetada.");
-            }
+                boolean updated = timeRecordDAO.update(timeRecord);
+                if (!updated) {
+                    throw new BusinessException("Falha ao atualizar o registro de ponto. Nenhuma linha afetada.");
+                }
+                return existingRecord.get();
+            });
+            // Fora da transação: o recálculo só deve ler os registros depois de confirmados.
+            recordChanged(previous, timeRecord);
+            LOGGER.log(Level.INFO, "Registro de ponto atualizado com sucesso: ID {0}", timeRecord.getId());
+            return timeRecord;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar registro de ponto: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao atualizar o registro de ponto. Tente novamente mais tarde.", e);
@@ -163,21 +432,92 @@ public class TimeRecordServiceImpl implements TimeRecordService {
             throw new BusinessException("O ID do registro de ponto deve ser um valor positivo para exclusão.");
         }
         try {
-            Optional<TimeRecord> existingRecord = timeRecordDAO.findById(id);
-            if (existingRecord.isEmpty()) {
-                throw new BusinessException("Registro de ponto com ID " + id + " não encontrado para exclusão.");
-            }
-
-            boolean deleted = timeRecordDAO.delete(id);
-            if (deleted) {
-                LOGGER.log(Level.INFO, "Registro de ponto com ID {0} deletado com sucesso.", id);
-            } else {
+            TimeRecord deleted = UnitOfWork.execute(() -> {
+                Optional<TimeRecord> existingRecord = timeRecordDAO.findById(id);
+                if (existingRecord.isEmpty()) {
+                    throw new BusinessException("Registro de ponto com ID " + id + " não encontrado para exclusão.");
+                }
+                return timeRecordDAO.delete(id) ? existingRecord.get() : null;
+            });
+            if (deleted == null) {
                 LOGGER.log(Level.WARNING, "Falha ao deletar registro de ponto com ID {0}.", id);
+                return false;
             }
-            return deleted;
+            recordChanged(deleted, null);
+            LOGGER.log(Level.INFO, "Registro de ponto com ID {0} deletado com sucesso.", id);
+            return true;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erro de SQL ao deletar registro de ponto: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao deletar o registro de ponto. Tente novamente mais tarde.", e);
         }
     }
+
+    /**
+     * Encaminha o registro recém-criado. Um registro anterior à marca d'água do motorista (o último registro
+     * conhecido) altera jornadas já calculadas: com um {@link JourneyRecomputeService}, os dias afetados são
+     * recalculados em segundo plano, em vez de o motor de jornada reler o dia durante a requisição.
+     * @param timeRecord O registro criado.
+     * @param last O último registro do motorista antes deste, ou null.
+     */
+    private void dispatch(TimeRecord timeRecord, TimeRecord last) {
+        boolean late = last != null && timeRecord.getRecordTime().isBefore(last.getRecordTime());
+        if (late && recomputeService != null) {
+            recomputeService.onLateTimeRecord(timeRecord, last.getRecordTime());
+        } else {
+            updateJourney(timeRecord);
+        }
+    }
+
+    /**
+     * Aplica o registro recém-criado ao motor de jornada e aos alertas preventivos. Uma falha aqui não desfaz
+     * o registro de ponto: a jornada pode ser recalculada depois com JourneyService.calculateAndAuditJourney.
+     */
+    private void updateJourney(TimeRecord timeRecord) {
+        if (journeyEngine != null) {
+            try {
+                journeyEngine.onTimeRecord(timeRecord);
+            } catch (BusinessException e) {
+                LOGGER.log(Level.WARNING, "Falha ao atualizar a jornada do motorista " + timeRecord.getDriverId()
+                        + " após o registro de ponto " + timeRecord.getId() + ": " + e.getMessage(), e);
+            }
+        }
+        if (alertService != null) {
+            try {
+                alertService.onTimeRecord(timeRecord);
+            } catch (BusinessException e) {
+                LOGGER.log(Level.WARNING, "Falha ao agendar os alertas do motorista " + timeRecord.getDriverId()
+                        + " após o registro de ponto " + timeRecord.getId() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Registros alterados ou excluídos invalidam o estado incremental do motorista (o próximo registro relê o dia)
+     * e agendam, com debounce, o recálculo das jornadas dos dias afetados: o dia original e, se o registro
+     * mudou de dia ou de motorista, o novo.
+     * @param before O registro como estava no banco.
+     * @param after O registro alterado, ou null se foi excluído.
+     */
+    private void recordChanged(TimeRecord before, TimeRecord after) {
+        resetJourney(before.getDriverId());
+        if (after != null && after.getDriverId() != before.getDriverId()) {
+            resetJourney(after.getDriverId());
+        }
+        if (recomputeService != null) {
+            recomputeService.scheduleDebounced(new DriverDay(before.getDriverId(), before.getRecordTime().toLocalDate()));
+            if (after != null) {
+                recomputeService.scheduleDebounced(new DriverDay(after.getDriverId(), after.getRecordTime().toLocalDate()));
+            }
+        }
+    }
+
+    private void resetJourney(int driverId) {
+        lastRecords.remove(driverId);
+        if (journeyEngine != null) {
+            journeyEngine.reset(driverId);
+        }
+        if (alertService != null) {
+            alertService.cancelAlerts(driverId);
+        }
+    }
 }
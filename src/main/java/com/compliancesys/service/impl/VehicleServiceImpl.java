@@ -9,6 +9,7 @@ import java.util.logging.Logger;
 
 import com.compliancesys.dao.VehicleDAO;
 import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Page;
 import com.compliancesys.model.Vehicle;
 import com.compliancesys.service.VehicleService;
 import com.compliancesys.util.Validator;
@@ -16,6 +17,7 @@ import com.compliancesys.util.Validator;
 public class VehicleServiceImpl implements VehicleService {
 
     private static final Logger LOGGER = Logger.getLogger(VehicleServiceImpl.class.getName());
+    private static final String UNIQUE_VIOLATION = "23505"; // SQLState de violação de restrição de unicidade.
     private final VehicleDAO vehicleDAO;
     private final Validator validator; // Injeta o Validator
 
@@ -47,7 +49,7 @@ public class VehicleServiceImpl implements VehicleService {
 
         try {
             // Verifica se já existe um veículo com a mesma placa
-            if (vehicleDAO.findByPlate(vehicle.getPlate()).isPresent()) {
+            if (vehicleDAO.existsByPlate(vehicle.getPlate())) {
                 throw new BusinessException("Já existe um veículo cadastrado com esta placa.");
             }
 
@@ -58,6 +60,9 @@ public class VehicleServiceImpl implements VehicleService {
             LOGGER.log(Level.INFO, "Veículo registrado com sucesso: ID {0}", id);
             return vehicle;
         } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) { // Placa gravada por outro nó ou por carga em lote, fora do filtro de placas.
+                throw new BusinessException("Já existe um veículo cadastrado com esta placa.", e);
+            }
             LOGGER.log(Level.SEVERE, "Erro de SQL ao registrar veículo: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao registrar veículo. Tente novamente mais tarde.", e);
         }
@@ -99,6 +104,21 @@ public class VehicleServiceImpl implements VehicleService {
         }
     }
 
+    @Override
+    public Page<Vehicle> getVehiclesPage(int afterId, int limit) throws BusinessException, SQLException {
+        if (!Page.isValidRequest(afterId, limit)) {
+            throw new BusinessException("Parâmetros de paginação inválidos: after deve ser maior ou igual a zero e limit entre 1 e " + Page.MAX_LIMIT + ".");
+        }
+        try {
+            // Busca um item a mais apenas para saber se existe uma próxima página.
+            List<Vehicle> fetched = vehicleDAO.findPage(afterId, limit + 1);
+            return Page.of(fetched, limit, Vehicle::getId);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de SQL ao buscar página de veículos: " + e.getMessage(), e);
+            throw new BusinessException("Erro interno ao buscar os veículos. Tente novamente mais tarde.", e);
+        }
+    }
+
     @Override
     public Vehicle updateVehicle(Vehicle vehicle) throws BusinessException, SQLException {
         if (vehicle == null || vehicle.getId() <= 0) {
@@ -128,7 +148,7 @@ public class VehicleServiceImpl implements VehicleService {
 
             // Verifica se a placa foi alterada e se a nova placa já existe para outro veículo
             if (!existingVehicle.get().getPlate().equals(vehicle.getPlate())) {
-                if (vehicleDAO.findByPlate(vehicle.getPlate()).isPresent()) {
+                if (vehicleDAO.existsByPlate(vehicle.getPlate())) {
                     throw new BusinessException("Já existe outro veículo cadastrado com a placa informada.");
                 }
             }
@@ -144,6 +164,9 @@ public class VehicleServiceImpl implements VehicleService {
                 throw new BusinessException("Falha ao atualizar veículo. Nenhuma linha afetada.");
             }
         } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw new BusinessException("Já existe outro veículo cadastrado com a placa informada.", e);
+            }
             LOGGER.log(Level.SEVERE, "Erro de SQL ao atualizar veículo: " + e.getMessage(), e);
             throw new BusinessException("Erro interno ao atualizar veículo. Tente novamente mais tarde.", e);
         }
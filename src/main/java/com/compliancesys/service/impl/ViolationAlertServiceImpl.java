@@ -0,0 +1,316 @@
+package com.compliancesys.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.ViolationAlert;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.ViolationAlertService;
+import com.compliancesys.service.alerts.AlertSink;
+import com.compliancesys.service.rules.ContinuousDrivingRule;
+import com.compliancesys.service.rules.DailyDrivingRule;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import com.compliancesys.util.HashedTimerWheel;
+import com.compliancesys.util.HashedTimerWheel.Timeout;
+
+/**
+ * Implementação de {@link ViolationAlertService} com uma {@link HashedTimerWheel}: agendar e cancelar um
+ * alerta custa O(1), e cada tick só visita os alertas da sua posição na roda, o que mantém dezenas de
+ * milhares de alertas ativos baratos. Uma thread daemon avança a roda a cada tick e entrega os alertas
+ * vencidos aos destinos ({@link AlertSink}).
+ *
+ * Os prazos são medidos a partir do horário do registro, limitado ao instante da chegada: um dispositivo com
+ * relógio adiantado não adia o alerta, e um registro enviado com atraso (ex.: em lote) só agenda os prazos que
+ * ainda não passaram. O alerta dispara quando faltar o tempo de antecedência configurado, contado pelo relógio
+ * do servidor. Registros fora de ordem são ignorados pelos alertas.
+ *
+ * Os tempos de um motorista são descartados no fim da jornada (END_JOURNEY ou OUT); o próximo registro
+ * recomeça a contagem.
+ */
+public class ViolationAlertServiceImpl implements ViolationAlertService {
+
+    private static final Logger LOGGER = Logger.getLogger(ViolationAlertServiceImpl.class.getName());
+    private static final long DEFAULT_LEAD_MINUTES = 15;
+    private static final long DEFAULT_TICK_MILLIS = 1000;
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final long MAX_CONTINUOUS_DRIVING_SECONDS = ContinuousDrivingRule.MAX_CONTINUOUS_DRIVING.getSeconds();
+    private static final long MIN_BREAK_SECONDS = ContinuousDrivingRule.MIN_BREAK.getSeconds();
+    private static final long MAX_DAILY_DRIVING_SECONDS = DailyDrivingRule.MAX_DRIVING_TIME_DAILY.getSeconds();
+
+    private final List<AlertSink> sinks;
+    private final long leadSeconds;
+    private final LongSupplier clock;
+    private final HashedTimerWheel<PendingAlert> wheel;
+    private final ConcurrentMap<Integer, DriverAlertState> states = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Construtor padrão: antecedência (alerts.leadMinutes) e duração do tick (alerts.tickMillis) lidas da
+     * configuração; a thread que dispara os alertas é iniciada imediatamente.
+     * @param sinks Os destinos dos alertas.
+     */
+    public ViolationAlertServiceImpl(List<AlertSink> sinks) {
+        this(sinks, Duration.ofMinutes(DatabaseConfig.getLongProperty("alerts.leadMinutes", DEFAULT_LEAD_MINUTES)),
+                DatabaseConfig.getLongProperty("alerts.tickMillis", DEFAULT_TICK_MILLIS), System::currentTimeMillis);
+        start();
+    }
+
+    /**
+     * Construtor com parâmetros explícitos; a roda só avança com {@link #tick()} ou após {@link #start()}.
+     * @param sinks Os destinos dos alertas.
+     * @param leadTime Antecedência do alerta em relação ao limite.
+     * @param tickMillis Precisão dos alertas em milissegundos.
+     * @param clock Relógio do servidor em milissegundos.
+     */
+    public ViolationAlertServiceImpl(List<AlertSink> sinks, Duration leadTime, long tickMillis, LongSupplier clock) {
+        if (leadTime.isNegative()) {
+            throw new IllegalArgumentException("A antecedência dos alertas não pode ser negativa.");
+        }
+        this.sinks = new ArrayList<>(sinks);
+        this.leadSeconds = leadTime.getSeconds();
+        this.clock = clock;
+        this.wheel = new HashedTimerWheel<>(tickMillis, TICKS_PER_WHEEL, clock.getAsLong());
+    }
+
+    /**
+     * Inicia a thread daemon que avança a roda a cada tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "violation-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = wheel.getTickMillis();
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) { // Uma falha não pode interromper os próximos ticks.
+                LOGGER.log(Level.SEVERE, "Erro ao disparar alertas preventivos: " + e.getMessage(), e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Avança a roda até o instante atual e entrega os alertas vencidos.
+     * @return A quantidade de alertas disparados.
+     */
+    public int tick() {
+        return wheel.advanceTo(clock.getAsLong(), this::fire);
+    }
+
+    @Override
+    public void onTimeRecord(TimeRecord timeRecord) throws BusinessException {
+        if (timeRecord == null || timeRecord.getDriverId() <= 0) {
+            throw new BusinessException("Registro de ponto ou ID do motorista inválido.");
+        }
+        if (timeRecord.getRecordTime() == null || timeRecord.getEventType() == null) {
+            throw new BusinessException("Data/hora e tipo de evento do registro são obrigatórios.");
+        }
+        int driverId = timeRecord.getDriverId();
+        long time = JourneyRuleEngine.toEpochSecond(timeRecord.getRecordTime());
+        while (true) {
+            DriverAlertState state = states.computeIfAbsent(driverId, id -> new DriverAlertState());
+            synchronized (state) {
+                if (!state.discarded) {
+                    apply(driverId, state, timeRecord, time);
+                    return;
+                }
+            }
+            // Estado descartado por outra thread entre a busca e o bloqueio: usa o que estiver no mapa.
+        }
+    }
+
+    // Chamado com o estado do motorista bloqueado.
+    private void apply(int driverId, DriverAlertState state, TimeRecord timeRecord, long time) {
+        if (state.activity != null) {
+            if (time < state.lastEventTime) {
+                LOGGER.log(Level.FINE, "Registro fora de ordem ignorado nos alertas do motorista {0}: {1}",
+                        new Object[]{driverId, timeRecord});
+                return;
+            }
+            state.accumulate(time - state.lastEventTime);
+        }
+        LocalDate day = timeRecord.getRecordTime().toLocalDate();
+        if (!day.equals(state.day)) {
+            state.day = day;
+            state.dailyDrivingSeconds = 0;
+        }
+        state.activity = ActivityType.startedBy(timeRecord.getEventType());
+        state.lastEventTime = time;
+
+        state.cancelTimeouts(); // Pausas e demais eventos cancelam; a retomada da direção reagenda.
+        if (state.activity == ActivityType.DRIVING) {
+            long now = clock.getAsLong();
+            // Horário do registro no relógio do servidor, limitado à chegada (relógio do dispositivo adiantado).
+            long recordMillis = Math.min(now, timeRecord.getRecordTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            state.continuousTimeout = schedule(driverId, ViolationType.CONTINUOUS_DRIVING, timeRecord.getRecordTime(),
+                    MAX_CONTINUOUS_DRIVING_SECONDS - state.continuousDrivingSeconds, recordMillis, now);
+            state.dailyTimeout = schedule(driverId, ViolationType.DAILY_DRIVING, timeRecord.getRecordTime(),
+                    MAX_DAILY_DRIVING_SECONDS - state.dailyDrivingSeconds, recordMillis, now);
+        } else if (state.activity == ActivityType.OFF_DUTY) {
+            state.discarded = true; // Fim de jornada: nada a acompanhar até o próximo registro.
+            states.remove(driverId, state);
+        }
+    }
+
+    /**
+     * Agenda o alerta de um limite contado a partir do registro. Se o limite já foi ultrapassado, não há o que
+     * prevenir: a violação é apontada pela auditoria da jornada. Se faltar menos que a antecedência, o alerta
+     * dispara no próximo tick.
+     */
+    private Timeout<PendingAlert> schedule(int driverId, ViolationType type, LocalDateTime recordTime, long remainingSeconds,
+                                           long recordMillis, long nowMillis) {
+        long limitAtMillis = recordMillis + remainingSeconds * 1000;
+        if (remainingSeconds <= 0 || limitAtMillis <= nowMillis) {
+            return null;
+        }
+        long alertAtMillis = Math.max(nowMillis, limitAtMillis - leadSeconds * 1000);
+        return wheel.schedule(new PendingAlert(driverId, type, recordTime.plusSeconds(remainingSeconds), limitAtMillis), alertAtMillis);
+    }
+
+    private void fire(PendingAlert pending) {
+        Duration remaining = Duration.ofSeconds(Math.max(0, pending.limitAtMillis - clock.getAsLong()) / 1000);
+        ViolationAlert alert = new ViolationAlert(pending.driverId, pending.type, pending.expectedAt, remaining,
+                message(pending, remaining), LocalDateTime.now());
+        for (AlertSink sink : sinks) {
+            try {
+                sink.send(alert);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Falha ao entregar alerta preventivo a " + sink.getClass().getSimpleName() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static String message(PendingAlert pending, Duration remaining) {
+        String limit = pending.type == ViolationType.CONTINUOUS_DRIVING
+                ? "a direção contínua atingirá " + hours(MAX_CONTINUOUS_DRIVING_SECONDS)
+                : "o tempo de direção do dia atingirá " + hours(MAX_DAILY_DRIVING_SECONDS);
+        return "Motorista " + pending.driverId + ": " + limit + " em " + remaining.toMinutes() + " minutos (previsto para "
+                + pending.expectedAt + "). Programe uma pausa.";
+    }
+
+    private static String hours(long seconds) {
+        long minutes = (seconds % 3600) / 60;
+        return (seconds / 3600) + "h" + (minutes > 0 ? String.format("%02d", minutes) : "");
+    }
+
+    @Override
+    public void cancelAlerts(int driverId) {
+        DriverAlertState state = states.remove(driverId);
+        if (state != null) {
+            synchronized (state) {
+                state.discarded = true;
+                state.cancelTimeouts();
+            }
+        }
+    }
+
+    @Override
+    public int getActiveAlertCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Quantidade de motoristas com tempos acumulados em memória (em jornada).
+     */
+    public int getTrackedDriverCount() {
+        return states.size();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Alerta agendado na roda.
+     */
+    private static final class PendingAlert {
+        private final int driverId;
+        private final ViolationType type;
+        private final LocalDateTime expectedAt;
+        private final long limitAtMillis; // Instante do limite no relógio do servidor.
+
+        private PendingAlert(int driverId, ViolationType type, LocalDateTime expectedAt, long limitAtMillis) {
+            this.driverId = driverId;
+            this.type = type;
+            this.expectedAt = expectedAt;
+            this.limitAtMillis = limitAtMillis;
+        }
+    }
+
+    /**
+     * Tempos acumulados de um motorista, com as mesmas regras de {@link ContinuousDrivingRule}:
+     * pausas, refeições, descanso e fim de jornada somam até 30 minutos para zerar a direção contínua.
+     */
+    private static final class DriverAlertState {
+        private LocalDate day;
+        private ActivityType activity;
+        private long lastEventTime;
+        private long continuousDrivingSeconds;
+        private long pauseSeconds;
+        private long dailyDrivingSeconds;
+        private Timeout<PendingAlert> continuousTimeout;
+        private Timeout<PendingAlert> dailyTimeout;
+        private boolean discarded; // Removido do mapa: o próximo registro cria outro estado.
+
+        private void accumulate(long seconds) {
+            switch (activity) {
+                case DRIVING:
+                    continuousDrivingSeconds += seconds;
+                    dailyDrivingSeconds += seconds;
+                    break;
+                case BREAK:
+                case MEAL:
+                case REST:
+                case OFF_DUTY:
+                    if (continuousDrivingSeconds == 0) {
+                        break; // Sem trecho de direção aberto, não há o que interromper.
+                    }
+                    pauseSeconds += seconds;
+                    if (pauseSeconds >= MIN_BREAK_SECONDS) {
+                        continuousDrivingSeconds = 0;
+                        pauseSeconds = 0;
+                    }
+                    break;
+                default:
+                    break; // Trabalho sem direção e espera não contam como pausa.
+            }
+        }
+
+        private void cancelTimeouts() {
+            if (continuousTimeout != null) {
+                continuousTimeout.cancel();
+                continuousTimeout = null;
+            }
+            if (dailyTimeout != null) {
+                dailyTimeout.cancel();
+                dailyTimeout = null;
+            }
+        }
+    }
+}
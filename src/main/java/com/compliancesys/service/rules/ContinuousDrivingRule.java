@@ -0,0 +1,90 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Direção ininterrupta: no máximo 5h30 de direção sem uma pausa de 30 minutos.
+ * A pausa pode ser fracionada; pausas, refeições, descanso e fim de jornada somam até completar 30 minutos.
+ * Só conta a pausa feita depois de iniciado um trecho de direção.
+ * Trabalho sem direção e tempo de espera não interrompem a contagem.
+ */
+public class ContinuousDrivingRule implements JourneyRule {
+
+    public static final Duration MAX_CONTINUOUS_DRIVING = Duration.ofMinutes(330);
+    public static final Duration MIN_BREAK = Duration.ofMinutes(30);
+
+    private final long maxDrivingSeconds;
+    private final long minBreakSeconds;
+    private final List<RuleViolation> closedViolations = new ArrayList<>();
+    private long stretchStart;
+    private long lastDrivingEnd;
+    private long drivingSeconds;
+    private long pauseSeconds;
+
+    public ContinuousDrivingRule() {
+        this(MAX_CONTINUOUS_DRIVING, MIN_BREAK);
+    }
+
+    public ContinuousDrivingRule(Duration maxContinuousDriving, Duration minBreak) {
+        this.maxDrivingSeconds = maxContinuousDriving.getSeconds();
+        this.minBreakSeconds = minBreak.getSeconds();
+    }
+
+    @Override
+    public void reset() {
+        closedViolations.clear();
+        drivingSeconds = 0;
+        pauseSeconds = 0;
+    }
+
+    @Override
+    public void onInterval(ActivityType activity, long start, long end) {
+        switch (activity) {
+            case DRIVING:
+                if (drivingSeconds == 0) {
+                    stretchStart = start;
+                }
+                drivingSeconds += end - start;
+                lastDrivingEnd = end;
+                break;
+            case BREAK:
+            case MEAL:
+            case REST:
+            case OFF_DUTY:
+                if (drivingSeconds == 0) {
+                    break; // Sem trecho de direção aberto, não há o que interromper.
+                }
+                pauseSeconds += end - start;
+                if (pauseSeconds >= minBreakSeconds) {
+                    closeStretch();
+                }
+                break;
+            default:
+                break; // WORK e WAITING não contam como pausa.
+        }
+    }
+
+    private void closeStretch() {
+        if (drivingSeconds > maxDrivingSeconds) {
+            closedViolations.add(JourneyRuleEngine.violation(ViolationType.CONTINUOUS_DRIVING,
+                    stretchStart, lastDrivingEnd, drivingSeconds, maxDrivingSeconds));
+        }
+        drivingSeconds = 0;
+        pauseSeconds = 0;
+    }
+
+    @Override
+    public void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations) {
+        violations.addAll(closedViolations);
+        if (drivingSeconds > maxDrivingSeconds) { // Trecho ainda aberto.
+            violations.add(JourneyRuleEngine.violation(ViolationType.CONTINUOUS_DRIVING,
+                    stretchStart, lastDrivingEnd, drivingSeconds, maxDrivingSeconds));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Tempo total de direção no dia: no máximo 10 horas (8 horas de jornada mais 2 horas extras).
+ */
+public class DailyDrivingRule implements JourneyRule {
+
+    public static final Duration MAX_DRIVING_TIME_DAILY = Duration.ofHours(10);
+
+    private final long maxDrivingSeconds;
+    private long drivingSeconds;
+
+    public DailyDrivingRule() {
+        this(MAX_DRIVING_TIME_DAILY);
+    }
+
+    public DailyDrivingRule(Duration maxDrivingTime) {
+        this.maxDrivingSeconds = maxDrivingTime.getSeconds();
+    }
+
+    @Override
+    public void reset() {
+        drivingSeconds = 0;
+    }
+
+    @Override
+    public void onInterval(ActivityType activity, long start, long end) {
+        if (activity == ActivityType.DRIVING) {
+            drivingSeconds += end - start;
+        }
+    }
+
+    @Override
+    public void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations) {
+        if (drivingSeconds > maxDrivingSeconds) {
+            violations.add(JourneyRuleEngine.violation(ViolationType.DAILY_DRIVING,
+                    journeyStart, journeyEnd, drivingSeconds, maxDrivingSeconds));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Descanso diário: 11 horas, que podem ser fracionadas em um período de pelo menos 8 horas
+ * mais o restante em outro período (8h + 3h). Intervalos consecutivos de descanso ou fora de
+ * jornada formam um único período; apenas os dois maiores períodos são considerados.
+ */
+public class DailyRestRule implements JourneyRule {
+
+    public static final Duration MIN_REST_TIME_DAILY = Duration.ofHours(11);
+    public static final Duration MIN_MAIN_REST_PERIOD = Duration.ofHours(8);
+
+    private final long minRestSeconds;
+    private final long minMainPeriodSeconds;
+    private long largest;
+    private long second;
+    private long current;
+    private long currentEnd = Long.MIN_VALUE;
+
+    public DailyRestRule() {
+        this(MIN_REST_TIME_DAILY, MIN_MAIN_REST_PERIOD);
+    }
+
+    public DailyRestRule(Duration minRestTime, Duration minMainRestPeriod) {
+        this.minRestSeconds = minRestTime.getSeconds();
+        this.minMainPeriodSeconds = minMainRestPeriod.getSeconds();
+    }
+
+    @Override
+    public void reset() {
+        largest = 0;
+        second = 0;
+        current = 0;
+        currentEnd = Long.MIN_VALUE;
+    }
+
+    @Override
+    public void onInterval(ActivityType activity, long start, long end) {
+        if (activity != ActivityType.REST && activity != ActivityType.OFF_DUTY) {
+            return;
+        }
+        if (start != currentEnd) {
+            closePeriod();
+        }
+        current += end - start;
+        currentEnd = end;
+    }
+
+    private void closePeriod() {
+        if (current > largest) {
+            second = largest;
+            largest = current;
+        } else if (current > second) {
+            second = current;
+        }
+        current = 0;
+    }
+
+    @Override
+    public void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations) {
+        // Considera o período em andamento sem fechá-lo.
+        long first = Math.max(largest, current);
+        long next = current > largest ? largest : Math.max(second, current);
+        long validRest = first >= minMainPeriodSeconds ? first + next : first;
+        if (validRest < minRestSeconds) {
+            violations.add(JourneyRuleEngine.violation(ViolationType.DAILY_REST,
+                    journeyStart, journeyEnd, validRest, minRestSeconds));
+        }
+    }
+}
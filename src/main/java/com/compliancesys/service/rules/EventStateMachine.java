@@ -0,0 +1,82 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.EventType;
+
+/**
+ * Máquina de estados das marcações de ponto. O estado do motorista é a atividade iniciada pelo último
+ * evento ({@link ActivityType#startedBy(EventType)}), e cada estado aceita apenas os eventos que fazem
+ * sentido a partir dele: por exemplo, END_BREAK só é aceito durante uma pausa, e START_DRIVING não é
+ * aceito enquanto o motorista já está dirigindo.
+ *
+ * Sem eventos anteriores, ou se o último evento tem mais de {@link #STATE_EXPIRY}, o motorista é considerado
+ * fora de serviço, para que uma jornada esquecida aberta não bloqueie as marcações seguintes.
+ */
+public final class EventStateMachine {
+
+    public static final Duration STATE_EXPIRY = Duration.ofHours(24);
+
+    private static final Set<EventType> LEAVE_DUTY = EnumSet.of(EventType.END_JOURNEY, EventType.OUT);
+    private static final Map<ActivityType, Set<EventType>> TRANSITIONS = new EnumMap<>(ActivityType.class);
+
+    static {
+        allow(ActivityType.OFF_DUTY, EnumSet.of(EventType.START_JOURNEY, EventType.IN, EventType.START_DRIVING));
+        allow(ActivityType.WORK, EnumSet.of(EventType.START_DRIVING, EventType.RESUME_DRIVING, EventType.START_BREAK,
+                EventType.START_MEAL, EventType.START_WAITING, EventType.START_REST), LEAVE_DUTY);
+        allow(ActivityType.DRIVING, EnumSet.of(EventType.END_DRIVING, EventType.START_BREAK, EventType.START_MEAL,
+                EventType.START_WAITING, EventType.START_REST), LEAVE_DUTY);
+        allow(ActivityType.REST, EnumSet.of(EventType.START_DRIVING, EventType.RESUME_DRIVING, EventType.IN,
+                EventType.START_BREAK, EventType.START_MEAL, EventType.START_WAITING), LEAVE_DUTY);
+        allow(ActivityType.BREAK, EnumSet.of(EventType.END_BREAK, EventType.RESUME_DRIVING), LEAVE_DUTY);
+        allow(ActivityType.MEAL, EnumSet.of(EventType.END_MEAL, EventType.RESUME_DRIVING), LEAVE_DUTY);
+        allow(ActivityType.WAITING, EnumSet.of(EventType.END_WAITING, EventType.RESUME_DRIVING), LEAVE_DUTY);
+    }
+
+    private EventStateMachine() {
+    }
+
+    private static void allow(ActivityType state, Set<EventType> events) {
+        TRANSITIONS.put(state, Collections.unmodifiableSet(events));
+    }
+
+    private static void allow(ActivityType state, Set<EventType> events, Set<EventType> more) {
+        events.addAll(more);
+        allow(state, events);
+    }
+
+    /**
+     * Retorna o estado do motorista em um instante, a partir do último registro conhecido.
+     * @param lastRecord O último registro do motorista, ou null se não houver.
+     * @param at O instante do novo evento.
+     * @return A atividade em curso, ou OFF_DUTY se não há registro anterior ou se ele expirou.
+     */
+    public static ActivityType stateAt(TimeRecord lastRecord, LocalDateTime at) {
+        if (lastRecord == null || lastRecord.getRecordTime().plus(STATE_EXPIRY).isBefore(at)) {
+            return ActivityType.OFF_DUTY;
+        }
+        return ActivityType.startedBy(lastRecord.getEventType());
+    }
+
+    /**
+     * Verifica se o evento pode ocorrer a partir do estado informado.
+     */
+    public static boolean isAllowed(ActivityType state, EventType event) {
+        return TRANSITIONS.get(state).contains(event);
+    }
+
+    /**
+     * Retorna os eventos aceitos a partir do estado informado.
+     */
+    public static Set<EventType> allowedEvents(ActivityType state) {
+        return TRANSITIONS.get(state);
+    }
+}
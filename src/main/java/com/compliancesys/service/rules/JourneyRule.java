@@ -0,0 +1,27 @@
+package com.compliancesys.service.rules;
+
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+
+/**
+ * Regra de jornada avaliada pelo {@link JourneyRuleEngine}.
+ * O motor percorre os registros de ponto uma única vez, em ordem cronológica, e entrega a cada regra
+ * os intervalos entre registros consecutivos com a atividade exercida. As regras guardam apenas
+ * acumuladores primitivos, sem copiar a lista de registros.
+ *
+ * Os instantes são segundos de época (horário local tratado como UTC); apenas diferenças importam.
+ * As implementações não são thread-safe.
+ */
+public interface JourneyRule {
+
+    // Descarta o estado acumulado para avaliar uma nova jornada
+    void reset();
+
+    // Recebe um intervalo [start, end) em que o motorista exerceu a atividade informada
+    void onInterval(ActivityType activity, long start, long end);
+
+    // Adiciona as violações encontradas até o momento, sem alterar o estado da regra
+    void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations);
+}
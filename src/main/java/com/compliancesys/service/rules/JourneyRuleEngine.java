@@ -0,0 +1,189 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.compliancesys.config.DatabaseConfig;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Avalia as regras de jornada em uma única passagem pelos registros de ponto ordenados.
+ * Cada registro fecha o intervalo iniciado pelo registro anterior, que é repassado a todas as regras;
+ * o custo é O(registros × regras), sem listas intermediárias por regra.
+ *
+ * Pode ser usado em lote ({@link #evaluate(List)}) ou de forma incremental ({@link #onEvent(EventType, long)}
+ * seguido de {@link #getViolations()}). Não é thread-safe: use uma instância por thread ou por motorista.
+ */
+public final class JourneyRuleEngine {
+
+    /** Propriedade que indica se há acordo coletivo permitindo até 4 horas extras diárias. */
+    public static final String COLLECTIVE_AGREEMENT_PROPERTY = "journey.rules.collectiveAgreement";
+
+    private final JourneyRule[] rules;
+    private boolean started;
+    private long journeyStart;
+    private long currentStart;
+    private ActivityType currentActivity;
+
+    public JourneyRuleEngine(JourneyRule... rules) {
+        this.rules = rules.clone();
+    }
+
+    public JourneyRuleEngine(List<JourneyRule> rules) {
+        this(rules.toArray(new JourneyRule[0]));
+    }
+
+    /**
+     * Cria o motor com as regras da Lei 13.103/2015, lendo da configuração se há acordo coletivo.
+     * @return Um novo motor de regras.
+     */
+    public static JourneyRuleEngine lei13103() {
+        return lei13103(Boolean.parseBoolean(DatabaseConfig.getProperty(COLLECTIVE_AGREEMENT_PROPERTY)));
+    }
+
+    /**
+     * Cria o motor com as regras da Lei 13.103/2015.
+     * @param collectiveAgreement true se um acordo coletivo amplia as horas extras para 4 horas.
+     * @return Um novo motor de regras.
+     */
+    public static JourneyRuleEngine lei13103(boolean collectiveAgreement) {
+        return new JourneyRuleEngine(
+                new ContinuousDrivingRule(),
+                new DailyDrivingRule(),
+                new DailyRestRule(),
+                new MealBreakRule(),
+                new OvertimeRule(collectiveAgreement ? OvertimeRule.MAX_OVERTIME_COLLECTIVE_AGREEMENT : OvertimeRule.MAX_OVERTIME));
+    }
+
+    /**
+     * Cria o motor com as regras da Lei 13.103/2015 restritas à própria jornada, lendo da configuração se há acordo coletivo.
+     * O descanso e a direção diários ficam de fora: eles são verificados em janelas de 24 horas por {@link SlidingWindowEvaluator}.
+     * @return Um novo motor de regras.
+     */
+    public static JourneyRuleEngine lei13103Intraday() {
+        return lei13103Intraday(Boolean.parseBoolean(DatabaseConfig.getProperty(COLLECTIVE_AGREEMENT_PROPERTY)));
+    }
+
+    /**
+     * Cria o motor com as regras da Lei 13.103/2015 restritas à própria jornada (sem o descanso e a direção diários).
+     * @param collectiveAgreement true se um acordo coletivo amplia as horas extras para 4 horas.
+     * @return Um novo motor de regras.
+     */
+    public static JourneyRuleEngine lei13103Intraday(boolean collectiveAgreement) {
+        return new JourneyRuleEngine(
+                new ContinuousDrivingRule(),
+                new MealBreakRule(),
+                new OvertimeRule(collectiveAgreement ? OvertimeRule.MAX_OVERTIME_COLLECTIVE_AGREEMENT : OvertimeRule.MAX_OVERTIME));
+    }
+
+    /**
+     * Descarta o estado de todas as regras para avaliar uma nova jornada.
+     */
+    public void reset() {
+        for (JourneyRule rule : rules) {
+            rule.reset();
+        }
+        started = false;
+        currentActivity = null;
+    }
+
+    /**
+     * Aplica um registro de ponto: fecha o intervalo da atividade anterior e inicia a do evento.
+     * @param eventType O tipo do evento.
+     * @param epochSecond O instante do evento em segundos de época.
+     * @throws IllegalArgumentException Se o evento for anterior ao último evento aplicado.
+     */
+    public void onEvent(EventType eventType, long epochSecond) {
+        if (!started) {
+            started = true;
+            journeyStart = epochSecond;
+        } else if (epochSecond < currentStart) {
+            throw new IllegalArgumentException("Evento fora de ordem cronológica: " + toDateTime(epochSecond));
+        } else if (epochSecond > currentStart) {
+            for (JourneyRule rule : rules) {
+                rule.onInterval(currentActivity, currentStart, epochSecond);
+            }
+        }
+        currentStart = epochSecond;
+        currentActivity = ActivityType.startedBy(eventType);
+    }
+
+    public void onEvent(TimeRecord record) {
+        onEvent(record.getEventType(), toEpochSecond(record.getRecordTime()));
+    }
+
+    /**
+     * Avalia uma jornada completa.
+     * @param sortedRecords Os registros de ponto em ordem cronológica.
+     * @return As violações encontradas.
+     */
+    public List<RuleViolation> evaluate(List<TimeRecord> sortedRecords) {
+        reset();
+        for (TimeRecord record : sortedRecords) {
+            onEvent(record);
+        }
+        return getViolations();
+    }
+
+    /**
+     * Retorna as violações encontradas nos eventos aplicados até o momento.
+     * @return Lista de violações, vazia se nenhum evento foi aplicado ou a jornada está em conformidade.
+     */
+    public List<RuleViolation> getViolations() {
+        List<RuleViolation> violations = new ArrayList<>();
+        if (started) {
+            for (JourneyRule rule : rules) {
+                rule.collect(journeyStart, currentStart, violations);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Define as violações, o status de conformidade e o indicador de limite diário excedido da jornada
+     * a partir dos eventos aplicados até o momento.
+     * @param journey A jornada correspondente aos eventos aplicados.
+     */
+    public void applyTo(Journey journey) {
+        applyTo(journey, Collections.<RuleViolation>emptyList());
+    }
+
+    /**
+     * Como {@link #applyTo(Journey)}, somando violações apuradas fora deste motor (ex.: janelas de 24 horas).
+     * @param journey A jornada correspondente aos eventos aplicados.
+     * @param additionalViolations Violações adicionais atribuídas à jornada.
+     */
+    public void applyTo(Journey journey, List<RuleViolation> additionalViolations) {
+        List<RuleViolation> violations = getViolations();
+        violations.addAll(additionalViolations);
+        boolean dailyLimitExceeded = false;
+        for (RuleViolation violation : violations) {
+            dailyLimitExceeded |= violation.getType().isDailyLimit();
+        }
+        journey.setViolations(violations);
+        journey.setStatus(violations.isEmpty() ? ComplianceStatus.COMPLIANT : ComplianceStatus.NON_COMPLIANT);
+        journey.setDailyLimitExceeded(dailyLimitExceeded);
+    }
+
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    static RuleViolation violation(ViolationType type, long start, long end, long measuredSeconds, long limitSeconds) {
+        return new RuleViolation(type, toDateTime(start), toDateTime(end), Duration.ofSeconds(measuredSeconds), Duration.ofSeconds(limitSeconds));
+    }
+}
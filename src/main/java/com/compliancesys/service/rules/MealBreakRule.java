@@ -0,0 +1,55 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Intervalo para refeição: pelo menos 1 hora nas jornadas com mais de 6 horas de trabalho
+ * (direção e trabalho sem direção; tempo de espera não conta).
+ */
+public class MealBreakRule implements JourneyRule {
+
+    public static final Duration MIN_MEAL_BREAK = Duration.ofHours(1);
+    public static final Duration WORK_TIME_REQUIRING_MEAL = Duration.ofHours(6);
+
+    private final long minMealSeconds;
+    private final long workThresholdSeconds;
+    private long mealSeconds;
+    private long workSeconds;
+
+    public MealBreakRule() {
+        this(MIN_MEAL_BREAK, WORK_TIME_REQUIRING_MEAL);
+    }
+
+    public MealBreakRule(Duration minMealBreak, Duration workTimeRequiringMeal) {
+        this.minMealSeconds = minMealBreak.getSeconds();
+        this.workThresholdSeconds = workTimeRequiringMeal.getSeconds();
+    }
+
+    @Override
+    public void reset() {
+        mealSeconds = 0;
+        workSeconds = 0;
+    }
+
+    @Override
+    public void onInterval(ActivityType activity, long start, long end) {
+        if (activity == ActivityType.MEAL) {
+            mealSeconds += end - start;
+        } else if (activity == ActivityType.DRIVING || activity == ActivityType.WORK) {
+            workSeconds += end - start;
+        }
+    }
+
+    @Override
+    public void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations) {
+        if (workSeconds > workThresholdSeconds && mealSeconds < minMealSeconds) {
+            violations.add(JourneyRuleEngine.violation(ViolationType.MEAL_BREAK,
+                    journeyStart, journeyEnd, mealSeconds, minMealSeconds));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Horas extras: jornada de 8 horas mais até 2 horas extras, ou até 4 horas com acordo coletivo.
+ * A jornada soma direção e trabalho sem direção; tempo de espera, pausas, refeições e descanso não contam.
+ */
+public class OvertimeRule implements JourneyRule {
+
+    public static final Duration REGULAR_JOURNEY = Duration.ofHours(8);
+    public static final Duration MAX_OVERTIME = Duration.ofHours(2);
+    public static final Duration MAX_OVERTIME_COLLECTIVE_AGREEMENT = Duration.ofHours(4);
+
+    private final long maxJourneySeconds;
+    private long workSeconds;
+
+    public OvertimeRule() {
+        this(MAX_OVERTIME);
+    }
+
+    public OvertimeRule(Duration maxOvertime) {
+        this.maxJourneySeconds = REGULAR_JOURNEY.plus(maxOvertime).getSeconds();
+    }
+
+    @Override
+    public void reset() {
+        workSeconds = 0;
+    }
+
+    @Override
+    public void onInterval(ActivityType activity, long start, long end) {
+        if (activity == ActivityType.DRIVING || activity == ActivityType.WORK) {
+            workSeconds += end - start;
+        }
+    }
+
+    @Override
+    public void collect(long journeyStart, long journeyEnd, List<RuleViolation> violations) {
+        if (workSeconds > maxJourneySeconds) {
+            violations.add(JourneyRuleEngine.violation(ViolationType.OVERTIME,
+                    journeyStart, journeyEnd, workSeconds, maxJourneySeconds));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.compliancesys.service.rules;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+
+/**
+ * Avalia as regras de descanso e direção sobre janelas de 24 horas que não dependem da data civil.
+ * Mantém, para um motorista, um buffer circular com os intervalos das últimas horas (horizonte padrão de 48h);
+ * cada evento acrescenta um intervalo em O(1), descarta os que saíram do horizonte e verifica:
+ * <ul>
+ *   <li>descanso de 11 horas (ou 8h + 3h) nas 24 horas anteriores ao evento;</li>
+ *   <li>direção de no máximo 10 horas nas 24 horas anteriores ao evento;</li>
+ *   <li>interjornada: o descanso iniciado por END_JOURNEY deve ter 11 horas, ou pelo menos 8 horas
+ *       ininterruptas com o restante gozado nas 16 horas seguintes.</li>
+ * </ul>
+ * O período anterior ao primeiro evento conhecido é tratado como descanso. Cada violação é emitida
+ * uma única vez por ocorrência e fica disponível até sair do horizonte.
+ *
+ * Não é thread-safe; quem mantém o avaliador deve serializar os eventos de um mesmo motorista.
+ */
+public final class SlidingWindowEvaluator {
+
+    public static final Duration WINDOW = Duration.ofHours(24);
+    public static final Duration HORIZON = Duration.ofHours(48);
+    public static final Duration INTERJOURNEY_REMAINDER_DEADLINE = Duration.ofHours(16);
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final ActivityType[] ACTIVITIES = ActivityType.values();
+
+    private final long windowSeconds;
+    private final long horizonSeconds;
+    private final long minRestSeconds = DailyRestRule.MIN_REST_TIME_DAILY.getSeconds();
+    private final long minMainRestSeconds = DailyRestRule.MIN_MAIN_REST_PERIOD.getSeconds();
+    private final long maxDrivingSeconds = DailyDrivingRule.MAX_DRIVING_TIME_DAILY.getSeconds();
+    private final long remainderDeadlineSeconds = INTERJOURNEY_REMAINDER_DEADLINE.getSeconds();
+
+    // Buffer circular de intervalos [starts, ends) com a atividade exercida.
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private byte[] activities = new byte[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    private boolean started;
+    private long lastEventTime;
+    private ActivityType lastActivity;
+
+    // Período de descanso em andamento e interjornada fracionada aguardando o restante.
+    private long restBlockStart;
+    private boolean restBlockInterjourney;
+    private long pendingRemainder;
+    private long pendingDeadline;
+    private long pendingFirstStart;
+    private long pendingFirstEnd;
+
+    // Evitam emitir de novo uma violação de janela que continua ocorrendo.
+    private boolean restDeficit;
+    private boolean drivingExcess;
+
+    private final List<RuleViolation> violations = new ArrayList<>();
+
+    public SlidingWindowEvaluator() {
+        this(WINDOW, HORIZON);
+    }
+
+    public SlidingWindowEvaluator(Duration window, Duration horizon) {
+        if (horizon.compareTo(window) < 0) {
+            throw new IllegalArgumentException("O horizonte deve ser maior ou igual à janela avaliada.");
+        }
+        this.windowSeconds = window.getSeconds();
+        this.horizonSeconds = horizon.getSeconds();
+    }
+
+    /**
+     * Verifica se um evento pode ser aplicado incrementalmente (não é anterior ao último evento).
+     * @param epochSecond O instante do evento em segundos de época.
+     * @return true se {@link #onEvent(EventType, long)} aceita o evento.
+     */
+    public boolean accepts(long epochSecond) {
+        return !started || epochSecond >= lastEventTime;
+    }
+
+    public List<RuleViolation> onEvent(TimeRecord record) {
+        return onEvent(record.getEventType(), JourneyRuleEngine.toEpochSecond(record.getRecordTime()));
+    }
+
+    /**
+     * Aplica um evento e verifica as janelas que terminam nele.
+     * @param eventType O tipo do evento.
+     * @param epochSecond O instante do evento em segundos de época.
+     * @return As violações detectadas neste evento (lista vazia, sem alocação, na maioria dos eventos).
+     * @throws IllegalArgumentException Se o evento for anterior ao último evento aplicado.
+     */
+    public List<RuleViolation> onEvent(EventType eventType, long epochSecond) {
+        if (!accepts(epochSecond)) {
+            throw new IllegalArgumentException("Evento fora de ordem cronológica: " + JourneyRuleEngine.toDateTime(epochSecond));
+        }
+        ActivityType activity = ActivityType.startedBy(eventType);
+        int before = violations.size();
+
+        if (!started) {
+            started = true;
+            if (isRest(activity)) {
+                openRestBlock(epochSecond, eventType);
+            }
+        } else {
+            if (epochSecond > lastEventTime) {
+                append(lastEventTime, epochSecond, lastActivity);
+            }
+            if (isRest(lastActivity) && !isRest(activity)) {
+                closeRestBlock(epochSecond);
+            } else if (!isRest(lastActivity) && isRest(activity)) {
+                openRestBlock(epochSecond, eventType);
+            } else if (isRest(activity) && eventType == EventType.END_JOURNEY) {
+                restBlockInterjourney = true; // Ex.: END_DRIVING seguido de END_JOURNEY.
+            }
+            checkPendingRemainder(epochSecond, isRest(activity));
+            checkWindow(epochSecond);
+        }
+        lastEventTime = epochSecond;
+        lastActivity = activity;
+        List<RuleViolation> emitted = violations.size() == before ? Collections.<RuleViolation>emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(violations.subList(before, violations.size())));
+        evict(epochSecond - horizonSeconds);
+        return emitted;
+    }
+
+    /**
+     * Retorna as violações ainda no horizonte cujo fim está no período [from, to).
+     */
+    public List<RuleViolation> getViolations(LocalDateTime from, LocalDateTime to) {
+        List<RuleViolation> result = new ArrayList<>();
+        for (RuleViolation violation : violations) {
+            if (!violation.getEndTime().isBefore(from) && violation.getEndTime().isBefore(to)) {
+                result.add(violation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Descanso válido (maior período, somado ao segundo se o maior tiver 8 horas) nas 24 horas anteriores ao último evento.
+     */
+    public Duration getRestInWindow() {
+        return Duration.ofSeconds(started ? windowTotals(lastEventTime)[0] : 0);
+    }
+
+    /**
+     * Tempo de direção nas 24 horas anteriores ao último evento.
+     */
+    public Duration getDrivingInWindow() {
+        return Duration.ofSeconds(started ? windowTotals(lastEventTime)[1] : 0);
+    }
+
+    /**
+     * Instante do último evento aplicado em segundos de época, ou {@link Long#MIN_VALUE} se nenhum evento foi aplicado.
+     */
+    public long getLastEventTime() {
+        return started ? lastEventTime : Long.MIN_VALUE;
+    }
+
+    public int getBufferedIntervals() {
+        return size;
+    }
+
+    private static boolean isRest(ActivityType activity) {
+        return activity == ActivityType.REST || activity == ActivityType.OFF_DUTY;
+    }
+
+    private void openRestBlock(long time, EventType eventType) {
+        restBlockStart = time;
+        restBlockInterjourney = eventType == EventType.END_JOURNEY;
+    }
+
+    private void closeRestBlock(long end) {
+        long length = end - restBlockStart;
+        if (pendingRemainder > 0 && Math.min(end, pendingDeadline) - restBlockStart >= pendingRemainder) {
+            pendingRemainder = 0; // Restante da interjornada fracionada gozado a tempo.
+            return;
+        }
+        if (!restBlockInterjourney) {
+            return;
+        }
+        if (length >= minRestSeconds) {
+            pendingRemainder = 0;
+        } else if (length >= minMainRestSeconds) {
+            pendingRemainder = minRestSeconds - length;
+            pendingDeadline = end + remainderDeadlineSeconds;
+            pendingFirstStart = restBlockStart;
+            pendingFirstEnd = end;
+        } else {
+            violations.add(JourneyRuleEngine.violation(ViolationType.INTERJOURNEY_REST, restBlockStart, end, length, minRestSeconds));
+        }
+    }
+
+    private void checkPendingRemainder(long now, boolean resting) {
+        if (pendingRemainder == 0 || now <= pendingDeadline) {
+            return;
+        }
+        if (resting && pendingDeadline - restBlockStart >= pendingRemainder) {
+            return; // O descanso em andamento já cobre o restante; será confirmado ao terminar.
+        }
+        violations.add(JourneyRuleEngine.violation(ViolationType.INTERJOURNEY_REST, pendingFirstStart, pendingFirstEnd,
+                pendingFirstEnd - pendingFirstStart, minRestSeconds));
+        pendingRemainder = 0;
+    }
+
+    private void checkWindow(long now) {
+        long[] totals = windowTotals(now);
+        long windowStart = now - windowSeconds;
+        // Interjornada fracionada dentro do prazo: o restante ainda pode ser gozado e, se não for, o vencimento gera a violação.
+        boolean remainderPending = pendingRemainder > 0 && now <= pendingDeadline;
+        if (totals[0] < minRestSeconds && !remainderPending) {
+            if (!restDeficit) {
+                violations.add(JourneyRuleEngine.violation(ViolationType.DAILY_REST, windowStart, now, totals[0], minRestSeconds));
+                restDeficit = true;
+            }
+        } else {
+            restDeficit = false;
+        }
+        if (totals[1] > maxDrivingSeconds) {
+            if (!drivingExcess) {
+                violations.add(JourneyRuleEngine.violation(ViolationType.DAILY_DRIVING, windowStart, now, totals[1], maxDrivingSeconds));
+                drivingExcess = true;
+            }
+        } else {
+            drivingExcess = false;
+        }
+    }
+
+    /**
+     * Percorre os intervalos da janela [now - 24h, now), do mais recente ao mais antigo.
+     * @return {descanso válido, direção} em segundos.
+     */
+    private long[] windowTotals(long now) {
+        long windowStart = now - windowSeconds;
+        long largest = 0;
+        long second = 0;
+        long block = 0;
+        long driving = 0;
+        long covered = now;
+        for (int i = size - 1; i >= 0; i--) {
+            int idx = index(i);
+            if (ends[idx] <= windowStart) {
+                break;
+            }
+            long start = Math.max(starts[idx], windowStart);
+            ActivityType activity = ACTIVITIES[activities[idx]];
+            if (isRest(activity)) {
+                block += ends[idx] - start;
+            } else {
+                if (block > largest) {
+                    second = largest;
+                    largest = block;
+                } else if (block > second) {
+                    second = block;
+                }
+                block = 0;
+                if (activity == ActivityType.DRIVING) {
+                    driving += ends[idx] - start;
+                }
+            }
+            covered = start;
+        }
+        block += Math.max(0, covered - windowStart); // Período sem registros antes do primeiro evento conhecido.
+        if (block > largest) {
+            second = largest;
+            largest = block;
+        } else if (block > second) {
+            second = block;
+        }
+        long validRest = largest >= minMainRestSeconds ? largest + second : largest;
+        return new long[]{validRest, driving};
+    }
+
+    private void append(long start, long end, ActivityType activity) {
+        if (size == starts.length) {
+            grow();
+        }
+        int idx = index(size);
+        starts[idx] = start;
+        ends[idx] = end;
+        activities[idx] = (byte) activity.ordinal();
+        size++;
+    }
+
+    private void evict(long horizonStart) {
+        while (size > 0 && ends[head] <= horizonStart) {
+            head = (head + 1) % starts.length;
+            size--;
+        }
+        while (!violations.isEmpty() && JourneyRuleEngine.toEpochSecond(violations.get(0).getEndTime()) <= horizonStart) {
+            violations.remove(0);
+        }
+    }
+
+    private void grow() {
+        int capacity = starts.length * 2;
+        long[] newStarts = new long[capacity];
+        long[] newEnds = new long[capacity];
+        byte[] newActivities = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            int idx = index(i);
+            newStarts[i] = starts[idx];
+            newEnds[i] = ends[idx];
+            newActivities[i] = activities[idx];
+        }
+        starts = newStarts;
+        ends = newEnds;
+        activities = newActivities;
+        head = 0;
+    }
+
+    private int index(int offset) {
+        return (head + offset) % starts.length;
+    }
+}
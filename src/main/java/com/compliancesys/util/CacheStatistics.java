@@ -0,0 +1,67 @@
+package com.compliancesys.util;
+
+/**
+ * Retrato imutável dos contadores de um {@link LruCache} em um instante.
+ * Serializável via Gson para exposição em endpoints de monitoramento.
+ */
+public class CacheStatistics {
+    private final int size;
+    private final int capacity;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final double hitRate;
+
+    public CacheStatistics(int size, int capacity, long hits, long misses, long evictions, long expirations) {
+        this.size = size;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        long lookups = hits + misses;
+        this.hitRate = lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "size=" + size +
+                ", capacity=" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", hitRate=" + hitRate +
+                '}';
+    }
+}
@@ -1,5 +1,9 @@
 package com.compliancesys.util;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+
 /**
  * Interface para um serviço de serialização e desserialização usando Gson.
  * Define métodos genéricos para converter objetos Java para JSON e JSON para objetos Java.
@@ -22,4 +26,16 @@ public interface GsonUtil {
      * @return Um objeto Java do tipo especificado.
      */
     <T> T deserialize(String json, Class<T> type);
+
+    /**
+     * Escreve os itens como um array JSON diretamente no Writer, um item por vez, sem montar
+     * a resposta inteira em memória. O início do array é enviado imediatamente e a saída é
+     * descarregada periodicamente, de modo que o cliente recebe os dados à medida que são lidos.
+     * @param <T> O tipo dos itens.
+     * @param items Os itens a serem escritos, consumidos uma única vez.
+     * @param writer O destino do JSON.
+     * @return A quantidade de itens escritos.
+     * @throws IOException Se ocorrer um erro de escrita (por exemplo, se o cliente desconectar).
+     */
+    <T> long writeJsonArray(Iterator<T> items, Writer writer) throws IOException;
 }
@@ -0,0 +1,214 @@
+package com.compliancesys.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporizadores com hash (hashed timer wheel) para grandes quantidades de prazos ativos.
+ * O tempo é dividido em ticks de duração fixa; cada prazo fica na posição {@code tick % posições} da roda,
+ * com a quantidade de voltas que ainda faltam. Agendar e cancelar custam O(1), e avançar a roda custa
+ * O(ticks avançados + prazos nas posições visitadas), independentemente do total de prazos ativos.
+ *
+ * A roda não tem thread própria: quem a usa chama {@link #advanceTo(long, Consumer)} periodicamente
+ * (ex.: a cada tick em um ScheduledExecutorService). Os prazos vencem com a precisão de um tick.
+ * Os métodos são sincronizados e podem ser chamados de várias threads.
+ *
+ * @param <T> O tipo do conteúdo associado a cada prazo.
+ */
+public final class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final Timeout<T>[] buckets; // Cabeça da lista duplamente encadeada de cada posição.
+    private final int mask;
+    private long currentTick; // Último tick processado.
+    private final long startMillis;
+    private int size;
+
+    /**
+     * @param tickMillis Duração de cada tick em milissegundos.
+     * @param ticksPerWheel Quantidade de posições da roda; arredondada para a próxima potência de 2.
+     * @param startMillis Instante inicial da roda, na mesma escala usada em {@link #schedule(Object, long)}.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("A duração do tick deve ser positiva.");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("A quantidade de posições da roda deve estar entre 1 e 2^30.");
+        }
+        int capacity = Integer.highestOneBit(ticksPerWheel);
+        if (capacity < ticksPerWheel) {
+            capacity <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[capacity];
+        this.mask = capacity - 1;
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Agenda um prazo. Prazos já vencidos são disparados no próximo avanço da roda.
+     * @param payload O conteúdo entregue quando o prazo vencer.
+     * @param deadlineMillis O instante do vencimento.
+     * @return O identificador do prazo, que permite cancelá-lo.
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(currentTick + 1, ceilDiv(deadlineMillis - startMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis);
+        long ticks = deadlineTick - currentTick - 1; // Ticks a avançar até a posição ser visitada pela última vez.
+        timeout.remainingRounds = ticks / buckets.length;
+        int index = (int) (deadlineTick & mask);
+        timeout.bucket = index;
+        timeout.next = buckets[index];
+        if (buckets[index] != null) {
+            buckets[index].prev = timeout;
+        }
+        buckets[index] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Avança a roda até o instante informado, entregando os prazos vencidos ao consumidor.
+     * @param nowMillis O instante atual.
+     * @param expired Recebe o conteúdo de cada prazo vencido, na thread que chamou o método.
+     * @return A quantidade de prazos vencidos.
+     */
+    public int advanceTo(long nowMillis, Consumer<? super T> expired) {
+        int fired = 0;
+        while (true) {
+            Timeout<T> due;
+            synchronized (this) {
+                long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+                due = collectNextTick(targetTick);
+                if (due == null && currentTick >= targetTick) {
+                    break;
+                }
+            }
+            // O consumidor roda fora do lock: pode agendar novos prazos sem bloquear a roda.
+            for (Timeout<T> timeout = due; timeout != null; timeout = timeout.next) {
+                expired.accept(timeout.payload);
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Processa o próximo tick (se houver) e retorna a lista dos prazos vencidos nele, já removidos da roda.
+     */
+    private Timeout<T> collectNextTick(long targetTick) {
+        if (currentTick >= targetTick) {
+            return null;
+        }
+        currentTick++;
+        int index = (int) (currentTick & mask);
+        Timeout<T> due = null;
+        Timeout<T> timeout = buckets[index];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                unlink(timeout);
+                timeout.state = Timeout.EXPIRED;
+                timeout.next = due;
+                due = timeout;
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+        return due;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.state != Timeout.PENDING) {
+            return false;
+        }
+        unlink(timeout);
+        timeout.state = Timeout.CANCELLED;
+        return true;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        size--;
+    }
+
+    /**
+     * Retorna a quantidade de prazos ativos (agendados e ainda não vencidos nem cancelados).
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Prazo agendado em uma {@link HashedTimerWheel}.
+     * @param <T> O tipo do conteúdo do prazo.
+     */
+    public static final class Timeout<T> {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedTimerWheel<T> wheel;
+        private final T payload;
+        private final long deadlineMillis;
+        private long remainingRounds;
+        private int bucket;
+        private int state = PENDING;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimerWheel<T> wheel, T payload, long deadlineMillis) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * Cancela o prazo em O(1).
+         * @return true se o prazo estava ativo; false se já tinha vencido ou sido cancelado.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public boolean isCancelled() {
+            synchronized (wheel) {
+                return state == CANCELLED;
+            }
+        }
+
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return state == EXPIRED;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.compliancesys.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória com capacidade máxima: ao atingir a capacidade, descarta a entrada usada há mais tempo.
+ * Opcionalmente, cada entrada expira um tempo fixo após ser gravada (TTL). As operações custam O(1) e são
+ * sincronizadas; valores nulos não são armazenados. Acertos, faltas, descartes e expirações são contados
+ * e podem ser consultados com {@link #getStatistics()}.
+ *
+ * @param <K> O tipo das chaves.
+ * @param <V> O tipo dos valores.
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+    private final long ttlMillis; // 0: as entradas não expiram.
+    private final LongSupplier clock;
+    private final Map<K, CacheEntry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LruCache(int capacity) {
+        this(capacity, Duration.ZERO, System::currentTimeMillis);
+    }
+
+    public LruCache(int capacity, Duration ttl) {
+        this(capacity, ttl, System::currentTimeMillis);
+    }
+
+    /**
+     * @param capacity A quantidade máxima de entradas.
+     * @param ttl O tempo de vida de cada entrada a partir da gravação; {@link Duration#ZERO} para não expirar.
+     * @param clock O relógio em milissegundos usado para a expiração.
+     */
+    public LruCache(int capacity, Duration ttl, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser positiva.");
+        }
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("O tempo de vida das entradas não pode ser negativo.");
+        }
+        this.capacity = capacity;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        // accessOrder = true: cada leitura move a entrada para o fim, e a mais antiga fica no início.
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > LruCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor da chave, marcando a entrada como usada recentemente.
+     * @param key A chave.
+     * @return O valor, ou null se a chave não está no cache ou expirou.
+     */
+    public synchronized V get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (ttlMillis > 0 && clock.getAsLong() >= entry.expiresAt) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Armazena o valor da chave, descartando a entrada usada há mais tempo se a capacidade for excedida.
+     * @param key A chave.
+     * @param value O valor; null remove a chave.
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            entries.remove(key);
+        } else {
+            long expiresAt = ttlMillis > 0 ? clock.getAsLong() + ttlMillis : Long.MAX_VALUE;
+            entries.put(key, new CacheEntry<>(value, expiresAt));
+        }
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove as entradas cujas chaves satisfazem o filtro.
+     * @param filter O filtro das chaves.
+     * @return A quantidade de entradas removidas.
+     */
+    public synchronized int removeIf(Predicate<? super K> filter) {
+        int before = entries.size();
+        entries.keySet().removeIf(filter);
+        return before - entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retorna a quantidade de entradas, incluindo as expiradas ainda não lidas.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna um retrato dos contadores do cache.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(entries.size(), capacity, hits, misses, evictions, expirations);
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
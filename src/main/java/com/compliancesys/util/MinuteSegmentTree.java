@@ -0,0 +1,158 @@
+package com.compliancesys.util;
+
+/**
+ * Árvore de segmentos sobre baldes de um minuto. Cada balde guarda quantos segundos (0 a 60) do minuto foram
+ * gastos em uma atividade; cada nó guarda a soma dos segundos e as sequências de minutos completos (60 s) no
+ * início, no fim e a maior do intervalo. Assim, a soma de um intervalo e a maior sequência contínua dentro
+ * dele são respondidas em O(log n), e a alteração de um balde também custa O(log n).
+ *
+ * As consultas não alteram a árvore e podem ser feitas de várias threads; {@link #set(int, int)} não é thread-safe.
+ */
+public final class MinuteSegmentTree {
+
+    public static final int SECONDS_PER_MINUTE = 60;
+
+    private final int size;
+    private final long[] sums;
+    private final int[] prefixRuns; // Minutos completos consecutivos a partir do início do nó.
+    private final int[] suffixRuns; // Minutos completos consecutivos até o fim do nó.
+    private final int[] bestRuns; // Maior sequência de minutos completos dentro do nó.
+
+    /**
+     * @param secondsPerMinute Os segundos da atividade em cada minuto, de 0 a 60.
+     */
+    public MinuteSegmentTree(int[] secondsPerMinute) {
+        if (secondsPerMinute.length == 0) {
+            throw new IllegalArgumentException("A árvore precisa de ao menos um minuto.");
+        }
+        this.size = secondsPerMinute.length;
+        int nodes = 4 * size;
+        this.sums = new long[nodes];
+        this.prefixRuns = new int[nodes];
+        this.suffixRuns = new int[nodes];
+        this.bestRuns = new int[nodes];
+        build(1, 0, size - 1, secondsPerMinute);
+    }
+
+    private void build(int node, int lo, int hi, int[] values) {
+        if (lo == hi) {
+            setLeaf(node, checkSeconds(values[lo]));
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        build(2 * node, lo, mid, values);
+        build(2 * node + 1, mid + 1, hi, values);
+        pull(node, mid - lo + 1, hi - mid);
+    }
+
+    /**
+     * Altera os segundos de um minuto.
+     * @param index O minuto, de 0 a {@link #size()} - 1.
+     * @param seconds Os segundos da atividade no minuto, de 0 a 60.
+     */
+    public void set(int index, int seconds) {
+        checkRange(index, index + 1);
+        update(1, 0, size - 1, index, checkSeconds(seconds));
+    }
+
+    private void update(int node, int lo, int hi, int index, int seconds) {
+        if (lo == hi) {
+            setLeaf(node, seconds);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (index <= mid) {
+            update(2 * node, lo, mid, index, seconds);
+        } else {
+            update(2 * node + 1, mid + 1, hi, index, seconds);
+        }
+        pull(node, mid - lo + 1, hi - mid);
+    }
+
+    private void setLeaf(int node, int seconds) {
+        int run = seconds == SECONDS_PER_MINUTE ? 1 : 0;
+        sums[node] = seconds;
+        prefixRuns[node] = run;
+        suffixRuns[node] = run;
+        bestRuns[node] = run;
+    }
+
+    private void pull(int node, int leftLength, int rightLength) {
+        int left = 2 * node;
+        int right = left + 1;
+        sums[node] = sums[left] + sums[right];
+        prefixRuns[node] = prefixRuns[left] == leftLength ? leftLength + prefixRuns[right] : prefixRuns[left];
+        suffixRuns[node] = suffixRuns[right] == rightLength ? rightLength + suffixRuns[left] : suffixRuns[right];
+        bestRuns[node] = Math.max(Math.max(bestRuns[left], bestRuns[right]), suffixRuns[left] + prefixRuns[right]);
+    }
+
+    /**
+     * Soma os segundos da atividade no intervalo de minutos [from, to).
+     */
+    public long sum(int from, int to) {
+        checkRange(from, to);
+        return from == to ? 0 : query(1, 0, size - 1, from, to - 1, new Run()).sum;
+    }
+
+    /**
+     * Retorna a maior sequência de minutos completos da atividade no intervalo de minutos [from, to).
+     */
+    public int longestRun(int from, int to) {
+        checkRange(from, to);
+        return from == to ? 0 : query(1, 0, size - 1, from, to - 1, new Run()).best;
+    }
+
+    /**
+     * Visita, da esquerda para a direita, os O(log n) nós que cobrem [from, to] e os acumula em {@code acc}.
+     */
+    private Run query(int node, int lo, int hi, int from, int to, Run acc) {
+        if (from <= lo && hi <= to) {
+            acc.append(sums[node], prefixRuns[node], suffixRuns[node], bestRuns[node], hi - lo + 1);
+            return acc;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from <= mid) {
+            query(2 * node, lo, mid, from, to, acc);
+        }
+        if (to > mid) {
+            query(2 * node + 1, mid + 1, hi, from, to, acc);
+        }
+        return acc;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Intervalo [" + from + ", " + to + ") fora da árvore com " + size + " minutos.");
+        }
+    }
+
+    private static int checkSeconds(int seconds) {
+        if (seconds < 0 || seconds > SECONDS_PER_MINUTE) {
+            throw new IllegalArgumentException("Segundos por minuto devem estar entre 0 e 60: " + seconds);
+        }
+        return seconds;
+    }
+
+    /**
+     * Resultado parcial de uma consulta: os nós já visitados, combinados em ordem.
+     */
+    private static final class Run {
+        private long sum;
+        private int prefix;
+        private int suffix;
+        private int best;
+        private int length;
+
+        private void append(long nodeSum, int nodePrefix, int nodeSuffix, int nodeBest, int nodeLength) {
+            best = Math.max(Math.max(best, nodeBest), suffix + nodePrefix);
+            prefix = prefix == length ? length + nodePrefix : prefix;
+            suffix = nodeSuffix == nodeLength ? nodeLength + suffix : nodeSuffix;
+            sum += nodeSum;
+            length += nodeLength;
+        }
+    }
+}
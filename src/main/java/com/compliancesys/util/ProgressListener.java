@@ -0,0 +1,21 @@
+package com.compliancesys.util;
+
+/**
+ * Recebe notificações de progresso de operações longas (cargas em massa, auditorias em lote).
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Listener que ignora as notificações.
+     */
+    ProgressListener NONE = (processed, total, itemsPerSecond) -> { };
+
+    /**
+     * Chamado periodicamente durante a operação e uma última vez ao final.
+     * @param processed Quantidade de itens processados até o momento.
+     * @param total Quantidade total de itens, ou -1 se não for conhecida de antemão.
+     * @param itemsPerSecond Taxa média de processamento desde o início da operação.
+     */
+    void onProgress(long processed, long total, double itemsPerSecond);
+}
@@ -3,6 +3,8 @@ package com.compliancesys.util;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+import com.compliancesys.exception.BusinessException;
+
 /**
  * Interface para validação de dados de entrada em várias entidades do sistema.
  */
@@ -77,4 +79,12 @@ public interface Validator {
      * @return true se a localização é válida, false caso contrário.
      */
     boolean isValidLocation(String location);
+
+    /**
+     * Valida a lista de IDs de motoristas de uma busca agrupada: não vazia, dentro do limite de motoristas
+     * por consulta e com todos os IDs positivos.
+     * @param driverIds Os IDs dos motoristas.
+     * @throws BusinessException Se a lista for inválida, com a mensagem a devolver ao cliente.
+     */
+    void validateDriverIds(int[] driverIds) throws BusinessException;
 }
@@ -1,9 +1,13 @@
 package com.compliancesys.util.impl; // O pacote que os servlets estão esperando
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.time.Duration; // Importa a interface
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 
 import com.compliancesys.util.GsonUtil;
 import com.google.gson.Gson;
@@ -11,6 +15,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Implementação concreta da interface GsonUtil para serialização e desserialização de objetos.
@@ -18,6 +23,8 @@ import com.google.gson.JsonSerializer;
  */
 public class GsonUtilImpl implements GsonUtil {
 
+    private static final int STREAM_FLUSH_INTERVAL = 100; // Itens escritos entre cada descarga da saída em writeJsonArray.
+
     private final Gson gson;
 
     public GsonUtilImpl() {
@@ -49,5 +56,33 @@ public class GsonUtilImpl implements GsonUtil {
     public <T> T deserialize(String json, Class<T> type) {
         return gson.fromJson(json, type);
     }
-}
 
+    @Override
+    public <T> long writeJsonArray(Iterator<T> items, Writer writer) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonWriter.beginArray();
+        jsonWriter.flush(); // Envia o primeiro byte antes de ler qualquer linha.
+        long count = 0;
+        while (items.hasNext()) {
+            T item = items.next();
+            gson.toJson(item, item.getClass(), jsonWriter);
+            if (++count % STREAM_FLUSH_INTERVAL == 0) {
+                flush(jsonWriter, writer);
+            }
+        }
+        jsonWriter.endArray();
+        flush(jsonWriter, writer);
+        return count;
+    }
+
+    /**
+     * Descarrega a saída. PrintWriter não lança IOException, então o erro é verificado
+     * explicitamente para interromper a escrita quando o cliente desconecta.
+     */
+    private void flush(JsonWriter jsonWriter, Writer writer) throws IOException {
+        jsonWriter.flush();
+        if (writer instanceof PrintWriter && ((PrintWriter) writer).checkError()) {
+            throw new IOException("Falha ao escrever a resposta: conexão com o cliente encerrada.");
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.regex.Pattern;
 
+import com.compliancesys.exception.BusinessException;
 import com.compliancesys.util.Validator;
 
 public class ValidatorImpl implements Validator {
@@ -18,6 +19,8 @@ public class ValidatorImpl implements Validator {
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
     // Regex para validar senha (mínimo 8 caracteres, pelo menos uma letra maiúscula, uma minúscula, um número e um caractere especial)
     private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
+    // Limite de motoristas por busca agrupada
+    private static final int MAX_DRIVER_IDS_PER_QUERY = 1000;
 
 
     @Override
@@ -81,4 +84,19 @@ public class ValidatorImpl implements Validator {
     public boolean isValidLocation(String location) {
         return location != null && !location.trim().isEmpty();
     }
+
+    @Override
+    public void validateDriverIds(int[] driverIds) throws BusinessException {
+        if (driverIds == null || driverIds.length == 0) {
+            throw new BusinessException("Informe ao menos um ID de motorista.");
+        }
+        if (driverIds.length > MAX_DRIVER_IDS_PER_QUERY) {
+            throw new BusinessException("No máximo " + MAX_DRIVER_IDS_PER_QUERY + " motoristas por consulta.");
+        }
+        for (int driverId : driverIds) {
+            if (driverId <= 0) {
+                throw new BusinessException("ID do motorista inválido: " + driverId);
+            }
+        }
+    }
 }
@@ -41,7 +41,7 @@ CREATE TABLE time_records (
     record_time timestamptz NOT NULL, -- Renomeado para alinhar com POJO
     event_type varchar(50) NOT NULL,   -- Alinhado com POJO (enum como string)
     location varchar(255),             -- Adicionado para alinhar com POJO TimeRecord
-    -- vehicle_id integer, -- Removido para alinhar com POJO atual (sem vehicleId) - Decisão de design
+    vehicle_id integer,                -- Opcional; usado nas consultas por veículo (TimeRecordDAO.findByVehicleIdAndTimeRange)
     created_at timestamptz DEFAULT (now()),
     updated_at timestamptz DEFAULT (now()) -- Adicionado para alinhar com POJO
 );
@@ -70,6 +70,17 @@ CREATE TABLE compliance_audits (
     updated_at timestamptz DEFAULT (now()) -- Adicionado para alinhar com POJO
 );
 
+-- Tabela: violation_alerts (alertas preventivos disparados antes de uma violação)
+CREATE TABLE violation_alerts (
+    id SERIAL PRIMARY KEY,
+    driver_id integer NOT NULL,
+    violation_type varchar(50) NOT NULL,
+    expected_at timestamptz NOT NULL,     -- Quando o limite será atingido
+    remaining_seconds integer NOT NULL,   -- Tempo restante no disparo do alerta
+    message text,
+    created_at timestamptz DEFAULT (now())
+);
+
 -- Tabela: mobile_communications
 CREATE TABLE mobile_communications (
     id SERIAL PRIMARY KEY,
@@ -85,15 +96,20 @@ CREATE TABLE mobile_communications (
 -- ALTER TABLE drivers ADD FOREIGN KEY (company_id) REFERENCES companies (id); -- Mantido comentado
 ALTER TABLE vehicles ADD FOREIGN KEY (company_id) REFERENCES companies (id) ON DELETE CASCADE; -- Adicionado
 ALTER TABLE time_records ADD FOREIGN KEY (driver_id) REFERENCES drivers (id) ON DELETE CASCADE;
--- ALTER TABLE time_records ADD FOREIGN KEY (vehicle_id) REFERENCES vehicles (id); -- Removido
+ALTER TABLE time_records ADD FOREIGN KEY (vehicle_id) REFERENCES vehicles (id) ON DELETE SET NULL;
 ALTER TABLE journeys ADD FOREIGN KEY (driver_id) REFERENCES drivers (id) ON DELETE CASCADE;
 ALTER TABLE compliance_audits ADD FOREIGN KEY (journey_id) REFERENCES journeys (id) ON DELETE CASCADE;
+ALTER TABLE violation_alerts ADD FOREIGN KEY (driver_id) REFERENCES drivers (id) ON DELETE CASCADE;
 ALTER TABLE mobile_communications ADD FOREIGN KEY (record_id) REFERENCES time_records (id) ON DELETE CASCADE;
 
 -- Índices para otimização de performance
+-- As consultas por período usam intervalos semiabertos (record_time >= ? AND record_time < ?) para que estes
+-- índices sejam usados; funções sobre a coluna, como DATE(record_time), impedem o uso do índice.
 CREATE INDEX idx_timerecord_driver_timestamp ON time_records (driver_id, record_time);
--- CREATE INDEX idx_timerecord_vehicle_timestamp ON time_records (vehicle_id, event_timestamp); -- Removido
+CREATE INDEX idx_timerecord_vehicle_timestamp ON time_records (vehicle_id, record_time);
 CREATE UNIQUE INDEX idx_journey_driver_date ON journeys (driver_id, journey_date);
 CREATE INDEX idx_complianceaudit_journey_id ON compliance_audits (journey_id);
+CREATE INDEX idx_complianceaudit_audit_date ON compliance_audits (audit_date); -- Relatórios e exportações por período
 CREATE INDEX idx_mobilecomm_record_send ON mobile_communications (record_id, send_timestamp);
 CREATE INDEX idx_mobilecomm_send_success ON mobile_communications (send_success);
+CREATE INDEX idx_violationalert_driver_created ON violation_alerts (driver_id, created_at);
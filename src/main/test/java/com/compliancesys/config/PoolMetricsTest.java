@@ -0,0 +1,53 @@
+package com.compliancesys.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para PoolMetrics, garantindo que o histograma de aquisição de conexões
+ * distribua os tempos nas faixas corretas.
+ */
+class PoolMetricsTest {
+
+    @Test
+    @DisplayName("Deve distribuir os tempos de aquisição nas faixas do histograma")
+    void testAcquireHistogram() {
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.recordAcquire(TimeUnit.MICROSECONDS.toNanos(300)); // <= 1ms
+        metrics.recordAcquire(TimeUnit.MILLISECONDS.toNanos(3));    // <= 5ms
+        metrics.recordAcquire(TimeUnit.MILLISECONDS.toNanos(3));    // <= 5ms
+        metrics.recordAcquire(TimeUnit.SECONDS.toNanos(10));        // > 5000ms
+
+        PoolStatistics stats = metrics.snapshot(2, 3, 5, 1);
+
+        assertEquals(4, stats.getAcquireCount());
+        assertEquals(1L, stats.getAcquireHistogram().get("<=1ms"));
+        assertEquals(2L, stats.getAcquireHistogram().get("<=5ms"));
+        assertEquals(0L, stats.getAcquireHistogram().get("<=10ms"));
+        assertEquals(1L, stats.getAcquireHistogram().get(">5000ms"));
+        assertEquals(2, stats.getActiveConnections());
+        assertEquals(3, stats.getIdleConnections());
+        assertEquals(5, stats.getTotalConnections());
+        assertEquals(1, stats.getThreadsAwaitingConnection());
+    }
+
+    @Test
+    @DisplayName("Deve registrar timeouts e conexões criadas através do tracker do HikariCP")
+    void testTrackerCounters() {
+        PoolMetrics metrics = new PoolMetrics();
+        com.zaxxer.hikari.metrics.IMetricsTracker tracker = metrics.create("teste", null);
+        tracker.recordConnectionTimeout();
+        tracker.recordConnectionCreatedMillis(12);
+        tracker.recordConnectionCreatedMillis(8);
+
+        PoolStatistics stats = metrics.snapshot(0, 0, 0, 0);
+
+        assertEquals(1, stats.getConnectionTimeouts());
+        assertEquals(2, stats.getConnectionsCreated());
+        assertEquals(0.0, stats.getAverageAcquireMillis());
+    }
+}
@@ -0,0 +1,91 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.dao.EntityVersionDAO;
+import com.compliancesys.model.enums.VersionedEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes dos GETs condicionais: ETag, Last-Modified e resposta 304.
+ */
+public class ConditionalGetTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 3, 10, 14, 30, 15, 123_456_000);
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private EntityVersionDAO versions;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        versions = Mockito.mock(EntityVersionDAO.class);
+        etag = ConditionalGet.etag(VersionedEntity.JOURNEY, 5, UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    void testUnconditionalRequestGetsValidatorsAndBody() {
+        assertFalse(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT));
+
+        verify(response).setHeader(ConditionalGet.ETAG, etag);
+        verify(response).setDateHeader(ConditionalGet.LAST_MODIFIED, UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    void testMatchingEtagReturnsNotModified() {
+        when(request.getHeader(ConditionalGet.IF_NONE_MATCH)).thenReturn("\"outro\", " + etag);
+
+        assertTrue(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT));
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    void testChangedEntityDoesNotMatch() {
+        when(request.getHeader(ConditionalGet.IF_NONE_MATCH)).thenReturn(etag);
+
+        assertFalse(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT.plusNanos(1_000)));
+    }
+
+    @Test
+    void testIfModifiedSinceUsesSecondResolution() {
+        long lastModifiedSecond = UPDATED_AT.withNano(0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(request.getHeader(ConditionalGet.IF_MODIFIED_SINCE)).thenReturn("data");
+        when(request.getDateHeader(ConditionalGet.IF_MODIFIED_SINCE)).thenReturn(lastModifiedSecond);
+
+        assertTrue(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT));
+        assertFalse(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT.plusSeconds(1)));
+    }
+
+    @Test
+    void testIfNoneMatchTakesPrecedenceOverIfModifiedSince() {
+        when(request.getHeader(ConditionalGet.IF_NONE_MATCH)).thenReturn("W/\"journey-5-antiga\"");
+        when(request.getHeader(ConditionalGet.IF_MODIFIED_SINCE)).thenReturn("data");
+        when(request.getDateHeader(ConditionalGet.IF_MODIFIED_SINCE)).thenReturn(Long.MAX_VALUE);
+
+        assertFalse(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, UPDATED_AT));
+    }
+
+    @Test
+    void testVersionIsOnlyQueriedForConditionalRequests() throws SQLException {
+        assertFalse(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, versions));
+        verify(versions, never()).findUpdatedAt(any(), anyInt());
+
+        when(request.getHeader(ConditionalGet.IF_NONE_MATCH)).thenReturn(etag);
+        when(versions.findUpdatedAt(VersionedEntity.JOURNEY, 5)).thenReturn(Optional.of(UPDATED_AT));
+        assertTrue(ConditionalGet.respondIfNotModified(request, response, VersionedEntity.JOURNEY, 5, versions));
+    }
+}
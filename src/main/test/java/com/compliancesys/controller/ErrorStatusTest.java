@@ -0,0 +1,27 @@
+package com.compliancesys.controller;
+
+import com.compliancesys.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do mapeamento de BusinessException para status HTTP.
+ */
+public class ErrorStatusTest {
+
+    @Test
+    void testValidationErrorIsBadRequest() {
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, ErrorStatus.of(new BusinessException("ID inválido.")));
+    }
+
+    @Test
+    void testWrappedSqlExceptionIsInternalServerError() {
+        BusinessException e = new BusinessException("Erro interno.", new RuntimeException(new SQLException("falha")));
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ErrorStatus.of(e));
+    }
+}
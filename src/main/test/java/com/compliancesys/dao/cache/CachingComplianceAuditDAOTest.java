@@ -0,0 +1,150 @@
+package com.compliancesys.dao.cache;
+
+import com.compliancesys.config.UnitOfWork;
+import com.compliancesys.dao.ComplianceAuditDAO;
+import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.ComplianceStatusCount;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.ReportGrouping;
+import com.compliancesys.util.LruCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cache das consultas de relatório de conformidade: períodos encerrados e abertos e invalidação
+ * pelas auditorias gravadas.
+ */
+public class CachingComplianceAuditDAOTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_5 = LocalDate.of(2024, 3, 5);
+
+    private ComplianceAuditDAO delegate;
+    private CachingComplianceAuditDAO auditDAO;
+    private long now;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        delegate = Mockito.mock(ComplianceAuditDAO.class);
+        auditDAO = new CachingComplianceAuditDAO(delegate,
+                new LruCache<>(100, Duration.ofHours(24), () -> now),
+                new LruCache<>(100, Duration.ofMinutes(1), () -> now),
+                () -> TODAY);
+        when(delegate.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE))
+                .thenReturn(Collections.singletonList(new ComplianceStatusCount(null, ComplianceStatus.COMPLIANT, 3)));
+        when(delegate.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE))
+                .thenReturn(Collections.singletonList(new ComplianceStatusCount(null, ComplianceStatus.COMPLIANT, 5)));
+    }
+
+    @Test
+    void testClosedRangeIsCachedLongTerm() throws SQLException {
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        now = Duration.ofHours(1).toMillis();
+        List<ComplianceStatusCount> counts = auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+
+        assertEquals(3, counts.get(0).getCount());
+        verify(delegate, times(1)).countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+    }
+
+    @Test
+    void testRangeIncludingTodayRefreshesOnShortTtl() throws SQLException {
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+        now = Duration.ofMinutes(1).toMillis();
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+
+        verify(delegate, times(2)).countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+    }
+
+    @Test
+    void testKeyIncludesGrouping() throws SQLException {
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.DAY);
+
+        verify(delegate, times(1)).countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.DAY);
+    }
+
+    @Test
+    void testReadsInsideUnitOfWorkBypassTheCache() throws SQLException {
+        UnitOfWork.execute(() -> auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE)); // Pode ser desfeita.
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+
+        verify(delegate, times(2)).countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+    }
+
+    @Test
+    void testNewAuditInvalidatesOnlyRangesCoveringItsDate() throws SQLException {
+        when(delegate.findByDateRange(MARCH_1, MARCH_5)).thenReturn(Collections.emptyList());
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+        auditDAO.findByDateRange(MARCH_1, MARCH_5);
+
+        auditDAO.create(audit(0, TODAY));
+
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+        auditDAO.findByDateRange(MARCH_1, MARCH_5);
+        verify(delegate, times(1)).countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        verify(delegate, times(2)).countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+        verify(delegate, times(1)).findByDateRange(MARCH_1, MARCH_5);
+    }
+
+    @Test
+    void testUpdateInvalidatesPreviousAndNewAuditDates() throws SQLException {
+        when(delegate.findById(7)).thenReturn(Optional.of(audit(7, MARCH_5.minusDays(2))));
+        when(delegate.update(any())).thenReturn(true);
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+
+        auditDAO.update(audit(7, TODAY)); // A auditoria sai do período encerrado.
+
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        verify(delegate, times(2)).countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+    }
+
+    @Test
+    void testCachedListsAreCopies() throws SQLException {
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE).clear();
+
+        assertEquals(1, auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE).size());
+    }
+
+    @Test
+    void testCachedItemsAreCopies() throws SQLException {
+        when(delegate.findByDriverIdAndDate(1, MARCH_1, MARCH_5)).thenReturn(Collections.singletonList(
+                new ComplianceAudit(7, 3, MARCH_5.atStartOfDay(), ComplianceStatus.COMPLIANT, "Sistema", null)));
+        auditDAO.findByDriverIdAndDate(1, MARCH_1, MARCH_5).get(0).setComplianceStatus(ComplianceStatus.NON_COMPLIANT);
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE).get(0).setCount(99);
+
+        assertEquals(ComplianceStatus.COMPLIANT, auditDAO.findByDriverIdAndDate(1, MARCH_1, MARCH_5).get(0).getComplianceStatus());
+        assertEquals(3, auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE).get(0).getCount());
+    }
+
+    @Test
+    void testInvalidateAllClearsBothRanges() throws SQLException {
+        auditDAO.countByStatus(1, MARCH_1, MARCH_5, ReportGrouping.NONE);
+        auditDAO.countByStatus(1, MARCH_1, TODAY, ReportGrouping.NONE);
+
+        auditDAO.invalidateAll();
+
+        assertEquals(0, auditDAO.getCacheStatistics().get("closed").getSize());
+        assertEquals(0, auditDAO.getCacheStatistics().get("open").getSize());
+    }
+
+    private static ComplianceAudit audit(int id, LocalDate date) {
+        return new ComplianceAudit(id, 10, date.atTime(12, 0), ComplianceStatus.COMPLIANT, "Sistema Automático", "ok");
+    }
+}
@@ -0,0 +1,127 @@
+package com.compliancesys.dao.cache;
+
+import com.compliancesys.dao.DriverDAO;
+import com.compliancesys.model.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cache de leitura de motoristas por ID, CPF e CNH e dos filtros de Bloom das chaves naturais.
+ */
+public class CachingDriverDAOTest {
+
+    private DriverDAO delegate;
+    private CachingDriverDAO driverDAO;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        delegate = Mockito.mock(DriverDAO.class);
+        driverDAO = new CachingDriverDAO(delegate, 100, Duration.ofMinutes(5));
+        driver = new Driver(1, 1, "João", "12345678900", "CNH123", LocalDate.of(1980, 1, 1));
+        when(delegate.findById(1)).thenReturn(Optional.of(driver));
+        when(delegate.findByCpf("12345678900")).thenReturn(Optional.of(driver));
+    }
+
+    @Test
+    void testLookupsByIdAndNaturalKeysShareTheCachedEntity() throws SQLException {
+        assertEquals(Optional.of(driver), driverDAO.findById(1));
+        assertEquals(Optional.of(driver), driverDAO.findById(1));
+        assertEquals(Optional.of(driver), driverDAO.findByCpf("12345678900"));
+        assertEquals(Optional.of(driver), driverDAO.findByLicenseNumber("CNH123"));
+
+        verify(delegate, times(1)).findById(1);
+        verify(delegate, never()).findByCpf(anyString());
+        verify(delegate, never()).findByLicenseNumber(anyString());
+        assertEquals(1, driverDAO.getCacheStatistics().get("id").getMisses());
+    }
+
+    @Test
+    void testUpdateInvalidatesAndChangedKeyIsNotServedFromCache() throws SQLException {
+        driverDAO.findByCpf("12345678900");
+        Driver updated = new Driver(1, 1, "João", "99999999999", "CNH123", LocalDate.of(1980, 1, 1));
+        when(delegate.update(updated)).thenReturn(true);
+        when(delegate.findById(1)).thenReturn(Optional.of(updated));
+        when(delegate.findByCpf("12345678900")).thenReturn(Optional.empty());
+
+        driverDAO.update(updated);
+
+        assertEquals(Optional.of(updated), driverDAO.findById(1));
+        assertEquals(Optional.empty(), driverDAO.findByCpf("12345678900")); // O CPF antigo não devolve o motorista.
+        verify(delegate, times(2)).findByCpf("12345678900");
+    }
+
+    @Test
+    void testDeleteInvalidates() throws SQLException {
+        driverDAO.findById(1);
+        when(delegate.delete(1)).thenReturn(true);
+        when(delegate.findById(1)).thenReturn(Optional.empty());
+
+        driverDAO.delete(1);
+
+        assertEquals(Optional.empty(), driverDAO.findById(1));
+        verify(delegate, times(2)).findById(1);
+    }
+
+    @Test
+    void testWarmedFilterSkipsUniquenessQueriesForUnknownKeys() throws SQLException {
+        CachingDriverDAO filtered = new CachingDriverDAO(delegate, 100, Duration.ofMinutes(5), 1_000, 0.01);
+        when(delegate.findAllCpfs()).thenReturn(Collections.singletonList("12345678900"));
+        when(delegate.existsByCpf("12345678900")).thenReturn(true);
+        filtered.warmUp();
+
+        assertFalse(filtered.existsByCpf("00000000000"));
+        assertTrue(filtered.existsByCpf("12345678900"));
+
+        verify(delegate, never()).existsByCpf("00000000000");
+        verify(delegate, times(1)).existsByCpf("12345678900");
+        verify(delegate, never()).findAll(); // A carga lê apenas os CPFs.
+        assertEquals(1, filtered.getSkippedQueries());
+    }
+
+    @Test
+    void testLookupsByKeyIgnoreTheFilter() throws SQLException {
+        CachingDriverDAO filtered = new CachingDriverDAO(delegate, 100, Duration.ofMinutes(5), 1_000, 0.01);
+        when(delegate.findAllCpfs()).thenReturn(Collections.emptyList());
+        filtered.warmUp();
+        // Gravado por outro nó depois da carga: o filtro não conhece o CPF.
+        Driver external = new Driver(3, 1, "Ana", "55566677788", "CNH789", LocalDate.of(1985, 3, 3));
+        when(delegate.findByCpf("55566677788")).thenReturn(Optional.of(external));
+
+        assertEquals(Optional.of(external), filtered.findByCpf("55566677788"));
+        assertEquals(0, filtered.getSkippedQueries());
+    }
+
+    @Test
+    void testCreatedKeysAreQueriedAfterWarmUp() throws SQLException {
+        CachingDriverDAO filtered = new CachingDriverDAO(delegate, 100, Duration.ofMinutes(5), 1_000, 0.01);
+        when(delegate.findAllCpfs()).thenReturn(Collections.emptyList());
+        filtered.warmUp();
+        Driver created = new Driver(0, 1, "Maria", "11122233344", "CNH456", LocalDate.of(1990, 5, 5));
+        when(delegate.create(created)).thenReturn(2);
+        when(delegate.existsByCpf("11122233344")).thenReturn(true);
+
+        filtered.create(created);
+
+        assertTrue(filtered.existsByCpf("11122233344"));
+        verify(delegate, times(1)).existsByCpf("11122233344");
+    }
+
+    @Test
+    void testUniquenessChecksQueryTheDatabaseBeforeWarmUp() throws SQLException {
+        CachingDriverDAO filtered = new CachingDriverDAO(delegate, 100, Duration.ofMinutes(5), 1_000, 0.01);
+
+        assertFalse(filtered.existsByCpf("00000000000"));
+        verify(delegate, times(1)).existsByCpf("00000000000");
+    }
+}
@@ -0,0 +1,154 @@
+package com.compliancesys.dao.cache;
+
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.enums.ComplianceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cache das jornadas do dia corrente.
+ */
+public class CachingJourneyDAOTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private JourneyDAO delegate;
+    private CachingJourneyDAO journeyDAO;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(JourneyDAO.class);
+        today = TODAY;
+        journeyDAO = new CachingJourneyDAO(delegate, () -> today, () -> { });
+    }
+
+    @Test
+    void testTodaysJourneyIsServedFromCache() throws SQLException {
+        Journey journey = journey(10, 1, TODAY);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.of(journey));
+
+        assertEquals(Optional.of(journey), journeyDAO.findByDriverIdAndDate(1, TODAY));
+        assertEquals(Optional.of(journey), journeyDAO.findByDriverIdAndDate(1, TODAY));
+
+        verify(delegate, times(1)).findByDriverIdAndDate(1, TODAY);
+        assertEquals(1, journeyDAO.getCacheStatistics().getHits());
+    }
+
+    @Test
+    void testMissingJourneyIsCachedUntilCreated() throws SQLException {
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.empty());
+        assertEquals(Optional.empty(), journeyDAO.findByDriverIdAndDate(1, TODAY));
+        assertEquals(Optional.empty(), journeyDAO.findByDriverIdAndDate(1, TODAY));
+
+        Journey journey = journey(0, 1, TODAY);
+        when(delegate.create(journey)).thenAnswer(invocation -> {
+            journey.setId(10);
+            return 10;
+        });
+        journeyDAO.create(journey);
+
+        assertEquals(Optional.of(journey), journeyDAO.findByDriverIdAndDate(1, TODAY));
+        verify(delegate, times(1)).findByDriverIdAndDate(1, TODAY);
+    }
+
+    @Test
+    void testUpsertWritesThrough() throws SQLException {
+        Journey calculated = journey(0, 1, TODAY);
+        Journey saved = journey(10, 1, TODAY);
+        when(delegate.upsert(calculated)).thenReturn(saved);
+
+        journeyDAO.upsert(calculated);
+
+        assertSame(saved, journeyDAO.findByDriverIdAndDate(1, TODAY).get());
+        verify(delegate, never()).findByDriverIdAndDate(anyInt(), any());
+    }
+
+    @Test
+    void testDeleteEvictsJourney() throws SQLException {
+        Journey journey = journey(10, 1, TODAY);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.of(journey));
+        journeyDAO.findByDriverIdAndDate(1, TODAY);
+        when(delegate.delete(10)).thenReturn(true);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.empty());
+
+        journeyDAO.delete(10);
+
+        assertEquals(Optional.empty(), journeyDAO.findByDriverIdAndDate(1, TODAY));
+        verify(delegate, times(2)).findByDriverIdAndDate(1, TODAY);
+    }
+
+    @Test
+    void testUpdateMovingJourneyToAnotherDriverEvictsTheOldEntry() throws SQLException {
+        Journey journey = journey(10, 1, TODAY);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.of(journey));
+        journeyDAO.findByDriverIdAndDate(1, TODAY);
+        Journey moved = journey(10, 2, TODAY);
+        when(delegate.update(moved)).thenReturn(true);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.empty());
+
+        journeyDAO.update(moved);
+
+        assertEquals(Optional.empty(), journeyDAO.findByDriverIdAndDate(1, TODAY));
+        assertSame(moved, journeyDAO.findByDriverIdAndDate(2, TODAY).get());
+        verify(delegate, times(2)).findByDriverIdAndDate(1, TODAY);
+        verify(delegate, never()).findByDriverIdAndDate(2, TODAY);
+    }
+
+    @Test
+    void testUpdateChangingDriverOrDateRunsTheAuditHook() throws SQLException {
+        AtomicInteger auditsChanged = new AtomicInteger();
+        journeyDAO = new CachingJourneyDAO(delegate, () -> today, auditsChanged::incrementAndGet);
+        when(delegate.findById(10)).thenReturn(Optional.of(journey(10, 1, TODAY)));
+        when(delegate.update(any(Journey.class))).thenReturn(true);
+
+        journeyDAO.update(journey(10, 1, TODAY)); // Mesmo motorista e data.
+        assertEquals(0, auditsChanged.get());
+
+        journeyDAO.update(journey(10, 2, TODAY));
+        journeyDAO.update(journey(10, 1, TODAY.minusDays(1)));
+        assertEquals(2, auditsChanged.get());
+    }
+
+    @Test
+    void testOtherDatesAreNotCached() throws SQLException {
+        LocalDate yesterday = TODAY.minusDays(1);
+        when(delegate.findByDriverIdAndDate(1, yesterday)).thenReturn(Optional.empty());
+
+        journeyDAO.findByDriverIdAndDate(1, yesterday);
+        journeyDAO.findByDriverIdAndDate(1, yesterday);
+
+        verify(delegate, times(2)).findByDriverIdAndDate(1, yesterday);
+        assertEquals(0, journeyDAO.getCacheStatistics().getSize());
+    }
+
+    @Test
+    void testEntriesExpireAtDayBoundary() throws SQLException {
+        Journey journey = journey(10, 1, TODAY);
+        when(delegate.findByDriverIdAndDate(1, TODAY)).thenReturn(Optional.of(journey));
+        journeyDAO.findByDriverIdAndDate(1, TODAY);
+
+        today = TODAY.plusDays(1);
+        journeyDAO.findByDriverIdAndDate(1, TODAY);
+
+        verify(delegate, times(2)).findByDriverIdAndDate(1, TODAY); // Ontem não é mais servido do cache.
+        assertEquals(0, journeyDAO.getCacheStatistics().getSize());
+        assertEquals(1, journeyDAO.getCacheStatistics().getExpirations());
+    }
+
+    private static Journey journey(int id, int driverId, LocalDate date) {
+        return new Journey(id, driverId, 1, date, date.atTime(8, 0), date.atTime(17, 0), "São Paulo", "Campinas",
+                Duration.ofHours(6), Duration.ofHours(1), Duration.ofMinutes(30), ComplianceStatus.CONFORME, false);
+    }
+}
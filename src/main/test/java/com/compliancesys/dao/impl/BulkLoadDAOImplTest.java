@@ -0,0 +1,50 @@
+package com.compliancesys.dao.impl;
+
+import com.compliancesys.model.MobileCommunication;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da formatação das linhas enviadas pelo COPY FROM STDIN.
+ */
+public class BulkLoadDAOImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 23, 0);
+
+    @Test
+    void testAppendTimeRecordUsesCopyTextFormat() {
+        TimeRecord record = new TimeRecord(7, 3, LocalDateTime.of(2024, 1, 10, 8, 30), EventType.START_DRIVING, "Pátio\tA\\B");
+        StringBuilder buffer = new StringBuilder();
+
+        BulkLoadDAOImpl.appendTimeRecord(buffer, record, NOW);
+
+        assertEquals("7\t3\t2024-01-10T08:30\tSTART_DRIVING\tPátio\\tA\\\\B\t2024-01-10T23:00\t2024-01-10T23:00\n", buffer.toString());
+    }
+
+    @Test
+    void testAppendMobileCommunicationWritesNulls() {
+        MobileCommunication communication = new MobileCommunication(5, 42, LocalDateTime.of(2024, 1, 10, 8, 30),
+                -23.5, null, null, false, "linha1\nlinha2");
+        StringBuilder buffer = new StringBuilder();
+
+        BulkLoadDAOImpl.appendMobileCommunication(buffer, communication, NOW);
+
+        assertEquals("5\t42\t2024-01-10T08:30\t-23.5\t\\N\t\\N\tf\tlinha1\\nlinha2\t2024-01-10T23:00\t2024-01-10T23:00\n", buffer.toString());
+    }
+
+    @Test
+    void testColumnCountMatchesInsertColumns() {
+        StringBuilder buffer = new StringBuilder();
+        BulkLoadDAOImpl.appendTimeRecord(buffer, new TimeRecord(1, 1, NOW, EventType.IN, "A"), NOW);
+        assertEquals(TimeRecordDAOImpl.INSERT_COLUMNS.split(",").length, buffer.toString().split("\t").length);
+
+        buffer.setLength(0);
+        BulkLoadDAOImpl.appendMobileCommunication(buffer, new MobileCommunication(1, 1, NOW, 0.0, 0.0, NOW, true, null), NOW);
+        assertEquals(MobileCommunicationDAOImpl.INSERT_COLUMNS.split(",").length, buffer.toString().split("\t").length);
+    }
+}
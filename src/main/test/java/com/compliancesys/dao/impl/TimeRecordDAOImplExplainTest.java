@@ -0,0 +1,172 @@
+package com.compliancesys.dao.impl;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.compliancesys.config.DatabaseConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes de integração com um PostgreSQL local, verificando pelo EXPLAIN que as buscas por período
+ * de TimeRecordDAOImpl usam os índices (driver_id, record_time) e (vehicle_id, record_time).
+ * Os dados ficam em uma tabela temporária com o mesmo nome, que só existe na sessão do teste.
+ * Os testes são ignorados quando não há banco acessível com as propriedades db.url, db.username e db.password.
+ */
+class TimeRecordDAOImplExplainTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static Connection conn;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        try {
+            String user = DatabaseConfig.getProperty("db.username");
+            conn = DriverManager.getConnection(DatabaseConfig.getProperty("db.url"),
+                    user != null ? user : DatabaseConfig.getProperty("db.user"), DatabaseConfig.getProperty("db.password"));
+        } catch (SQLException | RuntimeException | ExceptionInInitializerError e) { // Sem banco ou sem database.properties.
+            conn = null;
+        }
+        assumeTrue(conn != null, "PostgreSQL local indisponível; testes de EXPLAIN ignorados.");
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TEMP TABLE time_records (id SERIAL PRIMARY KEY, driver_id integer NOT NULL, vehicle_id integer,"
+                    + " record_time timestamptz NOT NULL, event_type varchar(50) NOT NULL, location varchar(255),"
+                    + " created_at timestamptz DEFAULT (now()), updated_at timestamptz DEFAULT (now()))");
+            stmt.execute("CREATE INDEX idx_timerecord_driver_timestamp ON time_records (driver_id, record_time)");
+            stmt.execute("CREATE INDEX idx_timerecord_vehicle_timestamp ON time_records (vehicle_id, record_time)");
+            // 100 mil registros: 200 motoristas e 50 veículos, um registro por minuto a partir de BASE_TIME.
+            stmt.execute("INSERT INTO time_records (driver_id, vehicle_id, record_time, event_type)"
+                    + " SELECT g % 200 + 1, g % 50 + 1, TIMESTAMP '2024-01-01 00:00' + g * INTERVAL '1 minute', 'START_JOURNEY'"
+                    + " FROM generate_series(0, 99999) AS g");
+            stmt.execute("ANALYZE time_records");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (conn != null) {
+            conn.close(); // A tabela temporária é descartada junto com a sessão.
+        }
+    }
+
+    @Test
+    @DisplayName("A busca por motorista e período deve restringir record_time no índice (driver_id, record_time)")
+    void testDriverTimeRangeUsesIndex() throws SQLException {
+        String plan = explain(TimeRecordDAOImpl.FIND_BY_DRIVER_AND_TIME_RANGE_SQL, 1);
+
+        assertTrue(plan.contains("idx_timerecord_driver_timestamp"), plan);
+        assertTrue(indexCondition(plan).contains("record_time"), plan);
+    }
+
+    @Test
+    @DisplayName("A busca por veículo e período deve restringir record_time no índice (vehicle_id, record_time)")
+    void testVehicleTimeRangeUsesIndex() throws SQLException {
+        String plan = explain(TimeRecordDAOImpl.FIND_BY_VEHICLE_AND_TIME_RANGE_SQL, 1);
+
+        assertTrue(plan.contains("idx_timerecord_vehicle_timestamp"), plan);
+        assertTrue(indexCondition(plan).contains("record_time"), plan);
+    }
+
+    @Test
+    @DisplayName("A busca de vários motoristas com driver_id = ANY(?) deve usar o índice (driver_id, record_time)")
+    void testDriverIdsTimeRangeUsesIndex() throws SQLException {
+        String plan;
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + TimeRecordDAOImpl.FIND_BY_DRIVERS_AND_TIME_RANGE_SQL)) {
+            stmt.setArray(1, DriverBatchQueries.driverIdArray(conn, new int[]{1, 2, 3}));
+            stmt.setObject(2, BASE_TIME);
+            stmt.setObject(3, BASE_TIME.plusDays(1));
+            plan = readPlan(stmt);
+        }
+
+        assertTrue(plan.contains("idx_timerecord_driver_timestamp"), plan);
+        assertTrue(indexCondition(plan).contains("ANY"), plan);
+        assertTrue(indexCondition(plan).contains("record_time"), plan);
+    }
+
+    @Test
+    @DisplayName("DATE(record_time) = ? não deve conseguir restringir record_time pelo índice")
+    void testDateFunctionDoesNotUseRecordTimeInIndex() throws SQLException {
+        String sql = "SELECT " + TimeRecordDAOImpl.SELECT_COLUMNS + " FROM " + TimeRecordDAOImpl.TABLE_NAME
+                + " WHERE driver_id = ? AND DATE(record_time) = ?";
+        String plan;
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            stmt.setInt(1, 1);
+            stmt.setObject(2, BASE_TIME.toLocalDate());
+            plan = readPlan(stmt);
+        }
+
+        assertFalse(indexCondition(plan).contains("record_time"), plan);
+    }
+
+    @Test
+    @DisplayName("O intervalo deve ser semiaberto: inclui o limite inicial e exclui o final")
+    void testTimeRangeIsHalfOpen() throws SQLException {
+        // Motorista 1 tem registros em BASE_TIME + 0, 200, 400... minutos.
+        LocalDateTime from = BASE_TIME;
+        LocalDateTime to = BASE_TIME.plusMinutes(400);
+        List<LocalDateTime> times = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(TimeRecordDAOImpl.FIND_BY_DRIVER_AND_TIME_RANGE_SQL)) {
+            stmt.setInt(1, 1);
+            stmt.setObject(2, from);
+            stmt.setObject(3, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    times.add(rs.getObject("record_time", OffsetDateTime.class)
+                            .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+                }
+            }
+        }
+
+        assertEquals(2, times.size());
+        assertEquals(from, times.get(0));
+        assertEquals(BASE_TIME.plusMinutes(200), times.get(1));
+    }
+
+    private static String explain(String sql, int ownerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            stmt.setInt(1, ownerId);
+            stmt.setObject(2, BASE_TIME);
+            stmt.setObject(3, BASE_TIME.plusDays(1));
+            return readPlan(stmt);
+        }
+    }
+
+    private static String readPlan(PreparedStatement stmt) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Retorna as linhas "Index Cond" do plano, ou string vazia se nenhum índice foi usado.
+     */
+    private static String indexCondition(String plan) {
+        StringBuilder conditions = new StringBuilder();
+        for (String line : plan.split("\n")) {
+            if (line.contains("Index Cond:")) {
+                conditions.append(line).append('\n');
+            }
+        }
+        return conditions.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.compliancesys.model;
+
+import com.compliancesys.model.enums.ActivityType;
+import com.compliancesys.model.enums.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do índice de atividades de um motorista em janelas arbitrárias.
+ */
+public class DriverActivityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private static TimeRecord record(LocalDateTime time, EventType eventType) {
+        return new TimeRecord(1, 1, time, eventType, "Location A");
+    }
+
+    @Test
+    void testDrivingAcrossMidnight() {
+        List<TimeRecord> records = Arrays.asList(
+                record(DAY.plusHours(13), EventType.START_DRIVING), // Antes da janela: a direção já está em curso às 14:00.
+                record(DAY.plusHours(18), EventType.START_MEAL),
+                record(DAY.plusHours(19), EventType.RESUME_DRIVING),
+                record(DAY.plusHours(23), EventType.END_JOURNEY),
+                record(DAY.plusHours(25), EventType.START_DRIVING));
+        LocalDateTime from = DAY.plusHours(14);
+        LocalDateTime to = DAY.plusHours(26); // 02:00 do dia seguinte.
+
+        DriverActivityIndex index = DriverActivityIndex.build(1, from, to, records, to);
+
+        assertEquals(Duration.ofHours(9), index.getTime(ActivityType.DRIVING)); // 14-18, 19-23 e 01-02.
+        assertEquals(Duration.ofHours(4), index.getLongestContinuous(ActivityType.DRIVING));
+        assertEquals(Duration.ofHours(1), index.getTime(ActivityType.MEAL));
+        assertEquals(Duration.ofHours(2), index.getTime(ActivityType.OFF_DUTY));
+        assertEquals(Duration.ofHours(2), index.getTime(ActivityType.DRIVING, DAY.plusHours(17), DAY.plusHours(20)));
+    }
+
+    @Test
+    void testPartialMinutesAndOpenActivity() {
+        List<TimeRecord> records = Arrays.asList(
+                record(DAY.plusHours(8).plusSeconds(30), EventType.START_REST),
+                record(DAY.plusHours(9).plusSeconds(30), EventType.START_DRIVING));
+
+        DriverActivityIndex index = DriverActivityIndex.build(1, DAY.plusHours(8), DAY.plusHours(12), records,
+                DAY.plusHours(10)); // Agora: a direção em curso só conta até as 10:00.
+
+        assertEquals(Duration.ofHours(1), index.getTime(ActivityType.REST));
+        assertEquals(Duration.ofMinutes(59), index.getLongestContinuous(ActivityType.REST)); // Só minutos completos.
+        assertEquals(Duration.ofMinutes(59).plusSeconds(30), index.getTime(ActivityType.DRIVING));
+    }
+
+    @Test
+    void testEmptyAndInvalidWindows() {
+        DriverActivityIndex index = DriverActivityIndex.build(1, DAY, DAY.plusDays(7), Collections.emptyList(), DAY);
+        assertTrue(index.getActivities().isEmpty());
+        assertEquals(Duration.ZERO, index.getTime(ActivityType.REST));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DriverActivityIndex.build(1, DAY, DAY.plusDays(32), Collections.emptyList(), DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> DriverActivityIndex.build(1, DAY, DAY, Collections.emptyList(), DAY));
+    }
+
+    @Test
+    void testIndexedSpanUsesRoundedBounds() {
+        LocalDateTime from = DAY.plusSeconds(30);
+        LocalDateTime to = from.plus(DriverActivityIndex.MAX_SPAN); // 31 dias exatos, mas fora do minuto.
+
+        // Arredondados, os limites cobrem 31 dias e 1 minuto: acima do máximo que build aceita.
+        assertEquals(DriverActivityIndex.MAX_SPAN.plusMinutes(1), DriverActivityIndex.indexedSpan(from, to));
+        assertThrows(IllegalArgumentException.class,
+                () -> DriverActivityIndex.build(1, from, to, Collections.emptyList(), DAY));
+        assertEquals(DriverActivityIndex.MAX_SPAN, DriverActivityIndex.indexedSpan(DAY, DAY.plusDays(31)));
+    }
+}
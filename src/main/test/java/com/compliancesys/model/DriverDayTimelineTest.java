@@ -0,0 +1,131 @@
+package com.compliancesys.model;
+
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para DriverDayTimeline: ordenação primitiva estável e totais iguais aos de DriverJourneyState.
+ */
+public class DriverDayTimelineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    @Test
+    void testTotalsMatchDriverJourneyState() {
+        TimeRecord[] records = {
+                record(6, 0, EventType.START_JOURNEY),
+                record(6, 30, EventType.START_DRIVING),
+                record(9, 0, EventType.START_BREAK),
+                record(9, 10, EventType.RESUME_DRIVING), // Pausa de 10 min não zera a direção contínua.
+                record(11, 0, EventType.START_MEAL),
+                record(12, 0, EventType.RESUME_DRIVING),
+                record(14, 0, EventType.START_REST),
+                record(15, 0, EventType.END_JOURNEY)};
+        DriverDayTimeline timeline = new DriverDayTimeline(1, DAY);
+        DriverJourneyState state = new DriverJourneyState(1, DAY);
+        for (TimeRecord record : records) {
+            assertTrue(timeline.add(record));
+            state.apply(record);
+        }
+
+        assertEquals(state.getDrivingTime(), timeline.getDrivingTime());
+        assertEquals(state.getRestTime(), timeline.getRestTime());
+        assertEquals(state.getBreakTime(), timeline.getBreakTime());
+        assertEquals(Duration.ofMinutes(260), timeline.getLongestContinuousDrivingTime());
+    }
+
+    @Test
+    void testContinuousDrivingMatchesContinuousDrivingRule() {
+        TimeRecord[] records = {
+                record(5, 40, EventType.START_BREAK), // Pausa antes de dirigir não conta.
+                record(6, 0, EventType.START_DRIVING),
+                record(9, 0, EventType.START_WAITING), // Espera não interrompe a direção contínua.
+                record(9, 40, EventType.RESUME_DRIVING),
+                record(11, 0, EventType.START_BREAK),
+                record(11, 15, EventType.RESUME_DRIVING),
+                record(12, 30, EventType.START_MEAL), // Completa os 30 min com a pausa das 11h.
+                record(12, 45, EventType.RESUME_DRIVING),
+                record(13, 45, EventType.END_JOURNEY)};
+        DriverDayTimeline timeline = new DriverDayTimeline(1, DAY);
+        DriverJourneyState state = new DriverJourneyState(1, DAY);
+        Duration longestInState = Duration.ZERO;
+        for (TimeRecord record : records) {
+            timeline.add(record);
+            state.apply(record);
+            if (state.getContinuousDrivingTime().compareTo(longestInState) > 0) {
+                longestInState = state.getContinuousDrivingTime();
+            }
+        }
+        List<RuleViolation> violations = JourneyRuleEngine.lei13103(false).evaluate(Arrays.asList(records)).stream()
+                .filter(v -> v.getType() == ViolationType.CONTINUOUS_DRIVING)
+                .collect(Collectors.toList());
+
+        assertEquals(1, violations.size());
+        assertEquals(Duration.ofMinutes(335), violations.get(0).getMeasured());
+        assertEquals(violations.get(0).getMeasured(), timeline.getLongestContinuousDrivingTime());
+        assertEquals(violations.get(0).getMeasured(), longestInState);
+        assertEquals(Duration.ofMinutes(60), state.getContinuousDrivingTime());
+    }
+
+    @Test
+    void testSortIsStableForSmallAndLargeTimelines() {
+        for (int count : new int[]{10, 500}) {
+            DriverDayTimeline timeline = new DriverDayTimeline(1, DAY);
+            for (int i = count - 1; i >= 0; i--) {
+                timeline.add(EventType.START_DRIVING, epoch(0, 0) + i * 60L);
+                timeline.add(EventType.START_BREAK, epoch(0, 0) + i * 60L); // Mesmo horário: mantém a ordem de inserção.
+            }
+
+            timeline.sort();
+
+            for (int i = 0; i < count; i++) {
+                assertEquals(epoch(0, 0) + i * 60L, timeline.getTime(2 * i));
+                assertEquals(EventType.START_DRIVING, timeline.getEventType(2 * i));
+                assertEquals(EventType.START_BREAK, timeline.getEventType(2 * i + 1));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsRecordsOfOtherDaysAndDrivers() {
+        DriverDayTimeline timeline = new DriverDayTimeline(1, DAY);
+
+        assertFalse(timeline.add(new TimeRecord(1, 1, 7, DAY.plusDays(1).atStartOfDay(), EventType.START_DRIVING, "Local")));
+        assertFalse(timeline.add(new TimeRecord(2, 2, 7, DAY.atTime(8, 0), EventType.START_DRIVING, "Local")));
+        assertThrows(IllegalArgumentException.class, () -> timeline.add(EventType.START_DRIVING, epoch(0, 0) - 1));
+        assertTrue(timeline.isEmpty());
+    }
+
+    @Test
+    void testResetReusesTheTimeline() {
+        DriverDayTimeline timeline = new DriverDayTimeline(1, DAY);
+        timeline.add(EventType.START_DRIVING, epoch(8, 0));
+        timeline.add(EventType.END_DRIVING, epoch(10, 0));
+        assertEquals(Duration.ofHours(2), timeline.getDrivingTime());
+
+        timeline.reset(2, DAY.plusDays(1));
+
+        assertTrue(timeline.isEmpty());
+        assertEquals(0, timeline.getDrivingSeconds());
+        assertTrue(timeline.add(new TimeRecord(3, 2, 7, DAY.plusDays(1).atTime(8, 0), EventType.START_DRIVING, "Local")));
+    }
+
+    private static TimeRecord record(int hour, int minute, EventType eventType) {
+        return new TimeRecord(hour * 60 + minute, 1, 7, DAY.atTime(hour, minute), eventType, "Local");
+    }
+
+    private static long epoch(int hour, int minute) {
+        return DAY.atTime(hour, minute).toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,52 @@
+package com.compliancesys.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para Page, garantindo que o cursor da próxima página seja calculado corretamente.
+ */
+public class PageTest {
+
+    @Test
+    void testOfWithExtraItemReturnsNextCursor() {
+        List<Integer> fetched = Arrays.asList(11, 12, 13, 14); // limit + 1 itens buscados
+
+        Page<Integer> page = Page.of(fetched, 3, Integer::intValue);
+
+        assertEquals(Arrays.asList(11, 12, 13), page.getItems());
+        assertEquals(13, page.getNextCursor());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void testOfLastPageHasNoCursor() {
+        Page<Integer> page = Page.of(Arrays.asList(21, 22), 3, Integer::intValue);
+
+        assertEquals(Arrays.asList(21, 22), page.getItems());
+        assertNull(page.getNextCursor());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testOfEmptyResult() {
+        Page<Integer> page = Page.of(Collections.emptyList(), 3, Integer::intValue);
+
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testIsValidRequest() {
+        assertTrue(Page.isValidRequest(0, Page.DEFAULT_LIMIT));
+        assertTrue(Page.isValidRequest(500, Page.MAX_LIMIT));
+        assertFalse(Page.isValidRequest(-1, 10));
+        assertFalse(Page.isValidRequest(0, 0));
+        assertFalse(Page.isValidRequest(0, Page.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,142 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.ComplianceAuditDAO;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.ComplianceAudit;
+import com.compliancesys.model.FleetAuditResult;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.service.impl.ComplianceServiceImpl;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes da auditoria da frota (ComplianceService.performFleetAudit): motoristas particionados em tarefas
+ * paralelas, auditorias gravadas em lote e progresso notificado.
+ */
+public class ComplianceFleetAuditServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    private ComplianceAuditDAO complianceAuditDAO;
+    private JourneyDAO journeyDAO;
+    private TimeRecordDAO timeRecordDAO;
+    private ComplianceService complianceService;
+    private final List<ComplianceAudit> written = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        complianceAuditDAO = Mockito.mock(ComplianceAuditDAO.class);
+        journeyDAO = Mockito.mock(JourneyDAO.class);
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        complianceService = new ComplianceServiceImpl(complianceAuditDAO, journeyDAO, timeRecordDAO, new ValidatorImpl(),
+                () -> JourneyRuleEngine.lei13103Intraday(false), 4);
+
+        List<Integer> driverIds = IntStream.rangeClosed(1, 120).boxed().collect(Collectors.toList());
+        when(journeyDAO.findDriverIdsByDateRange(DAY, DAY)).thenReturn(driverIds);
+        when(journeyDAO.findByDriverIdsAndDateRange(any(int[].class), any(LocalDate.class), any(LocalDate.class))).thenAnswer(inv -> {
+            Map<Integer, List<Journey>> journeys = new LinkedHashMap<>();
+            for (int driverId : (int[]) inv.getArgument(0)) {
+                Journey journey = new Journey();
+                journey.setId(driverId * 10);
+                journey.setDriverId(driverId);
+                journey.setJourneyDate(DAY);
+                journeys.put(driverId, new ArrayList<>(Collections.singletonList(journey)));
+            }
+            return journeys;
+        });
+        when(timeRecordDAO.findByDriverIdsAndDateRange(any(int[].class), any(LocalDate.class), any(LocalDate.class))).thenAnswer(inv -> {
+            Map<Integer, List<TimeRecord>> records = new LinkedHashMap<>();
+            for (int driverId : (int[]) inv.getArgument(0)) {
+                if (driverId % 2 == 0) { // Motoristas pares: 11h de descanso e 4h de direção (conforme).
+                    records.put(driverId, Arrays.asList(
+                            record(driverId, 0, EventType.END_JOURNEY),
+                            record(driverId, 11, EventType.START_DRIVING),
+                            record(driverId, 15, EventType.END_JOURNEY)));
+                } else { // Motoristas ímpares: 7h seguidas de direção.
+                    records.put(driverId, Arrays.asList(
+                            record(driverId, 8, EventType.START_DRIVING),
+                            record(driverId, 15, EventType.END_JOURNEY)));
+                }
+            }
+            return records;
+        });
+        when(complianceAuditDAO.createBatch(anyList())).thenAnswer(inv -> {
+            List<ComplianceAudit> audits = inv.getArgument(0);
+            written.addAll(audits);
+            return audits.size();
+        });
+    }
+
+    @Test
+    void testFleetAuditWritesOneBatchPerPartition() throws SQLException {
+        List<long[]> progress = new CopyOnWriteArrayList<>();
+
+        FleetAuditResult result = complianceService.performFleetAudit(DAY, DAY,
+                (processed, total, rate) -> progress.add(new long[]{processed, total}));
+
+        assertEquals(120, result.getDriverCount());
+        assertEquals(120, result.getJourneyCount());
+        assertEquals(120, result.getAuditsCreated());
+        assertEquals(60, result.getNonCompliantCount());
+        assertTrue(result.getFailedDriverIds().isEmpty());
+        verify(complianceAuditDAO, times(3)).createBatch(anyList()); // 120 motoristas em tarefas de 50.
+        verify(complianceAuditDAO, never()).create(any(ComplianceAudit.class));
+        verify(journeyDAO, times(3)).findByDriverIdsAndDateRange(any(int[].class), any(LocalDate.class), any(LocalDate.class));
+        // O dia anterior alimenta as janelas de 24 horas do primeiro dia.
+        verify(timeRecordDAO, times(3)).findByDriverIdsAndDateRange(any(int[].class), eq(DAY.minusDays(1)), eq(DAY));
+
+        assertEquals(3, progress.size());
+        assertArrayEquals(new long[]{120, 120}, progress.get(2));
+        ComplianceAudit odd = written.stream().filter(a -> a.getJourneyId() == 10).findFirst().get();
+        ComplianceAudit even = written.stream().filter(a -> a.getJourneyId() == 20).findFirst().get();
+        assertEquals(ComplianceStatus.NON_COMPLIANT, odd.getComplianceStatus());
+        assertEquals(ComplianceStatus.COMPLIANT, even.getComplianceStatus());
+    }
+
+    @Test
+    void testFailedPartitionIsReportedAndOthersAreWritten() throws SQLException {
+        when(timeRecordDAO.findByDriverIdsAndDateRange(argThat(ids -> ids[0] == 51), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new SQLException("falha simulada"));
+
+        FleetAuditResult result = complianceService.performFleetAudit(DAY, DAY, null);
+
+        assertEquals(50, result.getFailedDriverIds().size());
+        assertTrue(result.getFailedDriverIds().contains(51));
+        assertEquals(70, result.getAuditsCreated());
+    }
+
+    @Test
+    void testFleetAuditRejectsInvertedPeriod() {
+        assertThrows(BusinessException.class, () -> complianceService.performFleetAudit(DAY.plusDays(1), DAY, null));
+    }
+
+    private static TimeRecord record(int driverId, int hour, EventType eventType) {
+        return new TimeRecord(0, driverId, 1, LocalDateTime.of(DAY.getYear(), DAY.getMonth(), DAY.getDayOfMonth(), hour, 0), eventType, "Local");
+    }
+}
@@ -0,0 +1,98 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.ComplianceAuditDAO;
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.ComplianceReport;
+import com.compliancesys.model.ComplianceStatusCount;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.ReportGrouping;
+import com.compliancesys.service.impl.ComplianceServiceImpl;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes dos relatórios de conformidade montados a partir das contagens agregadas no banco
+ * (ComplianceAuditDAO.countByStatus).
+ */
+public class ComplianceReportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    private ComplianceAuditDAO complianceAuditDAO;
+    private ComplianceService complianceService;
+
+    @BeforeEach
+    void setUp() {
+        complianceAuditDAO = Mockito.mock(ComplianceAuditDAO.class);
+        complianceService = new ComplianceServiceImpl(complianceAuditDAO, Mockito.mock(JourneyDAO.class), new ValidatorImpl());
+    }
+
+    @Test
+    void testDriverReportUsesCountsWithoutLoadingAudits() throws SQLException {
+        when(complianceAuditDAO.countByStatus(1, START, END, ReportGrouping.NONE)).thenReturn(Arrays.asList(
+                new ComplianceStatusCount(null, ComplianceStatus.COMPLIANT, 8),
+                new ComplianceStatusCount(null, ComplianceStatus.NON_COMPLIANT, 2),
+                new ComplianceStatusCount(null, ComplianceStatus.PENDING, 1)));
+
+        ComplianceReport report = complianceService.generateDriverComplianceReport(1, START, END);
+
+        assertEquals(11, report.getTotalAudits());
+        assertEquals(8, report.getCompliantCount());
+        assertEquals(2, report.getNonCompliantCount());
+        assertEquals(1L, report.getStatusCounts().get(ComplianceStatus.PENDING));
+        assertNull(report.getAudits());
+        assertNull(report.getGroups());
+        verify(complianceAuditDAO, never()).findByDriverIdAndDate(anyInt(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void testOverallReportGroupedByDay() throws SQLException {
+        when(complianceAuditDAO.countByStatus(null, START, END, ReportGrouping.DAY)).thenReturn(Arrays.asList(
+                new ComplianceStatusCount("2024-01-02", ComplianceStatus.COMPLIANT, 3),
+                new ComplianceStatusCount("2024-01-02", ComplianceStatus.NON_COMPLIANT, 1),
+                new ComplianceStatusCount("2024-01-05", ComplianceStatus.COMPLIANT, 4)));
+
+        ComplianceReport report = complianceService.generateOverallComplianceSummary(START, END, ReportGrouping.DAY, false);
+
+        assertEquals(8, report.getTotalAudits());
+        assertEquals(7, report.getCompliantCount());
+        assertEquals(2, report.getGroups().size());
+        assertEquals("2024-01-02", report.getGroups().get(0).getGroupKey());
+        assertEquals(4, report.getGroups().get(0).getTotalAudits());
+        assertEquals("2024-01-05", report.getGroups().get(1).getGroupKey());
+        assertEquals(4, report.getGroups().get(1).getCompliantCount());
+        verify(complianceAuditDAO, never()).findByDateRange(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void testOverallReportIncludesAuditsOnlyWhenRequested() throws SQLException {
+        when(complianceAuditDAO.countByStatus(null, START, END, ReportGrouping.NONE)).thenReturn(Collections.emptyList());
+        when(complianceAuditDAO.findByDateRange(START, END)).thenReturn(Collections.emptyList());
+
+        ComplianceReport report = complianceService.generateOverallComplianceSummary(START, END, ReportGrouping.NONE, true);
+
+        assertEquals(0, report.getTotalAudits());
+        assertNotNull(report.getAudits());
+        verify(complianceAuditDAO, times(1)).findByDateRange(START, END);
+    }
+
+    @Test
+    void testReportRejectsInvertedPeriod() {
+        assertThrows(BusinessException.class,
+                () -> complianceService.generateOverallComplianceSummary(END, START, ReportGrouping.NONE, false));
+    }
+}
@@ -49,7 +49,7 @@ public class DriverServiceTest {
         Driver newDriver = new Driver(0, "João Silva", "12345678901", "ABC12345678", "D", LocalDate.now().plusYears(5), "11987654321", "joao@email.com", null, null);
 
         // Configura o mock para simular que o CPF não existe e a criação retorna um ID
-        when(driverDAO.findByCpf(anyString())).thenReturn(Optional.empty());
+        when(driverDAO.existsByCpf(anyString())).thenReturn(false);
         when(driverDAO.create(any(Driver.class))).thenReturn(1); // Simula que a criação retorna o ID 1
 
         Driver createdDriver = driverService.createDriver(newDriver);
@@ -61,7 +61,7 @@ public class DriverServiceTest {
         assertNotNull(createdDriver.getUpdatedAt());
 
         // Verifica se os métodos do DAO foram chamados corretamente
-        verify(driverDAO, times(1)).findByCpf("12345678901");
+        verify(driverDAO, times(1)).existsByCpf("12345678901");
         verify(driverDAO, times(1)).create(any(Driver.class));
     }
 
@@ -142,11 +142,11 @@ public class DriverServiceTest {
         Driver newDriver = new Driver(0, "João Silva", "12345678901", "ABC12345678", "D", LocalDate.now().plusYears(5), "11987654321", "joao@email.com", null, null);
 
         // Configura o mock para simular que o CPF já existe
-        when(driverDAO.findByCpf(anyString())).thenReturn(Optional.of(existingDriver));
+        when(driverDAO.existsByCpf(anyString())).thenReturn(true);
 
         BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.createDriver(newDriver));
         assertEquals("Já existe um motorista cadastrado com este CPF: 12345678901", thrown.getMessage());
-        verify(driverDAO, times(1)).findByCpf("12345678901");
+        verify(driverDAO, times(1)).existsByCpf("12345678901");
         verify(driverDAO, never()).create(any(Driver.class));
     }
 
@@ -155,13 +155,13 @@ public class DriverServiceTest {
     void testCreateDriverSQLException() throws SQLException {
         Driver newDriver = new Driver(0, "João Silva", "12345678901", "ABC12345678", "D", LocalDate.now().plusYears(5), "11987654321", "joao@email.com", null, null);
 
-        when(driverDAO.findByCpf(anyString())).thenReturn(Optional.empty());
+        when(driverDAO.existsByCpf(anyString())).thenReturn(false);
         when(driverDAO.create(any(Driver.class))).thenThrow(new SQLException("Erro de conexão com o DB"));
 
         BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.createDriver(newDriver));
         assertTrue(thrown.getMessage().contains("Erro interno ao criar o motorista."));
         assertTrue(thrown.getCause() instanceof SQLException);
-        verify(driverDAO, times(1)).findByCpf("12345678901");
+        verify(driverDAO, times(1)).existsByCpf("12345678901");
         verify(driverDAO, times(1)).create(any(Driver.class));
     }
 
@@ -254,7 +254,7 @@ public class DriverServiceTest {
         Driver updatedDriver = new Driver(1, "João Novo", "12345678901", "XYZ98765432", "E", LocalDate.now().plusYears(10), "11998877665", "novo@email.com", null, null);
 
         when(driverDAO.findById(1)).thenReturn(Optional.of(existingDriver));
-        when(driverDAO.findByCpf(anyString())).thenReturn(Optional.of(existingDriver)); // CPF é o mesmo, então encontra o próprio motorista
+        when(driverDAO.existsByCpf(anyString())).thenReturn(true); // CPF é o mesmo, então encontra o próprio motorista
         when(driverDAO.update(any(Driver.class))).thenReturn(true);
 
         Driver resultDriver = driverService.updateDriver(updatedDriver);
@@ -266,7 +266,7 @@ public class DriverServiceTest {
         assertEquals(existingDriver.getCreatedAt(), resultDriver.getCreatedAt()); // Data de criação deve ser mantida
 
         verify(driverDAO, times(1)).findById(1);
-        verify(driverDAO, times(1)).findByCpf("12345678901");
+        verify(driverDAO, times(1)).existsByCpf("12345678901");
         verify(driverDAO, times(1)).update(any(Driver.class));
     }
 
@@ -306,12 +306,12 @@ public class DriverServiceTest {
         Driver updatedDriver2 = new Driver(2, "Motorista 2 Atualizado", "11122233344", "LIC2 Novo", "D", LocalDate.now().plusYears(3), "2", "m2@m.com", null, null); // Tenta usar CPF do Motorista 1
 
         when(driverDAO.findById(2)).thenReturn(Optional.of(existingDriver2));
-        when(driverDAO.findByCpf("11122233344")).thenReturn(Optional.of(existingDriver1)); // Encontra o Motorista 1 com o CPF
+        when(driverDAO.existsByCpf("11122233344")).thenReturn(true); // Encontra o Motorista 1 com o CPF
 
         BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.updateDriver(updatedDriver2));
         assertEquals("Já existe outro motorista cadastrado com este CPF: 11122233344", thrown.getMessage());
         verify(driverDAO, times(1)).findById(2);
-        verify(driverDAO, times(1)).findByCpf("11122233344");
+        verify(driverDAO, times(1)).existsByCpf("11122233344");
         verify(driverDAO, never()).update(any(Driver.class));
     }
 
@@ -322,14 +322,14 @@ public class DriverServiceTest {
         Driver updatedDriver = new Driver(1, "João Novo", "12345678901", "XYZ98765432", "E", LocalDate.now().plusYears(10), "11998877665", "novo@email.com", null, null);
 
         when(driverDAO.findById(1)).thenReturn(Optional.of(existingDriver));
-        when(driverDAO.findByCpf(anyString())).thenReturn(Optional.of(existingDriver));
+        when(driverDAO.existsByCpf(anyString())).thenReturn(true);
         when(driverDAO.update(any(Driver.class))).thenThrow(new SQLException("Erro de DB na atualização"));
 
         BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.updateDriver(updatedDriver));
         assertTrue(thrown.getMessage().contains("Erro interno ao atualizar o motorista."));
         assertTrue(thrown.getCause() instanceof SQLException);
         verify(driverDAO, times(1)).findById(1);
-        verify(driverDAO, times(1)).findByCpf("12345678901");
+        verify(driverDAO, times(1)).existsByCpf("12345678901");
         verify(driverDAO, times(1)).update(any(Driver.class));
     }
 
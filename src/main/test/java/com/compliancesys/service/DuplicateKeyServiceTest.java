@@ -0,0 +1,95 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.DriverDAO;
+import com.compliancesys.dao.VehicleDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.Driver;
+import com.compliancesys.model.Vehicle;
+import com.compliancesys.service.impl.DriverServiceImpl;
+import com.compliancesys.service.impl.VehicleServiceImpl;
+import com.compliancesys.util.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes da violação de unicidade (SQLState 23505) no cadastro de motoristas e veículos: quando o filtro de chaves
+ * não conhece o registro duplicado, a restrição do banco gera a mesma mensagem da verificação prévia.
+ */
+public class DuplicateKeyServiceTest {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private DriverDAO driverDAO;
+    private VehicleDAO vehicleDAO;
+    private DriverService driverService;
+    private VehicleService vehicleService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Mockito.mock(Validator.class);
+        when(validator.isValidName(anyString())).thenReturn(true);
+        when(validator.isValidCpf(anyString())).thenReturn(true);
+        when(validator.isValidLicenseNumber(anyString())).thenReturn(true);
+        when(validator.isValidPlate(anyString())).thenReturn(true);
+        when(validator.isPastOrPresentDate(any(LocalDate.class))).thenReturn(true);
+        driverDAO = Mockito.mock(DriverDAO.class);
+        vehicleDAO = Mockito.mock(VehicleDAO.class);
+        driverService = new DriverServiceImpl(driverDAO, validator);
+        vehicleService = new VehicleServiceImpl(vehicleDAO, validator);
+    }
+
+    @Test
+    void testDuplicateCpfMissedByFilterIsBusinessError() throws SQLException {
+        when(driverDAO.existsByCpf("123.456.789-09")).thenReturn(false);
+        when(driverDAO.create(any(Driver.class))).thenThrow(new SQLException(
+                "duplicate key value violates unique constraint \"drivers_cpf_key\"", UNIQUE_VIOLATION));
+
+        BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.registerDriver(driver()));
+
+        assertEquals("Já existe um motorista cadastrado com este CPF.", thrown.getMessage());
+    }
+
+    @Test
+    void testDuplicateLicenseNumberIsBusinessError() throws SQLException {
+        when(driverDAO.create(any(Driver.class))).thenThrow(new SQLException(
+                "duplicate key value violates unique constraint \"drivers_license_number_key\"", UNIQUE_VIOLATION));
+
+        BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.registerDriver(driver()));
+
+        assertEquals("Já existe um motorista cadastrado com este número de licença.", thrown.getMessage());
+    }
+
+    @Test
+    void testDuplicatePlateMissedByFilterIsBusinessError() throws SQLException {
+        when(vehicleDAO.existsByPlate("ABC1D23")).thenReturn(false);
+        when(vehicleDAO.create(any(Vehicle.class))).thenThrow(new SQLException(
+                "duplicate key value violates unique constraint \"vehicles_plate_key\"", UNIQUE_VIOLATION));
+
+        BusinessException thrown = assertThrows(BusinessException.class,
+                () -> vehicleService.registerVehicle(new Vehicle("ABC1D23", "Volvo", "FH 540", 2022, 1)));
+
+        assertEquals("Já existe um veículo cadastrado com esta placa.", thrown.getMessage());
+    }
+
+    @Test
+    void testOtherSqlErrorsStayInternal() throws SQLException {
+        when(driverDAO.create(any(Driver.class))).thenThrow(new SQLException("connection reset", "08006"));
+
+        BusinessException thrown = assertThrows(BusinessException.class, () -> driverService.registerDriver(driver()));
+
+        assertEquals("Erro interno ao registrar motorista. Tente novamente mais tarde.", thrown.getMessage());
+    }
+
+    private static Driver driver() {
+        return new Driver(1, "João da Silva", "123.456.789-09", "12345678901", LocalDate.of(1980, 5, 20));
+    }
+}
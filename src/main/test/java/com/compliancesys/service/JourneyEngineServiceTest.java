@@ -0,0 +1,153 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.impl.JourneyEngineImpl;
+import com.compliancesys.service.rules.JourneyRuleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cálculo incremental de jornada (JourneyEngine): o dia só é relido do banco
+ * no primeiro registro ou em registros fora de ordem, e a jornada só é gravada em mudanças relevantes.
+ */
+public class JourneyEngineServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    private JourneyDAO journeyDAO;
+    private TimeRecordDAO timeRecordDAO;
+    private JourneyEngine engine;
+    private int nextRecordId = 1;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        journeyDAO = Mockito.mock(JourneyDAO.class);
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        when(timeRecordDAO.findByDriverIdAndDate(anyInt(), any(LocalDate.class))).thenReturn(Collections.emptyList());
+        when(journeyDAO.upsert(any(Journey.class))).thenAnswer(inv -> {
+            Journey saved = inv.getArgument(0);
+            saved.setId(42);
+            return saved;
+        });
+        engine = new JourneyEngineImpl(journeyDAO, timeRecordDAO, () -> JourneyRuleEngine.lei13103Intraday(false), Duration.ofHours(1).getSeconds());
+    }
+
+    @Test
+    void testIncrementalRecordsDoNotReloadTheDay() throws SQLException {
+        engine.onTimeRecord(record(8, 0, EventType.START_DRIVING));
+        engine.onTimeRecord(record(9, 0, EventType.START_BREAK));
+        engine.onTimeRecord(record(9, 15, EventType.RESUME_DRIVING));
+        Journey journey = engine.onTimeRecord(record(11, 15, EventType.END_DRIVING));
+
+        verify(timeRecordDAO, times(1)).findByDriverIdAndDate(1, DAY); // Apenas no primeiro registro.
+        assertEquals(Duration.ofHours(3), journey.getTotalDrivingTime());
+        assertEquals(Duration.ofMinutes(15), journey.getTotalBreakTime());
+        assertEquals(4, engine.getState(1).get().getEventCount());
+    }
+
+    @Test
+    void testPersistsOnlyOnRelevantChanges() throws SQLException {
+        engine.onTimeRecord(record(8, 0, EventType.START_DRIVING)); // Primeira gravação do dia.
+        engine.onTimeRecord(record(8, 20, EventType.START_BREAK)); // 20 min: abaixo do intervalo de gravação.
+        engine.onTimeRecord(record(8, 30, EventType.RESUME_DRIVING));
+        verify(journeyDAO, times(1)).upsert(any(Journey.class));
+
+        engine.onTimeRecord(record(9, 30, EventType.START_BREAK)); // 1h30 acumulada desde a gravação.
+        verify(journeyDAO, times(2)).upsert(any(Journey.class));
+
+        engine.onTimeRecord(record(9, 40, EventType.END_JOURNEY)); // Fim de jornada sempre grava.
+        verify(journeyDAO, times(3)).upsert(any(Journey.class));
+        assertFalse(engine.getState(1).get().hasUnpersistedChanges());
+        assertEquals(42, engine.getState(1).get().getJourneyId());
+    }
+
+    @Test
+    void testOutOfOrderRecordRebuildsFromStoredRecords() throws SQLException {
+        TimeRecord start = record(8, 0, EventType.START_DRIVING);
+        TimeRecord end = record(12, 0, EventType.END_DRIVING);
+        engine.onTimeRecord(start);
+        engine.onTimeRecord(end);
+
+        TimeRecord late = record(10, 0, EventType.START_BREAK); // Chegou depois do END_DRIVING.
+        when(timeRecordDAO.findByDriverIdAndDate(1, DAY)).thenReturn(new ArrayList<>(Arrays.asList(start, end, late)));
+        Journey journey = engine.onTimeRecord(late);
+
+        verify(timeRecordDAO, times(2)).findByDriverIdAndDate(1, DAY);
+        assertEquals(Duration.ofHours(2), journey.getTotalDrivingTime());
+        assertEquals(Duration.ofHours(2), journey.getTotalBreakTime());
+        assertEquals(3, engine.getState(1).get().getEventCount());
+    }
+
+    @Test
+    void testNewDayFlushesPreviousJourney() throws SQLException {
+        engine.onTimeRecord(record(8, 0, EventType.START_DRIVING));
+        engine.onTimeRecord(record(8, 10, EventType.START_BREAK)); // Alteração ainda não gravada.
+        engine.onTimeRecord(new TimeRecord(nextRecordId++, 1, 7, LocalDateTime.of(2024, 1, 11, 8, 0), EventType.START_DRIVING, "Local"));
+
+        verify(journeyDAO, times(3)).upsert(any(Journey.class)); // Abertura, fechamento do dia 10 e abertura do dia 11.
+        assertEquals(LocalDate.of(2024, 1, 11), engine.getState(1).get().getJourneyDate());
+    }
+
+    @Test
+    void testResetDiscardsState() {
+        engine.onTimeRecord(record(8, 0, EventType.START_DRIVING));
+        engine.reset(1);
+        assertFalse(engine.getState(1).isPresent());
+    }
+
+    @Test
+    void testInterjourneyRestAcrossMidnightUsesSlidingWindow() throws SQLException {
+        engine.onTimeRecord(record(13, 0, EventType.START_JOURNEY));
+        engine.onTimeRecord(record(22, 0, EventType.END_JOURNEY));
+        Journey journey = engine.onTimeRecord(new TimeRecord(nextRecordId++, 1, 7, LocalDateTime.of(2024, 1, 11, 5, 0),
+                EventType.START_JOURNEY, "Local")); // Apenas 7h depois do fim da jornada anterior.
+
+        verify(timeRecordDAO, times(1)).findByDriverIdAndTimeRange(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(LocalDate.of(2024, 1, 11), journey.getJourneyDate());
+        assertEquals(ComplianceStatus.NON_COMPLIANT, journey.getStatus());
+        assertEquals(ViolationType.INTERJOURNEY_REST, journey.getViolations().get(0).getType());
+    }
+
+    @Test
+    void testEachViolationTypeIsReportedOnce() {
+        engine.onTimeRecord(record(1, 0, EventType.START_DRIVING));
+        engine.onTimeRecord(record(5, 0, EventType.START_BREAK));
+        engine.onTimeRecord(record(5, 30, EventType.RESUME_DRIVING));
+        engine.onTimeRecord(record(9, 30, EventType.START_BREAK));
+        engine.onTimeRecord(record(10, 0, EventType.RESUME_DRIVING));
+        Journey journey = engine.onTimeRecord(record(13, 30, EventType.END_JOURNEY)); // 11h30 de direção.
+
+        List<ViolationType> types = journey.getViolations().stream().map(RuleViolation::getType).collect(Collectors.toList());
+        assertEquals(1, Collections.frequency(types, ViolationType.DAILY_DRIVING));
+        assertEquals(new HashSet<>(types).size(), types.size(), "Tipo de violação repetido: " + types);
+    }
+
+    private TimeRecord record(int hour, int minute, EventType eventType) {
+        return new TimeRecord(nextRecordId++, 1, 7, LocalDateTime.of(DAY, LocalTime.of(hour, minute)), eventType, "Local");
+    }
+}
@@ -0,0 +1,255 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.model.DriverDay;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.impl.JourneyRecomputeServiceImpl;
+import com.compliancesys.service.impl.JourneyServiceImpl;
+import com.compliancesys.service.impl.TimeRecordServiceImpl;
+import com.compliancesys.util.TimeUtil;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do recálculo em segundo plano das jornadas afetadas por registros de ponto atrasados, alterados ou excluídos.
+ */
+public class JourneyRecomputeServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    private TimeRecordDAO timeRecordDAO;
+    private JourneyDAO journeyDAO;
+    private JourneyService journeyService;
+    private ComplianceService complianceService;
+    private JourneyEngine journeyEngine;
+    private List<Runnable> queue; // Executor manual: as tarefas só rodam quando o teste manda.
+    private long now;
+    private JourneyRecomputeServiceImpl recomputeService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        journeyDAO = Mockito.mock(JourneyDAO.class);
+        journeyService = Mockito.mock(JourneyService.class);
+        complianceService = Mockito.mock(ComplianceService.class);
+        journeyEngine = Mockito.mock(JourneyEngine.class);
+        queue = new ArrayList<>();
+        now = 0;
+        recomputeService = new JourneyRecomputeServiceImpl(timeRecordDAO, journeyDAO, journeyService, complianceService,
+                journeyEngine, queue::add, Duration.ofSeconds(2), 100, () -> now);
+
+        Journey journey = new Journey();
+        journey.setId(42);
+        when(journeyService.calculateAndAuditJourney(anyInt(), anyList())).thenReturn(journey);
+        when(timeRecordDAO.findByDriverIdAndDate(anyInt(), any(LocalDate.class))).thenReturn(Arrays.asList(
+                new TimeRecord(1, 1, DAY.atTime(7, 0), EventType.START_DRIVING, "Location A")));
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queue);
+        queue.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private TimeRecordService timeRecordService() {
+        return new TimeRecordServiceImpl(timeRecordDAO, new ValidatorImpl(), journeyEngine, null, recomputeService, 10);
+    }
+
+    // Passa o período de debounce e executa os recálculos agendados.
+    private void recomputeDebounced() {
+        now = 2100;
+        recomputeService.tick();
+        runQueued();
+    }
+
+    @Test
+    void testLateRecordRecomputesItsDayAndTheFollowingWindow() {
+        TimeRecord late = new TimeRecord(1, 1, DAY.atTime(20, 0), EventType.START_REST, "Location A");
+
+        recomputeService.onLateTimeRecord(late, DAY.plusDays(2).atTime(8, 0));
+
+        assertEquals(2, recomputeService.getPendingCount()); // Dia 10 e dia 11 (janela até 11/01 20:00).
+        assertFalse(recomputeService.schedule(new DriverDay(1, DAY)));
+        assertFalse(recomputeService.schedule(new DriverDay(1, DAY.plusDays(1))));
+    }
+
+    @Test
+    void testWatermarkLimitsTheAffectedDays() {
+        TimeRecord late = new TimeRecord(1, 1, DAY.atTime(9, 0), EventType.START_BREAK, "Location A");
+
+        recomputeService.onLateTimeRecord(late, DAY.atTime(12, 0));
+
+        assertEquals(1, recomputeService.getPendingCount());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testDuplicateDriverDayIsCoalesced() throws SQLException {
+        recomputeService.onLateTimeRecord(new TimeRecord(1, 1, DAY.atTime(9, 0), EventType.START_BREAK, "A"), DAY.atTime(12, 0));
+        recomputeService.onLateTimeRecord(new TimeRecord(1, 1, DAY.atTime(10, 0), EventType.END_BREAK, "A"), DAY.atTime(12, 0));
+        assertEquals(1, queue.size());
+
+        runQueued();
+
+        assertEquals(0, recomputeService.getPendingCount());
+        verify(timeRecordDAO, times(1)).findByDriverIdAndDate(1, DAY);
+        verify(journeyService, times(1)).calculateAndAuditJourney(eq(1), anyList());
+        verify(complianceService, times(1)).performComplianceAudit(42);
+        verify(journeyEngine, times(1)).reset(1);
+    }
+
+    @Test
+    void testDayCanBeScheduledAgainOnceRecomputeStarted() {
+        assertTrue(recomputeService.schedule(new DriverDay(1, DAY)));
+        runQueued();
+
+        assertTrue(recomputeService.schedule(new DriverDay(1, DAY)));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testTimeRecordServiceSendsLateRecordsToRecompute() throws SQLException {
+        TimeRecord last = new TimeRecord(1, 1, DAY.atTime(12, 0), EventType.START_DRIVING, "Location A");
+        when(timeRecordDAO.findLastByDriverId(1)).thenReturn(Optional.of(last));
+        when(timeRecordDAO.create(any(TimeRecord.class))).thenReturn(7);
+        TimeRecordService timeRecordService = new TimeRecordServiceImpl(timeRecordDAO, new ValidatorImpl(), journeyEngine,
+                null, recomputeService, 10);
+
+        timeRecordService.createTimeRecord(new TimeRecord(1, 1, DAY.atTime(9, 0), EventType.START_BREAK, "Location A"));
+
+        verify(journeyEngine, never()).onTimeRecord(any(TimeRecord.class));
+        assertEquals(1, recomputeService.getPendingCount());
+    }
+
+    @Test
+    void testBulkCorrectionsOfADayAreDebouncedIntoOneRecompute() throws SQLException {
+        DriverDay day = new DriverDay(1, DAY);
+        for (int i = 0; i < 5; i++) {
+            now = i * 100L;
+            recomputeService.scheduleDebounced(day);
+        }
+
+        now = 2000;
+        recomputeService.tick();
+        assertTrue(queue.isEmpty()); // Última alteração em 400 ms: ainda dentro do período de 2 s.
+
+        now = 2500;
+        recomputeService.tick();
+        assertEquals(1, queue.size());
+        runQueued();
+
+        verify(journeyService, times(1)).calculateAndAuditJourney(eq(1), anyList());
+        assertEquals(0, recomputeService.getPendingCount());
+    }
+
+    @Test
+    void testRecordMovedToAnotherDayRecomputesOldAndNewDays() throws SQLException {
+        when(timeRecordDAO.findById(5)).thenReturn(Optional.of(
+                new TimeRecord(5, 1, 1, DAY.atTime(23, 0), EventType.END_JOURNEY, "Location A")));
+        when(timeRecordDAO.update(any(TimeRecord.class))).thenReturn(true);
+
+        timeRecordService().updateTimeRecord(
+                new TimeRecord(5, 1, 1, DAY.plusDays(1).atTime(1, 0), EventType.END_JOURNEY, "Location A"));
+        recomputeDebounced();
+
+        verify(timeRecordDAO).findByDriverIdAndDate(1, DAY);
+        verify(timeRecordDAO).findByDriverIdAndDate(1, DAY.plusDays(1));
+        verify(journeyEngine, atLeastOnce()).reset(1);
+    }
+
+    @Test
+    void testRecordMovedToAnotherDriverRecomputesBothDrivers() throws SQLException {
+        when(timeRecordDAO.findById(5)).thenReturn(Optional.of(
+                new TimeRecord(5, 1, 1, DAY.atTime(9, 0), EventType.START_DRIVING, "Location A")));
+        when(timeRecordDAO.update(any(TimeRecord.class))).thenReturn(true);
+
+        timeRecordService().updateTimeRecord(
+                new TimeRecord(5, 2, 1, DAY.atTime(9, 0), EventType.START_DRIVING, "Location A"));
+        recomputeDebounced();
+
+        verify(timeRecordDAO).findByDriverIdAndDate(1, DAY);
+        verify(timeRecordDAO).findByDriverIdAndDate(2, DAY);
+        verify(journeyEngine, atLeastOnce()).reset(1);
+        verify(journeyEngine, atLeastOnce()).reset(2);
+    }
+
+    @Test
+    void testDeletedRecordRecomputesItsDay() throws SQLException {
+        when(timeRecordDAO.findById(5)).thenReturn(Optional.of(
+                new TimeRecord(5, 1, 1, DAY.atTime(9, 0), EventType.START_DRIVING, "Location A")));
+        when(timeRecordDAO.delete(5)).thenReturn(true);
+
+        assertTrue(timeRecordService().deleteTimeRecord(5));
+        assertEquals(1, recomputeService.getPendingCount());
+        recomputeDebounced();
+
+        verify(timeRecordDAO).findByDriverIdAndDate(1, DAY);
+        verify(journeyService).calculateAndAuditJourney(eq(1), anyList());
+        assertEquals(0, recomputeService.getPendingCount());
+    }
+
+    @Test
+    void testNextDayRecomputeSeesLateRecordThroughTheWindow() throws SQLException {
+        JourneyService realJourneyService = new JourneyServiceImpl(journeyDAO, timeRecordDAO, new ValidatorImpl(),
+                Mockito.mock(TimeUtil.class));
+        recomputeService = new JourneyRecomputeServiceImpl(timeRecordDAO, journeyDAO, realJourneyService, complianceService,
+                journeyEngine, queue::add, Duration.ofSeconds(2), 100, () -> now);
+        List<TimeRecord> previousDay = Arrays.asList(
+                new TimeRecord(1, 1, DAY.atTime(13, 0), EventType.START_JOURNEY, "Location A"),
+                new TimeRecord(1, 1, DAY.atTime(22, 0), EventType.END_JOURNEY, "Location B")); // Chegou atrasado.
+        when(timeRecordDAO.findByDriverIdAndDate(1, DAY)).thenReturn(previousDay);
+        when(timeRecordDAO.findByDriverIdAndTimeRange(1, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay())).thenReturn(previousDay);
+        when(timeRecordDAO.findByDriverIdAndDate(1, DAY.plusDays(1))).thenReturn(Arrays.asList(
+                new TimeRecord(1, 1, DAY.plusDays(1).atTime(5, 0), EventType.START_JOURNEY, "Location B"),
+                new TimeRecord(1, 1, DAY.plusDays(1).atTime(9, 0), EventType.END_JOURNEY, "Location C")));
+        List<Journey> saved = new ArrayList<>();
+        when(journeyDAO.upsert(any(Journey.class))).thenAnswer(inv -> {
+            Journey journey = inv.getArgument(0);
+            journey.setId(saved.size() + 1);
+            saved.add(journey);
+            return journey;
+        });
+
+        recomputeService.onLateTimeRecord(previousDay.get(1), DAY.plusDays(1).atTime(9, 0));
+        runQueued();
+
+        assertEquals(2, saved.size());
+        Journey nextDay = saved.get(1);
+        assertEquals(DAY.plusDays(1), nextDay.getJourneyDate());
+        // Só 7h entre o fim da jornada do dia 10 e o início da do dia 11.
+        assertTrue(nextDay.getViolations().stream().anyMatch(v -> v.getType() == ViolationType.INTERJOURNEY_REST));
+    }
+
+    @Test
+    void testDayWithoutRecordsHasItsJourneyDeleted() throws SQLException {
+        when(timeRecordDAO.findByDriverIdAndDate(1, DAY)).thenReturn(Collections.emptyList());
+        Journey journey = new Journey();
+        journey.setId(42);
+        when(journeyDAO.findByDriverIdAndDate(1, DAY)).thenReturn(Optional.of(journey));
+
+        recomputeService.schedule(new DriverDay(1, DAY));
+        runQueued();
+
+        verify(journeyDAO).delete(42);
+        verify(journeyService, never()).calculateAndAuditJourney(anyInt(), anyList());
+    }
+}
@@ -0,0 +1,95 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.JourneyDAO;
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.impl.JourneyServiceImpl;
+import com.compliancesys.util.TimeUtil;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do recálculo de jornada (JourneyService.calculateAndAuditJourney) gravado com JourneyDAO.upsert.
+ */
+public class JourneyUpsertServiceTest {
+
+    private JourneyDAO journeyDAO;
+    private TimeRecordDAO timeRecordDAO;
+    private TimeUtil timeUtil;
+    private JourneyService journeyService;
+
+    @BeforeEach
+    void setUp() {
+        journeyDAO = Mockito.mock(JourneyDAO.class);
+        timeUtil = Mockito.mock(TimeUtil.class);
+        when(timeUtil.isAboveMinDuration(any(Duration.class), any(Duration.class)))
+                .thenAnswer(inv -> ((Duration) inv.getArgument(0)).compareTo(inv.getArgument(1)) > 0);
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        journeyService = new JourneyServiceImpl(journeyDAO, timeRecordDAO, new ValidatorImpl(), timeUtil);
+    }
+
+    @Test
+    void testCalculateAndAuditJourneyUsesSingleUpsert() throws SQLException {
+        List<TimeRecord> records = new ArrayList<>(Arrays.asList(
+                new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 10, 8, 0), EventType.START_DRIVING, "Local A"),
+                new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 10, 12, 0), EventType.END_DRIVING, "Local B")));
+        when(journeyDAO.upsert(any(Journey.class))).thenAnswer(inv -> {
+            Journey saved = inv.getArgument(0);
+            saved.setId(42);
+            return saved;
+        });
+
+        Journey result = journeyService.calculateAndAuditJourney(1, records);
+
+        ArgumentCaptor<Journey> captor = ArgumentCaptor.forClass(Journey.class);
+        verify(journeyDAO, times(1)).upsert(captor.capture());
+        verifyNoMoreInteractions(journeyDAO); // Nenhuma busca, create ou update adicional.
+        Journey sent = captor.getValue();
+        assertEquals(42, result.getId());
+        assertEquals(LocalDate.of(2024, 1, 10), sent.getJourneyDate());
+        assertEquals(7, sent.getVehicleId());
+        assertEquals(Duration.ofHours(4), sent.getTotalDrivingTime());
+        assertEquals("Local A", sent.getStartLocation());
+        assertEquals("Local B", sent.getEndLocation());
+        // As 24 horas anteriores não têm registros: o descanso da janela antes das 8h é suficiente.
+        assertEquals(ComplianceStatus.COMPLIANT, sent.getStatus());
+        assertNotNull(sent.getCreatedAt());
+        assertNotNull(sent.getUpdatedAt());
+    }
+
+    @Test
+    void testCalculateAndAuditJourneyChecksRestAcrossMidnight() throws SQLException {
+        when(timeRecordDAO.findByDriverIdAndTimeRange(1, LocalDateTime.of(2024, 1, 9, 0, 0), LocalDateTime.of(2024, 1, 10, 0, 0)))
+                .thenReturn(Arrays.asList(
+                        new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 9, 13, 0), EventType.START_JOURNEY, "Local A"),
+                        new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 9, 22, 0), EventType.END_JOURNEY, "Local B")));
+        when(journeyDAO.upsert(any(Journey.class))).thenAnswer(inv -> inv.getArgument(0));
+        List<TimeRecord> records = new ArrayList<>(Arrays.asList(
+                new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 10, 5, 0), EventType.START_JOURNEY, "Local B"), // 7h após o fim da anterior.
+                new TimeRecord(1, 7, LocalDateTime.of(2024, 1, 10, 9, 0), EventType.END_JOURNEY, "Local C")));
+
+        Journey result = journeyService.calculateAndAuditJourney(1, records);
+
+        assertEquals(ComplianceStatus.NON_COMPLIANT, result.getStatus());
+        assertTrue(result.getViolations().stream().anyMatch(v -> v.getType() == ViolationType.INTERJOURNEY_REST));
+    }
+}
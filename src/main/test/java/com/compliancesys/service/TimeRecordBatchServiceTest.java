@@ -0,0 +1,154 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.service.impl.TimeRecordServiceImpl;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes da criação de registros de ponto em lote (TimeRecordService.createTimeRecords), inclusive
+ * concorrendo com marcações individuais dos mesmos motoristas.
+ */
+public class TimeRecordBatchServiceTest {
+
+    private TimeRecordDAO timeRecordDAO;
+    private TimeRecordService timeRecordService;
+
+    @BeforeEach
+    void setUp() {
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        timeRecordService = new TimeRecordServiceImpl(timeRecordDAO, new ValidatorImpl());
+    }
+
+    @Test
+    void testCreateTimeRecordsAssignsGeneratedIdsInOrder() throws SQLException {
+        List<TimeRecord> records = Arrays.asList(
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 8, 0), EventType.START_DRIVING, "Location A"),
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 12, 0), EventType.START_REST, "Location B"),
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 13, 0), EventType.RESUME_DRIVING, "Location B"));
+        when(timeRecordDAO.createBatch(records)).thenReturn(Arrays.asList(10, 11, 12));
+
+        List<TimeRecord> created = timeRecordService.createTimeRecords(records);
+
+        assertEquals(Arrays.asList(10, 11, 12), created.stream().map(TimeRecord::getId).collect(Collectors.toList()));
+        assertNotNull(created.get(0).getCreatedAt());
+        verify(timeRecordDAO, times(1)).createBatch(records);
+    }
+
+    @Test
+    void testCreateTimeRecordsRejectsInvalidRecordBeforeInsert() throws SQLException {
+        List<TimeRecord> records = Arrays.asList(
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 8, 0), EventType.START_DRIVING, "Location A"),
+                new TimeRecord(1, 1, null, EventType.START_REST, "Location B")); // Data/Hora nula
+
+        assertThrows(BusinessException.class, () -> timeRecordService.createTimeRecords(records));
+        verify(timeRecordDAO, never()).createBatch(anyList());
+    }
+
+    @Test
+    void testCreateTimeRecordsRejectsEmptyList() throws SQLException {
+        assertThrows(BusinessException.class, () -> timeRecordService.createTimeRecords(Arrays.asList()));
+        verify(timeRecordDAO, never()).createBatch(anyList());
+    }
+
+    @Test
+    void testBatchHoldsDriverLockAgainstSingleCreate() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        when(timeRecordDAO.findLastByDriverId(anyInt())).thenReturn(Optional.empty());
+        when(timeRecordDAO.createBatch(anyList())).thenAnswer(inv -> {
+            calls.add("batch");
+            batchStarted.countDown();
+            Thread.sleep(200); // Tempo para a marcação individual tentar passar à frente.
+            calls.add("batch-end");
+            return Arrays.asList(1, 2);
+        });
+        when(timeRecordDAO.create(any(TimeRecord.class))).thenAnswer(inv -> {
+            calls.add("single");
+            return 3;
+        });
+        List<TimeRecord> batch = Arrays.asList(
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 6, 0), EventType.START_JOURNEY, "Location A"),
+                new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 7, 0), EventType.START_DRIVING, "Location A"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<TimeRecord>> batchResult = executor.submit(() -> timeRecordService.createTimeRecords(batch));
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+            // START_BREAK só é válido depois do START_DRIVING do lote: a validação precisa esperar o lote.
+            Future<TimeRecord> singleResult = executor.submit(() -> timeRecordService.createTimeRecord(
+                    new TimeRecord(1, 1, LocalDateTime.of(2024, 1, 10, 8, 0), EventType.START_BREAK, "Location B")));
+
+            batchResult.get(5, TimeUnit.SECONDS);
+            assertEquals(3, singleResult.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Arrays.asList("batch", "batch-end", "single"), calls);
+        verify(timeRecordDAO, times(1)).findLastByDriverId(1);
+    }
+
+    @Test
+    void testConcurrentBatchesAndSingleCreatesDoNotDeadlock() throws Exception {
+        when(timeRecordDAO.findLastByDriverId(anyInt())).thenReturn(Optional.empty());
+        when(timeRecordDAO.createBatch(anyList())).thenAnswer(inv -> {
+            Thread.sleep(1);
+            List<TimeRecord> records = inv.getArgument(0);
+            return records.stream().map(r -> 1).collect(Collectors.toList());
+        });
+        when(timeRecordDAO.create(any(TimeRecord.class))).thenReturn(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int task = 0; task < 200; task++) {
+                int first = task % 8 + 1;
+                int second = (task + 3) % 8 + 1;
+                LocalDateTime time = LocalDateTime.of(2024, 1, 10, 0, 0).plusMinutes(task);
+                // Metade dos lotes lista os motoristas em ordem decrescente.
+                List<TimeRecord> batch = Arrays.asList(
+                        new TimeRecord(task % 2 == 0 ? first : second, 1, time, EventType.IN, "Location A"),
+                        new TimeRecord(task % 2 == 0 ? second : first, 1, time, EventType.IN, "Location A"));
+                futures.add(executor.submit(() -> ignoreRejected(() -> timeRecordService.createTimeRecords(batch))));
+                futures.add(executor.submit(() -> ignoreRejected(() -> timeRecordService.createTimeRecord(
+                        new TimeRecord(first, 1, time, EventType.IN, "Location B")))));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS); // Um deadlock estoura o tempo limite.
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Sequências recusadas pela validação são esperadas neste teste; apenas o bloqueio é verificado.
+    private static void ignoreRejected(Runnable create) {
+        try {
+            create.run();
+        } catch (BusinessException e) {
+            // Ignorada.
+        }
+    }
+}
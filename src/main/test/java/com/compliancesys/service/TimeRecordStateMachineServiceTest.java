@@ -0,0 +1,107 @@
+package com.compliancesys.service;
+
+import com.compliancesys.dao.TimeRecordDAO;
+import com.compliancesys.exception.BusinessException;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.service.impl.TimeRecordServiceImpl;
+import com.compliancesys.util.impl.ValidatorImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes da validação da sequência de eventos na criação de registros de ponto.
+ */
+public class TimeRecordStateMachineServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private TimeRecordDAO timeRecordDAO;
+    private TimeRecordService timeRecordService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        timeRecordDAO = Mockito.mock(TimeRecordDAO.class);
+        when(timeRecordDAO.findLastByDriverId(anyInt())).thenReturn(Optional.empty());
+        when(timeRecordDAO.create(any(TimeRecord.class))).thenReturn(1);
+        timeRecordService = new TimeRecordServiceImpl(timeRecordDAO, new ValidatorImpl(), null, null, null, 2);
+    }
+
+    private static TimeRecord record(int driverId, int hour, EventType eventType) {
+        return new TimeRecord(driverId, 1, DAY.plusHours(hour), eventType, "Location A");
+    }
+
+    @Test
+    void testValidSequenceReadsLastRecordOnlyOnce() throws SQLException {
+        timeRecordService.createTimeRecord(record(1, 6, EventType.START_JOURNEY));
+        timeRecordService.createTimeRecord(record(1, 7, EventType.START_DRIVING));
+        timeRecordService.createTimeRecord(record(1, 10, EventType.START_BREAK));
+        timeRecordService.createTimeRecord(record(1, 11, EventType.END_BREAK));
+        timeRecordService.createTimeRecord(record(1, 12, EventType.END_JOURNEY));
+
+        verify(timeRecordDAO, times(5)).create(any(TimeRecord.class));
+        verify(timeRecordDAO, times(1)).findLastByDriverId(1);
+    }
+
+    @Test
+    void testDrivingTwiceIsRejected() throws SQLException {
+        timeRecordService.createTimeRecord(record(1, 7, EventType.START_DRIVING));
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> timeRecordService.createTimeRecord(record(1, 8, EventType.START_DRIVING)));
+        assertTrue(e.getMessage().contains("START_DRIVING após START_DRIVING"));
+        verify(timeRecordDAO, times(1)).create(any(TimeRecord.class));
+    }
+
+    @Test
+    void testEndBreakWithoutStartBreakIsRejectedUsingStoredState() throws SQLException {
+        when(timeRecordDAO.findLastByDriverId(2)).thenReturn(Optional.of(record(2, 7, EventType.START_DRIVING)));
+
+        assertThrows(BusinessException.class, () -> timeRecordService.createTimeRecord(record(2, 8, EventType.END_BREAK)));
+        verify(timeRecordDAO, never()).create(any(TimeRecord.class));
+    }
+
+    @Test
+    void testStaleStateIsTreatedAsOffDuty() throws SQLException {
+        when(timeRecordDAO.findLastByDriverId(3)).thenReturn(Optional.of(
+                new TimeRecord(3, 1, DAY.minusDays(2), EventType.START_DRIVING, "Location A")));
+
+        timeRecordService.createTimeRecord(record(3, 7, EventType.START_DRIVING));
+
+        verify(timeRecordDAO, times(1)).create(any(TimeRecord.class));
+    }
+
+    @Test
+    void testEvictedDriverIsReloadedFromDatabase() throws SQLException {
+        TimeRecord driving = record(1, 7, EventType.START_DRIVING);
+        when(timeRecordDAO.findLastByDriverId(1)).thenReturn(Optional.empty(), Optional.of(driving));
+
+        timeRecordService.createTimeRecord(driving);
+        timeRecordService.createTimeRecord(record(2, 7, EventType.START_DRIVING));
+        timeRecordService.createTimeRecord(record(3, 7, EventType.START_DRIVING)); // Capacidade 2: descarta o motorista 1.
+        timeRecordService.createTimeRecord(record(1, 8, EventType.START_REST));
+
+        verify(timeRecordDAO, times(2)).findLastByDriverId(1);
+    }
+
+    @Test
+    void testBatchIsValidatedInChronologicalOrderBeforeInsert() throws SQLException {
+        List<TimeRecord> records = Arrays.asList(
+                record(1, 8, EventType.START_BREAK),
+                record(1, 7, EventType.START_DRIVING),
+                record(1, 9, EventType.START_BREAK)); // Pausa dentro de pausa.
+
+        assertThrows(BusinessException.class, () -> timeRecordService.createTimeRecords(records));
+        verify(timeRecordDAO, never()).createBatch(anyList());
+    }
+}
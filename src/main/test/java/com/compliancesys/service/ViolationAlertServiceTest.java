@@ -0,0 +1,138 @@
+package com.compliancesys.service;
+
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.ViolationAlert;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import com.compliancesys.service.impl.ViolationAlertServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos alertas preventivos (ViolationAlertService) com relógio controlado: os registros de ponto
+ * chegam em tempo real, e o relógio do servidor avança junto com os horários dos registros (exceto nos
+ * registros enviados com atraso).
+ */
+public class ViolationAlertServiceTest {
+
+    private static final LocalDateTime START = LocalDate.of(2024, 1, 10).atTime(6, 0);
+
+    private AtomicLong clock;
+    private List<ViolationAlert> sent;
+    private ViolationAlertServiceImpl alertService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        sent = new ArrayList<>();
+        alertService = new ViolationAlertServiceImpl(Collections.singletonList(sent::add), Duration.ofMinutes(15), 1_000, clock::get);
+    }
+
+    @Test
+    void testWarnsBeforeContinuousDrivingLimit() {
+        record(0, EventType.START_DRIVING);
+        assertEquals(2, alertService.getActiveAlertCount()); // Direção contínua e direção do dia.
+
+        advanceTo(314);
+        assertTrue(sent.isEmpty());
+        advanceTo(315); // 5h15 de direção: faltam 15 minutos para 5h30.
+
+        assertEquals(1, sent.size());
+        ViolationAlert alert = sent.get(0);
+        assertEquals(1, alert.getDriverId());
+        assertEquals(ViolationType.CONTINUOUS_DRIVING, alert.getViolationType());
+        assertEquals(START.plusMinutes(330), alert.getExpectedAt());
+        assertEquals(Duration.ofMinutes(15), alert.getRemaining());
+        assertTrue(alert.getMessage().contains("5h30"), alert.getMessage());
+    }
+
+    @Test
+    void testBreakCancelsAndResumeReschedulesWithAccumulatedDriving() {
+        record(0, EventType.START_DRIVING);
+        record(120, EventType.START_BREAK); // 2h de direção; pausa de 10 min não zera a contagem.
+        assertEquals(0, alertService.getActiveAlertCount());
+        record(130, EventType.RESUME_DRIVING);
+
+        advanceTo(314);
+        assertTrue(sent.isEmpty());
+        advanceTo(325); // 2h + 3h15 de direção.
+        assertEquals(1, sent.size());
+        assertEquals(START.plusMinutes(340), sent.get(0).getExpectedAt());
+    }
+
+    @Test
+    void testBreakOfThirtyMinutesResetsContinuousDriving() {
+        record(0, EventType.START_DRIVING);
+        record(240, EventType.START_BREAK);
+        record(270, EventType.RESUME_DRIVING); // Pausa completa: a direção contínua recomeça.
+
+        advanceTo(584); // Sem a pausa completa, o alerta de direção contínua teria disparado aos 345 minutos.
+        assertTrue(sent.isEmpty());
+        advanceTo(615);
+
+        assertEquals(2, sent.size());
+        assertEquals(ViolationType.CONTINUOUS_DRIVING, sent.get(0).getViolationType());
+        assertEquals(START.plusMinutes(600), sent.get(0).getExpectedAt());
+        assertEquals(ViolationType.DAILY_DRIVING, sent.get(1).getViolationType()); // 4h + 6h de direção no dia.
+        assertEquals(START.plusMinutes(630), sent.get(1).getExpectedAt());
+    }
+
+    @Test
+    void testCancelAlertsDiscardsDriverTimers() {
+        record(0, EventType.START_DRIVING);
+        alertService.cancelAlerts(1);
+
+        advanceTo(600);
+        assertEquals(0, alertService.getActiveAlertCount());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testLateRecordSchedulesFromRecordTime() {
+        long startMillis = START.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        clock.set(startMillis + Duration.ofHours(6).toMillis()); // Registro de direção enviado 6h depois, em lote.
+        alertService.onTimeRecord(new TimeRecord(1, 1, 7, START, EventType.START_DRIVING, "Local"));
+
+        assertEquals(1, alertService.getActiveAlertCount()); // Os 5h30 de direção contínua já passaram.
+        clock.set(startMillis + Duration.ofMinutes(584).toMillis());
+        alertService.tick();
+        assertTrue(sent.isEmpty());
+        clock.set(startMillis + Duration.ofMinutes(585).toMillis());
+        alertService.tick();
+
+        assertEquals(1, sent.size());
+        assertEquals(ViolationType.DAILY_DRIVING, sent.get(0).getViolationType());
+        assertEquals(START.plusHours(10), sent.get(0).getExpectedAt());
+    }
+
+    @Test
+    void testEndOfJourneyDiscardsDriverState() {
+        record(0, EventType.START_DRIVING);
+        assertEquals(1, alertService.getTrackedDriverCount());
+        record(120, EventType.END_JOURNEY);
+
+        assertEquals(0, alertService.getTrackedDriverCount());
+        assertEquals(0, alertService.getActiveAlertCount());
+    }
+
+    private void record(int minutes, EventType eventType) {
+        advanceTo(minutes);
+        alertService.onTimeRecord(new TimeRecord(minutes + 1, 1, 7, START.plusMinutes(minutes), eventType, "Local"));
+    }
+
+    private void advanceTo(int minutes) {
+        clock.set(minutes * 60_000L);
+        alertService.tick();
+    }
+}
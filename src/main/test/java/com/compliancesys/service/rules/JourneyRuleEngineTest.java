@@ -0,0 +1,181 @@
+package com.compliancesys.service.rules;
+
+import com.compliancesys.model.Journey;
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.TimeRecord;
+import com.compliancesys.model.enums.ComplianceStatus;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das regras da Lei 13.103/2015 avaliadas em uma única passagem pelo JourneyRuleEngine.
+ */
+public class JourneyRuleEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private List<TimeRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        records = new ArrayList<>();
+    }
+
+    @Test
+    void testContinuousDrivingAboveLimitIsViolation() {
+        event(0, EventType.START_DRIVING);
+        event(360, EventType.START_BREAK);
+        event(390, EventType.END_JOURNEY);
+
+        List<RuleViolation> violations = of(ViolationType.CONTINUOUS_DRIVING, JourneyRuleEngine.lei13103(false).evaluate(records));
+
+        assertEquals(1, violations.size());
+        assertEquals(Duration.ofHours(6), violations.get(0).getMeasured());
+        assertEquals(Duration.ofMinutes(330), violations.get(0).getLimit());
+        assertEquals(BASE, violations.get(0).getStartTime());
+        assertEquals(BASE.plusHours(6), violations.get(0).getEndTime());
+    }
+
+    @Test
+    void testFractionedBreakResetsContinuousDriving() {
+        event(0, EventType.START_DRIVING);
+        event(180, EventType.START_BREAK); // 15 min
+        event(195, EventType.RESUME_DRIVING);
+        event(345, EventType.START_BREAK); // 15 min: completa os 30 min com 5h30 de direção.
+        event(360, EventType.RESUME_DRIVING);
+        event(480, EventType.END_JOURNEY);
+
+        assertTrue(of(ViolationType.CONTINUOUS_DRIVING, JourneyRuleEngine.lei13103(false).evaluate(records)).isEmpty());
+    }
+
+    @Test
+    void testPauseBeforeDrivingDoesNotCountTowardsTheBreak() {
+        event(0, EventType.START_BREAK); // 20 min antes de qualquer direção.
+        event(20, EventType.START_DRIVING);
+        event(349, EventType.START_BREAK); // 10 min depois de 5h29 de direção: não completa os 30 min.
+        event(359, EventType.RESUME_DRIVING);
+        event(419, EventType.END_JOURNEY);
+
+        List<RuleViolation> violations = of(ViolationType.CONTINUOUS_DRIVING, JourneyRuleEngine.lei13103(false).evaluate(records));
+
+        assertEquals(1, violations.size());
+        assertEquals(Duration.ofMinutes(389), violations.get(0).getMeasured());
+    }
+
+    @Test
+    void testWaitingTimeDoesNotInterruptDrivingNorCountAsJourney() {
+        event(0, EventType.START_JOURNEY);
+        event(180, EventType.START_WAITING); // 5h de espera
+        event(480, EventType.END_WAITING);
+        event(900, EventType.END_JOURNEY); // 3h + 7h de trabalho
+
+        List<ViolationType> types = types(JourneyRuleEngine.lei13103(false).evaluate(records));
+
+        assertFalse(types.contains(ViolationType.OVERTIME)); // 10h de jornada, não 15h.
+        assertTrue(types.contains(ViolationType.MEAL_BREAK));
+
+        records.clear();
+        event(0, EventType.START_DRIVING);
+        event(200, EventType.START_WAITING);
+        event(260, EventType.END_WAITING);
+        event(261, EventType.RESUME_DRIVING);
+        event(400, EventType.END_JOURNEY);
+        assertEquals(1, of(ViolationType.CONTINUOUS_DRIVING, JourneyRuleEngine.lei13103(false).evaluate(records)).size());
+    }
+
+    @Test
+    void testOvertimeLimitDependsOnCollectiveAgreement() {
+        event(0, EventType.START_JOURNEY);
+        event(300, EventType.START_MEAL);
+        event(360, EventType.END_MEAL);
+        event(720, EventType.END_JOURNEY); // 11h de trabalho
+
+        List<RuleViolation> withoutAgreement = of(ViolationType.OVERTIME, JourneyRuleEngine.lei13103(false).evaluate(records));
+        assertEquals(1, withoutAgreement.size());
+        assertEquals(Duration.ofHours(11), withoutAgreement.get(0).getMeasured());
+        assertEquals(Duration.ofHours(10), withoutAgreement.get(0).getLimit());
+        assertTrue(of(ViolationType.OVERTIME, JourneyRuleEngine.lei13103(true).evaluate(records)).isEmpty());
+    }
+
+    @Test
+    void testDailyRestMayBeSplitEightPlusThree() {
+        event(0, EventType.END_JOURNEY); // 8h fora de jornada
+        event(480, EventType.START_JOURNEY);
+        event(600, EventType.START_REST); // 3h de descanso
+        event(780, EventType.START_JOURNEY);
+        event(800, EventType.START_BREAK);
+        assertTrue(of(ViolationType.DAILY_REST, JourneyRuleEngine.lei13103(false).evaluate(records)).isEmpty());
+
+        records.clear();
+        event(0, EventType.END_JOURNEY); // 7h + 4h não é um fracionamento válido.
+        event(420, EventType.START_JOURNEY);
+        event(600, EventType.START_REST);
+        event(840, EventType.START_JOURNEY);
+        List<RuleViolation> violations = of(ViolationType.DAILY_REST, JourneyRuleEngine.lei13103(false).evaluate(records));
+        assertEquals(1, violations.size());
+        assertEquals(Duration.ofHours(7), violations.get(0).getMeasured());
+    }
+
+    @Test
+    void testConsecutiveRestIntervalsFormOnePeriod() {
+        event(0, EventType.END_DRIVING);
+        event(300, EventType.START_REST);
+        event(660, EventType.START_JOURNEY); // 5h + 6h contínuas
+
+        assertTrue(of(ViolationType.DAILY_REST, JourneyRuleEngine.lei13103(false).evaluate(records)).isEmpty());
+    }
+
+    @Test
+    void testApplyToSetsStatusAndDailyLimit() {
+        JourneyRuleEngine engine = JourneyRuleEngine.lei13103(false);
+        event(0, EventType.END_JOURNEY); // 11h de descanso
+        event(660, EventType.START_DRIVING);
+        event(900, EventType.START_MEAL);
+        event(960, EventType.RESUME_DRIVING);
+        event(1080, EventType.END_JOURNEY);
+        engine.evaluate(records);
+        Journey journey = new Journey();
+        engine.applyTo(journey);
+        assertEquals(ComplianceStatus.COMPLIANT, journey.getStatus());
+        assertFalse(journey.isDailyLimitExceeded());
+        assertTrue(journey.getViolations().isEmpty());
+
+        event(1080 + 720, EventType.START_DRIVING); // Mesmo motor, incremental: 11h seguidas de direção.
+        event(1080 + 720 + 660, EventType.END_JOURNEY);
+        engine.onEvent(records.get(records.size() - 2));
+        engine.onEvent(records.get(records.size() - 1));
+        engine.applyTo(journey);
+        assertEquals(ComplianceStatus.NON_COMPLIANT, journey.getStatus());
+        assertTrue(journey.isDailyLimitExceeded());
+        assertTrue(types(journey.getViolations()).contains(ViolationType.DAILY_DRIVING));
+    }
+
+    @Test
+    void testOutOfOrderEventIsRejected() {
+        JourneyRuleEngine engine = JourneyRuleEngine.lei13103(false);
+        engine.onEvent(EventType.START_DRIVING, 1000);
+        assertThrows(IllegalArgumentException.class, () -> engine.onEvent(EventType.END_DRIVING, 999));
+    }
+
+    private void event(int minutes, EventType eventType) {
+        records.add(new TimeRecord(records.size() + 1, 1, 7, BASE.plusMinutes(minutes), eventType, "Local"));
+    }
+
+    private static List<RuleViolation> of(ViolationType type, List<RuleViolation> violations) {
+        return violations.stream().filter(v -> v.getType() == type).collect(Collectors.toList());
+    }
+
+    private static List<ViolationType> types(List<RuleViolation> violations) {
+        return violations.stream().map(RuleViolation::getType).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.compliancesys.service.rules;
+
+import com.compliancesys.model.RuleViolation;
+import com.compliancesys.model.enums.EventType;
+import com.compliancesys.model.enums.ViolationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das janelas de 24 horas do SlidingWindowEvaluator: descanso, direção e interjornada
+ * verificados a cada evento, inclusive quando o período cruza a meia-noite.
+ */
+public class SlidingWindowEvaluatorTest {
+
+    private static final LocalDateTime DAY1 = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private SlidingWindowEvaluator evaluator;
+    private List<RuleViolation> emitted;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new SlidingWindowEvaluator();
+        emitted = new ArrayList<>();
+    }
+
+    @Test
+    void testShortInterjourneyRestAcrossMidnightIsViolation() {
+        event(13, 0, EventType.START_JOURNEY);
+        event(22, 0, EventType.END_JOURNEY);
+        event(29, 0, EventType.START_JOURNEY); // 05:00 do dia seguinte: apenas 7h de interjornada.
+
+        List<RuleViolation> violations = of(ViolationType.INTERJOURNEY_REST);
+        assertEquals(1, violations.size());
+        assertEquals(DAY1.plusHours(22), violations.get(0).getStartTime());
+        assertEquals(DAY1.plusHours(29), violations.get(0).getEndTime());
+        assertEquals(Duration.ofHours(7), violations.get(0).getMeasured());
+        assertEquals(Duration.ofHours(11), violations.get(0).getLimit());
+    }
+
+    @Test
+    void testFractionedInterjourneyWithRemainderWithinDeadlineIsCompliant() {
+        event(12, 0, EventType.START_JOURNEY);
+        event(20, 0, EventType.END_JOURNEY);
+        event(28, 0, EventType.START_JOURNEY); // 8h ininterruptas; faltam 3h nas 16h seguintes.
+        event(34, 0, EventType.START_REST);
+        event(37, 0, EventType.START_JOURNEY);
+        event(42, 0, EventType.END_JOURNEY);
+
+        assertTrue(emitted.isEmpty(), emitted.toString());
+    }
+
+    @Test
+    void testFractionedInterjourneyWithoutRemainderIsViolationAfterDeadline() {
+        event(12, 0, EventType.START_JOURNEY);
+        event(20, 0, EventType.END_JOURNEY);
+        event(28, 0, EventType.START_JOURNEY);
+        assertTrue(of(ViolationType.INTERJOURNEY_REST).isEmpty()); // Ainda dentro do prazo de 16 horas.
+
+        event(45, 0, EventType.START_BREAK);
+
+        List<RuleViolation> violations = of(ViolationType.INTERJOURNEY_REST);
+        assertEquals(1, violations.size());
+        assertEquals(DAY1.plusHours(20), violations.get(0).getStartTime());
+        assertEquals(Duration.ofHours(8), violations.get(0).getMeasured());
+    }
+
+    @Test
+    void testDrivingAcrossMidnightCountsInTheSameWindow() {
+        event(18, 0, EventType.START_DRIVING);
+        event(24, 0, EventType.START_BREAK);
+        event(24, 30, EventType.RESUME_DRIVING);
+        event(29, 30, EventType.END_JOURNEY); // 6h antes e 5h depois da meia-noite.
+
+        List<RuleViolation> violations = of(ViolationType.DAILY_DRIVING);
+        assertEquals(1, violations.size());
+        assertEquals(Duration.ofHours(11), violations.get(0).getMeasured());
+        assertEquals(Duration.ofHours(11), evaluator.getDrivingInWindow());
+    }
+
+    @Test
+    void testRestDeficitInWindowIsEmittedOncePerOccurrence() {
+        event(8, 0, EventType.START_JOURNEY);
+        event(20, 0, EventType.END_JOURNEY);
+        event(26, 0, EventType.START_JOURNEY); // 6h de descanso nas 24h anteriores.
+        event(28, 0, EventType.START_BREAK);
+        event(29, 0, EventType.END_BREAK);
+
+        assertEquals(1, of(ViolationType.DAILY_REST).size());
+        assertEquals(1, evaluator.getViolations(DAY1.plusDays(1), DAY1.plusDays(2)).stream()
+                .filter(v -> v.getType() == ViolationType.DAILY_REST).count());
+    }
+
+    @Test
+    void testBufferKeepsOnlyTheHorizon() {
+        for (int hour = 0; hour < 24 * 10; hour += 2) {
+            event(hour, 0, EventType.START_DRIVING);
+            event(hour + 1, 0, EventType.END_DRIVING);
+        }
+
+        assertTrue(evaluator.getBufferedIntervals() <= 49, String.valueOf(evaluator.getBufferedIntervals()));
+        assertEquals(DAY1.plusHours(24 * 10 - 1), JourneyRuleEngine.toDateTime(evaluator.getLastEventTime()));
+    }
+
+    @Test
+    void testOutOfOrderEventIsRejected() {
+        event(10, 0, EventType.START_DRIVING);
+        assertFalse(evaluator.accepts(JourneyRuleEngine.toEpochSecond(DAY1.plusHours(9))));
+        assertThrows(IllegalArgumentException.class, () -> event(9, 0, EventType.END_DRIVING));
+    }
+
+    private void event(int hour, int minute, EventType eventType) {
+        long time = JourneyRuleEngine.toEpochSecond(DAY1.plusHours(hour).plusMinutes(minute));
+        emitted.addAll(evaluator.onEvent(eventType, time));
+    }
+
+    private List<RuleViolation> of(ViolationType type) {
+        return emitted.stream().filter(v -> v.getType() == type).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package com.compliancesys.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do BloomFilter: ausência de falsos negativos e taxa de falsos positivos próxima da configurada.
+ */
+public class BloomFilterTest {
+
+    @Test
+    void testInsertedKeysAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(String.format("%011d", i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(String.format("%011d", i)));
+        }
+        assertEquals(10_000, filter.getInsertions());
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("CPF" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain("CPF" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "Falsos positivos: " + falsePositives); // 1% esperado, com folga.
+    }
+
+    @Test
+    void testSizingFollowsExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertTrue(filter.getBitCount() >= 9_585); // -n ln p / (ln 2)^2
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -6,6 +6,15 @@ import com.google.gson.GsonBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GsonUtilTest {
@@ -27,6 +36,14 @@ public class GsonUtilTest {
         public <T> T deserialize(String json, Class<T> type) {
             return gson.fromJson(json, type);
         }
+
+        @Override
+        public <T> long writeJsonArray(Iterator<T> items, Writer writer) throws IOException {
+            List<T> list = new ArrayList<>();
+            items.forEachRemaining(list::add);
+            writer.write(gson.toJson(list));
+            return list.size();
+        }
     }
 
     private GsonUtil gsonUtil;
@@ -169,4 +186,30 @@ public class GsonUtilTest {
         assertEquals("Another Pojo", pojo.getName());
         assertEquals(456, pojo.getValue());
     }
+
+    @Test
+    void testWriteJsonArrayStreamsItems() throws IOException {
+        GsonUtil streamingUtil = new com.compliancesys.util.impl.GsonUtilImpl();
+        StringWriter writer = new StringWriter();
+        List<SimplePojo> items = Arrays.asList(new SimplePojo("A", 1), new SimplePojo("B", 2), new SimplePojo("C", 3));
+
+        long count = streamingUtil.writeJsonArray(items.iterator(), writer);
+
+        assertEquals(3, count);
+        SimplePojo[] parsed = new Gson().fromJson(writer.toString(), SimplePojo[].class);
+        assertEquals(3, parsed.length);
+        assertEquals("C", parsed[2].getName());
+        assertEquals(3, parsed[2].getValue());
+    }
+
+    @Test
+    void testWriteJsonArrayEmpty() throws IOException {
+        GsonUtil streamingUtil = new com.compliancesys.util.impl.GsonUtilImpl();
+        StringWriter writer = new StringWriter();
+
+        long count = streamingUtil.writeJsonArray(Collections.emptyIterator(), writer);
+
+        assertEquals(0, count);
+        assertEquals(0, new Gson().fromJson(writer.toString(), SimplePojo[].class).length);
+    }
 }
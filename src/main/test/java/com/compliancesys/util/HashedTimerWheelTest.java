@@ -0,0 +1,84 @@
+package com.compliancesys.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para HashedTimerWheel: vencimento na precisão do tick, cancelamento e prazos além de uma volta da roda.
+ */
+public class HashedTimerWheelTest {
+
+    @Test
+    void testTimeoutFiresAtDeadlineButNotBefore() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("a", 250);
+
+        assertEquals(0, wheel.advanceTo(299, fired::add));
+        assertEquals(1, wheel.advanceTo(300, fired::add));
+        assertEquals(Collections.singletonList("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDeadlineBeyondOneRoundWaitsForItsRound() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 4, 0); // Uma volta = 400 ms.
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("near", 200);
+        wheel.schedule("far", 1_000); // Mesma posição de "near" após duas voltas e meia.
+
+        wheel.advanceTo(900, fired::add);
+        assertEquals(Collections.singletonList("near"), fired);
+        wheel.advanceTo(1_000, fired::add);
+        assertEquals(Arrays.asList("near", "far"), fired);
+    }
+
+    @Test
+    void testCancelledTimeoutDoesNotFire() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        HashedTimerWheel.Timeout<String> timeout = wheel.schedule("a", 500);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.advanceTo(1_000, s -> fail("Prazo cancelado disparou: " + s)));
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.advanceTo(1_000, s -> { });
+        HashedTimerWheel.Timeout<String> timeout = wheel.schedule("late", 10);
+
+        assertEquals(1, wheel.advanceTo(1_100, s -> { }));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void testManyTimersWithCancellations() {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(1_000, 512, 0);
+        List<HashedTimerWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            timeouts.add(wheel.schedule(i, (i % 3_600) * 1_000L + 1));
+        }
+        for (int i = 0; i < timeouts.size(); i += 2) {
+            timeouts.get(i).cancel();
+        }
+        assertEquals(25_000, wheel.size());
+
+        int[] fired = new int[1];
+        wheel.advanceTo(3_600_000, i -> {
+            assertEquals(1, i % 2);
+            fired[0]++;
+        });
+        assertEquals(25_000, fired[0]);
+        assertEquals(0, wheel.size());
+    }
+}
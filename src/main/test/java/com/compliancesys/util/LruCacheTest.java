@@ -0,0 +1,58 @@
+package com.compliancesys.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do LruCache: descarte da entrada menos usada, expiração por tempo de vida e contadores.
+ */
+public class LruCacheTest {
+
+    private long now;
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.get(1); // 2 passa a ser a entrada menos usada.
+        cache.put(3, "c");
+
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals("c", cache.get(3));
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        LruCache<Integer, String> cache = new LruCache<>(10, Duration.ofSeconds(5), () -> now);
+        cache.put(1, "a");
+
+        now = 4_999;
+        assertEquals("a", cache.get(1));
+        now = 5_000;
+        assertNull(cache.get(1));
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getExpirations());
+        assertEquals(0, statistics.getSize());
+        assertEquals(0.5, statistics.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testPutNullRemovesAndInvalidCapacityIsRejected() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.put(1, "a");
+        cache.put(1, null);
+
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<Integer, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<Integer, String>(1, Duration.ofSeconds(-1)));
+    }
+}
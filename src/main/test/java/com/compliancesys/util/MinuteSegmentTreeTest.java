@@ -0,0 +1,70 @@
+package com.compliancesys.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da árvore de segmentos sobre baldes de um minuto, comparando com o cálculo direto.
+ */
+public class MinuteSegmentTreeTest {
+
+    @Test
+    void testSumAndLongestRunMatchBruteForce() {
+        Random random = new Random(42);
+        int[] seconds = new int[500];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = random.nextInt(3) == 0 ? random.nextInt(61) : 60;
+        }
+        MinuteSegmentTree tree = new MinuteSegmentTree(seconds);
+
+        for (int q = 0; q < 2000; q++) {
+            int from = random.nextInt(seconds.length + 1);
+            int to = from + random.nextInt(seconds.length - from + 1);
+            assertEquals(bruteSum(seconds, from, to), tree.sum(from, to));
+            assertEquals(bruteRun(seconds, from, to), tree.longestRun(from, to));
+        }
+    }
+
+    @Test
+    void testPointUpdate() {
+        int[] seconds = {60, 60, 60, 60, 60};
+        MinuteSegmentTree tree = new MinuteSegmentTree(seconds);
+        assertEquals(5, tree.longestRun(0, 5));
+
+        tree.set(2, 30);
+
+        assertEquals(270, tree.sum(0, 5));
+        assertEquals(2, tree.longestRun(0, 5));
+        assertEquals(1, tree.longestRun(2, 4));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        MinuteSegmentTree tree = new MinuteSegmentTree(new int[10]);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.sum(5, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.longestRun(6, 5));
+        assertThrows(IllegalArgumentException.class, () -> tree.set(0, 61));
+        assertThrows(IllegalArgumentException.class, () -> new MinuteSegmentTree(new int[0]));
+    }
+
+    private static long bruteSum(int[] seconds, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += seconds[i];
+        }
+        return sum;
+    }
+
+    private static int bruteRun(int[] seconds, int from, int to) {
+        int best = 0;
+        int run = 0;
+        for (int i = from; i < to; i++) {
+            run = seconds[i] == 60 ? run + 1 : 0;
+            best = Math.max(best, run);
+        }
+        return best;
+    }
+}